@@ -19,7 +19,10 @@
 
 package com.puppycrawl.tools.checkstyle;
 
+import java.util.EnumMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
@@ -30,75 +33,94 @@ import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
  * [SEVERITY LEVEL] filePath:lineNo:columnNo: message. [CheckName]
  * When the module id of the message has been set, the format is:
  * [SEVERITY LEVEL] filePath:lineNo:columnNo: message. [ModuleId]
+ *
+ * <p>The formatter is called once per violation, so it keeps the parts that do not
+ * depend on the event itself (severity prefixes and check short names) in caches and
+ * builds each line in a buffer that is reused by the calling thread.
  * @author Andrei Selkin
  */
 public class AuditEventDefaultFormatter implements AuditEventFormatter {
 
-    /** Length of all separators. */
-    private static final int LENGTH_OF_ALL_SEPARATORS = 10;
+    /** Initial capacity of the per-thread buffer. */
+    private static final int INITIAL_BUFFER_CAPACITY = 256;
+
+    /**
+     * Buffers above this capacity are not kept by the thread, so a single huge message
+     * does not pin memory for the rest of the audit.
+     */
+    private static final int MAX_RETAINED_BUFFER_CAPACITY = 8192;
 
     /** Suffix of module names like XXXXCheck. */
     private static final String SUFFIX = "Check";
 
+    /** Prefixes like "[ERROR] " for every severity level. */
+    private static final Map<SeverityLevel, String> SEVERITY_PREFIXES =
+            createSeverityPrefixes();
+
+    /** Per-thread buffer the message is built in. */
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_CAPACITY));
+
+    /** Maps full names of the modules to their short names. */
+    private final Map<String, String> checkShortNames = new ConcurrentHashMap<>();
+
     @Override
     public String format(AuditEvent event) {
-        final String fileName = event.getFileName();
-        final String message = event.getMessage();
-
-        final SeverityLevel severityLevel = event.getSeverityLevel();
-        final String severityLevelName;
-        if (severityLevel == SeverityLevel.WARNING) {
-            // We change the name of severity level intentionally
-            // to shorten the length of the log message.
-            severityLevelName = "WARN";
-        }
-        else {
-            severityLevelName = severityLevel.getName().toUpperCase(Locale.US);
+        StringBuilder builder = BUFFER.get();
+        if (builder.capacity() > MAX_RETAINED_BUFFER_CAPACITY) {
+            builder = new StringBuilder(INITIAL_BUFFER_CAPACITY);
+            BUFFER.set(builder);
         }
+        builder.setLength(0);
+        format(event, builder);
+        return builder.toString();
+    }
 
-        // Avoid StringBuffer.expandCapacity
-        final int bufLen = calculateBufferLength(event, severityLevelName.length());
-        final StringBuilder sb = new StringBuilder(bufLen);
-
-        sb.append('[').append(severityLevelName).append("] ")
-            .append(fileName).append(':').append(event.getLine());
+    @Override
+    public void format(AuditEvent event, StringBuilder builder) {
+        builder.append(SEVERITY_PREFIXES.get(event.getSeverityLevel()))
+            .append(event.getFileName()).append(':').append(event.getLine());
         if (event.getColumn() > 0) {
-            sb.append(':').append(event.getColumn());
+            builder.append(':').append(event.getColumn());
         }
-        sb.append(": ").append(message).append(" [");
+        builder.append(": ").append(event.getMessage()).append(" [");
         if (event.getModuleId() == null) {
-            final String checkShortName = getCheckShortName(event);
-            sb.append(checkShortName);
+            builder.append(checkShortNames.computeIfAbsent(event.getSourceName(),
+                AuditEventDefaultFormatter::getCheckShortName));
         }
         else {
-            sb.append(event.getModuleId());
+            builder.append(event.getModuleId());
         }
-        sb.append(']');
-
-        return sb.toString();
+        builder.append(']');
     }
 
     /**
-     * Returns the length of the buffer for StringBuilder.
-     * bufferLength = fileNameLength + messageLength + lengthOfAllSeparators +
-     * + severityNameLength + checkNameLength.
-     * @param event audit event.
-     * @param severityLevelNameLength length of severity level name.
-     * @return the length of the buffer for StringBuilder.
+     * Creates the "[SEVERITY LEVEL] " prefixes for all severity levels.
+     * @return map of severity levels to prefixes.
      */
-    private static int calculateBufferLength(AuditEvent event, int severityLevelNameLength) {
-        return LENGTH_OF_ALL_SEPARATORS + event.getFileName().length()
-            + event.getMessage().length() + severityLevelNameLength
-            + getCheckShortName(event).length();
+    private static Map<SeverityLevel, String> createSeverityPrefixes() {
+        final Map<SeverityLevel, String> prefixes = new EnumMap<>(SeverityLevel.class);
+        for (SeverityLevel severityLevel : SeverityLevel.values()) {
+            final String severityLevelName;
+            if (severityLevel == SeverityLevel.WARNING) {
+                // We change the name of severity level intentionally
+                // to shorten the length of the log message.
+                severityLevelName = "WARN";
+            }
+            else {
+                severityLevelName = severityLevel.getName().toUpperCase(Locale.US);
+            }
+            prefixes.put(severityLevel, "[" + severityLevelName + "] ");
+        }
+        return prefixes;
     }
 
     /**
      * Returns check name without 'Check' suffix.
-     * @param event audit event.
+     * @param checkFullName full name of the check.
      * @return check name without 'Check' suffix.
      */
-    private static String getCheckShortName(AuditEvent event) {
-        final String checkFullName = event.getSourceName();
+    private static String getCheckShortName(String checkFullName) {
         final String checkShortName;
         final int lastDotIndex = checkFullName.lastIndexOf('.');
         if (lastDotIndex == -1) {
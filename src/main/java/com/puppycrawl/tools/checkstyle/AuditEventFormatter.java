@@ -35,4 +35,13 @@ public interface AuditEventFormatter {
      */
     String format(AuditEvent event);
 
+    /**
+     * Appends the formatted error message to the given builder.
+     * @param event audit event.
+     * @param builder the builder to append the message to.
+     */
+    default void format(AuditEvent event, StringBuilder builder) {
+        builder.append(format(event));
+    }
+
 }
@@ -0,0 +1,120 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import com.puppycrawl.tools.checkstyle.api.AutomaticBean;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+
+/**
+ * Logger that records the fingerprints of all reported violations and writes
+ * them as a baseline file at the end of the audit. The baseline file is used by
+ * {@code SuppressionBaselineFilter} to report only violations not in the baseline.
+ * @author the original author or authors.
+ * @see ViolationBaseline
+ */
+public class BaselineLogger extends AutomaticBean implements AuditListener {
+
+    /** Fingerprints of the reported violations. */
+    private final ViolationBaseline baseline = new ViolationBaseline();
+
+    /** The stream to write the baseline file to. */
+    private final OutputStream outputStream;
+
+    /** Close output stream in auditFinished. */
+    private final boolean closeStream;
+
+    /**
+     * Creates a new {@code BaselineLogger} instance.
+     * @param outputStream the stream to write the baseline file to.
+     * @param outputStreamOptions if {@code CLOSE} stream should be closed in auditFinished()
+     */
+    public BaselineLogger(OutputStream outputStream, OutputStreamOptions outputStreamOptions) {
+        this.outputStream = outputStream;
+        closeStream = outputStreamOptions == OutputStreamOptions.CLOSE;
+    }
+
+    /**
+     * Sets the base directory of the file names, which is the basedir of the Checker.
+     * @param basedir the base directory, {@code null} for the working directory.
+     */
+    public void setBasedir(String basedir) {
+        baseline.setBasedir(basedir);
+    }
+
+    /**
+     * Sets the charset of the files, which is the charset of the Checker.
+     * @param charset the name of the charset.
+     */
+    public void setCharset(String charset) {
+        baseline.setCharset(charset);
+    }
+
+    @Override
+    protected void finishLocalSetup() throws CheckstyleException {
+        // No code by default
+    }
+
+    @Override
+    public void auditStarted(AuditEvent event) {
+        // No code by default
+    }
+
+    @Override
+    public void auditFinished(AuditEvent event) {
+        try {
+            baseline.save(outputStream);
+            if (closeStream) {
+                outputStream.close();
+            }
+        }
+        catch (IOException ex) {
+            throw new IllegalStateException("Unable to write baseline file", ex);
+        }
+    }
+
+    @Override
+    public void fileStarted(AuditEvent event) {
+        // No code by default
+    }
+
+    @Override
+    public void fileFinished(AuditEvent event) {
+        // No code by default
+    }
+
+    @Override
+    public void addError(AuditEvent event) {
+        if (event.getSeverityLevel() != SeverityLevel.IGNORE) {
+            baseline.add(baseline.getFingerprint(event));
+        }
+    }
+
+    @Override
+    public void addException(AuditEvent event, Throwable throwable) {
+        // exceptions are reported again until they are fixed
+    }
+
+}
@@ -27,14 +27,15 @@ import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.function.Predicate;
 
-import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
@@ -56,6 +57,7 @@ import com.puppycrawl.tools.checkstyle.api.RootModule;
 import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
 import com.puppycrawl.tools.checkstyle.api.SeverityLevelCounter;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+import com.puppycrawl.tools.checkstyle.utils.LocalizedMessageUtils;
 
 /**
  * This class provides the functionality to check a set of files.
@@ -69,13 +71,17 @@ public class Checker extends AutomaticBean implements MessageDispatcher, RootMod
     /** Message to use when an exception occurs and should be printed as a violation. */
     public static final String EXCEPTION_MSG = "general.exception";
 
-    /** Logger for Checker. */
-    private final Log log;
+    /** Message to use when the audit is stopped because too many violations were found. */
+    public static final String AUDIT_TRUNCATED_MSG = "Checker.auditTruncated";
 
     /** Maintains error count. */
     private final SeverityLevelCounter counter = new SeverityLevelCounter(
             SeverityLevel.ERROR);
 
+    /** Maintains warning count. */
+    private final SeverityLevelCounter warningCounter = new SeverityLevelCounter(
+            SeverityLevel.WARNING);
+
     /** Vector of listeners. */
     private final List<AuditListener> listeners = new ArrayList<>();
 
@@ -134,13 +140,31 @@ public class Checker extends AutomaticBean implements MessageDispatcher, RootMod
     /** Controls whether exceptions should halt execution or not. */
     private boolean haltOnException = true;
 
+    /** The maximum number of errors tolerated before the audit is stopped. */
+    private int maxErrors = Integer.MAX_VALUE;
+
+    /** The maximum number of warnings tolerated before the audit is stopped. */
+    private int maxWarnings = Integer.MAX_VALUE;
+
+    /** Whether more errors or warnings were found than tolerated. */
+    private boolean violationLimitExceeded;
+
+    /** The number of threads which check files. */
+    private int threadsNumber = 1;
+
+    /** The text of the file whose errors are being reported, {@code null} between files. */
+    private FileText reportedFileText;
+
+    /** The cache of the parsed files, shared by the TreeWalkers. */
+    private ParsedFileCache parsedFileCache = new ParsedFileCache();
+
     /**
      * Creates a new {@code Checker} instance.
      * The instance needs to be contextualized and configured.
      */
     public Checker() {
         addListener(counter);
-        log = LogFactory.getLog(Checker.class);
+        addListener(warningCounter);
     }
 
     /**
@@ -204,21 +228,80 @@ public class Checker extends AutomaticBean implements MessageDispatcher, RootMod
 
     @Override
     public int process(List<File> files) throws CheckstyleException {
+        startAudit();
+        int processedFiles = 0;
+        if (threadsNumber > 1) {
+            processedFiles = new ParallelAudit(this, threadsNumber).process(files);
+        }
+        else {
+            for (final File file : files) {
+                if (!processFile(file, new HashMap<>())) {
+                    break;
+                }
+                processedFiles++;
+            }
+        }
+        return finishAudit(files.size(), processedFiles);
+    }
+
+    /**
+     * Starts an audit: records the external resources in the cache, notifies the listeners
+     * and prepares all FileSetChecks.
+     */
+    void startAudit() {
         if (cacheFile != null) {
-            cacheFile.putExternalResources(getExternalResourceLocations());
+            // external configuration resources used by all file set checks and filters
+            final Set<String> externalResources = new HashSet<>();
+            fileSetChecks.stream().filter(check -> check instanceof ExternalResourceHolder)
+                .forEach(check -> {
+                    final Set<String> locations =
+                        ((ExternalResourceHolder) check).getExternalResourceLocations();
+                    externalResources.addAll(locations);
+                });
+            filters.getFilters().stream()
+                .filter(filter -> filter instanceof ExternalResourceHolder)
+                .forEach(filter -> {
+                    final Set<String> locations =
+                        ((ExternalResourceHolder) filter).getExternalResourceLocations();
+                    externalResources.addAll(locations);
+                });
+            cacheFile.putExternalResources(externalResources);
         }
 
-        // Prepare to start
+        violationLimitExceeded = false;
         fireAuditStarted();
         for (final FileSetCheck fsc : fileSetChecks) {
+            if (fsc instanceof TreeWalker) {
+                ((TreeWalker) fsc).setParsedFileCache(parsedFileCache);
+            }
             fsc.beginProcessing(charset);
         }
+    }
 
-        processFiles(files);
-
-        // Finish up
-        // It may also log!!!
-        fileSetChecks.forEach(FileSetCheck::finishProcessing);
+    /**
+     * Finishes an audit: completes or truncates the FileSetChecks and notifies the listeners.
+     * @param fileCount the number of files of the audit.
+     * @param processedFiles the number of files processed before the audit was stopped.
+     * @return the number of errors found.
+     */
+    int finishAudit(int fileCount, int processedFiles) {
+        if (processedFiles == fileCount) {
+            // It may also log!!!
+            fileSetChecks.forEach(FileSetCheck::finishProcessing);
+        }
+        else {
+            // checks across all files would report wrong results on a part of the files
+            final LocalizedMessage message = new LocalizedMessage(0,
+                    Definitions.CHECKSTYLE_BUNDLE, AUDIT_TRUNCATED_MSG,
+                    new String[] {String.valueOf(counter.getCount()),
+                        String.valueOf(warningCounter.getCount()),
+                        String.valueOf(fileCount - processedFiles)},
+                    null, getClass(), null);
+            final AuditEvent event = new AuditEvent(this, null, message);
+            for (final AuditListener listener : listeners) {
+                listener.auditTruncated(event);
+            }
+        }
 
         // It may also log!!!
         fileSetChecks.forEach(FileSetCheck::destroy);
@@ -228,29 +311,6 @@ public class Checker extends AutomaticBean implements MessageDispatcher, RootMod
         return errorCount;
     }
 
-    /**
-     * Returns a set of external configuration resource locations which are used by all file set
-     * checks and filters.
-     * @return a set of external configuration resource locations which are used by all file set
-     *         checks and filters.
-     */
-    private Set<String> getExternalResourceLocations() {
-        final Set<String> externalResources = new HashSet<>();
-        fileSetChecks.stream().filter(check -> check instanceof ExternalResourceHolder)
-            .forEach(check -> {
-                final Set<String> locations =
-                    ((ExternalResourceHolder) check).getExternalResourceLocations();
-                externalResources.addAll(locations);
-            });
-        filters.getFilters().stream().filter(filter -> filter instanceof ExternalResourceHolder)
-            .forEach(filter -> {
-                final Set<String> locations =
-                    ((ExternalResourceHolder) filter).getExternalResourceLocations();
-                externalResources.addAll(locations);
-            });
-        return externalResources;
-    }
-
     /** Notify all listeners about the audit start. */
     private void fireAuditStarted() {
         final AuditEvent event = new AuditEvent(this);
@@ -268,28 +328,27 @@ public class Checker extends AutomaticBean implements MessageDispatcher, RootMod
     }
 
     /**
-     * Processes a list of files with all FileSetChecks.
-     * @param files a list of files to process.
+     * Processes a file with all FileSetChecks, unless more violations were found
+     * than tolerated.
+     * @param file a file to process.
+     * @param fileTexts the texts of the file read so far, by charset. The text read
+     *     by this checker is added, so that other checkers can reuse it.
+     * @return false if the audit was stopped before the file.
      * @throws CheckstyleException if error condition within Checkstyle occurs.
      * @noinspection ProhibitedExceptionThrown
      */
-    private void processFiles(List<File> files) throws CheckstyleException {
-        for (final File file : files) {
+    boolean processFile(File file, Map<String, FileText> fileTexts)
+            throws CheckstyleException {
+        final boolean processed = !violationLimitExceeded;
+        if (processed) {
             try {
-                final String fileName = file.getAbsolutePath();
-                final long timestamp = file.lastModified();
-                if (cacheFile != null && cacheFile.isInCache(fileName, timestamp)
-                        || !CommonUtils.matchesFileExtension(file, fileExtensions)
-                        || !acceptFileStarted(fileName)) {
-                    continue;
-                }
-                if (cacheFile != null) {
-                    cacheFile.put(fileName, timestamp);
+                if (acceptFile(file)) {
+                    final String fileName = startFile(file);
+                    final List<LocalizedMessage> fileMessages = checkFile(file, fileTexts);
+                    fireErrors(fileName, LocalizedMessageUtils.toSortedSet(fileMessages),
+                            fileTexts);
+                    fireFileFinished(fileName);
                 }
-                fireFileStarted(fileName);
-                final SortedSet<LocalizedMessage> fileMessages = processFile(file);
-                fireErrors(fileName, fileMessages);
-                fireFileFinished(fileName);
             }
             // -@cs[IllegalCatch] There is no other way to deliver filename that was under
             // processing. See https://github.com/checkstyle/checkstyle/issues/2285
@@ -303,25 +362,116 @@ public class Checker extends AutomaticBean implements MessageDispatcher, RootMod
                 throw new Error("Error was thrown while processing " + file.getPath(), error);
             }
         }
+        return processed;
+    }
+
+    /**
+     * Checks whether a file has to be processed: it is not in the cache, has one of
+     * the file extensions and passes the before execution file filters.
+     * @param file a file to check.
+     * @return true if the file has to be processed.
+     */
+    boolean acceptFile(File file) {
+        final String fileName = file.getAbsolutePath();
+        final long timestamp = file.lastModified();
+        return (cacheFile == null || !cacheFile.isInCache(fileName, timestamp))
+                && CommonUtils.matchesFileExtension(file, fileExtensions)
+                && beforeExecutionFileFilters.accept(
+                    CommonUtils.relativizeAndNormalizePath(basedir, fileName));
+    }
+
+    /**
+     * Records an accepted file in the cache and notifies the listeners about the beginning
+     * of its audit.
+     * @param file the file to be audited.
+     * @return the absolute name of the file.
+     */
+    String startFile(File file) {
+        final String fileName = file.getAbsolutePath();
+        if (cacheFile != null) {
+            cacheFile.put(fileName, file.lastModified());
+        }
+        fireFileStarted(fileName);
+        return fileName;
+    }
+
+    /**
+     * Returns the text of the file whose errors are being reported, so that filters
+     * and listeners do not read the file again.
+     * @return the text of the file, or {@code null} if no errors of a read file are
+     *     being reported.
+     */
+    FileText getReportedFileText() {
+        return reportedFileText;
+    }
+
+    /**
+     * Returns the cache of the parsed files, which the TreeWalkers of this checker share.
+     * @return the cache of the parsed files.
+     */
+    ParsedFileCache getParsedFileCache() {
+        return parsedFileCache;
+    }
+
+    /**
+     * Sets the cache of the parsed files, so that the TreeWalkers of several checkers
+     * parse the same file texts once.
+     * @param parsedFileCache the cache of the parsed files.
+     */
+    void setParsedFileCache(ParsedFileCache parsedFileCache) {
+        this.parsedFileCache = parsedFileCache;
+    }
+
+    /**
+     * Checks whether more errors or warnings were found than tolerated.
+     * @return true if the audit has to be stopped.
+     */
+    boolean isViolationLimitExceeded() {
+        return violationLimitExceeded;
+    }
+
+    /**
+     * Checks a file with all FileSetChecks.
+     * @param file a file to process.
+     * @param fileTexts the texts of the file read so far, by charset.
+     * @return the messages to be logged, as sorted runs of the FileSetChecks.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    private List<LocalizedMessage> checkFile(File file, Map<String, FileText> fileTexts)
+            throws CheckstyleException {
+        return checkFile(file, fileTexts, fsc -> true);
     }
 
     /**
-     * Processes a file with all FileSetChecks.
+     * Checks a file with some of the FileSetChecks. It may be called from several threads
+     * at the same time, see {@link ParallelAudit}.
      * @param file a file to process.
-     * @return a sorted set of messages to be logged.
+     * @param fileTexts the texts of the file read so far, by charset.
+     * @param condition the condition of the FileSetChecks to run.
+     * @return the messages to be logged, as sorted runs of the FileSetChecks.
      * @throws CheckstyleException if error condition within Checkstyle occurs.
      * @noinspection ProhibitedExceptionThrown
      */
-    private SortedSet<LocalizedMessage> processFile(File file) throws CheckstyleException {
-        final SortedSet<LocalizedMessage> fileMessages = new TreeSet<>();
+    List<LocalizedMessage> checkFile(File file, Map<String, FileText> fileTexts,
+            Predicate<FileSetCheck> condition) throws CheckstyleException {
+        // sorted runs of every FileSetCheck are merged once, when they are reported
+        final List<LocalizedMessage> fileMessages = new ArrayList<>();
         try {
-            final FileText theText = new FileText(file.getAbsoluteFile(), charset);
+            FileText theText = fileTexts.get(charset);
+            if (theText == null) {
+                theText = new FileText(file.getAbsoluteFile(), charset);
+                fileTexts.put(charset, theText);
+            }
             for (final FileSetCheck fsc : fileSetChecks) {
-                fileMessages.addAll(fsc.process(file, theText));
+                if (condition.test(fsc)) {
+                    fileMessages.addAll(ParallelAudit.process(fsc, file, theText));
+                }
             }
         }
         catch (final IOException ioe) {
-            log.debug("IOException occurred.", ioe);
+            // the logger is obtained only here, so logging is not initialized
+            // when all files are processed normally
+            LogFactory.getLog(Checker.class).debug("IOException occurred.", ioe);
             fileMessages.add(new LocalizedMessage(0,
                     Definitions.CHECKSTYLE_BUNDLE, EXCEPTION_MSG,
                     new String[] {ioe.getMessage()}, null, getClass(), null));
@@ -332,7 +482,7 @@ public class Checker extends AutomaticBean implements MessageDispatcher, RootMod
                 throw ex;
             }
 
-            log.debug("Exception occurred.", ex);
+            LogFactory.getLog(Checker.class).debug("Exception occurred.", ex);
 
             final StringWriter sw = new StringWriter();
             final PrintWriter pw = new PrintWriter(sw, true);
@@ -347,18 +497,6 @@ public class Checker extends AutomaticBean implements MessageDispatcher, RootMod
         return fileMessages;
     }
 
-    /**
-     * Check if all before execution file filters accept starting the file.
-     *
-     * @param fileName
-     *            the file to be audited
-     * @return {@code true} if the file is accepted.
-     */
-    private boolean acceptFileStarted(String fileName) {
-        final String stripped = CommonUtils.relativizeAndNormalizePath(basedir, fileName);
-        return beforeExecutionFileFilters.accept(stripped);
-    }
-
     /**
      * Notify all listeners about the beginning of a file audit.
      *
@@ -396,6 +534,26 @@ public class Checker extends AutomaticBean implements MessageDispatcher, RootMod
         if (hasNonFilteredViolations && cacheFile != null) {
             cacheFile.remove(fileName);
         }
+        violationLimitExceeded = counter.getCount() > maxErrors
+                || warningCounter.getCount() > maxWarnings;
+    }
+
+    /**
+     * Notify all listeners about the errors in a file, while the text of the file
+     * is available by {@link #getReportedFileText()}.
+     * @param fileName the audited file
+     * @param errors the audit errors from the file
+     * @param fileTexts the texts of the file read by the checkers, by charset
+     */
+    void fireErrors(String fileName, SortedSet<LocalizedMessage> errors,
+            Map<String, FileText> fileTexts) {
+        reportedFileText = fileTexts.get(charset);
+        try {
+            fireErrors(fileName, errors);
+        }
+        finally {
+            reportedFileText = null;
+        }
     }
 
     /**
@@ -431,6 +589,12 @@ public class Checker extends AutomaticBean implements MessageDispatcher, RootMod
                     moduleClassLoader);
         }
 
+        final Configuration configuration = getConfiguration();
+        if (configuration instanceof DefaultConfiguration) {
+            threadsNumber = ((DefaultConfiguration) configuration).getThreadModeSettings()
+                    .getCheckerThreadsNumber();
+        }
+
         final DefaultContext context = new DefaultContext();
         context.add("charset", charset);
         context.add("classLoader", classLoader);
@@ -607,6 +771,24 @@ public class Checker extends AutomaticBean implements MessageDispatcher, RootMod
         this.charset = charset;
     }
 
+    /**
+     * Sets the maximum number of errors tolerated. The audit is stopped and
+     * the remaining files are skipped as soon as more errors were found.
+     * @param maxErrors the maximum number of errors.
+     */
+    public void setMaxErrors(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Sets the maximum number of warnings tolerated. The audit is stopped and
+     * the remaining files are skipped as soon as more warnings were found.
+     * @param maxWarnings the maximum number of warnings.
+     */
+    public void setMaxWarnings(int maxWarnings) {
+        this.maxWarnings = maxWarnings;
+    }
+
     /**
      * Sets the field haltOnException.
      * @param haltOnException the new value.
@@ -0,0 +1,87 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+
+/**
+ * Runs the audits of several configured {@link Checker checkers} over the same files in
+ * one pass. Every file is read once for all checkers with the same charset and parsed once
+ * for all their TreeWalkers, which share the parsed file cache of the group, while the
+ * violations of every checker are still filtered and reported by its own filters and
+ * listeners. The files are checked on a single thread, whatever the thread mode of the
+ * configurations.
+ *
+ * @author the original author or authors.
+ */
+public final class CheckerGroup {
+
+    /** The checkers of the group. */
+    private final List<Checker> checkers;
+
+    /**
+     * Creates a new group of checkers.
+     * @param checkers the configured checkers, with their listeners added.
+     */
+    public CheckerGroup(List<Checker> checkers) {
+        this.checkers = new ArrayList<>(checkers);
+        final ParsedFileCache parsedFileCache = new ParsedFileCache();
+        for (Checker checker : checkers) {
+            checker.setParsedFileCache(parsedFileCache);
+        }
+    }
+
+    /**
+     * Processes files with all checkers of the group. Every checker stops on its own
+     * when it finds more violations than it tolerates.
+     * @param files the files to process.
+     * @return the number of errors found by all checkers.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    public int process(List<File> files) throws CheckstyleException {
+        for (Checker checker : checkers) {
+            checker.startAudit();
+        }
+
+        final int[] processedFiles = new int[checkers.size()];
+        for (File file : files) {
+            final Map<String, FileText> fileTexts = new HashMap<>();
+            for (int index = 0; index < processedFiles.length; index++) {
+                if (checkers.get(index).processFile(file, fileTexts)) {
+                    processedFiles[index]++;
+                }
+            }
+        }
+
+        int errorCount = 0;
+        for (int index = 0; index < processedFiles.length; index++) {
+            errorCount += checkers.get(index).finishAudit(files.size(), processedFiles[index]);
+        }
+        return errorCount;
+    }
+
+}
@@ -0,0 +1,403 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import org.xml.sax.InputSource;
+
+import com.google.common.io.ByteStreams;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+
+/**
+ * Loads a configuration through a precompiled binary snapshot of it.
+ * The snapshot holds the configuration tree with all properties already
+ * expanded, so later runs skip the XML parsing and property expansion of
+ * {@link ConfigurationLoader}. It is keyed by a digest of the configuration
+ * content, the loading options and the Checkstyle version, and it records the
+ * values of the properties the configuration referenced. The snapshot is
+ * used only while all of them are unchanged, otherwise the configuration is
+ * loaded again and the snapshot is replaced.
+ *
+ * <p>Files included into the configuration through external XML entities are
+ * not part of the key, a snapshot should not be used for such configurations.</p>
+ *
+ * @author the original author or authors.
+ */
+// -@cs[ClassDataAbstractionCoupling] Reading and writing snapshots needs the stream classes.
+public final class ConfigurationSnapshot {
+
+    /** Marker at the start of every snapshot file. */
+    private static final int MAGIC = 0x43535348;
+
+    /** Version of the snapshot format, part of the key. */
+    private static final int FORMAT_VERSION = 1;
+
+    /** Length written instead of the length of a {@code null} string. */
+    private static final int NULL_LENGTH = -1;
+
+    /** Prevent instantiation. */
+    private ConfigurationSnapshot() {
+    }
+
+    /**
+     * Returns the check configuration in the specified file, reading it from
+     * the snapshot file if the snapshot is up to date and refreshing the
+     * snapshot otherwise.
+     *
+     * @param config location of config file, can be either a URL or a filename
+     * @param snapshotLocation location of the snapshot file
+     * @param overridePropsResolver overriding properties
+     * @param ignoredModulesOptions {@code OMIT} if modules with severity
+     *            'ignore' should be omitted, {@code EXECUTE} otherwise
+     * @param threadModeSettings the thread mode configuration
+     * @return the check configurations
+     * @throws CheckstyleException if an error occurs
+     */
+    public static Configuration loadConfiguration(String config, String snapshotLocation,
+            PropertyResolver overridePropsResolver,
+            ConfigurationLoader.IgnoredModulesOptions ignoredModulesOptions,
+            ThreadModeSettings threadModeSettings) throws CheckstyleException {
+        final URI uri = CommonUtils.getUriByFilename(config);
+        final byte[] content;
+        try (InputStream stream = uri.toURL().openStream()) {
+            content = ByteStreams.toByteArray(stream);
+        }
+        catch (final IOException ex) {
+            throw new CheckstyleException("unable to read " + config, ex);
+        }
+        final byte[] key = getKey(content, ignoredModulesOptions, threadModeSettings);
+        final Path snapshot = Paths.get(snapshotLocation).toAbsolutePath();
+
+        Configuration configuration =
+                readSnapshot(snapshot, key, overridePropsResolver, threadModeSettings);
+        if (configuration == null) {
+            final RecordingPropertyResolver resolver =
+                    new RecordingPropertyResolver(overridePropsResolver);
+            final InputSource source = new InputSource(new ByteArrayInputStream(content));
+            source.setSystemId(uri.toString());
+            configuration = ConfigurationLoader.loadConfiguration(source, resolver,
+                    ignoredModulesOptions, threadModeSettings);
+            try {
+                writeSnapshot(snapshot, key, resolver.resolvedProperties, configuration);
+            }
+            catch (final IOException ex) {
+                throw new CheckstyleException(
+                        "Unable to write configuration snapshot " + snapshotLocation, ex);
+            }
+        }
+        return configuration;
+    }
+
+    /**
+     * Calculates the key of the snapshot of a configuration.
+     * @param content the content of the configuration
+     * @param ignoredModulesOptions the option for modules with severity 'ignore'
+     * @param threadModeSettings the thread mode configuration
+     * @return the digest of all inputs of the configuration except its properties
+     */
+    private static byte[] getKey(byte[] content,
+            ConfigurationLoader.IgnoredModulesOptions ignoredModulesOptions,
+            ThreadModeSettings threadModeSettings) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            final String version = ConfigurationSnapshot.class.getPackage()
+                    .getImplementationVersion();
+            digest.update(String.format(Locale.ROOT, "%d:%s:%s:%d:%d:", FORMAT_VERSION, version,
+                    ignoredModulesOptions, threadModeSettings.getCheckerThreadsNumber(),
+                    threadModeSettings.getTreeWalkerThreadsNumber())
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update(content);
+            return digest.digest();
+        }
+        catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Unable to calculate snapshot key.", ex);
+        }
+    }
+
+    /**
+     * Reads the configuration from the snapshot file.
+     * @param snapshot the snapshot file
+     * @param key the key of the current configuration
+     * @param resolver the resolver of the current properties
+     * @param threadModeSettings the thread mode configuration
+     * @return the configuration, or {@code null} if there is no usable snapshot
+     */
+    private static Configuration readSnapshot(Path snapshot, byte[] key,
+            PropertyResolver resolver, ThreadModeSettings threadModeSettings) {
+        Configuration configuration = null;
+        if (Files.isRegularFile(snapshot)) {
+            try (DataInputStream input = new DataInputStream(
+                    new ByteArrayInputStream(Files.readAllBytes(snapshot)))) {
+                if (input.readInt() == MAGIC && Arrays.equals(key, readBytes(input))
+                        && arePropertiesUnchanged(input, resolver)) {
+                    configuration = readConfiguration(input, threadModeSettings);
+                }
+            }
+            catch (final IOException ignored) {
+                // a broken snapshot is replaced like an outdated one
+            }
+        }
+        return configuration;
+    }
+
+    /**
+     * Checks whether the recorded properties resolve to the same values as before.
+     * @param input the snapshot input
+     * @param resolver the resolver of the current properties
+     * @return true if all recorded properties are unchanged
+     * @throws IOException if the snapshot can not be read
+     */
+    private static boolean arePropertiesUnchanged(DataInputStream input,
+            PropertyResolver resolver) throws IOException {
+        final int count = readCount(input);
+        boolean unchanged = true;
+        for (int i = 0; unchanged && i < count; i++) {
+            final String name = readString(input);
+            final String value = readString(input);
+            unchanged = Objects.equals(value, resolver.resolve(name));
+        }
+        return unchanged;
+    }
+
+    /**
+     * Reads a configuration tree from the snapshot.
+     * @param input the snapshot input
+     * @param threadModeSettings the thread mode configuration
+     * @return the configuration
+     * @throws IOException if the snapshot can not be read
+     */
+    private static Configuration readConfiguration(DataInputStream input,
+            ThreadModeSettings threadModeSettings) throws IOException {
+        final DefaultConfiguration configuration =
+                new DefaultConfiguration(readString(input), threadModeSettings);
+        final int attributeCount = readCount(input);
+        for (int i = 0; i < attributeCount; i++) {
+            configuration.addAttribute(readString(input), readString(input));
+        }
+        final int messageCount = readCount(input);
+        for (int i = 0; i < messageCount; i++) {
+            configuration.addMessage(readString(input), readString(input));
+        }
+        final int childCount = readCount(input);
+        for (int i = 0; i < childCount; i++) {
+            configuration.addChild(readConfiguration(input, threadModeSettings));
+        }
+        return configuration;
+    }
+
+    /**
+     * Writes the snapshot file. The snapshot is written to a temporary file
+     * first and moved in place, so concurrent runs never read a partial snapshot.
+     * @param snapshot the snapshot file
+     * @param key the key of the configuration
+     * @param properties the properties the configuration referenced
+     * @param configuration the configuration
+     * @throws IOException if the snapshot can not be written
+     * @throws CheckstyleException if an attribute of the configuration can not be read
+     */
+    private static void writeSnapshot(Path snapshot, byte[] key, Map<String, String> properties,
+            Configuration configuration) throws IOException, CheckstyleException {
+        final Path directory = snapshot.getParent();
+        Files.createDirectories(directory);
+        final Path temporary = Files.createTempFile(directory,
+                snapshot.getFileName().toString(), ".tmp");
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(bytes)) {
+                output.writeInt(MAGIC);
+                writeBytes(output, key);
+                output.writeInt(properties.size());
+                for (Map.Entry<String, String> property : properties.entrySet()) {
+                    writeString(output, property.getKey());
+                    writeString(output, property.getValue());
+                }
+                writeConfiguration(output, configuration);
+            }
+            Files.write(temporary, bytes.toByteArray());
+            Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Writes a configuration tree to the snapshot.
+     * @param output the snapshot output
+     * @param configuration the configuration
+     * @throws IOException if the snapshot can not be written
+     * @throws CheckstyleException if an attribute of the configuration can not be read
+     */
+    private static void writeConfiguration(DataOutputStream output, Configuration configuration)
+            throws IOException, CheckstyleException {
+        writeString(output, configuration.getName());
+        final String[] attributeNames = configuration.getAttributeNames();
+        output.writeInt(attributeNames.length);
+        for (String name : attributeNames) {
+            writeString(output, name);
+            writeString(output, configuration.getAttribute(name));
+        }
+        final Map<String, String> messages = configuration.getMessages();
+        output.writeInt(messages.size());
+        for (Map.Entry<String, String> message : messages.entrySet()) {
+            writeString(output, message.getKey());
+            writeString(output, message.getValue());
+        }
+        final Configuration[] children = configuration.getChildren();
+        output.writeInt(children.length);
+        for (Configuration child : children) {
+            writeConfiguration(output, child);
+        }
+    }
+
+    /**
+     * Writes a string, which may be {@code null}.
+     * @param output the snapshot output
+     * @param value the string
+     * @throws IOException if the snapshot can not be written
+     */
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(NULL_LENGTH);
+        }
+        else {
+            writeBytes(output, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Reads a string, which may be {@code null}.
+     * @param input the snapshot input
+     * @return the string
+     * @throws IOException if the snapshot can not be read
+     */
+    private static String readString(DataInputStream input) throws IOException {
+        final byte[] bytes = readBytes(input);
+        String value = null;
+        if (bytes != null) {
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    /**
+     * Writes a byte array preceded by its length.
+     * @param output the snapshot output
+     * @param bytes the bytes
+     * @throws IOException if the snapshot can not be written
+     */
+    private static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Reads the number of the elements which follow in the snapshot.
+     * @param input the snapshot input
+     * @return the number of elements
+     * @throws IOException if the number is negative or exceeds the remaining input
+     */
+    private static int readCount(DataInputStream input) throws IOException {
+        final int count = input.readInt();
+        checkLength(input, count);
+        return count;
+    }
+
+    /**
+     * Checks that a length read from the snapshot fits into the remaining input, so that
+     * a broken snapshot can not make the reader allocate huge arrays or loop for long.
+     * @param input the snapshot input
+     * @param length the length to check
+     * @throws IOException if the length is negative or exceeds the remaining input
+     */
+    private static void checkLength(DataInputStream input, int length) throws IOException {
+        if (length < 0 || length > input.available()) {
+            throw new IOException("Invalid length " + length + " in configuration snapshot");
+        }
+    }
+
+    /**
+     * Reads a byte array preceded by its length.
+     * @param input the snapshot input
+     * @return the bytes, or {@code null} if the {@code null} length was read
+     * @throws IOException if the snapshot can not be read
+     */
+    private static byte[] readBytes(DataInputStream input) throws IOException {
+        final int length = input.readInt();
+        byte[] bytes = null;
+        if (length != NULL_LENGTH) {
+            checkLength(input, length);
+            bytes = new byte[length];
+            input.readFully(bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * Property resolver that records the value of every property it resolved.
+     */
+    private static final class RecordingPropertyResolver implements PropertyResolver {
+
+        /** The resolved properties and their values in the order they were resolved. */
+        private final Map<String, String> resolvedProperties = new LinkedHashMap<>();
+
+        /** The resolver of the properties. */
+        private final PropertyResolver resolver;
+
+        /**
+         * Creates a new {@code RecordingPropertyResolver} instance.
+         * @param resolver the resolver of the properties
+         */
+        RecordingPropertyResolver(PropertyResolver resolver) {
+            this.resolver = resolver;
+        }
+
+        @Override
+        public String resolve(String name) {
+            final String value = resolver.resolve(name);
+            resolvedProperties.put(name, value);
+            return value;
+        }
+
+    }
+
+}
@@ -19,6 +19,7 @@
 
 package com.puppycrawl.tools.checkstyle;
 
+import java.io.BufferedWriter;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
@@ -61,6 +62,9 @@ public class DefaultLogger extends AutomaticBean implements AuditListener {
      */
     public static final String AUDIT_FINISHED_MESSAGE = "DefaultLogger.auditFinished";
 
+    /** Initial capacity of the buffer of the error messages. */
+    private static final int INITIAL_BUFFER_CAPACITY = 256;
+
     /** Where to write info messages. **/
     private final PrintWriter infoWriter;
     /** Close info stream after use. */
@@ -74,6 +78,12 @@ public class DefaultLogger extends AutomaticBean implements AuditListener {
     /** Formatter for the log message. */
     private final AuditEventFormatter formatter;
 
+    /** The buffer the error messages are formatted in, guarded by the error writer. */
+    private final StringBuilder errorBuffer = new StringBuilder(INITIAL_BUFFER_CAPACITY);
+
+    /** The characters of the last error message, guarded by the error writer. */
+    private char[] errorChars = new char[INITIAL_BUFFER_CAPACITY];
+
     /**
      * Creates a new {@code DefaultLogger} instance.
      * @param outputStream where to log infos and errors
@@ -178,22 +188,61 @@ public class DefaultLogger extends AutomaticBean implements AuditListener {
                          OutputStream errorStream,
                          OutputStreamOptions errorStreamOptions,
                          AuditEventFormatter messageFormatter) {
+        this(infoStream, infoStreamOptions, errorStream, errorStreamOptions,
+                messageFormatter, 0);
+    }
+
+    /**
+     * Creates a new {@code DefaultLogger} instance which buffers its output.
+     * Violations are written into a buffer of the given size, and both
+     * streams are flushed only when a file is finished and when the audit ends,
+     * instead of letting every reported line reach the underlying stream.
+     *
+     * @param infoStream the {@code OutputStream} for info messages
+     * @param infoStreamOptions if {@code CLOSE} info should be closed in auditFinished()
+     * @param errorStream the {@code OutputStream} for error messages
+     * @param errorStreamOptions if {@code CLOSE} error should be closed in auditFinished()
+     * @param messageFormatter formatter for the log message.
+     * @param bufferSize size of the output buffer in characters,
+     *     {@code 0} to use the default unbuffered writers
+     * @noinspection WeakerAccess
+     */
+    public DefaultLogger(OutputStream infoStream,
+                         OutputStreamOptions infoStreamOptions,
+                         OutputStream errorStream,
+                         OutputStreamOptions errorStreamOptions,
+                         AuditEventFormatter messageFormatter,
+                         int bufferSize) {
+        if (bufferSize < 0) {
+            throw new IllegalArgumentException("Buffer size can not be negative");
+        }
         closeInfo = infoStreamOptions == OutputStreamOptions.CLOSE;
         closeError = errorStreamOptions == OutputStreamOptions.CLOSE;
-        final Writer infoStreamWriter = new OutputStreamWriter(infoStream, StandardCharsets.UTF_8);
-        infoWriter = new PrintWriter(infoStreamWriter);
+        infoWriter = createWriter(infoStream, bufferSize);
 
         if (infoStream == errorStream) {
             errorWriter = infoWriter;
         }
         else {
-            final Writer errorStreamWriter = new OutputStreamWriter(errorStream,
-                    StandardCharsets.UTF_8);
-            errorWriter = new PrintWriter(errorStreamWriter);
+            errorWriter = createWriter(errorStream, bufferSize);
         }
         formatter = messageFormatter;
     }
 
+    /**
+     * Creates a UTF-8 print writer for the stream.
+     * @param outputStream the stream to write to
+     * @param bufferSize size of the output buffer, {@code 0} for no additional buffering
+     * @return a new print writer
+     */
+    private static PrintWriter createWriter(OutputStream outputStream, int bufferSize) {
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        if (bufferSize > 0) {
+            writer = new BufferedWriter(writer, bufferSize);
+        }
+        return new PrintWriter(writer);
+    }
+
     @Override
     protected void finishLocalSetup() throws CheckstyleException {
         // No code by default
@@ -202,14 +251,24 @@ public class DefaultLogger extends AutomaticBean implements AuditListener {
     /**
      * Print an Emacs compliant line on the error stream.
      * If the column number is non zero, then also display it.
+     * The line is formatted in a reused buffer and written without creating a string.
      * @see AuditListener
      **/
     @Override
     public void addError(AuditEvent event) {
         final SeverityLevel severityLevel = event.getSeverityLevel();
         if (severityLevel != SeverityLevel.IGNORE) {
-            final String errorMessage = formatter.format(event);
-            errorWriter.println(errorMessage);
+            synchronized (errorWriter) {
+                errorBuffer.setLength(0);
+                formatter.format(event, errorBuffer);
+                final int length = errorBuffer.length();
+                if (errorChars.length < length) {
+                    errorChars = new char[Math.max(length, errorChars.length * 2)];
+                }
+                errorBuffer.getChars(0, length, errorChars, 0);
+                errorWriter.write(errorChars, 0, length);
+                errorWriter.println();
+            }
         }
     }
 
@@ -225,6 +284,11 @@ public class DefaultLogger extends AutomaticBean implements AuditListener {
         }
     }
 
+    @Override
+    public void auditTruncated(AuditEvent event) {
+        errorWriter.println(event.getMessage());
+    }
+
     @Override
     public void auditStarted(AuditEvent event) {
         final LocalizedMessage auditStartMessage = new LocalizedMessage(0,
@@ -251,6 +315,9 @@ public class DefaultLogger extends AutomaticBean implements AuditListener {
     @Override
     public void fileFinished(AuditEvent event) {
         infoWriter.flush();
+        if (errorWriter != infoWriter) {
+            errorWriter.flush();
+        }
     }
 
     /**
@@ -37,6 +37,10 @@ import java.lang.annotation.Target;
  * Checker guarantees that there will be exactly one check instance
  * This is similar to multi-file validation, which checkstyle does not support fully yet.
  * Please refer to https://github.com/checkstyle/checkstyle/issues/3540 for details.
+ * When an audit is split into shards (see {@link Shard}), every shard has its own check
+ * instance, which sees only the files of that shard. Shards are made of whole directories,
+ * so a check should keep its information per directory; then every shard reports complete
+ * violations for its directories and the reports of all shards can be merged as they are.
  * @author Andrew Kuchev
  * @noinspection AnnotationClass, ClassIndependentOfModule, unused
  */
@@ -26,6 +26,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Properties;
@@ -52,6 +53,7 @@ import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
 import com.puppycrawl.tools.checkstyle.api.RootModule;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 
 /**
@@ -76,9 +78,6 @@ public final class Main {
      * message in the "messages.properties" file.
      */
     public static final String CREATE_LISTENER_EXCEPTION = "Main.createListener";
-    /** Logger for Main. */
-    private static final Log LOG = LogFactory.getLog(Main.class);
-
     /** Width of CLI help option. */
     private static final int HELP_WIDTH = 100;
 
@@ -158,12 +157,43 @@ public final class Main {
     private static final String OPTION_TREE_WALKER_THREADS_NUMBER_NAME =
         "tree-walker-threads-number";
 
+    /** Name for the option '--max-errors'. */
+    private static final String OPTION_MAX_ERRORS_NAME = "max-errors";
+
+    /** Name for the option '--shard'. */
+    private static final String OPTION_SHARD_NAME = "shard";
+
+    /** Name for the option '--shard-by-size'. */
+    private static final String OPTION_SHARD_BY_SIZE_NAME = "shard-by-size";
+
+    /** Name for the option '--merge'. */
+    private static final String OPTION_MERGE_NAME = "merge";
+
+    /** Name for the option '--generate-baseline'. */
+    private static final String OPTION_GENERATE_BASELINE_NAME = "generate-baseline";
+
+    /** Name for the option '--generate-xpath-suppressions'. */
+    private static final String OPTION_GENERATE_XPATH_SUPPRESSIONS_NAME =
+            "generate-xpath-suppressions";
+
+    /** Name for the option '--config-snapshot'. */
+    private static final String OPTION_CONFIG_SNAPSHOT_NAME = "config-snapshot";
+
+    /** Name of the charset attribute of the root module. */
+    private static final String ATTRIBUTE_CHARSET_NAME = "charset";
+
+    /** Name of the basedir attribute of the root module. */
+    private static final String ATTRIBUTE_BASEDIR_NAME = "basedir";
+
     /** Name for 'xml' format. */
     private static final String XML_FORMAT_NAME = "xml";
 
     /** Name for 'plain' format. */
     private static final String PLAIN_FORMAT_NAME = "plain";
 
+    /** Size of the output buffer of the 'plain' format logger. */
+    private static final int PLAIN_OUTPUT_BUFFER_SIZE = 65536;
+
     /** A string value of 1. */
     private static final String ONE_STRING_VALUE = "1";
 
@@ -306,16 +336,26 @@ public final class Main {
                 result.add("Printing AST is allowed for only one file.");
             }
         }
+        else if (cmdLine.hasOption(OPTION_MERGE_NAME)) {
+            if (cmdLine.hasOption(OPTION_C_NAME) || cmdLine.hasOption(OPTION_P_NAME)
+                    || cmdLine.hasOption(OPTION_F_NAME)) {
+                result.add("Option '--merge' can only be used with option '-o'.");
+            }
+        }
         // ensure a configuration file is specified
         else if (cmdLine.hasOption(OPTION_C_NAME)) {
-            final String configLocation = cmdLine.getOptionValue(OPTION_C_NAME);
-            try {
-                // test location only
-                CommonUtils.getUriByFilename(configLocation);
-            }
-            catch (CheckstyleException ignored) {
-                result.add(String.format("Could not find config XML file '%s'.", configLocation));
+            final String[] configLocations = cmdLine.getOptionValues(OPTION_C_NAME);
+            for (String configLocation : configLocations) {
+                try {
+                    // test location only
+                    CommonUtils.getUriByFilename(configLocation);
+                }
+                catch (CheckstyleException ignored) {
+                    result.add(String.format("Could not find config XML file '%s'.",
+                            configLocation));
+                }
             }
+            verifyMultipleConfigurations(cmdLine, result, configLocations.length);
 
             // validate optional parameters
             if (cmdLine.hasOption(OPTION_F_NAME)) {
@@ -339,6 +379,9 @@ public final class Main {
             verifyThreadsNumberParameter(cmdLine, result, OPTION_CAPITAL_W_NAME,
                 "TreeWalker threads number must be greater than zero",
                 "Invalid TreeWalker threads number");
+            verifyThreadModes(cmdLine, result, configLocations.length);
+            verifyMaxErrorsParameter(cmdLine, result);
+            verifyShardParameter(cmdLine, result);
         }
         else {
             result.add("Must specify a config XML file.");
@@ -375,6 +418,101 @@ public final class Main {
         }
     }
 
+    /**
+     * Verifies that the thread numbers are supported. TreeWalker threads are not
+     * implemented, and several configurations are checked on a single thread.
+     * @param cmdLine a command line
+     * @param result a resulting list of errors
+     * @param configCount the number of configurations
+     */
+    private static void verifyThreadModes(CommandLine cmdLine, List<String> result,
+            int configCount) {
+        if (getThreadsNumber(cmdLine, OPTION_CAPITAL_W_NAME) > 1) {
+            result.add("Multi thread mode for TreeWalker module is not implemented,"
+                    + " use option '-C' to check files on several threads.");
+        }
+        if (configCount > 1 && getThreadsNumber(cmdLine, OPTION_CAPITAL_C_NAME) > 1) {
+            result.add("Option '-C' with more than one thread cannot be used with"
+                    + " several configurations.");
+        }
+    }
+
+    /**
+     * Returns the threads number given by a CLI parameter.
+     * @param cmdLine a command line
+     * @param cliParameterName a CLI parameter name
+     * @return the threads number, 1 if the parameter is missing or invalid
+     */
+    private static int getThreadsNumber(CommandLine cmdLine, String cliParameterName) {
+        int threadsNumber = 1;
+        final String threadsNumberStr = cmdLine.getOptionValue(cliParameterName);
+        if (threadsNumberStr != null && CommonUtils.isInt(threadsNumberStr)) {
+            threadsNumber = Integer.parseInt(threadsNumberStr);
+        }
+        return threadsNumber;
+    }
+
+    /**
+     * Verifies that the options used with several configurations support them.
+     * @param cmdLine a command line
+     * @param result a resulting list of errors
+     * @param configCount the number of configurations
+     */
+    private static void verifyMultipleConfigurations(CommandLine cmdLine, List<String> result,
+            int configCount) {
+        final String[] outputLocations = cmdLine.getOptionValues(OPTION_O_NAME);
+        if (outputLocations != null && outputLocations.length > configCount) {
+            result.add("Option '-o' can be given at most once per configuration.");
+        }
+        if (configCount > 1) {
+            if (outputLocations == null || outputLocations.length < configCount) {
+                // the reports of several configurations can not be told apart in one output
+                result.add("Option '-o' must be given once per configuration"
+                        + " when several configurations are used.");
+            }
+            for (String option : Arrays.asList(OPTION_GENERATE_BASELINE_NAME,
+                    OPTION_CONFIG_SNAPSHOT_NAME)) {
+                if (cmdLine.hasOption(option)) {
+                    result.add(String.format("Option '--%s' can only be used with"
+                            + " one configuration.", option));
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifies the maximum number of errors CLI parameter value.
+     * @param cmdLine a command line
+     * @param result a resulting list of errors
+     */
+    private static void verifyMaxErrorsParameter(CommandLine cmdLine, List<String> result) {
+        if (cmdLine.hasOption(OPTION_MAX_ERRORS_NAME)) {
+            final String maxErrorsStr = cmdLine.getOptionValue(OPTION_MAX_ERRORS_NAME);
+            if (!CommonUtils.isInt(maxErrorsStr) || Integer.parseInt(maxErrorsStr) < 0) {
+                result.add("Maximum number of errors must be a non-negative number");
+            }
+        }
+    }
+
+    /**
+     * Verifies the shard CLI parameter value.
+     * @param cmdLine a command line
+     * @param result a resulting list of errors
+     */
+    private static void verifyShardParameter(CommandLine cmdLine, List<String> result) {
+        if (cmdLine.hasOption(OPTION_SHARD_NAME)) {
+            try {
+                Shard.parse(cmdLine.getOptionValue(OPTION_SHARD_NAME), false);
+            }
+            catch (IllegalArgumentException ex) {
+                result.add(ex.getMessage());
+            }
+        }
+        else if (cmdLine.hasOption(OPTION_SHARD_BY_SIZE_NAME)) {
+            result.add("Option '--shard-by-size' requires option '--shard'.");
+        }
+    }
+
     /**
      * Do execution of CheckStyle based on Command line options.
      * @param commandLine command line object
@@ -412,6 +550,9 @@ public final class Main {
             final String stringAst = AstTreeStringPrinter.printJavaAndJavadocTree(file);
             System.out.print(stringAst);
         }
+        else if (commandLine.hasOption(OPTION_MERGE_NAME)) {
+            result = mergeResults(config);
+        }
         else {
             if (commandLine.hasOption(OPTION_D_NAME)) {
                 final Logger parentLogger = Logger.getLogger(Main.class.getName()).getParent();
@@ -427,10 +568,11 @@ public final class Main {
                 });
                 parentLogger.addHandler(handler);
                 parentLogger.setLevel(Level.FINEST);
-            }
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Checkstyle debug logging enabled");
-                LOG.debug("Running Checkstyle with version: "
+
+                // logging is initialized only on request, it is not needed for the audit
+                final Log log = LogFactory.getLog(Main.class);
+                log.debug("Checkstyle debug logging enabled");
+                log.debug("Running Checkstyle with version: "
                         + Main.class.getPackage().getImplementationVersion());
             }
 
@@ -453,10 +595,17 @@ public final class Main {
         if (conf.format == null) {
             conf.format = PLAIN_FORMAT_NAME;
         }
-        conf.outputLocation = cmdLine.getOptionValue(OPTION_O_NAME);
-        conf.configLocation = cmdLine.getOptionValue(OPTION_C_NAME);
+        conf.outputLocations = getOptionValues(cmdLine, OPTION_O_NAME);
+        conf.configLocations = getOptionValues(cmdLine, OPTION_C_NAME);
         conf.propertiesLocation = cmdLine.getOptionValue(OPTION_P_NAME);
-        conf.files = filesToProcess;
+        if (cmdLine.hasOption(OPTION_SHARD_NAME)) {
+            final Shard shard = Shard.parse(cmdLine.getOptionValue(OPTION_SHARD_NAME),
+                    cmdLine.hasOption(OPTION_SHARD_BY_SIZE_NAME));
+            conf.files = shard.select(filesToProcess, new File("").getAbsolutePath());
+        }
+        else {
+            conf.files = filesToProcess;
+        }
         conf.executeIgnoredModules = cmdLine.hasOption(OPTION_EXECUTE_IGNORED_MODULES_NAME);
         final String checkerThreadsNumber = cmdLine.getOptionValue(
                 OPTION_CAPITAL_C_NAME, ONE_STRING_VALUE);
@@ -464,11 +613,19 @@ public final class Main {
         final String treeWalkerThreadsNumber = cmdLine.getOptionValue(
                 OPTION_CAPITAL_W_NAME, ONE_STRING_VALUE);
         conf.treeWalkerThreadsNumber = Integer.parseInt(treeWalkerThreadsNumber);
+        if (cmdLine.hasOption(OPTION_MAX_ERRORS_NAME)) {
+            conf.maxErrors = Integer.valueOf(cmdLine.getOptionValue(OPTION_MAX_ERRORS_NAME));
+        }
+        conf.baselineLocation = cmdLine.getOptionValue(OPTION_GENERATE_BASELINE_NAME);
+        conf.generateXpathSuppressions =
+                cmdLine.hasOption(OPTION_GENERATE_XPATH_SUPPRESSIONS_NAME);
+        conf.configSnapshotLocation = cmdLine.getOptionValue(OPTION_CONFIG_SNAPSHOT_NAME);
         return conf;
     }
 
     /**
      * Executes required Checkstyle actions based on passed parameters.
+     * Several configurations are audited in one pass over the files.
      * @param cliOptions
      *        pojo object that contains all options
      * @return number of violations of ERROR level
@@ -489,7 +646,58 @@ public final class Main {
             props = loadProperties(new File(cliOptions.propertiesLocation));
         }
 
-        // create a configuration
+        // create RootModule objects and run them
+        int errorCounter = 0;
+        final List<RootModule> rootModules = new ArrayList<>();
+        try {
+            for (int index = 0; index < cliOptions.configLocations.size(); index++) {
+                final Configuration config = loadConfiguration(cliOptions,
+                        cliOptions.configLocations.get(index), props);
+                final RootModule rootModule =
+                        getRootModule(config.getName(), Checker.class.getClassLoader());
+                rootModules.add(rootModule);
+                setupRootModule(cliOptions, rootModule, config,
+                        getOutputLocation(cliOptions, index));
+            }
+
+            // run RootModules
+            final List<Checker> checkers = new ArrayList<>();
+            for (RootModule rootModule : rootModules) {
+                if (rootModule instanceof Checker) {
+                    checkers.add((Checker) rootModule);
+                }
+                else {
+                    errorCounter += rootModule.process(cliOptions.files);
+                }
+            }
+            if (checkers.size() == 1) {
+                errorCounter += checkers.get(0).process(cliOptions.files);
+            }
+            else if (!checkers.isEmpty()) {
+                errorCounter += new CheckerGroup(checkers).process(cliOptions.files);
+            }
+        }
+        finally {
+            rootModules.forEach(RootModule::destroy);
+        }
+
+        return errorCounter;
+    }
+
+    /**
+     * Loads a configuration.
+     * @param cliOptions
+     *        pojo object that contains all options
+     * @param configLocation
+     *        the location of the configuration
+     * @param props
+     *        the properties to resolve in the configuration
+     * @return the configuration
+     * @throws CheckstyleException
+     *         when the configuration could not be loaded
+     */
+    private static Configuration loadConfiguration(CliOptions cliOptions, String configLocation,
+            Properties props) throws CheckstyleException {
         final ThreadModeSettings multiThreadModeSettings =
                 new ThreadModeSettings(
                         cliOptions.checkerThreadsNumber, cliOptions.treeWalkerThreadsNumber);
@@ -502,31 +710,116 @@ public final class Main {
             ignoredModulesOptions = ConfigurationLoader.IgnoredModulesOptions.OMIT;
         }
 
-        final Configuration config = ConfigurationLoader.loadConfiguration(
-                cliOptions.configLocation, new PropertiesExpander(props),
-                ignoredModulesOptions, multiThreadModeSettings);
+        final Configuration config;
+        if (cliOptions.configSnapshotLocation == null) {
+            config = ConfigurationLoader.loadConfiguration(
+                    configLocation, new PropertiesExpander(props),
+                    ignoredModulesOptions, multiThreadModeSettings);
+        }
+        else {
+            config = ConfigurationSnapshot.loadConfiguration(
+                    configLocation, cliOptions.configSnapshotLocation,
+                    new PropertiesExpander(props), ignoredModulesOptions,
+                    multiThreadModeSettings);
+        }
+        return config;
+    }
 
+    /**
+     * Configures the root module of a configuration and adds its listeners.
+     * @param cliOptions
+     *        pojo object that contains all options
+     * @param rootModule
+     *        the root module
+     * @param config
+     *        the configuration
+     * @param outputLocation
+     *        the location of output of the configuration, null for stdout
+     * @throws FileNotFoundException
+     *         when output file could not be found
+     * @throws CheckstyleException
+     *         when the root module could not be configured
+     */
+    private static void setupRootModule(CliOptions cliOptions, RootModule rootModule,
+            Configuration config, String outputLocation)
+            throws CheckstyleException, FileNotFoundException {
         // create a listener for output
-        final AuditListener listener = createListener(cliOptions.format, cliOptions.outputLocation);
-
-        // create RootModule object and run it
-        final int errorCounter;
-        final ClassLoader moduleClassLoader = Checker.class.getClassLoader();
-        final RootModule rootModule = getRootModule(config.getName(), moduleClassLoader);
+        final AuditListener listener;
+        if (cliOptions.generateXpathSuppressions) {
+            listener = createXpathSuppressionsLogger(config, outputLocation);
+        }
+        else {
+            listener = createListener(cliOptions.format, outputLocation);
+        }
 
-        try {
-            rootModule.setModuleClassLoader(moduleClassLoader);
-            rootModule.configure(config);
-            rootModule.addListener(listener);
+        rootModule.setModuleClassLoader(Checker.class.getClassLoader());
+        rootModule.configure(config);
+        rootModule.addListener(listener);
+        if (cliOptions.baselineLocation != null) {
+            rootModule.addListener(createBaselineLogger(config, cliOptions.baselineLocation));
+        }
+        if (cliOptions.maxErrors != null && rootModule instanceof Checker) {
+            ((Checker) rootModule).setMaxErrors(cliOptions.maxErrors);
+        }
+    }
 
-            // run RootModule
-            errorCounter = rootModule.process(cliOptions.files);
+    /**
+     * Returns the output location of a configuration. The n-th output location
+     * belongs to the n-th configuration.
+     * @param cliOptions
+     *        pojo object that contains all options
+     * @param index
+     *        the position of the configuration
+     * @return the output location, or null for stdout
+     */
+    private static String getOutputLocation(CliOptions cliOptions, int index) {
+        String outputLocation = null;
+        if (index < cliOptions.outputLocations.size()) {
+            outputLocation = cliOptions.outputLocations.get(index);
         }
-        finally {
-            rootModule.destroy();
+        return outputLocation;
+    }
+
+    /**
+     * Returns all values of an option.
+     * @param cmdLine command line object
+     * @param option the name of the option
+     * @return the values of the option in the given order, empty if the option is absent
+     */
+    private static List<String> getOptionValues(CommandLine cmdLine, String option) {
+        final List<String> values = new ArrayList<>();
+        if (cmdLine.hasOption(option)) {
+            values.addAll(Arrays.asList(cmdLine.getOptionValues(option)));
         }
+        return values;
+    }
 
-        return errorCounter;
+    /**
+     * Merges XML reports of shards of one audit.
+     * @param cliOptions
+     *        pojo object that contains all options
+     * @return number of violations of ERROR level in all reports
+     * @throws IOException
+     *         when output file could not be written
+     * @throws CheckstyleException
+     *         when a report could not be read
+     */
+    private static int mergeResults(CliOptions cliOptions)
+            throws IOException, CheckstyleException {
+        final XMLResultsMerger merger = new XMLResultsMerger();
+        for (File report : cliOptions.files) {
+            merger.addReport(report);
+        }
+        final String outputLocation = getOutputLocation(cliOptions, 0);
+        if (outputLocation == null) {
+            merger.write(System.out);
+        }
+        else {
+            try (OutputStream out = new FileOutputStream(outputLocation)) {
+                merger.write(out);
+            }
+        }
+        return merger.getCount(SeverityLevel.ERROR);
     }
 
     /**
@@ -607,7 +900,8 @@ public final class Main {
         }
         else if (PLAIN_FORMAT_NAME.equals(format)) {
             listener = new DefaultLogger(out, closeOutputStream, out,
-                    AutomaticBean.OutputStreamOptions.NONE);
+                    AutomaticBean.OutputStreamOptions.NONE, new AuditEventDefaultFormatter(),
+                    PLAIN_OUTPUT_BUFFER_SIZE);
         }
         else {
             if (closeOutputStream == AutomaticBean.OutputStreamOptions.CLOSE) {
@@ -623,6 +917,70 @@ public final class Main {
         return listener;
     }
 
+    /**
+     * Creates the logger, which writes a suppression for each violation instead of
+     * reporting it. The charset and the basedir are taken from the configuration, to read
+     * the files the same way as the audit.
+     *
+     * @param config the configuration of the audit
+     * @param outputLocation the location of output
+     * @return a fresh new {@code XpathSuppressionsLogger}
+     * @exception FileNotFoundException when provided output location is not found
+     * @exception CheckstyleException when an attribute of the configuration can not be read
+     * @noinspection IOResourceOpenedButNotSafelyClosed
+     */
+    private static AuditListener createXpathSuppressionsLogger(Configuration config,
+            String outputLocation) throws FileNotFoundException, CheckstyleException {
+        final XpathSuppressionsLogger logger;
+        if (outputLocation == null) {
+            logger = new XpathSuppressionsLogger(System.out,
+                    AutomaticBean.OutputStreamOptions.NONE);
+        }
+        else {
+            logger = new XpathSuppressionsLogger(new FileOutputStream(outputLocation),
+                    AutomaticBean.OutputStreamOptions.CLOSE);
+        }
+        if (hasAttribute(config, ATTRIBUTE_CHARSET_NAME)) {
+            logger.setCharset(config.getAttribute(ATTRIBUTE_CHARSET_NAME));
+        }
+        if (hasAttribute(config, ATTRIBUTE_BASEDIR_NAME)) {
+            logger.setBasedir(config.getAttribute(ATTRIBUTE_BASEDIR_NAME));
+        }
+        return logger;
+    }
+
+    /**
+     * Creates the logger which writes the baseline file. It reads the violating lines
+     * with the charset of the configuration and relativizes the file names to its basedir.
+     * @param config the configuration of the root module
+     * @param baselineLocation the location of the baseline file
+     * @return the baseline logger
+     * @throws FileNotFoundException if the baseline file could not be created
+     * @throws CheckstyleException if an attribute of the configuration could not be read
+     */
+    private static AuditListener createBaselineLogger(Configuration config,
+            String baselineLocation) throws FileNotFoundException, CheckstyleException {
+        final BaselineLogger logger = new BaselineLogger(
+                new FileOutputStream(baselineLocation), AutomaticBean.OutputStreamOptions.CLOSE);
+        if (hasAttribute(config, ATTRIBUTE_CHARSET_NAME)) {
+            logger.setCharset(config.getAttribute(ATTRIBUTE_CHARSET_NAME));
+        }
+        if (hasAttribute(config, ATTRIBUTE_BASEDIR_NAME)) {
+            logger.setBasedir(config.getAttribute(ATTRIBUTE_BASEDIR_NAME));
+        }
+        return logger;
+    }
+
+    /**
+     * Checks whether the configuration has the given attribute.
+     * @param config the configuration
+     * @param name the name of the attribute
+     * @return true if the configuration has the attribute
+     */
+    private static boolean hasAttribute(Configuration config, String name) {
+        return Arrays.asList(config.getAttributeNames()).contains(name);
+    }
+
     /**
      * Determines the files to process.
      * @param patternsToExclude The list of directory patterns to exclude from searching.
@@ -706,8 +1064,10 @@ public final class Main {
      */
     private static Options buildOptions() {
         final Options options = new Options();
-        options.addOption(OPTION_C_NAME, true, "Sets the check configuration file to use.");
-        options.addOption(OPTION_O_NAME, true, "Sets the output file. Defaults to stdout");
+        options.addOption(OPTION_C_NAME, true, "Sets the check configuration file to use."
+                + " Repeat it to audit several configurations in one pass");
+        options.addOption(OPTION_O_NAME, true, "Sets the output file. Defaults to stdout."
+                + " The n-th output file belongs to the n-th configuration");
         options.addOption(OPTION_P_NAME, true, "Loads the properties file");
         options.addOption(OPTION_F_NAME, true, String.format(
                 "Sets the output format. (%s|%s). Defaults to %s",
@@ -733,6 +1093,23 @@ public final class Main {
                 "(experimental) The number of Checker threads (must be greater than zero)");
         options.addOption(OPTION_CAPITAL_W_NAME, OPTION_TREE_WALKER_THREADS_NUMBER_NAME, true,
                 "(experimental) The number of TreeWalker threads (must be greater than zero)");
+        options.addOption(null, OPTION_MAX_ERRORS_NAME, true,
+                "Stops the audit as soon as more errors than specified were found");
+        options.addOption(null, OPTION_SHARD_NAME, true,
+                "Checks only the files of the shard <index>/<count>, "
+                + "all files of a directory belong to the same shard");
+        options.addOption(null, OPTION_SHARD_BY_SIZE_NAME, false,
+                "Distributes directories to shards by the size of their files");
+        options.addOption(null, OPTION_MERGE_NAME, false,
+                "Merges the XML reports of shards, given instead of files, into one report");
+        options.addOption(null, OPTION_GENERATE_BASELINE_NAME, true,
+                "Writes the fingerprints of all found violations to the baseline file");
+        options.addOption(null, OPTION_GENERATE_XPATH_SUPPRESSIONS_NAME, false,
+                "Writes a suppressions file with an xpath suppression for each violation "
+                + "instead of reporting the violations");
+        options.addOption(null, OPTION_CONFIG_SNAPSHOT_NAME, true,
+                "Loads the configuration from a precompiled snapshot file, "
+                + "which is written whenever the configuration changed");
         return options;
     }
 
@@ -741,12 +1118,12 @@ public final class Main {
 
         /** Properties file location. */
         private String propertiesLocation;
-        /** Config file location. */
-        private String configLocation;
+        /** Config file locations. */
+        private List<String> configLocations;
         /** Output format. */
         private String format;
-        /** Output file location. */
-        private String outputLocation;
+        /** Output file locations, by position of their configuration. */
+        private List<String> outputLocations;
         /** List of file to validate. */
         private List<File> files;
         /** Switch whether to execute ignored modules or not. */
@@ -755,6 +1132,14 @@ public final class Main {
         private int checkerThreadsNumber;
         /** The tree walker threads number. */
         private int treeWalkerThreadsNumber;
+        /** The maximum number of errors before the audit is stopped, {@code null} if not set. */
+        private Integer maxErrors;
+        /** Baseline file location, {@code null} if no baseline should be generated. */
+        private String baselineLocation;
+        /** Switch whether to write xpath suppressions instead of reporting violations. */
+        private boolean generateXpathSuppressions;
+        /** Configuration snapshot file location, {@code null} if no snapshot is used. */
+        private String configSnapshotLocation;
 
     }
 
@@ -0,0 +1,159 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import com.puppycrawl.tools.checkstyle.api.AutomaticBean;
+import com.puppycrawl.tools.checkstyle.api.BeforeExecutionFileFilter;
+import com.puppycrawl.tools.checkstyle.api.Filter;
+import com.puppycrawl.tools.checkstyle.api.RootModule;
+
+/**
+ * Annotation processor, which writes the module index resource
+ * {@value PackageObjectFactory#MODULE_INDEX_RESOURCE} listing all Checkstyle modules
+ * of the compiled classes. With the index in its jar, {@link PackageObjectFactory}
+ * finds the modules of the jar by their name without scanning the class path.
+ * The processor is not registered as a service, it is enabled explicitly, for
+ * example by the {@code -processor} option of javac. The index lists the modules
+ * of one compilation, so incremental compilations must not reuse an index.
+ * @author the original author or authors.
+ * @see com.puppycrawl.tools.checkstyle.utils.ModuleReflectionUtils#isCheckstyleModule(Class)
+ */
+public class ModuleIndexProcessor extends AbstractProcessor {
+
+    /** The types a top level class has to extend or implement to be a module. */
+    private static final List<Class<?>> MODULE_TYPES = Arrays.asList(AbstractCheck.class,
+            AbstractFileSetCheck.class, Filter.class, BeforeExecutionFileFilter.class,
+            TreeWalkerFilter.class, AuditListener.class, RootModule.class);
+
+    /** Fully qualified names of the modules found so far. */
+    private final Set<String> fullModuleNames = new TreeSet<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeModuleIndex();
+        }
+        else {
+            ElementFilter.typesIn(roundEnv.getRootElements()).stream()
+                    .filter(this::isCheckstyleModule)
+                    .forEach(type -> fullModuleNames.add(type.getQualifiedName().toString()));
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the given top level class may be considered as a Checkstyle module,
+     * the same way as {@code ModuleReflectionUtils} does for loaded classes.
+     * @param type the top level class
+     * @return true if the class is a module
+     */
+    private boolean isCheckstyleModule(TypeElement type) {
+        final Types types = processingEnv.getTypeUtils();
+        final TypeMirror typeMirror = types.erasure(type.asType());
+        return type.getKind() == ElementKind.CLASS
+                && !type.getModifiers().contains(Modifier.ABSTRACT)
+                && hasDefaultConstructor(type)
+                && types.isAssignable(typeMirror, getType(AutomaticBean.class))
+                && MODULE_TYPES.stream()
+                        .anyMatch(moduleType -> types.isAssignable(typeMirror,
+                                getType(moduleType)));
+    }
+
+    /**
+     * Returns the erased type of the given class.
+     * @param clazz the class
+     * @return the erased type
+     */
+    private TypeMirror getType(Class<?> clazz) {
+        return processingEnv.getTypeUtils().erasure(
+                processingEnv.getElementUtils().getTypeElement(clazz.getName()).asType());
+    }
+
+    /**
+     * Checks whether the given class has a constructor without parameters.
+     * @param type the class
+     * @return true if the class has a default constructor
+     */
+    private static boolean hasDefaultConstructor(Element type) {
+        return ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                .map(ExecutableElement::getParameters)
+                .anyMatch(List::isEmpty);
+    }
+
+    /**
+     * Writes the module index resource with the modules found in all rounds.
+     */
+    private void writeModuleIndex() {
+        try {
+            final FileObject resource = processingEnv.getFiler().createResource(
+                    StandardLocation.CLASS_OUTPUT, "", PackageObjectFactory.MODULE_INDEX_RESOURCE);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(),
+                    StandardCharsets.UTF_8)) {
+                for (String fullModuleName : fullModuleNames) {
+                    writer.write(fullModuleName);
+                    writer.write('\n');
+                }
+            }
+        }
+        catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write module index: " + ex.getMessage());
+        }
+    }
+
+}
@@ -19,10 +19,16 @@
 
 package com.puppycrawl.tools.checkstyle;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
@@ -45,6 +51,13 @@ import com.puppycrawl.tools.checkstyle.utils.ModuleReflectionUtils;
  *         that represents Check (with 'Check' suffix).
  *     </li>
  * </ul>
+ *
+ * <p>Modules, which are not Checkstyle core modules, are found by their name in the
+ * module index resources {@value #MODULE_INDEX_RESOURCE} of the class path, which
+ * third party jars generate at build time by {@link ModuleIndexProcessor}. Only the
+ * registered packages, which are neither core packages nor listed in an index,
+ * are scanned on the class path at first. The registered core packages, which are not
+ * listed in an index, are scanned only for names which are found nowhere else.</p>
  * @author Rick Giles
  * @author lkuehne
  */
@@ -94,9 +107,18 @@ public class PackageObjectFactory implements ModuleFactory {
     /** Separator to use in strings. */
     public static final String STRING_SEPARATOR = ", ";
 
+    /** Name of the module index resources, which list modules by their fully qualified names. */
+    public static final String MODULE_INDEX_RESOURCE = "checkstyle_modules.txt";
+
+    /** Prefix of the comment lines of the module index resources. */
+    private static final String MODULE_INDEX_COMMENT_PREFIX = "#";
+
     /** Map of Checkstyle module names to their fully qualified names. */
     private static final Map<String, String> NAME_TO_FULL_MODULE_NAME = new HashMap<>();
 
+    /** Packages of the Checkstyle core modules, which are scanned only on demand. */
+    private static final Set<String> CORE_MODULE_PACKAGES = new HashSet<>();
+
     /** A list of package names to prepend to class names. */
     private final Set<String> packages;
 
@@ -106,11 +128,19 @@ public class PackageObjectFactory implements ModuleFactory {
     /** Map of third party Checkstyle module names to the set of their fully qualified names. */
     private Map<String, Set<String>> thirdPartyNameToFullModuleNames;
 
+    /** The registered core packages, which are not covered by a module index. */
+    private Set<String> unindexedCorePackages;
+
+    /** Map of the module names in {@link #unindexedCorePackages} to their full names. */
+    private Map<String, Set<String>> corePackageNameToFullModuleNames;
+
     /** Module load option which defines class search type. */
     private ModuleLoadOption moduleLoadOption;
 
     static {
         fillShortToFullModuleNamesMap();
+        NAME_TO_FULL_MODULE_NAME.values().forEach(
+            fullModuleName -> CORE_MODULE_PACKAGES.add(getPackageName(fullModuleName)));
     }
 
     /**
@@ -182,11 +212,7 @@ public class PackageObjectFactory implements ModuleFactory {
             instance = createFromStandardCheckSet(name);
             // find the name in third party map
             if (instance == null) {
-                if (thirdPartyNameToFullModuleNames == null) {
-                    thirdPartyNameToFullModuleNames =
-                            generateThirdPartyNameToFullModuleName(moduleClassLoader);
-                }
-                instance = createObjectFromMap(name, thirdPartyNameToFullModuleNames);
+                instance = createFromThirdPartyModules(name);
             }
         }
         if (instance == null) {
@@ -234,6 +260,31 @@ public class PackageObjectFactory implements ModuleFactory {
         return instance;
     }
 
+    /**
+     * Creates a module, which is not a Checkstyle core module, from its name. The modules of
+     * the indexes and of the scanned third party packages are searched first. The registered
+     * core packages, which are not covered by an index, are scanned only if the name is not
+     * found there, since they may hold third party modules too.
+     * @param name name of module.
+     * @return instance of module, or {@code null} if no module has the name.
+     * @throws CheckstyleException if the class fails to instantiate or there are ambiguous classes.
+     */
+    private Object createFromThirdPartyModules(String name) throws CheckstyleException {
+        if (thirdPartyNameToFullModuleNames == null) {
+            thirdPartyNameToFullModuleNames =
+                    generateThirdPartyNameToFullModuleName(moduleClassLoader);
+        }
+        Object instance = createObjectFromMap(name, thirdPartyNameToFullModuleNames);
+        if (instance == null) {
+            if (corePackageNameToFullModuleNames == null) {
+                corePackageNameToFullModuleNames =
+                        generateCorePackageNameToFullModuleName(moduleClassLoader);
+            }
+            instance = createObjectFromMap(name, corePackageNameToFullModuleNames);
+        }
+        return instance;
+    }
+
     /**
      * Create object with the help of the supplied map.
      * @param name name of module.
@@ -287,23 +338,53 @@ public class PackageObjectFactory implements ModuleFactory {
 
     /**
      * Generate the map of third party Checkstyle module names to the set of their fully qualified
-     * names.
+     * names. The modules are taken from the module indexes, only registered packages covered
+     * neither by an index nor by the core modules are scanned on the class path. The registered
+     * core packages, which are not covered by an index, are remembered to be scanned on demand.
      * @param loader the class loader used to load Checkstyle package names
      * @return the map of third party Checkstyle module names to the set of their fully qualified
      *      names
      */
     private Map<String, Set<String>> generateThirdPartyNameToFullModuleName(ClassLoader loader) {
         Map<String, Set<String>> returnValue;
+        final Set<String> indexedPackages = new HashSet<>();
+        try {
+            final Set<String> fullModuleNames = new HashSet<>();
+            for (String fullModuleName : loadModuleIndex(loader)) {
+                final String packageName = getPackageName(fullModuleName);
+                indexedPackages.add(packageName);
+                if (packages.contains(packageName)) {
+                    fullModuleNames.add(fullModuleName);
+                }
+            }
+            fullModuleNames.addAll(scanModuleNames(packages.stream()
+                    .filter(packageName -> !indexedPackages.contains(packageName))
+                    .filter(packageName -> !CORE_MODULE_PACKAGES.contains(packageName))
+                    .collect(Collectors.toSet()), loader));
+            returnValue = toNameToFullModuleNames(fullModuleNames);
+        }
+        catch (IOException ignore) {
+            returnValue = new HashMap<>();
+        }
+        unindexedCorePackages = packages.stream()
+                .filter(CORE_MODULE_PACKAGES::contains)
+                .filter(packageName -> !indexedPackages.contains(packageName))
+                .collect(Collectors.toSet());
+        return returnValue;
+    }
+
+    /**
+     * Generate the map of the module names in the registered core packages, which are not
+     * covered by an index, to the set of their fully qualified names. The core modules
+     * themselves are found there as well, but they are created from the standard set before.
+     * @param loader the class loader used to load Checkstyle package names
+     * @return the map of module names to the set of their fully qualified names
+     */
+    private Map<String, Set<String>> generateCorePackageNameToFullModuleName(
+            ClassLoader loader) {
+        Map<String, Set<String>> returnValue;
         try {
-            returnValue = ModuleReflectionUtils.getCheckstyleModules(packages, loader).stream()
-                    .collect(Collectors.toMap(
-                        Class::getSimpleName,
-                        cls -> Collections.singleton(cls.getCanonicalName()),
-                        (fullNames1, fullNames2) -> {
-                            final Set<String> mergedNames = new LinkedHashSet<>(fullNames1);
-                            mergedNames.addAll(fullNames2);
-                            return mergedNames;
-                        }));
+            returnValue = toNameToFullModuleNames(scanModuleNames(unindexedCorePackages, loader));
         }
         catch (IOException ignore) {
             returnValue = new HashMap<>();
@@ -311,6 +392,83 @@ public class PackageObjectFactory implements ModuleFactory {
         return returnValue;
     }
 
+    /**
+     * Scans packages on the class path for Checkstyle modules.
+     * @param packageNames the names of the packages to scan
+     * @param loader the class loader used to load Checkstyle package names
+     * @return the fully qualified names of the modules found
+     * @throws IOException if the class path could not be read
+     */
+    private static Set<String> scanModuleNames(Set<String> packageNames, ClassLoader loader)
+            throws IOException {
+        final Set<String> fullModuleNames = new HashSet<>();
+        if (!packageNames.isEmpty()) {
+            ModuleReflectionUtils.getCheckstyleModules(packageNames, loader)
+                    .forEach(cls -> fullModuleNames.add(cls.getCanonicalName()));
+        }
+        return fullModuleNames;
+    }
+
+    /**
+     * Maps the simple names of modules to the set of their fully qualified names.
+     * @param fullModuleNames the fully qualified names of the modules
+     * @return the map of module names to the set of their fully qualified names
+     */
+    private static Map<String, Set<String>> toNameToFullModuleNames(
+            Set<String> fullModuleNames) {
+        return fullModuleNames.stream()
+                .collect(Collectors.toMap(
+                    fullModuleName -> fullModuleName.substring(
+                            fullModuleName.lastIndexOf(PACKAGE_SEPARATOR) + 1),
+                    Collections::singleton,
+                    (fullNames1, fullNames2) -> {
+                        final Set<String> mergedNames = new LinkedHashSet<>(fullNames1);
+                        mergedNames.addAll(fullNames2);
+                        return mergedNames;
+                    }));
+    }
+
+    /**
+     * Reads the fully qualified names of the modules listed by all module index
+     * resources of the class path.
+     * @param loader the class loader to find the module index resources with
+     * @return the fully qualified names of the indexed modules
+     * @throws IOException if a module index resource could not be read
+     */
+    private static Set<String> loadModuleIndex(ClassLoader loader) throws IOException {
+        final Set<String> result = new HashSet<>();
+        final Enumeration<URL> urls = loader.getResources(MODULE_INDEX_RESOURCE);
+        while (urls.hasMoreElements()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    urls.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                String line = reader.readLine();
+                while (line != null) {
+                    final String fullModuleName = line.trim();
+                    if (!fullModuleName.isEmpty()
+                            && !fullModuleName.startsWith(MODULE_INDEX_COMMENT_PREFIX)) {
+                        result.add(fullModuleName);
+                    }
+                    line = reader.readLine();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the package name of the given fully qualified class name.
+     * @param fullName fully qualified class name
+     * @return the package name, empty for the default package
+     */
+    private static String getPackageName(String fullName) {
+        final int lastSeparator = fullName.lastIndexOf(PACKAGE_SEPARATOR);
+        String result = "";
+        if (lastSeparator > 0) {
+            result = fullName.substring(0, lastSeparator);
+        }
+        return result;
+    }
+
     /**
      * Creates a string by joining package names with a class name.
      * @param className name of the class for joining.
@@ -824,6 +982,8 @@ public class PackageObjectFactory implements ModuleFactory {
                 BASE_PACKAGE + ".filters.SeverityMatchFilter");
         NAME_TO_FULL_MODULE_NAME.put("SuppressWithPlainTextCommentFilter",
             BASE_PACKAGE + ".filters.SuppressWithPlainTextCommentFilter");
+        NAME_TO_FULL_MODULE_NAME.put("SuppressionBaselineFilter",
+                BASE_PACKAGE + ".filters.SuppressionBaselineFilter");
         NAME_TO_FULL_MODULE_NAME.put("SuppressionCommentFilter",
                 BASE_PACKAGE + ".filters.SuppressionCommentFilter");
         NAME_TO_FULL_MODULE_NAME.put("SuppressionFilter",
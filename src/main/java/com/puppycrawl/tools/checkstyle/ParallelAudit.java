@@ -0,0 +1,294 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.utils.LocalizedMessageUtils;
+
+/**
+ * Runs the audit of a {@link Checker} on several threads. The worker threads check the
+ * files at the same time, but report their violations one after the other in the order
+ * of the files, on the thread which checked the file. So listeners and filters are never
+ * called at the same time, see the state a check left on the thread of its file, and the
+ * output is the same as with a single thread.
+ * FileSetChecks annotated with {@link StatelessCheck} and TreeWalkers, which keep copies
+ * of their file stateful checks per thread, check files at the same time. FileSetChecks
+ * annotated with {@link FileStatefulCheck} check one file at a time. Every other
+ * FileSetCheck, for example a {@link GlobalStatefulCheck}, may keep state across files,
+ * so it checks the files one at a time in their order, when it is their turn to report.
+ *
+ * @author the original author or authors.
+ */
+final class ParallelAudit {
+
+    /** The number of files accepted in advance per thread, while the reports are behind. */
+    private static final int FILES_IN_ADVANCE_PER_THREAD = 4;
+
+    /** The checker whose audit is run. */
+    private final Checker checker;
+
+    /** The number of worker threads. */
+    private final int threadsNumber;
+
+    /** The lock of the turns to report. */
+    private final Object turnLock = new Object();
+
+    /** The sequence number of the accepted file whose violations are reported next. */
+    private int turn;
+
+    /** The sequence number of the first file which failed, no later file is reported. */
+    private int failedSequence = Integer.MAX_VALUE;
+
+    /**
+     * Creates a new parallel audit.
+     * @param checker the checker whose audit is run.
+     * @param threadsNumber the number of worker threads.
+     */
+    ParallelAudit(Checker checker, int threadsNumber) {
+        this.checker = checker;
+        this.threadsNumber = threadsNumber;
+    }
+
+    /**
+     * Processes a file with a FileSetCheck, which may be shared by several threads.
+     * @param fileSetCheck the FileSetCheck.
+     * @param file the file to process.
+     * @param fileText the contents of the file.
+     * @return the sorted list of messages of the file.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    public static List<LocalizedMessage> process(FileSetCheck fileSetCheck, File file,
+            FileText fileText) throws CheckstyleException {
+        final List<LocalizedMessage> messages;
+        if (fileSetCheck instanceof TreeWalker
+                || fileSetCheck.getClass().isAnnotationPresent(StatelessCheck.class)) {
+            messages = processToSortedList(fileSetCheck, file, fileText);
+        }
+        else {
+            synchronized (fileSetCheck) {
+                messages = processToSortedList(fileSetCheck, file, fileText);
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Processes files until more violations were found than tolerated.
+     * @param files the files to process.
+     * @return the number of files processed before the audit was stopped.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    public int process(List<File> files) throws CheckstyleException {
+        final ExecutorService executor = Executors.newFixedThreadPool(threadsNumber);
+        final int filesInAdvance = threadsNumber * FILES_IN_ADVANCE_PER_THREAD;
+        final List<Future<Boolean>> reports = new ArrayList<>();
+        int acceptedFiles = 0;
+        int processedFiles = 0;
+        boolean limitExceeded = false;
+        try {
+            while (processedFiles < files.size() && !limitExceeded) {
+                while (reports.size() < files.size()
+                        && reports.size() - processedFiles < filesInAdvance) {
+                    final File file = files.get(reports.size());
+                    Future<Boolean> report = null;
+                    if (checker.acceptFile(file)) {
+                        final int sequence = acceptedFiles;
+                        report = executor.submit(() -> checkAndReport(file, sequence));
+                        acceptedFiles++;
+                    }
+                    reports.add(report);
+                }
+                final Future<Boolean> report = reports.set(processedFiles, null);
+                if (report != null) {
+                    limitExceeded = !await(files.get(processedFiles), report);
+                }
+                processedFiles++;
+            }
+        }
+        finally {
+            shutdown(executor);
+        }
+        return processedFiles;
+    }
+
+    /**
+     * Processes a file with a FileSetCheck and returns the messages as a list. Only
+     * FileSetChecks, which do not extend {@link AbstractFileSetCheck}, build a sorted set.
+     * @param fileSetCheck the FileSetCheck.
+     * @param file the file to process.
+     * @param fileText the contents of the file.
+     * @return the sorted list of messages of the file.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    private static List<LocalizedMessage> processToSortedList(FileSetCheck fileSetCheck,
+            File file, FileText fileText) throws CheckstyleException {
+        final List<LocalizedMessage> messages;
+        if (fileSetCheck instanceof AbstractFileSetCheck) {
+            messages = ((AbstractFileSetCheck) fileSetCheck).processToSortedList(file, fileText);
+        }
+        else {
+            messages = new ArrayList<>(fileSetCheck.process(file, fileText));
+        }
+        return messages;
+    }
+
+    /**
+     * Checks whether a FileSetCheck may keep state across files, so that it has to check
+     * the files in their order.
+     * @param fileSetCheck the FileSetCheck.
+     * @return true if the FileSetCheck checks the files in their order.
+     */
+    private static boolean isOrdered(FileSetCheck fileSetCheck) {
+        final boolean ordered;
+        if (fileSetCheck instanceof TreeWalker) {
+            ordered = !((TreeWalker) fileSetCheck).isCopyable();
+        }
+        else {
+            final Class<?> checkClass = fileSetCheck.getClass();
+            ordered = !checkClass.isAnnotationPresent(StatelessCheck.class)
+                    && !checkClass.isAnnotationPresent(FileStatefulCheck.class);
+        }
+        return ordered;
+    }
+
+    /**
+     * Checks a file and reports its violations when it is the turn of the file.
+     * @param file the file.
+     * @param sequence the sequence number of the file among the accepted files.
+     * @return false if more violations were found than tolerated.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     * @throws InterruptedException if the audit was stopped while waiting for the turn.
+     */
+    private boolean checkAndReport(File file, int sequence)
+            throws CheckstyleException, InterruptedException {
+        boolean failed = true;
+        try {
+            final Map<String, FileText> fileTexts = new HashMap<>();
+            final List<LocalizedMessage> messages =
+                    checker.checkFile(file, fileTexts, check -> !isOrdered(check));
+            if (awaitTurn(sequence) && !checker.isViolationLimitExceeded()) {
+                // an unreadable file was reported already
+                if (!fileTexts.isEmpty()) {
+                    messages.addAll(
+                            checker.checkFile(file, fileTexts, ParallelAudit::isOrdered));
+                }
+                final String fileName = checker.startFile(file);
+                checker.fireErrors(fileName, LocalizedMessageUtils.toSortedSet(messages),
+                        fileTexts);
+                checker.fireFileFinished(fileName);
+            }
+            failed = false;
+        }
+        finally {
+            passTurn(sequence, failed);
+        }
+        return !checker.isViolationLimitExceeded();
+    }
+
+    /**
+     * Waits until the violations of all accepted files before a file are reported.
+     * @param sequence the sequence number of the file.
+     * @return false if an earlier file failed, so the file must not be reported.
+     * @throws InterruptedException if the audit was stopped while waiting.
+     */
+    private boolean awaitTurn(int sequence) throws InterruptedException {
+        synchronized (turnLock) {
+            while (turn < sequence && sequence < failedSequence) {
+                turnLock.wait();
+            }
+            return sequence < failedSequence;
+        }
+    }
+
+    /**
+     * Passes the turn to report to the next accepted file.
+     * @param sequence the sequence number of the file.
+     * @param failed whether checking or reporting the file failed.
+     */
+    private void passTurn(int sequence, boolean failed) {
+        synchronized (turnLock) {
+            if (failed) {
+                failedSequence = Math.min(failedSequence, sequence);
+            }
+            if (turn == sequence) {
+                turn++;
+            }
+            turnLock.notifyAll();
+        }
+    }
+
+    /**
+     * Waits until a file is checked and reported.
+     * @param file the file.
+     * @param report the result of the check and report of the file.
+     * @return false if more violations were found than tolerated.
+     * @throws CheckstyleException if the check of the file failed.
+     * @noinspection ProhibitedExceptionThrown
+     */
+    private static boolean await(File file, Future<Boolean> report)
+            throws CheckstyleException {
+        try {
+            return report.get();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CheckstyleException("Interrupted while processing " + file.getPath(), ex);
+        }
+        catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof Error) {
+                throw new Error("Error was thrown while processing " + file.getPath(), cause);
+            }
+            throw new CheckstyleException("Exception was thrown while processing "
+                    + file.getPath(), cause);
+        }
+    }
+
+    /**
+     * Stops the worker threads and waits until the files which are checked at the moment
+     * are done, so that no FileSetCheck is used after the audit.
+     * @param executor the executor of the worker threads.
+     */
+    private static void shutdown(ExecutorService executor) {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
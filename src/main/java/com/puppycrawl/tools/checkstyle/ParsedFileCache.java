@@ -0,0 +1,226 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+
+/**
+ * Keeps the parse of the file which is checked at the moment, so that all TreeWalkers
+ * checking the same {@link FileText} parse it only once. The cache is owned by a checker,
+ * which gives it to its TreeWalkers, or by a {@link CheckerGroup}, which gives it to all
+ * its checkers, and it knows the TreeWalkers which read from it. Every thread has its own
+ * parse, which is replaced as soon as a different file text is requested, and it is
+ * released when a TreeWalker finishes processing. The trees are
+ * shared, so TreeWalkers must not modify them. The tree with comment nodes is built on a
+ * copy of the tree without them while several readers are registered; a single reader
+ * gets the comment nodes appended to the tree without them, and the file text is parsed
+ * again if it is requested once more.
+ *
+ * @author the original author or authors.
+ */
+final class ParsedFileCache {
+
+    /** The readers which share the parses of this cache, such as the TreeWalkers. */
+    private final Set<Object> readers;
+
+    /** The parse of the last file text, by thread. */
+    private final ThreadLocal<Parse> parses = ThreadLocal.withInitial(Parse::new);
+
+    /**
+     * Creates a cache without readers.
+     */
+    ParsedFileCache() {
+        this(Collections.synchronizedSet(new HashSet<>()));
+    }
+
+    /**
+     * Creates a cache shared by the given readers.
+     * @param readers the readers which may request the same file texts.
+     */
+    ParsedFileCache(Set<Object> readers) {
+        this.readers = readers;
+    }
+
+    /**
+     * Registers a reader which requests the parses of file texts until it is removed.
+     * @param reader the reader.
+     */
+    public void addReader(Object reader) {
+        readers.add(reader);
+    }
+
+    /**
+     * Removes a reader, so that it is no longer expected to request the parses.
+     * @param reader the reader.
+     */
+    public void removeReader(Object reader) {
+        readers.remove(reader);
+    }
+
+    /**
+     * Releases the parse of the last file text of the current thread.
+     */
+    public void clear() {
+        parses.get().clear();
+    }
+
+    /**
+     * Checks whether the cache holds the parse of a file text for the current thread.
+     * @return {@code true} if no file text was parsed since the cache was cleared.
+     */
+    public boolean isEmpty() {
+        return parses.get().fileText == null;
+    }
+
+    /**
+     * Returns the contents of a file text, whose comments are known as it was parsed.
+     * @param text the file text.
+     * @return the contents of the file text.
+     * @throws CheckstyleException if the file text is not a valid Java source.
+     */
+    public FileContents getContents(FileText text) throws CheckstyleException {
+        return parse(text).contents;
+    }
+
+    /**
+     * Returns the tree of a file text without comment nodes.
+     * @param text the file text.
+     * @return the root of the tree.
+     * @throws CheckstyleException if the file text is not a valid Java source.
+     */
+    public DetailAST getAst(FileText text) throws CheckstyleException {
+        return parse(text).rootAst;
+    }
+
+    /**
+     * Returns the tree of a file text with comment nodes.
+     * @param text the file text.
+     * @return the root of the tree.
+     * @throws CheckstyleException if the file text is not a valid Java source.
+     */
+    public DetailAST getAstWithComments(FileText text) throws CheckstyleException {
+        final Parse parse = parse(text);
+        DetailAST result = parse.rootAstWithComments;
+        if (result == null) {
+            if (readers.size() > 1) {
+                parse.rootAstWithComments =
+                        JavaParser.appendHiddenCommentNodes(copy(parse.rootAst));
+                result = parse.rootAstWithComments;
+            }
+            else {
+                // no other reader needs the tree without comments, it is modified and released
+                result = JavaParser.appendHiddenCommentNodes(parse.rootAst);
+                parse.clear();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Parses a file text unless it was the last one parsed on the current thread.
+     * @param text the file text.
+     * @return the parse of the file text.
+     * @throws CheckstyleException if the file text is not a valid Java source.
+     */
+    private Parse parse(FileText text) throws CheckstyleException {
+        final Parse parse = parses.get();
+        if (text != parse.fileText) {
+            parse.clear();
+            parse.fileText = text;
+            parse.contents = new FileContents(text);
+            try {
+                parse.rootAst = JavaParser.parse(parse.contents);
+            }
+            catch (CheckstyleException ex) {
+                parse.parseException = ex;
+            }
+        }
+        if (parse.parseException != null) {
+            throw parse.parseException;
+        }
+        return parse;
+    }
+
+    /**
+     * Copies a node with its children and its following siblings.
+     * @param ast the first node to copy.
+     * @return the copy of the node.
+     */
+    private static DetailAST copy(DetailAST ast) {
+        DetailAST first = null;
+        DetailAST previous = null;
+        for (DetailAST node = ast; node != null; node = node.getNextSibling()) {
+            final DetailAST copy = new DetailAST();
+            copy.initialize(node);
+            if (node.getFirstChild() != null) {
+                copy.setFirstChild(copy(node.getFirstChild()));
+            }
+            if (previous == null) {
+                first = copy;
+            }
+            else {
+                previous.setNextSibling(copy);
+            }
+            previous = copy;
+        }
+        return first;
+    }
+
+    /**
+     * The parse of a file text on one thread.
+     */
+    private static final class Parse {
+
+        /** The file text which was parsed last. */
+        private FileText fileText;
+
+        /** The contents of the file text, which knows its comments after parsing. */
+        private FileContents contents;
+
+        /** The root of the tree without comment nodes, or null if parsing failed. */
+        private DetailAST rootAst;
+
+        /** The root of the tree with comment nodes, or null if it was not needed yet. */
+        private DetailAST rootAstWithComments;
+
+        /** The exception thrown while parsing the file text, or null if parsing succeeded. */
+        private CheckstyleException parseException;
+
+        /**
+         * Releases the parse.
+         */
+        public void clear() {
+            fileText = null;
+            contents = null;
+            rootAst = null;
+            rootAstWithComments = null;
+            parseException = null;
+        }
+
+    }
+
+}
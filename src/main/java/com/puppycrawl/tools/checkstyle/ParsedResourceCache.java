@@ -0,0 +1,103 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the results of parsing resources, such as suppression or import control files,
+ * so that a resource is parsed once as long as its content does not change.
+ * Results are kept by the location of the resource together with its content and are
+ * returned only for the same location and the same content. Cached results are
+ * shared, so callers must not modify them.
+ *
+ * @author the original author or authors.
+ * @param <T> the type of the parsed results.
+ */
+public final class ParsedResourceCache<T> {
+
+    /** Cached results, by location of the resource. */
+    private final Map<String, CachedResource<T>> resources = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached result of parsing a resource.
+     * @param location the location of the resource.
+     * @param content the current content of the resource.
+     * @return the cached result or null if the resource with this content was not parsed.
+     */
+    public T get(String location, byte[] content) {
+        final CachedResource<T> resource = resources.get(location);
+        T result = null;
+        if (resource != null && resource.hash == Arrays.hashCode(content)
+                && Arrays.equals(resource.content, content)) {
+            result = resource.value;
+        }
+        return result;
+    }
+
+    /**
+     * Remembers the result of parsing a resource, replacing the result for
+     * previous content of the resource.
+     * @param location the location of the resource.
+     * @param content the content of the resource which was parsed.
+     * @param value the result of parsing.
+     */
+    public void put(String location, byte[] content, T value) {
+        resources.put(location, new CachedResource<>(content, value));
+    }
+
+    /**
+     * Forgets all cached results.
+     */
+    public void clear() {
+        resources.clear();
+    }
+
+    /**
+     * The result of parsing a resource with the content it was parsed from.
+     * @param <T> the type of the parsed result.
+     */
+    private static final class CachedResource<T> {
+
+        /** The content the result was parsed from. */
+        private final byte[] content;
+
+        /** Hash of the content. */
+        private final int hash;
+
+        /** The result of parsing. */
+        private final T value;
+
+        /**
+         * Creates a new instance.
+         * @param content the content the result was parsed from.
+         * @param value the result of parsing.
+         */
+        CachedResource(byte[] content, T value) {
+            this.content = content;
+            this.value = value;
+            hash = Arrays.hashCode(content);
+        }
+
+    }
+
+}
@@ -20,25 +20,29 @@
 package com.puppycrawl.tools.checkstyle;
 
 import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.io.OutputStream;
-import java.io.Serializable;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeMap;
 
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.common.io.BaseEncoding;
 import com.google.common.io.ByteStreams;
 import com.google.common.io.Closeables;
@@ -78,6 +82,19 @@ final class PropertyCacheFile {
      */
     public static final String EXTERNAL_RESOURCE_KEY_PREFIX = "module-resource*?:";
 
+    /**
+     * The property prefix to use for storing the size and the modification time of an
+     * external resource in the local file system, which tells whether its stored hashcode
+     * is still valid without reading the resource again.
+     */
+    public static final String EXTERNAL_RESOURCE_STAMP_KEY_PREFIX = "module-resource-stamp*?:";
+
+    /**
+     * Function used for the configuration and resource hashes. A fast 128 bit hash is
+     * enough to detect changes, there is no need for a cryptographic digest.
+     */
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
     /** The details on files. **/
     private final Properties details = new Properties();
 
@@ -114,7 +131,7 @@ final class PropertyCacheFile {
     public void load() throws IOException {
         // get the current config so if the file isn't found
         // the first time the hash will be added to output file
-        configHash = getHashCodeBasedOnObjectContent(config);
+        configHash = getHashCodeBasedOnConfigurationContent(config);
         if (new File(fileName).exists()) {
             FileInputStream inStream = null;
             try {
@@ -213,47 +230,99 @@ final class PropertyCacheFile {
     }
 
     /**
-     * Calculates the hashcode for the serializable object based on its content.
-     * @param object serializable object.
-     * @return the hashcode for serializable object.
+     * Calculates the hashcode of the configuration based on its content. The hash covers
+     * the name, the attributes and the message overrides of every module in a sorted order,
+     * so it does not depend on the order the attributes were added in or on the layout of
+     * Java serialization.
+     * @param configuration the configuration.
+     * @return the hashcode for the configuration.
      */
-    private static String getHashCodeBasedOnObjectContent(Serializable object) {
+    private static String getHashCodeBasedOnConfigurationContent(Configuration configuration) {
+        final Hasher hasher = HASH_FUNCTION.newHasher();
         try {
-            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            // in-memory serialization of Configuration
-            serialize(object, outputStream);
-            // Instead of hexEncoding outputStream.toByteArray() directly we
-            // use a message digest here to keep the length of the
-            // hashcode reasonable
-
-            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
-            digest.update(outputStream.toByteArray());
-
-            return BaseEncoding.base16().upperCase().encode(digest.digest());
+            putConfiguration(hasher, configuration);
         }
-        catch (final IOException | NoSuchAlgorithmException ex) {
+        catch (final CheckstyleException ex) {
             // rethrow as unchecked exception
             throw new IllegalStateException("Unable to calculate hashcode.", ex);
         }
+        return encode(hasher.hash());
     }
 
     /**
-     * Serializes object to output stream.
-     * @param object object to be serialized
-     * @param outputStream serialization stream
-     * @throws IOException if an error occurs
+     * Puts the canonical content of a configuration and its children into the hasher.
+     * @param hasher the hasher.
+     * @param configuration the configuration.
+     * @throws CheckstyleException if an attribute of the configuration can not be read.
      */
-    private static void serialize(Serializable object,
-                                  OutputStream outputStream) throws IOException {
-        final ObjectOutputStream oos = new ObjectOutputStream(outputStream);
-        try {
-            oos.writeObject(object);
+    private static void putConfiguration(Hasher hasher, Configuration configuration)
+            throws CheckstyleException {
+        putString(hasher, configuration.getName());
+
+        final String[] attributeNames = configuration.getAttributeNames().clone();
+        Arrays.sort(attributeNames);
+        hasher.putInt(attributeNames.length);
+        for (String attributeName : attributeNames) {
+            putString(hasher, attributeName);
+            putString(hasher, configuration.getAttribute(attributeName));
         }
-        finally {
-            flushAndCloseOutStream(oos);
+
+        final Map<String, String> messages = new TreeMap<>(configuration.getMessages());
+        hasher.putInt(messages.size());
+        for (Map.Entry<String, String> message : messages.entrySet()) {
+            putString(hasher, message.getKey());
+            putString(hasher, message.getValue());
+        }
+
+        final Configuration[] children = configuration.getChildren();
+        hasher.putInt(children.length);
+        for (Configuration child : children) {
+            putConfiguration(hasher, child);
         }
     }
 
+    /**
+     * Puts a string prefixed with its length into the hasher, so that adjacent strings
+     * can not run into each other.
+     * @param hasher the hasher.
+     * @param value the string, may be null.
+     */
+    private static void putString(Hasher hasher, String value) {
+        if (value == null) {
+            hasher.putInt(-1);
+        }
+        else {
+            hasher.putInt(value.length());
+            hasher.putString(value, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Calculates the hashcode of an exception which happened while loading an external
+     * resource, based on the types and messages of the exception and its causes.
+     * @param exception the exception.
+     * @return the hashcode for the exception.
+     */
+    private static String getHashCodeBasedOnExceptionContent(Throwable exception) {
+        final Hasher hasher = HASH_FUNCTION.newHasher();
+        Throwable cause = exception;
+        while (cause != null) {
+            putString(hasher, cause.getClass().getName());
+            putString(hasher, cause.getMessage());
+            cause = cause.getCause();
+        }
+        return encode(hasher.hash());
+    }
+
+    /**
+     * Encodes a hash code as an upper case hexadecimal string.
+     * @param hashCode the hash code.
+     * @return the encoded hash code.
+     */
+    private static String encode(HashCode hashCode) {
+        return BaseEncoding.base16().upperCase().encode(hashCode.asBytes());
+    }
+
     /**
      * Puts external resources in cache.
      * If at least one external resource changed, clears the cache.
@@ -269,41 +338,78 @@ final class PropertyCacheFile {
 
     /**
      * Loads a set of {@link ExternalResource} based on their locations.
+     * The content of a resource in the local file system is only read when its size or
+     * modification time differ from the ones recorded with its hashcode.
      * @param resourceLocations locations of external configuration resources.
      * @return a set of {@link ExternalResource}.
      */
-    private static Set<ExternalResource> loadExternalResources(Set<String> resourceLocations) {
+    private Set<ExternalResource> loadExternalResources(Set<String> resourceLocations) {
         final Set<ExternalResource> resources = new HashSet<>();
         for (String location : resourceLocations) {
+            final String key = EXTERNAL_RESOURCE_KEY_PREFIX + location;
             String contentHashSum = null;
+            String stamp = null;
             try {
-                final byte[] content = loadExternalResource(location);
-                contentHashSum = getHashCodeBasedOnObjectContent(content);
+                final URI uri = CommonUtils.getUriByFilename(location);
+                stamp = getLocalFileStamp(uri);
+                final String cachedHashSum = details.getProperty(key);
+                if (stamp != null && cachedHashSum != null && stamp.equals(
+                        details.getProperty(EXTERNAL_RESOURCE_STAMP_KEY_PREFIX + location))) {
+                    contentHashSum = cachedHashSum;
+                }
+                else {
+                    final byte[] content = loadExternalResource(uri, location);
+                    contentHashSum = encode(HASH_FUNCTION.hashBytes(content));
+                }
             }
             catch (CheckstyleException ex) {
                 // if exception happened (configuration resource was not found, connection is not
                 // available, resource is broken, etc), we need to calculate hash sum based on
                 // exception object content in order to check whether problem is resolved later
                 // and/or the configuration is changed.
-                contentHashSum = getHashCodeBasedOnObjectContent(ex);
+                contentHashSum = getHashCodeBasedOnExceptionContent(ex);
             }
             finally {
-                resources.add(new ExternalResource(EXTERNAL_RESOURCE_KEY_PREFIX + location,
-                        contentHashSum));
+                resources.add(new ExternalResource(location, key, contentHashSum, stamp));
             }
         }
         return resources;
     }
 
+    /**
+     * Gets the stamp of a resource in the local file system, which changes whenever the
+     * resource is modified.
+     * @param uri the resource location.
+     * @return the size and the modification time of the resource, or {@code null} if the
+     *     resource is not a regular file in the local file system.
+     */
+    private static String getLocalFileStamp(URI uri) {
+        String stamp = null;
+        if ("file".equals(uri.getScheme())) {
+            try {
+                final BasicFileAttributes attributes =
+                        Files.readAttributes(Paths.get(uri), BasicFileAttributes.class);
+                if (attributes.isRegularFile()) {
+                    stamp = attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+                }
+            }
+            catch (IOException | IllegalArgumentException ignored) {
+                // the resource is loaded and hashed as usual
+            }
+        }
+        return stamp;
+    }
+
     /**
      * Loads the content of external resource.
-     * @param location external resource location.
+     * @param uri external resource location.
+     * @param location external resource location as configured.
      * @return array of bytes which represents the content of external resource in binary form.
      * @throws CheckstyleException if error while loading occurs.
      */
-    private static byte[] loadExternalResource(String location) throws CheckstyleException {
+    private static byte[] loadExternalResource(URI uri, String location)
+            throws CheckstyleException {
         final byte[] content;
-        final URI uri = CommonUtils.getUriByFilename(location);
 
         try {
             content = ByteStreams.toByteArray(new BufferedInputStream(uri.toURL().openStream()));
@@ -339,13 +445,22 @@ final class PropertyCacheFile {
 
     /**
      * Fills cache with a set of {@link ExternalResource}.
-     * If external resource from the set is already in cache, it will be skipped.
+     * If external resource from the set is already in cache, only its stamp is updated.
      * @param externalResources a set of {@link ExternalResource}.
      */
     private void fillCacheWithExternalResources(Set<ExternalResource> externalResources) {
-        externalResources.stream()
-            .filter(resource -> !isResourceLocationInCache(resource.location))
-            .forEach(resource -> details.setProperty(resource.location, resource.contentHashSum));
+        for (ExternalResource resource : externalResources) {
+            if (!isResourceLocationInCache(resource.location)) {
+                details.setProperty(resource.location, resource.contentHashSum);
+            }
+            final String stampKey = EXTERNAL_RESOURCE_STAMP_KEY_PREFIX + resource.path;
+            if (resource.stamp == null) {
+                details.remove(stampKey);
+            }
+            else {
+                details.setProperty(stampKey, resource.stamp);
+            }
+        }
     }
 
     /**
@@ -364,19 +479,27 @@ final class PropertyCacheFile {
      */
     private static class ExternalResource {
 
+        /** Path of resource as configured. */
+        private final String path;
         /** Location of resource. */
         private final String location;
         /** Hash sum which is calculated based on resource content. */
         private final String contentHashSum;
+        /** Size and modification time of resource, or null if it is not a local file. */
+        private final String stamp;
 
         /**
          * Creates an instance.
+         * @param path resource path as configured.
          * @param location resource location.
          * @param contentHashSum content hash sum.
+         * @param stamp size and modification time of resource, may be null.
          */
-        ExternalResource(String location, String contentHashSum) {
+        ExternalResource(String path, String location, String contentHashSum, String stamp) {
+            this.path = path;
             this.location = location;
             this.contentHashSum = contentHashSum;
+            this.stamp = stamp;
         }
 
     }
@@ -0,0 +1,248 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+
+/**
+ * Deterministic part of the files of an audit, which allows to split one audit
+ * across several machines and merge their results afterwards.
+ * <p>
+ * Files are assigned to shards by their directory, all files of one directory
+ * always belong to the same shard. Checks which collect information across files,
+ * like {@code TranslationCheck} or {@code JavadocPackageCheck}, keep their state per
+ * directory, so every shard reports complete results for its directories and the
+ * reports of all shards can simply be merged.
+ * </p>
+ * <p>
+ * By default a directory is assigned by the hash of its path relative to the base
+ * directory, so the assignment does not depend on the order of files or on other files.
+ * When shards are weighted by size, directories are distributed by the total size of
+ * their files, which gives shards of similar duration but requires every shard to
+ * be run on the same list of files.
+ * </p>
+ * @author the original author or authors.
+ */
+public final class Shard {
+
+    /** Format of the shard, its 1-based index and the number of shards. */
+    private static final Pattern SHARD_PATTERN = Pattern.compile("(\\d{1,9})/(\\d{1,9})");
+
+    /** First multiplier of the hash finalizer. */
+    private static final int HASH_MULTIPLIER_1 = 0x85EBCA6B;
+
+    /** Second multiplier of the hash finalizer. */
+    private static final int HASH_MULTIPLIER_2 = 0xC2B2AE35;
+
+    /** First shift of the hash finalizer. */
+    private static final int HASH_SHIFT_1 = 16;
+
+    /** Second shift of the hash finalizer. */
+    private static final int HASH_SHIFT_2 = 13;
+
+    /** The 1-based index of the shard. */
+    private final int index;
+
+    /** The number of shards. */
+    private final int count;
+
+    /** Whether directories are distributed by the size of their files. */
+    private final boolean weightedBySize;
+
+    /**
+     * Creates a new shard.
+     * @param index the 1-based index of the shard.
+     * @param count the number of shards.
+     * @param weightedBySize whether directories are distributed by the size of their files.
+     * @throws IllegalArgumentException if there are no shards or the index is not within
+     *         the number of shards.
+     */
+    public Shard(int index, int count, boolean weightedBySize) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Number of shards must be greater than zero");
+        }
+        if (index < 1 || index > count) {
+            throw new IllegalArgumentException(String.format(Locale.ROOT,
+                    "Shard index must be between 1 and %d, but was %d", count, index));
+        }
+        this.index = index;
+        this.count = count;
+        this.weightedBySize = weightedBySize;
+    }
+
+    /**
+     * Creates a shard from its text representation {@code <index>/<count>}.
+     * @param value the text representation of the shard, like {@code 2/4}.
+     * @param weightedBySize whether directories are distributed by the size of their files.
+     * @return the shard.
+     * @throws IllegalArgumentException if the value is not a valid shard.
+     */
+    public static Shard parse(String value, boolean weightedBySize) {
+        final Matcher matcher = SHARD_PATTERN.matcher(value);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(String.format(Locale.ROOT,
+                    "Invalid shard '%s', expected format is <index>/<count>", value));
+        }
+        return new Shard(Integer.parseInt(matcher.group(1)),
+                Integer.parseInt(matcher.group(2)), weightedBySize);
+    }
+
+    /**
+     * Gets the 1-based index of the shard.
+     * @return the index of the shard.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the number of shards.
+     * @return the number of shards.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Selects the files which belong to this shard. The order of files is kept.
+     * @param files the files of the whole audit.
+     * @param baseDirectory the directory the paths of directories are relative to.
+     * @return the files of this shard.
+     */
+    public List<File> select(List<File> files, String baseDirectory) {
+        final Map<String, Long> directoryWeights = new TreeMap<>();
+        final List<String> directories = new ArrayList<>(files.size());
+        for (final File file : files) {
+            final String directory = getDirectory(file, baseDirectory);
+            directories.add(directory);
+            // empty files take time to check too
+            directoryWeights.merge(directory, file.length() + 1, Long::sum);
+        }
+
+        final Set<String> selectedDirectories;
+        if (weightedBySize) {
+            selectedDirectories = selectBySize(directoryWeights);
+        }
+        else {
+            selectedDirectories = selectByHash(directoryWeights.keySet());
+        }
+
+        final List<File> result = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            if (selectedDirectories.contains(directories.get(i))) {
+                result.add(files.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Selects directories of this shard by the hash of their paths.
+     * @param directories all directories.
+     * @return the directories of this shard.
+     */
+    private Set<String> selectByHash(Set<String> directories) {
+        final Set<String> result = new HashSet<>();
+        for (final String directory : directories) {
+            if (Math.floorMod(hash(directory), count) == index - 1) {
+                result.add(directory);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Selects directories of this shard by distributing all directories from the
+     * heaviest one to the shard with the least total weight so far.
+     * @param directoryWeights the weights of all directories sorted by path.
+     * @return the directories of this shard.
+     */
+    private Set<String> selectBySize(Map<String, Long> directoryWeights) {
+        final List<Map.Entry<String, Long>> entries =
+                new ArrayList<>(directoryWeights.entrySet());
+        // stable sort keeps directories of the same weight sorted by path
+        entries.sort((first, second) -> Long.compare(second.getValue(), first.getValue()));
+
+        final long[] shardWeights = new long[count];
+        final Set<String> result = new HashSet<>();
+        for (final Map.Entry<String, Long> entry : entries) {
+            int lightestShard = 0;
+            for (int shard = 1; shard < count; shard++) {
+                if (shardWeights[shard] < shardWeights[lightestShard]) {
+                    lightestShard = shard;
+                }
+            }
+            shardWeights[lightestShard] += entry.getValue();
+            if (lightestShard == index - 1) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the path of the directory of the file relative to the base directory,
+     * with '/' as separator on every platform.
+     * @param file the file.
+     * @param baseDirectory the directory the path is relative to.
+     * @return the relative path of the directory.
+     */
+    private static String getDirectory(File file, String baseDirectory) {
+        final String parent = file.getAbsoluteFile().getParent();
+        final String result;
+        if (parent == null) {
+            result = "";
+        }
+        else {
+            result = CommonUtils.relativizeAndNormalizePath(baseDirectory, parent)
+                    .replace(File.separatorChar, '/');
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the hash of the path, which is the same on every JVM. The
+     * specified {@link String#hashCode()} is spread, so that similar paths
+     * are distributed evenly.
+     * @param path the path.
+     * @return the hash of the path.
+     */
+    private static int hash(String path) {
+        int hash = path.hashCode();
+        hash ^= hash >>> HASH_SHIFT_1;
+        hash *= HASH_MULTIPLIER_1;
+        hash ^= hash >>> HASH_SHIFT_2;
+        hash *= HASH_MULTIPLIER_2;
+        hash ^= hash >>> HASH_SHIFT_1;
+        return hash;
+    }
+
+}
@@ -80,22 +80,12 @@ public class ThreadModeSettings implements Serializable {
     }
 
     /**
-     * Resolves the module name according to the thread settings.
+     * Resolves the module name according to the thread settings. Checker and TreeWalker
+     * support several threads themselves, so the names are kept.
      * @param name The original module name.
      * @return resolved module name.
      */
     public final String resolveName(String name) {
-        if (checkerThreadsNumber > 1) {
-            if (CHECKER_MODULE_NAME.equals(name)) {
-                throw new IllegalArgumentException(
-                        "Multi thread mode for Checker module is not implemented");
-            }
-            if (TREE_WALKER_MODULE_NAME.equals(name)) {
-                throw new IllegalArgumentException(
-                        "Multi thread mode for TreeWalker module is not implemented");
-            }
-        }
-
         return name;
     }
 
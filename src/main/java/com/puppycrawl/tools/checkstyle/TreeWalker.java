@@ -20,13 +20,18 @@
 package com.puppycrawl.tools.checkstyle;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
@@ -42,12 +47,20 @@ import com.puppycrawl.tools.checkstyle.api.FileContents;
 import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+import com.puppycrawl.tools.checkstyle.utils.LocalizedMessageUtils;
 import com.puppycrawl.tools.checkstyle.utils.TokenUtils;
 
 /**
  * Responsible for walking an abstract syntax tree and notifying interested
  * checks at each each node.
  *
+ * <p>Several threads may process files at the same time. The first thread walks the files
+ * with this TreeWalker, every other thread with its own copy, which shares the checks
+ * annotated with {@link StatelessCheck} and creates its own instances of the checks
+ * annotated with {@link FileStatefulCheck}. If any check has neither annotation, for
+ * example a {@link GlobalStatefulCheck}, all threads use this TreeWalker one file at a time,
+ * in the order of the files.
+ *
  * @author Oliver Burn
  */
 public final class TreeWalker extends AbstractFileSetCheck implements ExternalResourceHolder {
@@ -72,8 +85,11 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
     /** The ast filters. */
     private final Set<TreeWalkerFilter> filters = new HashSet<>();
 
-    /** The sorted set of messages. */
-    private final SortedSet<LocalizedMessage> messages = new TreeSet<>();
+    /**
+     * The messages of all checks, appended in the order they were logged
+     * and sorted once per file.
+     */
+    private final List<LocalizedMessage> messages = new ArrayList<>();
 
     /** The distance between tab stops. */
     private int tabWidth = DEFAULT_TAB_WIDTH;
@@ -87,6 +103,27 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
     /** A factory for creating submodules (i.e. the Checks) */
     private ModuleFactory moduleFactory;
 
+    /** The stateless checks by their configuration, shared with the copies. */
+    private final Map<Configuration, AbstractCheck> statelessChecks = new IdentityHashMap<>();
+
+    /** The copies which walk files on other threads. */
+    private final List<TreeWalker> copies = new CopyOnWriteArrayList<>();
+
+    /** Whether a thread walks files with this TreeWalker itself. */
+    private final AtomicBoolean inUse = new AtomicBoolean();
+
+    /** The TreeWalker which walks files on the current thread. */
+    private ThreadLocal<TreeWalker> threadWalker = new ThreadLocal<>();
+
+    /** The TreeWalker this one is a copy of, or null if it is not a copy. */
+    private TreeWalker original;
+
+    /** Whether all checks may be shared or copied, so that copies can be created. */
+    private boolean copyable = true;
+
+    /** The cache of the parsed files, shared with the other TreeWalkers of the checker. */
+    private ParsedFileCache parsedFileCache = new ParsedFileCache();
+
     /**
      * Creates a new {@code TreeWalker} instance.
      */
@@ -148,49 +185,144 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
     @Override
     public void setupChild(Configuration childConf)
             throws CheckstyleException {
-        final String name = childConf.getName();
-        final Object module = moduleFactory.createModule(name);
-        if (module instanceof AutomaticBean) {
-            final AutomaticBean bean = (AutomaticBean) module;
-            bean.contextualize(childContext);
-            bean.configure(childConf);
+        final AbstractCheck sharedCheck = getSharedChecks().get(childConf);
+        if (sharedCheck == null) {
+            final String name = childConf.getName();
+            final Object module = moduleFactory.createModule(name);
+            if (module instanceof AutomaticBean) {
+                final AutomaticBean bean = (AutomaticBean) module;
+                bean.contextualize(childContext);
+                bean.configure(childConf);
+            }
+            if (module instanceof AbstractCheck) {
+                final AbstractCheck check = (AbstractCheck) module;
+                check.init();
+                registerCheck(check);
+                if (check.getClass().isAnnotationPresent(StatelessCheck.class)) {
+                    statelessChecks.put(childConf, check);
+                }
+                else if (!check.getClass().isAnnotationPresent(FileStatefulCheck.class)) {
+                    copyable = false;
+                }
+            }
+            else if (module instanceof TreeWalkerFilter) {
+                final TreeWalkerFilter filter = (TreeWalkerFilter) module;
+                filters.add(filter);
+            }
+            else {
+                throw new CheckstyleException(
+                    "TreeWalker is not allowed as a parent of " + name
+                            + " Please review 'Parent Module' section for this Check in web"
+                            + " documentation if Check is standard.");
+            }
         }
-        if (module instanceof AbstractCheck) {
-            final AbstractCheck check = (AbstractCheck) module;
-            check.init();
-            registerCheck(check);
+        else {
+            registerCheck(sharedCheck);
         }
-        else if (module instanceof TreeWalkerFilter) {
-            final TreeWalkerFilter filter = (TreeWalkerFilter) module;
-            filters.add(filter);
+    }
+
+    /**
+     * Returns the checks this TreeWalker shares with the TreeWalker it is a copy of.
+     * @return the shared checks by their configuration.
+     */
+    private Map<Configuration, AbstractCheck> getSharedChecks() {
+        final Map<Configuration, AbstractCheck> sharedChecks;
+        if (original == null) {
+            sharedChecks = Collections.emptyMap();
         }
         else {
-            throw new CheckstyleException(
-                "TreeWalker is not allowed as a parent of " + name
-                        + " Please review 'Parent Module' section for this Check in web"
-                        + " documentation if Check is standard.");
+            sharedChecks = original.statelessChecks;
         }
+        return sharedChecks;
+    }
+
+    @Override
+    public void beginProcessing(String charset) {
+        parsedFileCache.addReader(this);
+    }
+
+    @Override
+    public void finishProcessing() {
+        parsedFileCache.removeReader(this);
+        parsedFileCache.clear();
     }
 
     @Override
     protected void processFiltered(File file, FileText fileText) throws CheckstyleException {
+        TreeWalker walker = threadWalker.get();
+        if (walker == null) {
+            walker = createThreadWalker();
+            threadWalker.set(walker);
+        }
+        synchronized (walker) {
+            walker.walkFile(file, fileText);
+        }
+    }
+
+    /**
+     * Creates the TreeWalker which walks files on the current thread. The first thread uses
+     * this TreeWalker, every other thread a copy, unless some checks may not be copied.
+     * @return the TreeWalker of the current thread.
+     * @throws CheckstyleException if the copy cannot be configured.
+     */
+    private TreeWalker createThreadWalker() throws CheckstyleException {
+        TreeWalker walker = this;
+        if (!inUse.compareAndSet(false, true) && copyable && getConfiguration() != null) {
+            walker = new TreeWalker();
+            walker.original = this;
+            walker.parsedFileCache = parsedFileCache;
+            walker.setModuleFactory(moduleFactory);
+            walker.setClassLoader(classLoader);
+            walker.setSeverity(getSeverity());
+            walker.configure(getConfiguration());
+            copies.add(walker);
+        }
+        return walker;
+    }
+
+    /**
+     * Sets the cache of the parsed files, which is shared by all TreeWalkers reading
+     * the same file texts.
+     * @param parsedFileCache the cache of the checker.
+     */
+    void setParsedFileCache(ParsedFileCache parsedFileCache) {
+        this.parsedFileCache = parsedFileCache;
+    }
+
+    /**
+     * Checks whether every check may be shared or copied, so that several threads may walk
+     * files at the same time.
+     * @return false if a check keeps state across files.
+     */
+    boolean isCopyable() {
+        return copyable;
+    }
+
+    /**
+     * Walks a file with all checks.
+     * @param file the file to walk.
+     * @param fileText the contents of the file.
+     * @throws CheckstyleException if the file is not a valid Java source.
+     */
+    private void walkFile(File file, FileText fileText) throws CheckstyleException {
         // check if already checked and passed the file
         if (CommonUtils.matchesFileExtension(file, getFileExtensions())
                 && (!ordinaryChecks.isEmpty() || !commentChecks.isEmpty())) {
-            final FileContents contents = new FileContents(fileText);
-            final DetailAST rootAST = JavaParser.parse(contents);
+            final FileContents contents = parsedFileCache.getContents(fileText);
+            final DetailAST rootAST = parsedFileCache.getAst(fileText);
             if (!ordinaryChecks.isEmpty()) {
                 walk(rootAST, contents, AstState.ORDINARY);
             }
             if (!commentChecks.isEmpty()) {
-                final DetailAST astWithComments = JavaParser.appendHiddenCommentNodes(rootAST);
+                final DetailAST astWithComments = parsedFileCache.getAstWithComments(fileText);
                 walk(astWithComments, contents, AstState.WITH_COMMENTS);
             }
+            LocalizedMessageUtils.sortAndRemoveDuplicates(messages);
             if (filters.isEmpty()) {
                 addMessages(messages);
             }
             else {
-                final SortedSet<LocalizedMessage> filteredMessages =
+                final List<LocalizedMessage> filteredMessages =
                     getFilteredMessages(file.getPath(), contents, rootAST);
                 addMessages(filteredMessages);
             }
@@ -199,28 +331,41 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
     }
 
     /**
-     * Returns filtered set of {@link LocalizedMessage}.
+     * Returns filtered list of {@link LocalizedMessage}.
      * @param fileName path to the file
      * @param fileContents the contents of the file
      * @param rootAST root AST element {@link DetailAST} of the file
-     * @return filtered set of messages
+     * @return filtered list of messages in the order of {@link #messages}
      */
-    private SortedSet<LocalizedMessage> getFilteredMessages(
+    private List<LocalizedMessage> getFilteredMessages(
             String fileName, FileContents fileContents, DetailAST rootAST) {
-        final SortedSet<LocalizedMessage> result = new TreeSet<>(messages);
+        final List<LocalizedMessage> result = new ArrayList<>(messages.size());
         for (LocalizedMessage element : messages) {
             final TreeWalkerAuditEvent event =
                     new TreeWalkerAuditEvent(fileContents, fileName, element, rootAST);
-            for (TreeWalkerFilter filter : filters) {
-                if (!filter.accept(event)) {
-                    result.remove(element);
-                    break;
-                }
+            if (acceptEvent(event)) {
+                result.add(element);
             }
         }
         return result;
     }
 
+    /**
+     * Checks whether all filters accept the event.
+     * @param event the event to check
+     * @return {@code true} if no filter rejects the event
+     */
+    private boolean acceptEvent(TreeWalkerAuditEvent event) {
+        boolean accepted = true;
+        for (TreeWalkerFilter filter : filters) {
+            if (!filter.accept(event)) {
+                accepted = false;
+                break;
+            }
+        }
+        return accepted;
+    }
+
     /**
      * Register a check for a given configuration.
      * @param check the check to register
@@ -373,7 +518,7 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
 
         for (AbstractCheck check : checks) {
             check.finishTree(rootAST);
-            messages.addAll(check.getMessages());
+            messages.addAll(check.getLoggedMessages());
         }
     }
 
@@ -436,8 +581,17 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
 
     @Override
     public void destroy() {
-        ordinaryChecks.forEach(AbstractCheck::destroy);
-        commentChecks.forEach(AbstractCheck::destroy);
+        copies.forEach(TreeWalker::destroy);
+        copies.clear();
+        threadWalker = new ThreadLocal<>();
+        inUse.set(false);
+        final Collection<AbstractCheck> sharedChecks = getSharedChecks().values();
+        ordinaryChecks.stream().filter(check -> !sharedChecks.contains(check))
+                .forEach(AbstractCheck::destroy);
+        commentChecks.stream().filter(check -> !sharedChecks.contains(check))
+                .forEach(AbstractCheck::destroy);
+        parsedFileCache.removeReader(this);
+        parsedFileCache.clear();
         super.destroy();
     }
 
@@ -0,0 +1,410 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+
+/**
+ * Multiset of fingerprints of known violations, used to report only new violations.
+ * A fingerprint is a 64-bit FNV-1a hash of the file path relative to the base
+ * directory, the module id (or the check name if the module has no id), the
+ * message key and the content of the violating line with all whitespace removed.
+ * As the path is relative, a baseline generated in one checkout matches in others.
+ * The line number is not part of the fingerprint, so a known violation is still
+ * recognized after lines were inserted or removed above it. Violations on identical
+ * lines of a file share a fingerprint, so the baseline counts the occurrences of
+ * each fingerprint, and every occurrence matches one violation of an audit only.
+ *
+ * <p>Fingerprints are kept in an open addressing hash table of primitive longs with
+ * their occurrences in a parallel table of ints, so millions of them take a few
+ * dozens of megabytes and a lookup is a couple of array reads. The baseline file
+ * is the header followed by the sorted fingerprints with their occurrences.
+ * </p>
+ * @author the original author or authors.
+ */
+public final class ViolationBaseline {
+
+    /** Marker at the beginning of a baseline file, "CSBL". */
+    private static final int MAGIC = 0x4353424C;
+
+    /**
+     * Version of the baseline file format, version 1 hashed the file name as reported,
+     * version 2 did not count the occurrences of fingerprints.
+     */
+    private static final int VERSION = 3;
+
+    /** Initial capacity of the hash table, must be a power of two. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Offset basis of the 64-bit FNV-1a hash. */
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    /** Prime of the 64-bit FNV-1a hash. */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /** Value of an empty slot of the hash table. */
+    private static final long EMPTY = 0;
+
+    /** Number of bits in an int. */
+    private static final int INT_SIZE = 32;
+
+    /** Open addressing hash table of fingerprints. */
+    private long[] table = new long[INITIAL_CAPACITY];
+
+    /** Occurrences of the fingerprints, by the slot of the fingerprint in the table. */
+    private int[] occurrences = new int[INITIAL_CAPACITY];
+
+    /** Number of fingerprints in the table. */
+    private int size;
+
+    /** The base directory of the file names, {@code null} for the working directory. */
+    private String basedir;
+
+    /** The charset of the files. */
+    private String charset = System.getProperty("file.encoding", StandardCharsets.UTF_8.name());
+
+    /** Name of the file whose text is cached. */
+    private String cachedFileName;
+
+    /** Path of the cached file relative to the base directory, with '/' as separator. */
+    private String cachedFilePath;
+
+    /** Text of the cached file, {@code null} if it could not be read. */
+    private FileText cachedFileText;
+
+    /** Occurrences of fingerprints matched by violations of the cached file. */
+    private final Map<Long, Integer> matchedOccurrences = new HashMap<>();
+
+    /**
+     * Sets the base directory which the file names of the events are relative to, and
+     * which the file paths in the fingerprints are relative to.
+     * @param basedir the base directory, {@code null} for the working directory.
+     */
+    public void setBasedir(String basedir) {
+        this.basedir = basedir;
+    }
+
+    /**
+     * Sets the charset of the files, the violating lines of which are read.
+     * @param charset the name of the charset.
+     */
+    public void setCharset(String charset) {
+        this.charset = charset;
+    }
+
+    /**
+     * Checks whether the violation of the event is a known violation. Every occurrence
+     * of a fingerprint in the baseline matches one violation of the file of the event,
+     * so a violation is new when its line repeats a known violating line once more.
+     * The matches are counted until the violations of another file are reported.
+     * @param event the event of the violation.
+     * @return {@code true} if an unmatched occurrence of the fingerprint was left.
+     */
+    public boolean match(AuditEvent event) {
+        final long fingerprint = getFingerprint(event);
+        final int known = getOccurrences(fingerprint);
+        boolean result = false;
+        if (known > 0) {
+            result = matchedOccurrences.merge(fingerprint, 1, Integer::sum) <= known;
+        }
+        return result;
+    }
+
+    /**
+     * Computes the fingerprint of the violation of the event. The violating line is
+     * taken from the text of the file held by the {@link Checker} which reports the
+     * event, or read from the file if the event is reported by another source. The
+     * text of the last read file is cached as the events of one file are reported
+     * together.
+     * @param event the event of the violation.
+     * @return the fingerprint, never zero.
+     */
+    public long getFingerprint(AuditEvent event) {
+        final String fileName = event.getFileName();
+        final FileText reportedFileText = getReportedFileText(event);
+        if (!fileName.equals(cachedFileName)
+                || reportedFileText != null && reportedFileText != cachedFileText) {
+            cacheFile(fileName, reportedFileText);
+        }
+        final String source;
+        if (event.getModuleId() == null) {
+            source = event.getSourceName();
+        }
+        else {
+            source = event.getModuleId();
+        }
+        long hash = hash(FNV_OFFSET_BASIS, cachedFilePath);
+        hash = hash(hash, source);
+        hash = hash(hash, event.getLocalizedMessage().getKey());
+        final int line = event.getLine();
+        if (cachedFileText != null && line > 0 && line <= cachedFileText.size()) {
+            hash = hashWithoutWhitespace(hash, cachedFileText.get(line - 1));
+        }
+        if (hash == EMPTY) {
+            hash = 1;
+        }
+        return hash;
+    }
+
+    /**
+     * Adds an occurrence of the fingerprint to the baseline.
+     * @param fingerprint the fingerprint to add, must not be zero.
+     * @return {@code true} if the baseline did not contain the fingerprint.
+     */
+    public boolean add(long fingerprint) {
+        return add(fingerprint, 1);
+    }
+
+    /**
+     * Adds occurrences of the fingerprint to the baseline.
+     * @param fingerprint the fingerprint to add, must not be zero.
+     * @param count the number of occurrences to add.
+     * @return {@code true} if the baseline did not contain the fingerprint.
+     */
+    private boolean add(long fingerprint, int count) {
+        int index = indexOf(table, fingerprint);
+        final boolean added = table[index] == EMPTY;
+        if (added) {
+            if (size >= table.length - (table.length >> 2)) {
+                final long[] oldTable = table;
+                final int[] oldOccurrences = occurrences;
+                table = new long[oldTable.length << 1];
+                occurrences = new int[table.length];
+                for (int i = 0; i < oldTable.length; i++) {
+                    if (oldTable[i] != EMPTY) {
+                        final int newIndex = indexOf(table, oldTable[i]);
+                        table[newIndex] = oldTable[i];
+                        occurrences[newIndex] = oldOccurrences[i];
+                    }
+                }
+                index = indexOf(table, fingerprint);
+            }
+            table[index] = fingerprint;
+            size++;
+        }
+        occurrences[index] += count;
+        return added;
+    }
+
+    /**
+     * Checks whether the baseline contains the fingerprint.
+     * @param fingerprint the fingerprint to look for.
+     * @return {@code true} if the baseline contains the fingerprint.
+     */
+    public boolean contains(long fingerprint) {
+        return table[indexOf(table, fingerprint)] != EMPTY;
+    }
+
+    /**
+     * Returns the number of occurrences of the fingerprint in the baseline.
+     * @param fingerprint the fingerprint to look for.
+     * @return the number of occurrences, zero if the baseline does not contain it.
+     */
+    public int getOccurrences(long fingerprint) {
+        return occurrences[indexOf(table, fingerprint)];
+    }
+
+    /**
+     * Returns the number of distinct fingerprints in the baseline.
+     * @return the number of fingerprints.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds all fingerprints stored in the baseline file to this baseline.
+     * The stream is not closed.
+     * @param inputStream the stream to read the baseline file from.
+     * @throws IOException if the stream could not be read or is not a baseline file.
+     */
+    public void load(InputStream inputStream) throws IOException {
+        final DataInputStream input =
+                new DataInputStream(new BufferedInputStream(inputStream));
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            throw new IOException("Unsupported baseline file format");
+        }
+        final int count = input.readInt();
+        for (int i = 0; i < count; i++) {
+            final long fingerprint = input.readLong();
+            if (fingerprint == EMPTY) {
+                throw new IOException("Invalid fingerprint in baseline file");
+            }
+            final int fingerprintOccurrences = input.readInt();
+            if (fingerprintOccurrences <= 0) {
+                throw new IOException("Invalid occurrences in baseline file");
+            }
+            add(fingerprint, fingerprintOccurrences);
+        }
+    }
+
+    /**
+     * Writes the baseline file. The stream is flushed, but not closed.
+     * @param outputStream the stream to write the baseline file to.
+     * @throws IOException if the stream could not be written.
+     */
+    public void save(OutputStream outputStream) throws IOException {
+        final long[] fingerprints = new long[size];
+        int count = 0;
+        for (long value : table) {
+            if (value != EMPTY) {
+                fingerprints[count] = value;
+                count++;
+            }
+        }
+        Arrays.sort(fingerprints);
+        final DataOutputStream output =
+                new DataOutputStream(new BufferedOutputStream(outputStream));
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(size);
+        for (long fingerprint : fingerprints) {
+            output.writeLong(fingerprint);
+            output.writeInt(getOccurrences(fingerprint));
+        }
+        output.flush();
+    }
+
+    /**
+     * Finds the slot of the fingerprint, or the empty slot where it belongs.
+     * @param hashTable the table to search, has at least one empty slot.
+     * @param fingerprint the fingerprint to look for.
+     * @return index of the slot.
+     */
+    private static int indexOf(long[] hashTable, long fingerprint) {
+        final int mask = hashTable.length - 1;
+        int index = (int) (fingerprint ^ fingerprint >>> INT_SIZE) & mask;
+        while (hashTable[index] != EMPTY && hashTable[index] != fingerprint) {
+            index = index + 1 & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Continues the hash with the characters of the value and a separator.
+     * @param hash the hash so far.
+     * @param value the value to hash, may be {@code null}.
+     * @return the continued hash.
+     */
+    private static long hash(long hash, String value) {
+        long result = hash;
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                result = (result ^ value.charAt(i)) * FNV_PRIME;
+            }
+        }
+        return result * FNV_PRIME;
+    }
+
+    /**
+     * Continues the hash with the non-whitespace characters of the line.
+     * @param hash the hash so far.
+     * @param line the line to hash.
+     * @return the continued hash.
+     */
+    private static long hashWithoutWhitespace(long hash, String line) {
+        long result = hash;
+        for (int i = 0; i < line.length(); i++) {
+            final char character = line.charAt(i);
+            if (!Character.isWhitespace(character)) {
+                result = (result ^ character) * FNV_PRIME;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Caches the path and the text of the file whose violations are fingerprinted,
+     * and forgets the matches of the previous file.
+     * @param fileName the name of the file, as reported.
+     * @param reportedFileText the text of the file held by the reporting Checker,
+     *     or {@code null} if the file has to be read.
+     */
+    private void cacheFile(String fileName, FileText reportedFileText) {
+        final String baseDirectory;
+        if (basedir == null) {
+            baseDirectory = new File("").getAbsolutePath();
+        }
+        else {
+            baseDirectory = new File(basedir).getAbsolutePath();
+        }
+        File file = new File(fileName);
+        if (!file.isAbsolute()) {
+            file = new File(baseDirectory, fileName);
+        }
+        cachedFileName = fileName;
+        cachedFilePath = CommonUtils.relativizeAndNormalizePath(baseDirectory,
+                file.getAbsolutePath()).replace('\\', '/');
+        if (reportedFileText == null) {
+            cachedFileText = readFile(file, charset);
+        }
+        else {
+            cachedFileText = reportedFileText;
+        }
+        matchedOccurrences.clear();
+    }
+
+    /**
+     * Returns the text of the file whose violations the {@link Checker} which is the
+     * source of the event reports.
+     * @param event the event of the violation.
+     * @return the text of the file, or {@code null} if the source does not hold it.
+     */
+    private static FileText getReportedFileText(AuditEvent event) {
+        FileText result = null;
+        if (event.getSource() instanceof Checker) {
+            result = ((Checker) event.getSource()).getReportedFileText();
+        }
+        return result;
+    }
+
+    /**
+     * Reads the file, the violating lines of which are part of the fingerprints.
+     * @param file the file.
+     * @param charset the name of the charset of the file.
+     * @return the text of the file, or {@code null} if it could not be read.
+     */
+    private static FileText readFile(File file, String charset) {
+        FileText result;
+        try {
+            result = new FileText(file, charset);
+        }
+        catch (IOException ignored) {
+            result = null;
+        }
+        return result;
+    }
+
+}
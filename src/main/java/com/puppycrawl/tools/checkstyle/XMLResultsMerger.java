@@ -0,0 +1,219 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.TreeMap;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+
+/**
+ * Merges reports of {@link XMLLogger}, created by the shards of one audit, into
+ * one report. Files are sorted by name and the number of violations is counted
+ * per severity level, so totals of the merged report are the same as of an audit
+ * of all files at once.
+ * @author the original author or authors.
+ * @see Shard
+ */
+// -@cs[AbbreviationAsWordInName] Named after XMLLogger, which creates the reports.
+public final class XMLResultsMerger {
+
+    /** Feature that rejects documents with a document type declaration. */
+    private static final String DISALLOW_DOCTYPE_DECL =
+            "http://apache.org/xml/features/disallow-doctype-decl";
+
+    /** Feature that enables including external general entities. */
+    private static final String EXTERNAL_GENERAL_ENTITIES =
+            "http://xml.org/sax/features/external-general-entities";
+
+    /** Feature that enables including external parameter entities. */
+    private static final String EXTERNAL_PARAMETER_ENTITIES =
+            "http://xml.org/sax/features/external-parameter-entities";
+
+    /** Name of the file element. */
+    private static final String FILE_ELEMENT = "file";
+
+    /** Name of the error element. */
+    private static final String ERROR_ELEMENT = "error";
+
+    /** Name of the exception element. */
+    private static final String EXCEPTION_ELEMENT = "exception";
+
+    /** End of an attribute value and of the opening tag. */
+    private static final String TAG_END = "\">";
+
+    /** Entries of every file, sorted by file name. */
+    private final Map<String, List<String>> fileEntries = new TreeMap<>();
+
+    /** Entries which do not belong to a file. */
+    private final List<String> globalEntries = new ArrayList<>();
+
+    /** Number of violations per severity level, indexed by ordinal. */
+    private final int[] severityCounts = new int[SeverityLevel.values().length];
+
+    /**
+     * Adds the content of a report to the merged report.
+     * @param report the report created by {@link XMLLogger}.
+     * @throws CheckstyleException if the report can not be read.
+     */
+    public void addReport(File report) throws CheckstyleException {
+        try {
+            final SAXParserFactory factory = SAXParserFactory.newInstance();
+            // reports never declare a document type, so no entity can be resolved
+            factory.setFeature(DISALLOW_DOCTYPE_DECL, true);
+            factory.setFeature(EXTERNAL_GENERAL_ENTITIES, false);
+            factory.setFeature(EXTERNAL_PARAMETER_ENTITIES, false);
+            factory.newSAXParser().parse(report, new ReportHandler());
+        }
+        catch (IOException | SAXException | ParserConfigurationException ex) {
+            throw new CheckstyleException("Unable to read report " + report.getPath(), ex);
+        }
+    }
+
+    /**
+     * Gets the number of violations of the severity level in all added reports.
+     * @param severityLevel the severity level.
+     * @return the number of violations.
+     */
+    public int getCount(SeverityLevel severityLevel) {
+        return severityCounts[severityLevel.ordinal()];
+    }
+
+    /**
+     * Writes the merged report in the format of {@link XMLLogger}. The stream is
+     * flushed, but not closed.
+     * @param outputStream the stream to write the report to.
+     */
+    public void write(OutputStream outputStream) {
+        final PrintWriter writer = new PrintWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+
+        final ResourceBundle compilationProperties =
+            ResourceBundle.getBundle("checkstylecompilation", Locale.ROOT);
+        final String version =
+            compilationProperties.getString("checkstyle.compile.version");
+
+        writer.println("<checkstyle version=\"" + version + TAG_END);
+        for (Map.Entry<String, List<String>> entry : fileEntries.entrySet()) {
+            writer.println("<file name=\"" + XMLLogger.encode(entry.getKey()) + TAG_END);
+            entry.getValue().forEach(writer::println);
+            writer.println("</file>");
+        }
+        globalEntries.forEach(writer::println);
+        writer.println("</checkstyle>");
+        writer.flush();
+    }
+
+    /**
+     * Collects the entries of one report.
+     */
+    private final class ReportHandler extends DefaultHandler {
+
+        /** Entries of the current file, {@code null} outside of a file element. */
+        private List<String> currentFileEntries;
+
+        /** Text of the current exception, {@code null} outside of an exception element. */
+        private StringBuilder exceptionText;
+
+        @Override
+        public void startElement(String uri, String localName, String qName,
+                Attributes attributes) throws SAXException {
+            if (FILE_ELEMENT.equals(qName)) {
+                currentFileEntries = fileEntries.computeIfAbsent(
+                        attributes.getValue("name"), name -> new ArrayList<>());
+            }
+            else if (ERROR_ELEMENT.equals(qName)) {
+                final StringBuilder error = new StringBuilder().append('<').append(qName);
+                for (int i = 0; i < attributes.getLength(); i++) {
+                    error.append(' ').append(attributes.getQName(i)).append("=\"")
+                        .append(XMLLogger.encode(attributes.getValue(i))).append('"');
+                }
+                error.append("/>");
+                addEntry(error.toString());
+
+                final String severity = attributes.getValue("severity");
+                try {
+                    severityCounts[SeverityLevel.getInstance(severity).ordinal()]++;
+                }
+                catch (IllegalArgumentException ex) {
+                    // -@cs[IllegalInstantiation] SAXException is in the overridden method signature
+                    throw new SAXException("Invalid severity level " + severity, ex);
+                }
+            }
+            else if (EXCEPTION_ELEMENT.equals(qName)) {
+                exceptionText = new StringBuilder();
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (exceptionText != null) {
+                exceptionText.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (FILE_ELEMENT.equals(qName)) {
+                currentFileEntries = null;
+            }
+            else if (EXCEPTION_ELEMENT.equals(qName)) {
+                // the stack trace is kept encoded as XMLLogger wrote it
+                addEntry(String.format(Locale.ROOT, "<exception>%n<![CDATA[%n%s%n]]>%n</exception>",
+                        exceptionText.toString().trim()));
+                exceptionText = null;
+            }
+        }
+
+        /**
+         * Adds the entry to the current file or to the global entries.
+         * @param entry the entry.
+         */
+        private void addEntry(String entry) {
+            if (currentFileEntries == null) {
+                globalEntries.add(entry);
+            }
+            else {
+                currentFileEntries.add(entry);
+            }
+        }
+
+    }
+
+}
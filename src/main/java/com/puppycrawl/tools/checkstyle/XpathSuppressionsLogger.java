@@ -0,0 +1,290 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import com.puppycrawl.tools.checkstyle.api.AutomaticBean;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+import com.puppycrawl.tools.checkstyle.xpath.XpathQueryGenerator;
+
+/**
+ * Logger that writes a suppressions file with one {@code suppress-xpath} element
+ * for each reported violation, to be used with {@code SuppressionXpathFilter}.
+ * The violations of a file are collected until the file is finished, then the queries
+ * for all its violations are generated from one position index of its AST. The AST,
+ * which the checker has parsed for the TreeWalkers, is reused if it is still cached,
+ * otherwise the file is parsed once. Violations are located by the char index of their
+ * column, like {@code SuppressionXpathFilter} does, so the tab width of the TreeWalker,
+ * which reported them, does not matter. Violations, which position does not match a node
+ * of the AST, are not written.
+ * @author the original author or authors.
+ * @see XpathQueryGenerator
+ */
+public class XpathSuppressionsLogger extends AutomaticBean implements AuditListener {
+
+    /** The extension of the files, which violations can be suppressed by xpath. */
+    private static final String JAVA_FILE_EXTENSION = "java";
+
+    /** The distance between tab stops, with which the columns are the char indexes plus one. */
+    private static final int CHAR_INDEX_TAB_WIDTH = 1;
+
+    /** The suffix, which is removed from the simple name of a check. */
+    private static final String CHECK_SUFFIX = "Check";
+
+    /** The pattern, which matches the separators of a path on all platforms. */
+    private static final String PATH_SEPARATORS = "[\\\\/]";
+
+    /** The start of the pattern of a path, which is relative or follows a separator. */
+    private static final String PATH_START = "(^|" + PATH_SEPARATORS + ")";
+
+    /** The characters, which have a special meaning in a regular expression. */
+    private static final Pattern REGEXP_SPECIAL_CHARACTERS =
+            Pattern.compile("[\\\\^$.|?*+()\\[\\]{}]");
+
+    /** The violations of the current file. */
+    private final List<AuditEvent> fileEvents = new ArrayList<>();
+
+    /** The writer to write the suppressions file to. */
+    private final PrintWriter writer;
+
+    /** Close output stream in auditFinished. */
+    private final boolean closeStream;
+
+    /** The text of the current file, as read by the checker, or null if it is unknown. */
+    private FileText fileText;
+
+    /** The cache of the checker, which parsed the current file, or null if it is unknown. */
+    private ParsedFileCache parsedFileCache;
+
+    /** The name of the charset to read the files with. */
+    private String charset = System.getProperty("file.encoding", StandardCharsets.UTF_8.name());
+
+    /** The base directory of relative file names, or null for the working directory. */
+    private String basedir;
+
+    /**
+     * Creates a new {@code XpathSuppressionsLogger} instance.
+     * @param outputStream the stream to write the suppressions file to.
+     * @param outputStreamOptions if {@code CLOSE} stream should be closed in auditFinished()
+     */
+    public XpathSuppressionsLogger(OutputStream outputStream,
+            OutputStreamOptions outputStreamOptions) {
+        writer = new PrintWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        closeStream = outputStreamOptions == OutputStreamOptions.CLOSE;
+    }
+
+    /**
+     * Sets the name of the charset to read the files with.
+     * @param charset the name of a charset
+     */
+    public void setCharset(String charset) {
+        this.charset = charset;
+    }
+
+    /**
+     * Sets the base directory, which relative file names of the violations are resolved
+     * against. The working directory is used if it is not set.
+     * @param basedir the base directory of the checker
+     */
+    public void setBasedir(String basedir) {
+        this.basedir = basedir;
+    }
+
+    @Override
+    protected void finishLocalSetup() throws CheckstyleException {
+        // No code by default
+    }
+
+    @Override
+    public void auditStarted(AuditEvent event) {
+        writer.println("<?xml version=\"1.0\"?>");
+        writer.println("<!DOCTYPE suppressions PUBLIC");
+        writer.println("    \"-//Puppy Crawl//DTD Suppressions Xpath Experimental 1.2//EN\"");
+        writer.println("    \"http://checkstyle.sourceforge.net/dtds/"
+                + "suppressions_1_2_xpath_experimental.dtd\">");
+        writer.println("<suppressions>");
+    }
+
+    @Override
+    public void auditFinished(AuditEvent event) {
+        writer.println("</suppressions>");
+        writer.flush();
+        if (closeStream) {
+            writer.close();
+        }
+    }
+
+    @Override
+    public void fileStarted(AuditEvent event) {
+        fileEvents.clear();
+        fileText = null;
+    }
+
+    @Override
+    public void fileFinished(AuditEvent event) {
+        final File file = new File(event.getFileName());
+        if (!fileEvents.isEmpty()
+                && CommonUtils.matchesFileExtension(file, JAVA_FILE_EXTENSION)) {
+            try {
+                final DetailAST rootAst;
+                if (fileText == null) {
+                    fileText = new FileText(getAbsoluteFile(file), charset);
+                    rootAst = JavaParser.parseFileText(fileText,
+                            JavaParser.Options.WITHOUT_COMMENTS);
+                }
+                else {
+                    rootAst = parsedFileCache.getAst(fileText);
+                }
+                writeSuppressions(getFilesPattern(file),
+                        new XpathQueryGenerator(rootAst, fileText, CHAR_INDEX_TAB_WIDTH));
+            }
+            catch (IOException | CheckstyleException ex) {
+                // the violations of a file, which can not be parsed, can not be suppressed
+                writer.println("<!-- Violations of " + XMLLogger.encode(event.getFileName())
+                        + " can not be suppressed: " + XMLLogger.encode(ex.getMessage())
+                        .replace("--", "- -") + " -->");
+            }
+        }
+        fileEvents.clear();
+        fileText = null;
+    }
+
+    @Override
+    public void addError(AuditEvent event) {
+        if (event.getSeverityLevel() != SeverityLevel.IGNORE && event.getLine() > 0) {
+            fileEvents.add(event);
+            if (fileText == null && event.getSource() instanceof Checker) {
+                final Checker checker = (Checker) event.getSource();
+                fileText = checker.getReportedFileText();
+                parsedFileCache = checker.getParsedFileCache();
+            }
+        }
+    }
+
+    @Override
+    public void addException(AuditEvent event, Throwable throwable) {
+        // exceptions can not be suppressed
+    }
+
+    /**
+     * Resolves a file of the violations against the base directory.
+     * @param file the file of the violations
+     * @return the absolute file
+     */
+    private File getAbsoluteFile(File file) {
+        final File absoluteFile;
+        if (basedir == null || file.isAbsolute()) {
+            absoluteFile = file.getAbsoluteFile();
+        }
+        else {
+            absoluteFile = new File(basedir, file.getPath()).getAbsoluteFile();
+        }
+        return absoluteFile;
+    }
+
+    /**
+     * Returns the pattern of the {@code files} attribute for a file. It matches the
+     * path of the file, which is relative to the basedir of the checker, or to the working
+     * directory if the file is absolute and inside it, at the end of a path with any
+     * separator. Other absolute files are matched by their whole path.
+     * @param file the file of the violations
+     * @return the pattern of the path of the file
+     */
+    private static String getFilesPattern(File file) {
+        String path = file.getPath();
+        if (file.isAbsolute()) {
+            final Path workingDirectory = Paths.get("").toAbsolutePath();
+            final Path filePath = file.toPath().normalize();
+            if (filePath.startsWith(workingDirectory)) {
+                path = workingDirectory.relativize(filePath).toString();
+            }
+        }
+        final StringBuilder pattern = new StringBuilder(PATH_START);
+        for (String name : path.split(PATH_SEPARATORS)) {
+            if (pattern.length() > PATH_START.length()) {
+                pattern.append(PATH_SEPARATORS);
+            }
+            pattern.append(REGEXP_SPECIAL_CHARACTERS.matcher(name).replaceAll("\\\\$0"));
+        }
+        return pattern.append('$').toString();
+    }
+
+    /**
+     * Writes one {@code suppress-xpath} element for each distinct suppression
+     * of the violations of the current file.
+     * @param fileName the pattern of the path of the current file
+     * @param generator the generator of the queries for the current file
+     */
+    private void writeSuppressions(String fileName, XpathQueryGenerator generator) {
+        final Set<String> suppressions = new LinkedHashSet<>();
+        for (AuditEvent event : fileEvents) {
+            final List<String> queries = generator.generate(event.getLine(),
+                    event.getLocalizedMessage().getColumnCharIndex() + 1);
+            if (!queries.isEmpty()) {
+                suppressions.add(getSuppression(fileName, event, String.join(" | ", queries)));
+            }
+        }
+        suppressions.forEach(writer::println);
+    }
+
+    /**
+     * Returns the {@code suppress-xpath} element for the given violation.
+     * @param fileName the pattern of the path of the file of the violation
+     * @param event the violation
+     * @param query the query of the nodes of the violation
+     * @return the {@code suppress-xpath} element
+     */
+    private static String getSuppression(String fileName, AuditEvent event, String query) {
+        final String checkAttribute;
+        if (event.getModuleId() == null) {
+            String checkName = event.getSourceName();
+            checkName = checkName.substring(checkName.lastIndexOf('.') + 1);
+            if (checkName.endsWith(CHECK_SUFFIX)) {
+                checkName = checkName.substring(0, checkName.length() - CHECK_SUFFIX.length());
+            }
+            checkAttribute = "checks=\"" + XMLLogger.encode(checkName);
+        }
+        else {
+            checkAttribute = "id=\"" + XMLLogger.encode(event.getModuleId());
+        }
+        return "<suppress-xpath files=\"" + XMLLogger.encode(fileName)
+                + "\" " + checkAttribute + "\" query=\"" + XMLLogger.encode(query) + "\"/>";
+    }
+
+}
@@ -51,6 +51,7 @@ import com.puppycrawl.tools.checkstyle.DefaultLogger;
 import com.puppycrawl.tools.checkstyle.ModuleFactory;
 import com.puppycrawl.tools.checkstyle.PackageObjectFactory;
 import com.puppycrawl.tools.checkstyle.PropertiesExpander;
+import com.puppycrawl.tools.checkstyle.Shard;
 import com.puppycrawl.tools.checkstyle.ThreadModeSettings;
 import com.puppycrawl.tools.checkstyle.XMLLogger;
 import com.puppycrawl.tools.checkstyle.api.AuditListener;
@@ -113,6 +114,15 @@ public class CheckstyleAntTask extends Task {
     /** The maximum number of warnings that are tolerated. */
     private int maxWarnings = Integer.MAX_VALUE;
 
+    /** Whether to stop the audit as soon as maxErrors or maxWarnings is exceeded. */
+    private boolean failFast;
+
+    /** The shard of files to check in format index/count, {@code null} to check all files. */
+    private String shard;
+
+    /** Whether directories are distributed to shards by the size of their files. */
+    private boolean shardBySize;
+
     /**
      * Whether to execute ignored modules - some modules may log above
      * their severity depending on their configuration (e.g. WriteTag) so
@@ -159,6 +169,31 @@ public class CheckstyleAntTask extends Task {
         this.maxWarnings = maxWarnings;
     }
 
+    /**
+     * Sets flag - whether to stop the audit as soon as the maximum number of
+     * errors or warnings is exceeded. Remaining files are not checked then.
+     * @param failFast whether to stop the audit once the limits are exceeded
+     */
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    /**
+     * Sets the shard of files to check in format index/count, like "2/4".
+     * @param shard the shard of files to check.
+     */
+    public void setShard(String shard) {
+        this.shard = shard;
+    }
+
+    /**
+     * Sets flag - whether directories are distributed to shards by the size of their files.
+     * @param shardBySize whether directories are distributed by the size of their files
+     */
+    public void setShardBySize(boolean shardBySize) {
+        this.shardBySize = shardBySize;
+    }
+
     /**
      * Adds a path.
      * @param path the path to add.
@@ -425,6 +460,12 @@ public class CheckstyleAntTask extends Task {
             }
 
             rootModule.configure(configuration);
+
+            if (failFast && rootModule instanceof Checker) {
+                final Checker checker = (Checker) rootModule;
+                checker.setMaxErrors(maxErrors);
+                checker.setMaxWarnings(maxWarnings);
+            }
         }
         catch (final CheckstyleException ex) {
             throw new BuildException(String.format(Locale.ROOT, "Unable to create Root Module: "
@@ -506,7 +547,8 @@ public class CheckstyleAntTask extends Task {
 
     /**
      * Returns the list of files (full path name) to process.
-     * @return the list of files included via the fileName, filesets and paths.
+     * @return the list of files included via the fileName, filesets and paths,
+     *     restricted to the shard if one is set.
      */
     private List<File> getFilesToCheck() {
         final List<File> allFiles = new ArrayList<>();
@@ -523,7 +565,22 @@ public class CheckstyleAntTask extends Task {
         final List<File> filesFromPaths = scanPaths();
         allFiles.addAll(filesFromPaths);
 
-        return allFiles;
+        final List<File> result;
+        if (shard == null) {
+            result = allFiles;
+        }
+        else {
+            try {
+                result = Shard.parse(shard, shardBySize).select(allFiles,
+                        getProject().getBaseDir().getAbsolutePath());
+            }
+            catch (IllegalArgumentException ex) {
+                throw new BuildException(ex.getMessage(), ex, getLocation());
+            }
+            log("Selected " + result.size() + " of " + allFiles.size()
+                    + " files for shard " + shard, Project.MSG_VERBOSE);
+        }
+        return result;
     }
 
     /**
@@ -19,13 +19,15 @@
 
 package com.puppycrawl.tools.checkstyle.api;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
-import java.util.TreeSet;
 
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+import com.puppycrawl.tools.checkstyle.utils.LocalizedMessageUtils;
 
 /**
  * The base class for checks.
@@ -113,7 +115,17 @@ public abstract class AbstractCheck extends AbstractViolationReporter {
      * @return the sorted set of {@link LocalizedMessage}.
      */
     public SortedSet<LocalizedMessage> getMessages() {
-        return new TreeSet<>(context.get().messages);
+        return LocalizedMessageUtils.toSortedSet(context.get().messages);
+    }
+
+    /**
+     * Returns the messages logged for the current file in the order they were logged,
+     * so that they can be merged with the messages of other checks without building
+     * a sorted set for every check.
+     * @return the unmodifiable list of the logged messages.
+     */
+    public final List<LocalizedMessage> getLoggedMessages() {
+        return Collections.unmodifiableList(context.get().messages);
     }
 
     /**
@@ -267,7 +279,7 @@ public abstract class AbstractCheck extends AbstractViolationReporter {
                         getSeverityLevel(),
                         getId(),
                         getClass(),
-                        getCustomMessages().get(key)));
+                        getValidCustomMessage(key)));
     }
 
     @Override
@@ -281,7 +293,7 @@ public abstract class AbstractCheck extends AbstractViolationReporter {
                 getSeverityLevel(),
                 getId(),
                 getClass(),
-                getCustomMessages().get(key)));
+                getValidCustomMessage(key)));
     }
 
     @Override
@@ -299,7 +311,7 @@ public abstract class AbstractCheck extends AbstractViolationReporter {
                 getSeverityLevel(),
                 getId(),
                 getClass(),
-                getCustomMessages().get(key)));
+                getValidCustomMessage(key)));
     }
 
     /**
@@ -307,8 +319,8 @@ public abstract class AbstractCheck extends AbstractViolationReporter {
      */
     private static class FileContext {
 
-        /** The sorted set for collecting messages. */
-        private final SortedSet<LocalizedMessage> messages = new TreeSet<>();
+        /** The list for collecting messages, sorted only when they are requested. */
+        private final List<LocalizedMessage> messages = new ArrayList<>();
 
         /** The current file contents. */
         private FileContents fileContents;
@@ -20,11 +20,15 @@
 package com.puppycrawl.tools.checkstyle.api;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.regex.Pattern;
 
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+import com.puppycrawl.tools.checkstyle.utils.LocalizedMessageUtils;
 
 /**
  * Provides common functionality for many FileSetChecks.
@@ -38,10 +42,10 @@ public abstract class AbstractFileSetCheck
     implements FileSetCheck {
 
     /**
-     * Collects the error messages.
+     * Collects the error messages. They are sorted only once, when the file is processed.
      */
-    private static final ThreadLocal<SortedSet<LocalizedMessage>> MESSAGE_COLLECTOR =
-            ThreadLocal.withInitial(TreeSet::new);
+    private static final ThreadLocal<List<LocalizedMessage>> MESSAGE_COLLECTOR =
+            ThreadLocal.withInitial(ArrayList::new);
 
     /** The dispatcher errors are fired to. */
     private MessageDispatcher messageDispatcher;
@@ -49,6 +53,12 @@ public abstract class AbstractFileSetCheck
     /** The file extensions that are accepted by this filter. */
     private String[] fileExtensions = CommonUtils.EMPTY_STRING_ARRAY;
 
+    /** The pattern of the paths of checked files, or null if all files are checked. */
+    private Pattern files;
+
+    /** The base directory the paths of checked files are relative to. */
+    private String basedir;
+
     /**
      * Called to process a file that matches the specified file extensions.
      * @param file the file to be processed
@@ -76,13 +86,28 @@ public abstract class AbstractFileSetCheck
     @Override
     public final SortedSet<LocalizedMessage> process(File file, FileText fileText)
             throws CheckstyleException {
-        final SortedSet<LocalizedMessage> messages = MESSAGE_COLLECTOR.get();
+        return LocalizedMessageUtils.toSortedSet(processToSortedList(file, fileText));
+    }
+
+    /**
+     * Processes a file like {@link #process(File, FileText)}, but returns the messages
+     * as a list, so that the messages of several FileSetChecks can be merged without
+     * building a sorted set for every FileSetCheck.
+     * @param file the file to be processed
+     * @param fileText the contents of the file.
+     * @return the sorted list of messages without duplicates.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    public final List<LocalizedMessage> processToSortedList(File file, FileText fileText)
+            throws CheckstyleException {
+        final List<LocalizedMessage> messages = MESSAGE_COLLECTOR.get();
         messages.clear();
         // Process only what interested in
-        if (CommonUtils.matchesFileExtension(file, fileExtensions)) {
+        if (CommonUtils.matchesFileExtension(file, fileExtensions) && isInScope(file)) {
             processFiltered(file, fileText);
         }
-        final SortedSet<LocalizedMessage> result = new TreeSet<>(messages);
+        final List<LocalizedMessage> result =
+                LocalizedMessageUtils.sortAndRemoveDuplicates(new ArrayList<>(messages));
         messages.clear();
         return result;
     }
@@ -141,10 +166,39 @@ public abstract class AbstractFileSetCheck
     }
 
     /**
-     * Adds the sorted set of {@link LocalizedMessage} to the message collector.
-     * @param messages the sorted set of {@link LocalizedMessage}.
+     * Sets the pattern of the paths of checked files. It is searched in the path of
+     * every file relative to the base directory, with '/' as the separator, so that
+     * several modules of one configuration can check different directories.
+     * @param files the pattern of the paths, or null to check all files.
+     */
+    public final void setFiles(Pattern files) {
+        this.files = files;
+    }
+
+    /**
+     * Sets the base directory the paths of checked files are relative to.
+     * @param basedir the base directory, or null to use the paths as they are.
+     */
+    public final void setBasedir(String basedir) {
+        this.basedir = basedir;
+    }
+
+    /**
+     * Checks whether a file is in the directories this FileSetCheck is configured for.
+     * @param file the file to check
+     * @return {@code true} if the relative path of the file matches the files pattern
+     */
+    private boolean isInScope(File file) {
+        return files == null
+                || files.matcher(CommonUtils.relativizeAndNormalizePath(basedir, file.getPath())
+                        .replace(File.separatorChar, '/')).find();
+    }
+
+    /**
+     * Adds the collection of {@link LocalizedMessage} to the message collector.
+     * @param messages the collection of {@link LocalizedMessage}.
      */
-    protected static void addMessages(SortedSet<LocalizedMessage> messages) {
+    protected static void addMessages(Collection<LocalizedMessage> messages) {
         MESSAGE_COLLECTOR.get().addAll(messages);
     }
 
@@ -165,7 +219,7 @@ public abstract class AbstractFileSetCheck
                         getSeverityLevel(),
                         getId(),
                         getClass(),
-                        getCustomMessages().get(key)));
+                        getValidCustomMessage(key)));
     }
 
     /**
@@ -175,7 +229,8 @@ public abstract class AbstractFileSetCheck
      * @param fileName the audited file
      */
     protected final void fireErrors(String fileName) {
-        final SortedSet<LocalizedMessage> errors = new TreeSet<>(MESSAGE_COLLECTOR.get());
+        final SortedSet<LocalizedMessage> errors =
+                LocalizedMessageUtils.toSortedSet(MESSAGE_COLLECTOR.get());
         MESSAGE_COLLECTOR.get().clear();
         messageDispatcher.fireErrors(fileName, errors);
     }
@@ -19,7 +19,11 @@
 
 package com.puppycrawl.tools.checkstyle.api;
 
+import java.text.MessageFormat;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Serves as an abstract base class for all modules that report inspection
@@ -38,6 +42,9 @@ public abstract class AbstractViolationReporter
     /** The identifier of the reporter. */
     private String id;
 
+    /** The custom messages, whose patterns were already parsed successfully. */
+    private final Set<String> validCustomMessages = ConcurrentHashMap.newKeySet();
+
     /**
      * Returns the severity level of the messages generated by this module.
      * @return the severity level
@@ -95,6 +102,23 @@ public abstract class AbstractViolationReporter
         return getConfiguration().getMessages();
     }
 
+    /**
+     * Returns the custom message of a key. Its pattern is parsed the first time it is
+     * logged, so that an invalid pattern fails when the violation is logged and not only
+     * when it is reported.
+     * @param key the key of the message
+     * @return the custom message, or {@code null} if the key has none
+     * @throws IllegalArgumentException if the custom message is not a valid pattern
+     */
+    protected final String getValidCustomMessage(String key) {
+        final String customMessage = getCustomMessages().get(key);
+        if (customMessage != null && !validCustomMessages.contains(customMessage)) {
+            new MessageFormat(customMessage, Locale.ROOT);
+            validCustomMessages.add(customMessage);
+        }
+        return customMessage;
+    }
+
     /**
      * Returns the message bundle name resource bundle that contains the messages
      * used by this module.
@@ -29,6 +29,7 @@ import java.util.EventListener;
  *   (fileStarted
  *     (addError)*
  *   fileFinished )*
+ *   (auditTruncated)?
  * auditFinished
  * </pre>
  * @author <a href="mailto:stephane.bailliez@wanadoo.fr">Stephane Bailliez</a>
@@ -73,4 +74,15 @@ public interface AuditListener
      */
     void addException(AuditEvent event, Throwable throwable);
 
+    /**
+     * Notify that the audit was stopped before all files were processed,
+     * because more violations were found than tolerated.
+     * The message of the event describes the number of violations found
+     * and the number of skipped files.
+     * @param event the event details
+     */
+    default void auditTruncated(AuditEvent event) {
+        // No code by default, should be overridden only by demand at implementations
+    }
+
 }
@@ -20,21 +20,27 @@
 package com.puppycrawl.tools.checkstyle.api;
 
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.regex.Pattern;
 
-import org.apache.commons.beanutils.BeanUtilsBean;
 import org.apache.commons.beanutils.ConversionException;
 import org.apache.commons.beanutils.ConvertUtilsBean;
 import org.apache.commons.beanutils.Converter;
+import org.apache.commons.beanutils.MethodUtils;
 import org.apache.commons.beanutils.PropertyUtils;
-import org.apache.commons.beanutils.PropertyUtilsBean;
 import org.apache.commons.beanutils.converters.ArrayConverter;
 import org.apache.commons.beanutils.converters.BooleanConverter;
 import org.apache.commons.beanutils.converters.ByteConverter;
@@ -77,6 +83,22 @@ public abstract class AutomaticBean
     /** Comma separator for StringTokenizer. */
     private static final String COMMA_SEPARATOR = ",";
 
+    /** Type converters shared by all property setters. */
+    private static final ConvertUtilsBean CONVERT_UTILS = createConvertUtilsBean();
+
+    /**
+     * Property setters of every bean class configured so far. They are resolved once
+     * per class, so configuring many instances of a module does not repeat the
+     * introspection and converter lookup.
+     */
+    private static final ClassValue<Map<String, PropertySetter>> PROPERTY_SETTERS =
+        new ClassValue<Map<String, PropertySetter>>() {
+            @Override
+            protected Map<String, PropertySetter> computeValue(Class<?> type) {
+                return createPropertySetters(type);
+            }
+        };
+
     /** The configuration of this bean. */
     private Configuration configuration;
 
@@ -91,20 +113,39 @@ public abstract class AutomaticBean
     protected abstract void finishLocalSetup() throws CheckstyleException;
 
     /**
-     * Creates a BeanUtilsBean that is configured to use
+     * Creates a ConvertUtilsBean that is configured to use
      * type converters that throw a ConversionException
      * instead of using the default value when something
      * goes wrong.
      *
-     * @return a configured BeanUtilsBean
+     * @return a configured ConvertUtilsBean
      */
-    private static BeanUtilsBean createBeanUtilsBean() {
+    private static ConvertUtilsBean createConvertUtilsBean() {
         final ConvertUtilsBean cub = new ConvertUtilsBean();
 
         registerIntegralTypes(cub);
         registerCustomTypes(cub);
 
-        return new BeanUtilsBean(cub, new PropertyUtilsBean());
+        return cub;
+    }
+
+    /**
+     * Resolves the setters of all bean properties of the given class.
+     * @param type the bean class
+     * @return property setters of the bean class by property name
+     */
+    private static Map<String, PropertySetter> createPropertySetters(Class<?> type) {
+        final Map<String, PropertySetter> setters = new HashMap<>();
+        for (final PropertyDescriptor descriptor : PropertyUtils.getPropertyDescriptors(type)) {
+            final Class<?> propertyType = descriptor.getPropertyType();
+            if (propertyType != null) {
+                final Method method =
+                        MethodUtils.getAccessibleMethod(type, descriptor.getWriteMethod());
+                setters.put(descriptor.getName(), new PropertySetter(descriptor.getName(),
+                        propertyType, CONVERT_UTILS.lookup(propertyType), method));
+            }
+        }
+        return Collections.unmodifiableMap(setters);
     }
 
     /**
@@ -210,38 +251,31 @@ public abstract class AutomaticBean
      */
     private void tryCopyProperty(String moduleName, String key, Object value, boolean recheck)
             throws CheckstyleException {
-        final BeanUtilsBean beanUtils = createBeanUtilsBean();
+        final PropertySetter setter = PROPERTY_SETTERS.get(getClass()).get(key);
 
-        try {
+        if (setter == null) {
+            // missing properties are ignored when contextualizing, like
+            // BeanUtilsBean.copyProperty does
             if (recheck) {
-                // BeanUtilsBean.copyProperties silently ignores missing setters
-                // for key, so we have to go through great lengths here to
-                // figure out if the bean property really exists.
-                final PropertyDescriptor descriptor =
-                        PropertyUtils.getPropertyDescriptor(this, key);
-                if (descriptor == null) {
-                    final String message = String.format(Locale.ROOT, "Property '%s' in module %s "
-                            + "does not exist, please check the documentation", key, moduleName);
-                    throw new CheckstyleException(message);
-                }
+                final String message = String.format(Locale.ROOT, "Property '%s' in module %s "
+                        + "does not exist, please check the documentation", key, moduleName);
+                throw new CheckstyleException(message);
             }
-            // finally we can set the bean property
-            beanUtils.copyProperty(this, key, value);
-        }
-        catch (final InvocationTargetException | IllegalAccessException
-                | NoSuchMethodException ex) {
-            // There is no way to catch IllegalAccessException | NoSuchMethodException
-            // as we do PropertyUtils.getPropertyDescriptor before beanUtils.copyProperty
-            // so we have to join these exceptions with InvocationTargetException
-            // to satisfy UTs coverage
-            final String message = String.format(Locale.ROOT,
-                    "Cannot set property '%s' to '%s' in module %s", key, value, moduleName);
-            throw new CheckstyleException(message, ex);
         }
-        catch (final IllegalArgumentException | ConversionException ex) {
-            final String message = String.format(Locale.ROOT, "illegal value '%s' for property "
-                    + "'%s' of module %s", value, key, moduleName);
-            throw new CheckstyleException(message, ex);
+        else {
+            try {
+                setter.set(this, value);
+            }
+            catch (final InvocationTargetException ex) {
+                final String message = String.format(Locale.ROOT,
+                        "Cannot set property '%s' to '%s' in module %s", key, value, moduleName);
+                throw new CheckstyleException(message, ex);
+            }
+            catch (final IllegalArgumentException | ConversionException ex) {
+                final String message = String.format(Locale.ROOT, "illegal value '%s' for property "
+                        + "'%s' of module %s", value, key, moduleName);
+                throw new CheckstyleException(message, ex);
+            }
         }
     }
 
@@ -290,6 +324,99 @@ public abstract class AutomaticBean
         }
     }
 
+    /**
+     * Setter of a single bean property, resolved into a method handle together with
+     * the converter for the property type. Values are converted and assigned with
+     * the same rules as {@code BeanUtilsBean.copyProperty}.
+     */
+    private static final class PropertySetter {
+
+        /** Type of the setter method handle. */
+        private static final MethodType SETTER_TYPE =
+                MethodType.methodType(void.class, Object.class, Object.class);
+
+        /** Name of the property. */
+        private final String name;
+
+        /** Type of the property. */
+        private final Class<?> type;
+
+        /** Type of the property with primitives boxed. */
+        private final Class<?> boxedType;
+
+        /** Converter for the property type, or {@code null} if there is none. */
+        private final Converter converter;
+
+        /** Handle of the setter, or {@code null} if the property has no accessible setter. */
+        private final MethodHandle handle;
+
+        /**
+         * Creates a new {@code PropertySetter} instance.
+         * @param name name of the property
+         * @param type type of the property
+         * @param converter converter for the property type, may be {@code null}
+         * @param method accessible setter method, may be {@code null}
+         */
+        PropertySetter(String name, Class<?> type, Converter converter, Method method) {
+            this.name = name;
+            this.type = type;
+            boxedType = MethodType.methodType(type).wrap().returnType();
+            this.converter = converter;
+            handle = unreflect(method);
+        }
+
+        /**
+         * Creates a handle of the setter method adapted to {@link #SETTER_TYPE}.
+         * @param method the setter method, may be {@code null}
+         * @return the setter handle, or {@code null} if the method is not accessible
+         */
+        private static MethodHandle unreflect(Method method) {
+            MethodHandle result = null;
+            if (method != null) {
+                try {
+                    result = MethodHandles.publicLookup().unreflect(method)
+                            .asFixedArity().asType(SETTER_TYPE);
+                }
+                catch (IllegalAccessException ignored) {
+                    // the property is treated as one without a setter
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Converts the value to the property type and assigns it to the bean.
+         * @param bean the bean to configure
+         * @param value the value of the property
+         * @throws InvocationTargetException if the property has no setter or the setter fails
+         */
+        public void set(Object bean, Object value) throws InvocationTargetException {
+            Object converted = value;
+            if (value != null && converter != null) {
+                converted = converter.convert(type, value);
+            }
+            if (handle == null) {
+                throw new InvocationTargetException(new NoSuchMethodException("Property '"
+                        + name + "' has no setter method in class '" + bean.getClass() + "'"),
+                        "Cannot set " + name);
+            }
+            if (converted == null && type.isPrimitive()
+                    || converted != null && !boxedType.isInstance(converted)) {
+                throw new IllegalArgumentException("Cannot invoke setter of property '" + name
+                        + "' - argument type mismatch");
+            }
+            try {
+                handle.invokeExact(bean, converted);
+            }
+            // -@cs[IllegalCatch] MethodHandle.invokeExact declares Throwable, failures are
+            // reported the same way as Method.invoke does
+            catch (Throwable ex) {
+                throw new InvocationTargetException(ex);
+            }
+        }
+
+    }
+
     /** A converter that converts strings to patterns. */
     private static class PatternConverter implements Converter {
 
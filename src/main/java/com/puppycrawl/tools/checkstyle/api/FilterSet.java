@@ -19,8 +19,12 @@
 
 package com.puppycrawl.tools.checkstyle.api;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -28,20 +32,50 @@ import java.util.Set;
  * A filter set applies filters to AuditEvents.
  * If a filter in the set rejects an AuditEvent, then the
  * AuditEvent is rejected. Otherwise, the AuditEvent is accepted.
+ *
+ * <p>The filters are evaluated in order of their measured time spent per
+ * rejected event, so cheap filters that reject many events run before
+ * expensive ones. The order is updated after every
+ * {@value #REORDER_INTERVAL} events, the statistics it is based on are
+ * available by {@link #getStatistics()}. A set of less than two filters has
+ * no order to update, so its filter is neither timed nor counted. Filters of
+ * a set whose filters are all of the same class are expected to cost the same,
+ * so they are counted but not timed and are ordered by their rejections only.</p>
  * @author Rick Giles
  */
 public class FilterSet
     implements Filter {
 
+    /** The number of events after which the evaluation order is updated. */
+    public static final int REORDER_INTERVAL = 1024;
+
     /** Filter set. */
     private final Set<Filter> filters = new HashSet<>();
 
+    /** Statistics of the filters. */
+    private final Map<Filter, FilterStatistics> statistics = new HashMap<>();
+
+    /** Statistics of the filters in order of evaluation. */
+    private FilterStatistics[] evaluationOrder = new FilterStatistics[0];
+
+    /** The number of events accepted or rejected since the last ordering. */
+    private int eventCount;
+
+    /** Whether filters were added or removed since the last ordering. */
+    private boolean orderOutdated;
+
+    /** Whether the time spent in the filters is measured. */
+    private boolean timed;
+
     /**
      * Adds a Filter to the set.
      * @param filter the Filter to add.
      */
     public void addFilter(Filter filter) {
-        filters.add(filter);
+        if (filters.add(filter)) {
+            statistics.put(filter, new FilterStatistics(filter));
+            orderOutdated = true;
+        }
     }
 
     /**
@@ -49,7 +83,10 @@ public class FilterSet
      * @param filter filter to remove.
      */
     public void removeFilter(Filter filter) {
-        filters.remove(filter);
+        if (filters.remove(filter)) {
+            statistics.remove(filter);
+            orderOutdated = true;
+        }
     }
 
     /**
@@ -60,6 +97,17 @@ public class FilterSet
         return Collections.unmodifiableSet(filters);
     }
 
+    /**
+     * Returns the statistics of the filters in their current order of evaluation.
+     * @return the statistics of the filters
+     */
+    public List<FilterStatistics> getStatistics() {
+        if (orderOutdated) {
+            updateEvaluationOrder();
+        }
+        return Collections.unmodifiableList(Arrays.asList(evaluationOrder.clone()));
+    }
+
     @Override
     public String toString() {
         return filters.toString();
@@ -84,19 +132,77 @@ public class FilterSet
 
     @Override
     public boolean accept(AuditEvent event) {
+        if (orderOutdated) {
+            updateEvaluationOrder();
+        }
+        final boolean result;
+        if (evaluationOrder.length < 2) {
+            // there is nothing to reorder, so the filters are not timed
+            result = evaluationOrder.length == 0 || evaluationOrder[0].getFilter().accept(event);
+        }
+        else {
+            result = acceptAndRecord(event);
+        }
+        return result;
+    }
+
+    /**
+     * Applies the filters in their order of evaluation, records their statistics
+     * and updates the order after every {@value #REORDER_INTERVAL} events.
+     * @param event the event to filter.
+     * @return true if all filters accept the event.
+     */
+    private boolean acceptAndRecord(AuditEvent event) {
         boolean result = true;
-        for (Filter filter : filters) {
-            if (!filter.accept(event)) {
+        long start = 0;
+        if (timed) {
+            start = System.nanoTime();
+        }
+        for (FilterStatistics filterStatistics : evaluationOrder) {
+            final boolean accepted = filterStatistics.getFilter().accept(event);
+            long time = 0;
+            if (timed) {
+                // the end of one measurement is the start of the next one
+                final long end = System.nanoTime();
+                time = end - start;
+                start = end;
+            }
+            filterStatistics.record(accepted, time);
+            if (!accepted) {
                 result = false;
                 break;
             }
         }
+        eventCount++;
+        if (eventCount == REORDER_INTERVAL) {
+            updateEvaluationOrder();
+        }
         return result;
     }
 
     /** Clears the FilterSet. */
     public void clear() {
         filters.clear();
+        statistics.clear();
+        orderOutdated = true;
+    }
+
+    /**
+     * Orders the filters by their rank computed from the current statistics.
+     */
+    private void updateEvaluationOrder() {
+        final FilterStatistics[] order =
+                statistics.values().toArray(new FilterStatistics[statistics.size()]);
+        for (FilterStatistics filterStatistics : order) {
+            filterStatistics.updateRank();
+        }
+        Arrays.sort(order, (first, second) -> Double.compare(first.getRank(), second.getRank()));
+        evaluationOrder = order;
+        eventCount = 0;
+        if (orderOutdated) {
+            timed = filters.stream().map(Object::getClass).distinct().count() > 1;
+            orderOutdated = false;
+        }
     }
 
 }
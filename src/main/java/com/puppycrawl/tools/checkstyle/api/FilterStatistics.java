@@ -0,0 +1,124 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.api;
+
+/**
+ * Cost and selectivity of one filter of a {@link FilterSet}, collected while
+ * the filter set accepts events. The filter set evaluates the filters with the
+ * lowest time spent per rejected event first.
+ * @author the original author or authors.
+ */
+public final class FilterStatistics {
+
+    /** The filter. */
+    private final Filter filter;
+
+    /** The number of events evaluated by the filter. */
+    private long evaluationCount;
+
+    /** The number of events rejected by the filter. */
+    private long rejectionCount;
+
+    /** The time spent in the filter, in nanoseconds. */
+    private long totalTime;
+
+    /** The rank of the filter at the last ordering, lower ranks are evaluated first. */
+    private double rank;
+
+    /**
+     * Creates statistics of the given filter.
+     * @param filter the filter
+     */
+    FilterStatistics(Filter filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * Records one evaluation of the filter.
+     * @param accepted whether the filter accepted the event
+     * @param time the time spent in the filter, in nanoseconds
+     */
+    void record(boolean accepted, long time) {
+        evaluationCount++;
+        if (!accepted) {
+            rejectionCount++;
+        }
+        totalTime += time;
+    }
+
+    /**
+     * Computes the rank of the filter from its current statistics. The rank
+     * is the time spent per rejected event, so cheap filters, which reject
+     * many events, get the lowest ranks. Every evaluation counts as one
+     * nanosecond at least, so filters which are not timed are ranked by their
+     * rejections. Filters, which were not evaluated yet, get the lowest rank
+     * to be measured.
+     */
+    void updateRank() {
+        rank = (double) (totalTime + evaluationCount) / (rejectionCount + 1);
+    }
+
+    /**
+     * Returns the rank of the filter at the last ordering.
+     * @return the rank of the filter
+     */
+    double getRank() {
+        return rank;
+    }
+
+    /**
+     * Returns the filter.
+     * @return the filter
+     */
+    public Filter getFilter() {
+        return filter;
+    }
+
+    /**
+     * Returns the number of events evaluated by the filter.
+     * @return the number of evaluated events
+     */
+    public long getEvaluationCount() {
+        return evaluationCount;
+    }
+
+    /**
+     * Returns the number of events rejected by the filter.
+     * @return the number of rejected events
+     */
+    public long getRejectionCount() {
+        return rejectionCount;
+    }
+
+    /**
+     * Returns the time spent in the filter.
+     * @return the time spent in the filter, in nanoseconds
+     */
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    @Override
+    public String toString() {
+        return filter + ": evaluated " + evaluationCount + ", rejected " + rejectionCount
+                + ", time " + totalTime + "ns";
+    }
+
+}
@@ -19,6 +19,7 @@
 
 package com.puppycrawl.tools.checkstyle.checks;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -69,12 +70,22 @@ public class SuppressWarningsHolder
     /** A map from check source names to suppression aliases. */
     private static final Map<String, String> CHECK_ALIAS_MAP = new HashMap<>();
 
+    /** Number of bits the line is shifted by in a position. */
+    private static final int LINE_SHIFT = 32;
+
     /**
      * A thread-local holder for the list of suppression entries for the last
      * file parsed.
      */
     private static final ThreadLocal<List<Entry>> ENTRIES =
-            ThreadLocal.withInitial(LinkedList::new);
+            ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * A thread-local holder for the index of the suppression entries for the
+     * last file parsed, built when the file is finished.
+     */
+    private static final ThreadLocal<EntryIndex> ENTRY_INDEX =
+            ThreadLocal.withInitial(() -> new EntryIndex(Collections.emptyList()));
 
     /**
      * Returns the default alias for the source name of a check, which is the
@@ -148,56 +159,34 @@ public class SuppressWarningsHolder
      *         source location
      */
     public static boolean isSuppressed(AuditEvent event) {
-        final List<Entry> entries = ENTRIES.get();
-        final String sourceName = event.getSourceName();
-        final String checkAlias = getAlias(sourceName);
+        final EntryIndex index = ENTRY_INDEX.get();
+        final String checkAlias = getAlias(event.getSourceName());
         final int line = event.getLine();
         final int column = event.getColumn();
-        boolean suppressed = false;
-        for (Entry entry : entries) {
-            final boolean afterStart = isSuppressedAfterEventStart(line, column, entry);
-            final boolean beforeEnd = isSuppressedBeforeEventEnd(line, column, entry);
-            final boolean nameMatches =
-                ALL_WARNING_MATCHING_ID.equals(entry.getCheckName())
-                    || entry.getCheckName().equalsIgnoreCase(checkAlias);
-            final boolean idMatches = event.getModuleId() != null
-                && event.getModuleId().equals(entry.getCheckName());
-            if (afterStart && beforeEnd && (nameMatches || idMatches)) {
-                suppressed = true;
-                break;
-            }
+        // an event at column 0 is suppressed by any entry starting on its line
+        final long start;
+        if (column == 0) {
+            start = getPosition(line, Integer.MAX_VALUE);
         }
-        return suppressed;
-    }
-
-    /**
-     * Checks whether suppression entry position is after the audit event occurrence position
-     * in the source file.
-     * @param line the line number in the source file where the event occurred.
-     * @param column the column number in the source file where the event occurred.
-     * @param entry suppression entry.
-     * @return true if suppression entry position is after the audit event occurrence position
-     *         in the source file.
-     */
-    private static boolean isSuppressedAfterEventStart(int line, int column, Entry entry) {
-        return entry.getFirstLine() < line
-            || entry.getFirstLine() == line
-            && (column == 0 || entry.getFirstColumn() <= column);
+        else {
+            start = getPosition(line, column);
+        }
+        final long end = getPosition(line, column);
+        return index.isSuppressed(ALL_WARNING_MATCHING_ID, start, end)
+            || index.isSuppressedIgnoreCase(checkAlias, start, end)
+            || event.getModuleId() != null
+                && index.isSuppressed(event.getModuleId(), start, end);
     }
 
     /**
-     * Checks whether suppression entry position is before the audit event occurrence position
-     * in the source file.
-     * @param line the line number in the source file where the event occurred.
-     * @param column the column number in the source file where the event occurred.
-     * @param entry suppression entry.
-     * @return true if suppression entry position is before the audit event occurrence position
-     *         in the source file.
+     * Combines a line and a column into a position which orders like the
+     * locations in the source file. The column may be negative.
+     * @param line the line number.
+     * @param column the column number.
+     * @return the position.
      */
-    private static boolean isSuppressedBeforeEventEnd(int line, int column, Entry entry) {
-        return entry.getLastLine() > line
-            || entry.getLastLine() == line && entry
-                .getLastColumn() >= column;
+    private static long getPosition(int line, int column) {
+        return ((long) line << LINE_SHIFT) + column;
     }
 
     @Override
@@ -218,6 +207,12 @@ public class SuppressWarningsHolder
     @Override
     public void beginTree(DetailAST rootAST) {
         ENTRIES.get().clear();
+        ENTRY_INDEX.set(new EntryIndex(Collections.emptyList()));
+    }
+
+    @Override
+    public void finishTree(DetailAST rootAST) {
+        ENTRY_INDEX.set(new EntryIndex(ENTRIES.get()));
     }
 
     @Override
@@ -488,6 +483,130 @@ public class SuppressWarningsHolder
         return valueList;
     }
 
+    /**
+     * Suppression entries of a file grouped by check name, each group held as
+     * suppression regions sorted by their start, together with the furthest end
+     * of the regions up to each of them. Whether a location is suppressed is
+     * answered by a binary search.
+     */
+    private static final class EntryIndex {
+
+        /** Start positions of the regions, by check name. */
+        private final Map<String, long[]> startsByName = new HashMap<>();
+
+        /** Furthest end positions of the regions up to each region, by check name. */
+        private final Map<String, long[]> endsByName = new HashMap<>();
+
+        /** Start positions of the regions, by lower case check name. */
+        private final Map<String, long[]> startsByLowerCaseName = new HashMap<>();
+
+        /**
+         * Furthest end positions of the regions up to each region,
+         * by lower case check name.
+         */
+        private final Map<String, long[]> endsByLowerCaseName = new HashMap<>();
+
+        /**
+         * Creates an index of the given entries.
+         * @param entries the suppression entries of a file.
+         */
+        EntryIndex(List<Entry> entries) {
+            final List<Entry> sortedEntries = new ArrayList<>(entries);
+            sortedEntries.sort((first, second) -> Long.compare(
+                getPosition(first.getFirstLine(), first.getFirstColumn()),
+                getPosition(second.getFirstLine(), second.getFirstColumn())));
+            final Map<String, List<Entry>> entriesByName = new HashMap<>();
+            final Map<String, List<Entry>> entriesByLowerCaseName = new HashMap<>();
+            for (Entry entry : sortedEntries) {
+                entriesByName.computeIfAbsent(entry.getCheckName(), key -> new ArrayList<>())
+                    .add(entry);
+                entriesByLowerCaseName.computeIfAbsent(
+                    entry.getCheckName().toLowerCase(Locale.ENGLISH), key -> new ArrayList<>())
+                    .add(entry);
+            }
+            addRegions(entriesByName, startsByName, endsByName);
+            addRegions(entriesByLowerCaseName, startsByLowerCaseName, endsByLowerCaseName);
+        }
+
+        /**
+         * Fills the region arrays of groups of entries sorted by start.
+         * @param entriesByName the groups of entries.
+         * @param starts start positions to fill.
+         * @param ends furthest end positions to fill.
+         */
+        private static void addRegions(Map<String, List<Entry>> entriesByName,
+                Map<String, long[]> starts, Map<String, long[]> ends) {
+            for (Map.Entry<String, List<Entry>> group : entriesByName.entrySet()) {
+                final List<Entry> entries = group.getValue();
+                final long[] groupStarts = new long[entries.size()];
+                final long[] groupEnds = new long[entries.size()];
+                long furthestEnd = Long.MIN_VALUE;
+                for (int i = 0; i < groupStarts.length; i++) {
+                    final Entry entry = entries.get(i);
+                    groupStarts[i] = getPosition(entry.getFirstLine(), entry.getFirstColumn());
+                    furthestEnd = Math.max(furthestEnd,
+                        getPosition(entry.getLastLine(), entry.getLastColumn()));
+                    groupEnds[i] = furthestEnd;
+                }
+                starts.put(group.getKey(), groupStarts);
+                ends.put(group.getKey(), groupEnds);
+            }
+        }
+
+        /**
+         * Checks whether a region of the check name contains a location.
+         * @param checkName the check name.
+         * @param start the position compared with the starts of the regions.
+         * @param end the position compared with the ends of the regions.
+         * @return true if a region contains the location.
+         */
+        public boolean isSuppressed(String checkName, long start, long end) {
+            return isContained(startsByName.get(checkName), endsByName.get(checkName),
+                start, end);
+        }
+
+        /**
+         * Checks whether a region of the check name, ignoring case, contains a location.
+         * @param checkName the check name.
+         * @param start the position compared with the starts of the regions.
+         * @param end the position compared with the ends of the regions.
+         * @return true if a region contains the location.
+         */
+        public boolean isSuppressedIgnoreCase(String checkName, long start, long end) {
+            final String lowerCaseName = checkName.toLowerCase(Locale.ENGLISH);
+            return isContained(startsByLowerCaseName.get(lowerCaseName),
+                endsByLowerCaseName.get(lowerCaseName), start, end);
+        }
+
+        /**
+         * Checks whether one of the regions contains a location.
+         * @param starts start positions of the regions, sorted.
+         * @param ends furthest end positions of the regions up to each region.
+         * @param start the position compared with the starts of the regions.
+         * @param end the position compared with the ends of the regions.
+         * @return true if a region contains the location.
+         */
+        private static boolean isContained(long[] starts, long[] ends, long start, long end) {
+            boolean contained = false;
+            if (starts != null) {
+                int low = 0;
+                int high = starts.length;
+                while (low < high) {
+                    final int middle = low + high >>> 1;
+                    if (starts[middle] <= start) {
+                        low = middle + 1;
+                    }
+                    else {
+                        high = middle;
+                    }
+                }
+                contained = low > 0 && ends[low - 1] >= end;
+            }
+            return contained;
+        }
+
+    }
+
     /** Records a particular suppression for a region of a file. */
     private static class Entry {
 
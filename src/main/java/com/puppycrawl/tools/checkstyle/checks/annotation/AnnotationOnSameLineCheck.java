@@ -19,6 +19,7 @@
 
 package com.puppycrawl.tools.checkstyle.checks.annotation;
 
+import com.puppycrawl.tools.checkstyle.StatelessCheck;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
@@ -29,6 +30,7 @@ import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
  * Verifying with this check is not good practice, but it is using by some style guides.
  * @author zenigata
  */
+@StatelessCheck
 public class AnnotationOnSameLineCheck extends AbstractCheck {
 
     /** A key is pointing to the warning message text in "messages.properties" file. */
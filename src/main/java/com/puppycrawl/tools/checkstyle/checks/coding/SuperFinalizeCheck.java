@@ -19,8 +19,6 @@
 
 package com.puppycrawl.tools.checkstyle.checks.coding;
 
-import com.puppycrawl.tools.checkstyle.StatelessCheck;
-
 /**
  * <p>
  * Checks that an overriding finalize() method invokes super.finalize().
@@ -39,7 +37,6 @@ import com.puppycrawl.tools.checkstyle.StatelessCheck;
  * </pre>
  * @author Rick Giles
  */
-@StatelessCheck
 public class SuperFinalizeCheck extends AbstractSuperCheck {
 
     @Override
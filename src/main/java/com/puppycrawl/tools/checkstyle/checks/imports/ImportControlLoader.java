@@ -19,6 +19,7 @@
 
 package com.puppycrawl.tools.checkstyle.checks.imports;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
@@ -34,6 +35,8 @@ import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
+import com.google.common.io.ByteStreams;
+import com.puppycrawl.tools.checkstyle.ParsedResourceCache;
 import com.puppycrawl.tools.checkstyle.XmlLoader;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 
@@ -41,6 +44,7 @@ import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
  * Responsible for loading the contents of an import control configuration file.
  * @author Oliver Burn
  */
+// -@cs[ClassDataAbstractionCoupling] Loading needs the parser input, the rules and the cache.
 final class ImportControlLoader extends XmlLoader {
 
     /** The public ID for the configuration dtd. */
@@ -78,6 +82,9 @@ final class ImportControlLoader extends XmlLoader {
     /** The map to lookup the resource name by the id. */
     private static final Map<String, String> DTD_RESOURCE_BY_ID = new HashMap<>();
 
+    /** Import control trees already loaded in this JVM, by uri and content. */
+    private static final ParsedResourceCache<ImportControl> CACHE = new ParsedResourceCache<>();
+
     /** Name for attribute 'pkg'. */
     private static final String PKG_ATTRIBUTE_NAME = "pkg";
 
@@ -181,6 +188,7 @@ final class ImportControlLoader extends XmlLoader {
 
     /**
      * Loads the import control file from a file.
+     * The file is parsed only if it was not loaded before with the same content.
      * @param uri the uri of the file to load.
      * @return the root {@link ImportControl} object.
      * @throws CheckstyleException if an error occurs.
@@ -189,8 +197,15 @@ final class ImportControlLoader extends XmlLoader {
         InputStream inputStream = null;
         try {
             inputStream = uri.toURL().openStream();
-            final InputSource source = new InputSource(inputStream);
-            return load(source, uri);
+            final byte[] content = ByteStreams.toByteArray(inputStream);
+            final String location = uri.toString();
+            ImportControl root = CACHE.get(location, content);
+            if (root == null) {
+                final InputSource source = new InputSource(new ByteArrayInputStream(content));
+                root = load(source, uri);
+                CACHE.put(location, content, root);
+            }
+            return root;
         }
         catch (MalformedURLException ex) {
             throw new CheckstyleException("syntax error in url " + uri, ex);
@@ -27,6 +27,7 @@ import java.util.Set;
 import com.puppycrawl.tools.checkstyle.FileStatefulCheck;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 
 /**
  * Checks correct indentation of Java Code.
@@ -113,14 +114,53 @@ public class IndentationCheck extends AbstractCheck {
     /** Default indentation amount - based on Sun. */
     private static final int DEFAULT_INDENTATION = 4;
 
+    /**
+     * Token types handled by the {@link HandlerFactory}. They are listed here, so that
+     * the handler classes are loaded only when the first file is checked.
+     */
+    private static final int[] HANDLED_TOKENS = {
+        TokenTypes.CASE_GROUP,
+        TokenTypes.LITERAL_SWITCH,
+        TokenTypes.SLIST,
+        TokenTypes.PACKAGE_DEF,
+        TokenTypes.LITERAL_ELSE,
+        TokenTypes.LITERAL_IF,
+        TokenTypes.LITERAL_TRY,
+        TokenTypes.LITERAL_CATCH,
+        TokenTypes.LITERAL_FINALLY,
+        TokenTypes.LITERAL_DO,
+        TokenTypes.LITERAL_WHILE,
+        TokenTypes.LITERAL_FOR,
+        TokenTypes.METHOD_DEF,
+        TokenTypes.CTOR_DEF,
+        TokenTypes.CLASS_DEF,
+        TokenTypes.ENUM_DEF,
+        TokenTypes.OBJBLOCK,
+        TokenTypes.INTERFACE_DEF,
+        TokenTypes.IMPORT,
+        TokenTypes.ARRAY_INIT,
+        TokenTypes.METHOD_CALL,
+        TokenTypes.CTOR_CALL,
+        TokenTypes.LABELED_STAT,
+        TokenTypes.STATIC_INIT,
+        TokenTypes.INSTANCE_INIT,
+        TokenTypes.VARIABLE_DEF,
+        TokenTypes.LITERAL_NEW,
+        TokenTypes.INDEX_OP,
+        TokenTypes.LITERAL_SYNCHRONIZED,
+        TokenTypes.LAMBDA,
+        TokenTypes.ANNOTATION_DEF,
+        TokenTypes.ANNOTATION_FIELD_DEF,
+    };
+
     /** Handlers currently in use. */
     private final Deque<AbstractExpressionHandler> handlers = new ArrayDeque<>();
 
     /** Instance of line wrapping handler to use. */
     private final LineWrappingHandler lineWrappingHandler = new LineWrappingHandler(this);
 
-    /** Factory from which handlers are distributed. */
-    private final HandlerFactory handlerFactory = new HandlerFactory();
+    /** Factory from which handlers are distributed, created on first use. */
+    private HandlerFactory handlerFactory;
 
     /** Lines logged as having incorrect indentation. */
     private Set<Integer> incorrectIndentationLines;
@@ -311,12 +351,12 @@ public class IndentationCheck extends AbstractCheck {
 
     @Override
     public int[] getRequiredTokens() {
-        return handlerFactory.getHandledTypes();
+        return HANDLED_TOKENS.clone();
     }
 
     @Override
     public void beginTree(DetailAST ast) {
-        handlerFactory.clearCreatedHandlers();
+        getHandlerFactory().clearCreatedHandlers();
         handlers.clear();
         final PrimordialHandler primordialHandler = new PrimordialHandler(this);
         handlers.push(primordialHandler);
@@ -326,7 +366,7 @@ public class IndentationCheck extends AbstractCheck {
 
     @Override
     public void visitToken(DetailAST ast) {
-        final AbstractExpressionHandler handler = handlerFactory.getHandler(this, ast,
+        final AbstractExpressionHandler handler = getHandlerFactory().getHandler(this, ast,
             handlers.peek());
         handlers.push(handler);
         handler.checkIndentation();
@@ -352,6 +392,9 @@ public class IndentationCheck extends AbstractCheck {
      * @return the handler factory
      */
     public final HandlerFactory getHandlerFactory() {
+        if (handlerFactory == null) {
+            handlerFactory = new HandlerFactory();
+        }
         return handlerFactory;
     }
 
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import com.puppycrawl.tools.checkstyle.StatelessCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.DetailNode;
 import com.puppycrawl.tools.checkstyle.api.JavadocTokenTypes;
@@ -67,6 +68,7 @@ import com.puppycrawl.tools.checkstyle.utils.TokenUtils;
  * @author max
  *
  */
+@StatelessCheck
 public class AtclauseOrderCheck extends AbstractJavadocCheck {
 
     /**
@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+import com.puppycrawl.tools.checkstyle.GlobalStatefulCheck;
 import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.FileText;
@@ -33,6 +34,7 @@ import com.puppycrawl.tools.checkstyle.api.FileText;
  * for more information.
  * @author Oliver Burn
  */
+@GlobalStatefulCheck
 public class JavadocPackageCheck extends AbstractFileSetCheck {
 
     /**
@@ -19,6 +19,7 @@
 
 package com.puppycrawl.tools.checkstyle.checks.javadoc;
 
+import com.puppycrawl.tools.checkstyle.StatelessCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailNode;
 import com.puppycrawl.tools.checkstyle.api.JavadocTokenTypes;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
@@ -71,6 +72,7 @@ import com.puppycrawl.tools.checkstyle.utils.JavadocUtils;
  * @author Vladislav Lisetskiy
  *
  */
+@StatelessCheck
 public class JavadocParagraphCheck extends AbstractJavadocCheck {
 
     /**
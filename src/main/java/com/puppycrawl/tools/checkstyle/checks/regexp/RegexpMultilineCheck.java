@@ -22,6 +22,7 @@ package com.puppycrawl.tools.checkstyle.checks.regexp;
 import java.io.File;
 import java.util.regex.Pattern;
 
+import com.puppycrawl.tools.checkstyle.FileStatefulCheck;
 import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
 import com.puppycrawl.tools.checkstyle.api.FileText;
 
@@ -30,6 +31,7 @@ import com.puppycrawl.tools.checkstyle.api.FileText;
  * any file type.
  * @author Oliver Burn
  */
+@FileStatefulCheck
 public class RegexpMultilineCheck extends AbstractFileSetCheck {
 
     /** The format of the regular expression to match. */
@@ -21,6 +21,7 @@ package com.puppycrawl.tools.checkstyle.checks.regexp;
 
 import java.io.File;
 
+import com.puppycrawl.tools.checkstyle.FileStatefulCheck;
 import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
 import com.puppycrawl.tools.checkstyle.api.FileText;
 
@@ -28,6 +29,7 @@ import com.puppycrawl.tools.checkstyle.api.FileText;
  * Implementation of a check that looks for a single line in any file type.
  * @author Oliver Burn
  */
+@FileStatefulCheck
 public class RegexpSinglelineCheck extends AbstractFileSetCheck {
 
     /** The format of the regular expression to match. */
@@ -128,8 +128,7 @@ public class SuppressElement
     @Override
     public boolean accept(AuditEvent event) {
         return isFileNameAndModuleNotMatching(event)
-                || !isMessageNameMatching(event)
-                || isLineAndColumnMatch(event);
+                || !isMessageAndPositionSuppressing(event);
     }
 
     /**
@@ -139,10 +138,54 @@ public class SuppressElement
      */
     private boolean isFileNameAndModuleNotMatching(AuditEvent event) {
         return event.getFileName() == null
-                || fileRegexp != null && !fileRegexp.matcher(event.getFileName()).find()
+                || !isFileNameMatching(event.getFileName())
                 || event.getLocalizedMessage() == null
                 || moduleId != null && !moduleId.equals(event.getModuleId())
-                || checkRegexp != null && !checkRegexp.matcher(event.getSourceName()).find();
+                || !isCheckNameMatching(event.getSourceName());
+    }
+
+    /**
+     * Returns the module id this element is restricted to.
+     * @return module id or null if the element applies to any module.
+     */
+    String getModuleId() {
+        return moduleId;
+    }
+
+    /**
+     * Returns the file regexp of this element.
+     * @return the file regexp or null if the element applies to any file.
+     */
+    String getFilePattern() {
+        return filePattern;
+    }
+
+    /**
+     * Whether the file name matches the file regexp of this element.
+     * @param fileName the name of the file.
+     * @return true if the file regexp is not set or matches.
+     */
+    boolean isFileNameMatching(String fileName) {
+        return fileRegexp == null || fileRegexp.matcher(fileName).find();
+    }
+
+    /**
+     * Whether the source name matches the check regexp of this element.
+     * @param sourceName the name of the source of a violation.
+     * @return true if the check regexp is not set or matches.
+     */
+    boolean isCheckNameMatching(String sourceName) {
+        return checkRegexp == null || checkRegexp.matcher(sourceName).find();
+    }
+
+    /**
+     * Whether the event is suppressed by this element, provided that file, module id
+     * and check name are already known to match.
+     * @param event event to process.
+     * @return true if the message and position of the event match.
+     */
+    boolean isMessageAndPositionSuppressing(AuditEvent event) {
+        return isMessageNameMatching(event) && !isLineAndColumnMatch(event);
     }
 
     /**
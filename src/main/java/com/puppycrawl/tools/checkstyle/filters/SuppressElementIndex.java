@@ -0,0 +1,325 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.filters;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.Filter;
+import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+
+/**
+ * Filter which gives the same answer as a set of {@link SuppressElement} filters,
+ * but evaluates only the elements which can apply to an event.
+ * Elements whose file name pattern ends with {@code $} after a literal text, such as
+ * {@code [\\/]Foo\.java$}, are bucketed by that text, and elements whose pattern starts
+ * with {@code ^} and a literal text by that text, so the pattern of an element is
+ * evaluated only for files ending or starting with its text. Other elements are
+ * evaluated for every file. The elements matching a file are bucketed by module id
+ * once per file, and the elements of a bucket which match a check name are computed
+ * once per check name.
+ * Filters other than {@code SuppressElement} are evaluated for every event.
+ *
+ * @author the original author or authors.
+ */
+final class SuppressElementIndex implements Filter {
+
+    /** The characters, which have a special meaning in a regular expression. */
+    private static final String SPECIAL_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    /** The characters, which make the character before them optional or repeated. */
+    private static final String QUANTIFIERS = "?*+{";
+
+    /** Filters which are not suppress elements. */
+    private final List<Filter> otherFilters = new ArrayList<>();
+
+    /** Suppress elements whose file pattern ends with a literal text, by that text. */
+    private final Map<String, List<SuppressElement>> elementsBySuffix = new HashMap<>();
+
+    /** Suppress elements whose file pattern starts with a literal text, by that text. */
+    private final Map<String, List<SuppressElement>> elementsByPrefix = new HashMap<>();
+
+    /** Suppress elements whose file pattern has no literal text at its ends. */
+    private final List<SuppressElement> elementsWithoutLiteral = new ArrayList<>();
+
+    /** Suppress elements of the current file restricted to a module id, by module id. */
+    private final Map<String, CheckNameBucket> elementsByModuleId = new HashMap<>();
+
+    /** Suppress elements of the current file which apply to any module id. */
+    private CheckNameBucket elementsForAnyModuleId = new CheckNameBucket();
+
+    /** The length of the longest literal text at the end of a file pattern. */
+    private int maxSuffixLength;
+
+    /** The length of the longest literal text at the start of a file pattern. */
+    private int maxPrefixLength;
+
+    /** The name of the file the buckets are computed for. */
+    private String currentFileName;
+
+    /**
+     * Creates an index of the given filters.
+     * @param filters the filters to index.
+     */
+    SuppressElementIndex(Collection<Filter> filters) {
+        for (Filter filter : filters) {
+            if (filter instanceof SuppressElement) {
+                addElement((SuppressElement) filter);
+            }
+            else {
+                otherFilters.add(filter);
+            }
+        }
+    }
+
+    @Override
+    public boolean accept(AuditEvent event) {
+        boolean result = true;
+        for (Filter filter : otherFilters) {
+            if (!filter.accept(event)) {
+                result = false;
+                break;
+            }
+        }
+        if (result && event.getFileName() != null && event.getLocalizedMessage() != null) {
+            if (!event.getFileName().equals(currentFileName)) {
+                indexFile(event.getFileName());
+            }
+            final CheckNameBucket moduleIdBucket = elementsByModuleId.get(event.getModuleId());
+            result = !isSuppressed(elementsForAnyModuleId, event)
+                && (moduleIdBucket == null || !isSuppressed(moduleIdBucket, event));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the literal text, which all file names matched by a pattern end with.
+     * @param regexp the file pattern.
+     * @return the text before the final {@code $} of the pattern, or an empty string if
+     *     the pattern does not end with a literal text and {@code $}.
+     */
+    static String getLiteralSuffix(String regexp) {
+        String result = "";
+        if (isLiteralSupported(regexp)) {
+            final StringBuilder literal = new StringBuilder();
+            int index = 0;
+            while (index < regexp.length()) {
+                final char character = regexp.charAt(index);
+                if (character == '\\') {
+                    index++;
+                    literal.append(regexp.charAt(index));
+                }
+                else if (SPECIAL_CHARACTERS.indexOf(character) == -1) {
+                    literal.append(character);
+                }
+                else if (character == '$' && index == regexp.length() - 1) {
+                    result = literal.toString();
+                }
+                else {
+                    literal.setLength(0);
+                }
+                index++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the literal text, which all file names matched by a pattern start with.
+     * @param regexp the file pattern.
+     * @return the text after the leading {@code ^} of the pattern, or an empty string if
+     *     the pattern does not start with {@code ^} and a literal text.
+     */
+    static String getLiteralPrefix(String regexp) {
+        final StringBuilder literal = new StringBuilder();
+        if (isLiteralSupported(regexp) && CommonUtils.startsWithChar(regexp, '^')) {
+            int index = 1;
+            while (index < regexp.length()) {
+                final char character = regexp.charAt(index);
+                if (character == '\\') {
+                    index++;
+                    literal.append(regexp.charAt(index));
+                }
+                else if (SPECIAL_CHARACTERS.indexOf(character) == -1) {
+                    literal.append(character);
+                }
+                else {
+                    if (QUANTIFIERS.indexOf(character) != -1 && literal.length() > 0) {
+                        literal.setLength(literal.length() - 1);
+                    }
+                    break;
+                }
+                index++;
+            }
+        }
+        return literal.toString();
+    }
+
+    /**
+     * Checks whether the literal texts of a pattern can be found by its characters alone,
+     * that is the pattern has no alternatives, no flags and no escape sequences
+     * of letters or digits.
+     * @param regexp the file pattern.
+     * @return true if the literal texts of the pattern can be found.
+     */
+    private static boolean isLiteralSupported(String regexp) {
+        boolean supported = regexp.indexOf('|') == -1 && !regexp.contains("(?");
+        int index = 0;
+        while (supported && index < regexp.length()) {
+            if (regexp.charAt(index) == '\\') {
+                index++;
+                supported = !Character.isLetterOrDigit(regexp.charAt(index));
+            }
+            index++;
+        }
+        return supported;
+    }
+
+    /**
+     * Adds a suppress element to the bucket of the literal text of its file pattern.
+     * @param element the suppress element.
+     */
+    private void addElement(SuppressElement element) {
+        final String regexp = element.getFilePattern();
+        if (regexp == null) {
+            elementsWithoutLiteral.add(element);
+        }
+        else {
+            final String suffix = getLiteralSuffix(regexp);
+            final String prefix = getLiteralPrefix(regexp);
+            if (!suffix.isEmpty()) {
+                elementsBySuffix.computeIfAbsent(suffix, key -> new ArrayList<>()).add(element);
+                maxSuffixLength = Math.max(maxSuffixLength, suffix.length());
+            }
+            else if (!prefix.isEmpty()) {
+                elementsByPrefix.computeIfAbsent(prefix, key -> new ArrayList<>()).add(element);
+                maxPrefixLength = Math.max(maxPrefixLength, prefix.length());
+            }
+            else {
+                elementsWithoutLiteral.add(element);
+            }
+        }
+    }
+
+    /**
+     * Buckets the suppress elements, which match the name of a file, by module id.
+     * @param fileName the name of the file.
+     */
+    private void indexFile(String fileName) {
+        currentFileName = fileName;
+        elementsByModuleId.clear();
+        elementsForAnyModuleId = new CheckNameBucket();
+        addMatchingElements(elementsWithoutLiteral, fileName);
+        final int length = fileName.length();
+        for (int literalLength = Math.min(maxSuffixLength, length); literalLength > 0;
+                literalLength--) {
+            addMatchingElements(elementsBySuffix.get(fileName.substring(length - literalLength)),
+                fileName);
+        }
+        for (int literalLength = Math.min(maxPrefixLength, length); literalLength > 0;
+                literalLength--) {
+            addMatchingElements(elementsByPrefix.get(fileName.substring(0, literalLength)),
+                fileName);
+        }
+    }
+
+    /**
+     * Adds the suppress elements, which match the name of a file, to the buckets
+     * of their module ids.
+     * @param elements the suppress elements, or null if there are none.
+     * @param fileName the name of the file.
+     */
+    private void addMatchingElements(List<SuppressElement> elements, String fileName) {
+        if (elements != null) {
+            for (SuppressElement element : elements) {
+                if (element.isFileNameMatching(fileName)) {
+                    final String moduleId = element.getModuleId();
+                    if (moduleId == null) {
+                        elementsForAnyModuleId.addElement(element);
+                    }
+                    else {
+                        elementsByModuleId.computeIfAbsent(moduleId,
+                            key -> new CheckNameBucket()).addElement(element);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether one of the elements of a bucket suppresses the event.
+     * @param bucket the bucket of elements.
+     * @param event event to process.
+     * @return true if the event is suppressed.
+     */
+    private static boolean isSuppressed(CheckNameBucket bucket, AuditEvent event) {
+        boolean suppressed = false;
+        for (SuppressElement element : bucket.getElements(event.getSourceName())) {
+            if (element.isMessageAndPositionSuppressing(event)) {
+                suppressed = true;
+                break;
+            }
+        }
+        return suppressed;
+    }
+
+    /**
+     * Suppress elements with the subsets of them matching check names.
+     */
+    private static final class CheckNameBucket {
+
+        /** All elements of the bucket. */
+        private final List<SuppressElement> elements = new ArrayList<>();
+
+        /** Elements of the bucket which match a check name, by check name. */
+        private final Map<String, List<SuppressElement>> elementsByCheckName = new HashMap<>();
+
+        /**
+         * Adds an element to the bucket.
+         * @param element the element to add.
+         */
+        public void addElement(SuppressElement element) {
+            elements.add(element);
+        }
+
+        /**
+         * Returns the elements of the bucket which match the check name.
+         * @param checkName the source name of an event.
+         * @return the matching elements.
+         */
+        public List<SuppressElement> getElements(String checkName) {
+            return elementsByCheckName.computeIfAbsent(checkName, key -> {
+                final List<SuppressElement> matching = new ArrayList<>();
+                for (SuppressElement element : elements) {
+                    if (element.isCheckNameMatching(key)) {
+                        matching.add(element);
+                    }
+                }
+                return matching;
+            });
+        }
+
+    }
+
+}
@@ -22,7 +22,9 @@ package com.puppycrawl.tools.checkstyle.filters;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -84,9 +86,18 @@ public class SuppressWithNearbyCommentFilter
     /** Default regex for lines that should be suppressed. */
     private static final String DEFAULT_INFLUENCE_FORMAT = "0";
 
-    /** Tagged comments. */
+    /** Tagged comments, sorted by the first line where they suppress warnings. */
     private final List<Tag> tags = new ArrayList<>();
 
+    /** First lines where the tagged comments suppress warnings, in the order of {@link #tags}. */
+    private int[] tagFirstLines = new int[0];
+
+    /** The largest number of lines after its first line a tagged comment suppresses. */
+    private int maxTagLineSpan;
+
+    /** Compiled regexps of the tags, by expanded format. */
+    private final Map<String, Pattern> tagPatterns = new HashMap<>();
+
     /** Whether to look for trigger in C-style comments. */
     private boolean checkC = true;
 
@@ -210,13 +221,29 @@ public class SuppressWithNearbyCommentFilter
 
     /**
      * Whether current event matches any tag from {@link #tags}.
+     * Only the tags which can cover the line of the event are examined, the first
+     * of them is found by a binary search over the first lines of the tags.
      * @param event TreeWalkerAuditEvent to test match on {@link #tags}.
      * @return true if event matches any tag from {@link #tags}, false otherwise.
      */
     private boolean matchesTag(TreeWalkerAuditEvent event) {
+        final int line = event.getLine();
+        final int lowestFirstLine = line - maxTagLineSpan;
+        int low = 0;
+        int high = tagFirstLines.length;
+        while (low < high) {
+            final int middle = low + high >>> 1;
+            if (tagFirstLines[middle] < lowestFirstLine) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
         boolean result = false;
-        for (final Tag tag : tags) {
-            if (tag.isMatch(event)) {
+        for (int index = low; index < tagFirstLines.length && tagFirstLines[index] <= line;
+                index++) {
+            if (tags.get(index).isMatch(event)) {
                 result = true;
                 break;
             }
@@ -224,6 +251,17 @@ public class SuppressWithNearbyCommentFilter
         return result;
     }
 
+    /**
+     * Returns the compiled regexp for an expanded format of a tag.
+     * Tags with the same expanded format share the compiled regexp.
+     * @param format the expanded format.
+     * @return the compiled regexp.
+     * @throws PatternSyntaxException if the format is not a valid regexp.
+     */
+    private Pattern getTagPattern(String format) {
+        return tagPatterns.computeIfAbsent(format, Pattern::compile);
+    }
+
     /**
      * Collects all the suppression tags for all comments into a list and
      * sorts the list.
@@ -239,6 +277,14 @@ public class SuppressWithNearbyCommentFilter
                 contents.getBlockComments().values();
             cComments.forEach(this::tagSuppressions);
         }
+        tags.sort((first, second) -> Integer.compare(first.firstLine, second.firstLine));
+        tagFirstLines = new int[tags.size()];
+        maxTagLineSpan = 0;
+        for (int i = 0; i < tagFirstLines.length; i++) {
+            final Tag tag = tags.get(i);
+            tagFirstLines[i] = tag.firstLine;
+            maxTagLineSpan = Math.max(maxTagLineSpan, tag.lastLine - tag.firstLine);
+        }
     }
 
     /**
@@ -311,19 +357,19 @@ public class SuppressWithNearbyCommentFilter
             this.text = text;
 
             //Expand regexp for check and message
-            //Does not intern Patterns with Utils.getPattern()
+            //Shares Patterns with the other tags of the filter
             String format = "";
             try {
                 format = CommonUtils.fillTemplateWithStringsByRegexp(
                         filter.checkFormat, text, filter.commentFormat);
-                tagCheckRegexp = Pattern.compile(format);
+                tagCheckRegexp = filter.getTagPattern(format);
                 if (filter.messageFormat == null) {
                     tagMessageRegexp = null;
                 }
                 else {
                     format = CommonUtils.fillTemplateWithStringsByRegexp(
                             filter.messageFormat, text, filter.commentFormat);
-                    tagMessageRegexp = Pattern.compile(format);
+                    tagMessageRegexp = filter.getTagPattern(format);
                 }
                 format = CommonUtils.fillTemplateWithStringsByRegexp(
                         filter.influenceFormat, text, filter.commentFormat);
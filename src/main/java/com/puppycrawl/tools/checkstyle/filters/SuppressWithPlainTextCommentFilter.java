@@ -23,7 +23,10 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -80,6 +83,21 @@ public class SuppressWithPlainTextCommentFilter extends AutomaticBean implements
     /** The message format to suppress.*/
     private String messageFormat;
 
+    /** The name of the file the suppressions were collected for. */
+    private String currentFileName;
+
+    /** Whether the current file is a directory, which has no suppressions. */
+    private boolean currentFileDirectory;
+
+    /** Suppressions of the current file, ordered by line. */
+    private List<Suppression> suppressions = Collections.emptyList();
+
+    /** Lines of the suppressions of the current file, in the order of {@link #suppressions}. */
+    private int[] suppressionLines = new int[0];
+
+    /** Compiled regexps of the suppressions, by expanded format. */
+    private final Map<String, Pattern> suppressionPatterns = new HashMap<>();
+
     /**
      * Sets an off comment format pattern.
      * @param pattern off comment format pattern.
@@ -116,10 +134,15 @@ public class SuppressWithPlainTextCommentFilter extends AutomaticBean implements
     public boolean accept(AuditEvent event) {
         boolean accepted = true;
         if (event.getLocalizedMessage() != null) {
-            final FileText fileText = getFileText(event.getFileName());
-            if (fileText != null) {
-                final List<Suppression> suppressions = getSuppressions(fileText);
-                accepted = getNearestSuppression(suppressions, event) == null;
+            final String fileName = event.getFileName();
+            // Lazy update. If the first event for the current file, collect
+            // the suppressions of the file
+            if (!fileName.equals(currentFileName)) {
+                setCurrentFile(fileName);
+            }
+            // some violations can be on a directory, instead of a file
+            if (!currentFileDirectory) {
+                accepted = getNearestSuppression(event) == null;
             }
         }
         return accepted;
@@ -131,25 +154,47 @@ public class SuppressWithPlainTextCommentFilter extends AutomaticBean implements
     }
 
     /**
-     * Returns {@link FileText} instance created based on the given file name.
+     * Collects the suppressions of the file, which the following events are for.
+     * The file is read once, the events of the same file reuse its suppressions.
      * @param fileName the name of the file.
-     * @return {@link FileText} instance.
      */
-    private static FileText getFileText(String fileName) {
+    private void setCurrentFile(String fileName) {
         final File file = new File(fileName);
-        FileText result = null;
+        currentFileName = fileName;
+        currentFileDirectory = file.isDirectory();
+        if (currentFileDirectory) {
+            setSuppressions(Collections.emptyList());
+        }
+        else {
+            setSuppressions(getSuppressions(getFileText(file, fileName)));
+        }
+    }
 
-        // some violations can be on a directory, instead of a file
-        if (!file.isDirectory()) {
-            try {
-                result = new FileText(file, StandardCharsets.UTF_8.name());
-            }
-            catch (IOException ex) {
-                throw new IllegalStateException("Cannot read source file: " + fileName, ex);
-            }
+    /**
+     * Returns {@link FileText} instance created based on the given file.
+     * @param file the file.
+     * @param fileName the name of the file.
+     * @return {@link FileText} instance.
+     */
+    private static FileText getFileText(File file, String fileName) {
+        try {
+            return new FileText(file, StandardCharsets.UTF_8.name());
         }
+        catch (IOException ex) {
+            throw new IllegalStateException("Cannot read source file: " + fileName, ex);
+        }
+    }
 
-        return result;
+    /**
+     * Sets the suppressions of the current file.
+     * @param fileSuppressions suppressions of the file, ordered by line.
+     */
+    private void setSuppressions(List<Suppression> fileSuppressions) {
+        suppressions = fileSuppressions;
+        suppressionLines = new int[fileSuppressions.size()];
+        for (int i = 0; i < suppressionLines.length; i++) {
+            suppressionLines[i] = fileSuppressions.get(i).lineNo;
+        }
     }
 
     /**
@@ -158,12 +203,12 @@ public class SuppressWithPlainTextCommentFilter extends AutomaticBean implements
      * @return list of {@link Suppression} instances.
      */
     private List<Suppression> getSuppressions(FileText fileText) {
-        final List<Suppression> suppressions = new ArrayList<>();
+        final List<Suppression> fileSuppressions = new ArrayList<>();
         for (int lineNo = 0; lineNo < fileText.size(); lineNo++) {
             final Optional<Suppression> suppression = getSuppression(fileText, lineNo);
-            suppression.ifPresent(suppressions::add);
+            suppression.ifPresent(fileSuppressions::add);
         }
-        return suppressions;
+        return fileSuppressions;
     }
 
     /**
@@ -174,18 +219,21 @@ public class SuppressWithPlainTextCommentFilter extends AutomaticBean implements
      */
     private Optional<Suppression> getSuppression(FileText fileText, int lineNo) {
         final String line = fileText.get(lineNo);
-        final Matcher onCommentMatcher = onCommentFormat.matcher(line);
         final Matcher offCommentMatcher = offCommentFormat.matcher(line);
 
+        // an off comment wins over an on comment on the same line
         Suppression suppression = null;
-        if (onCommentMatcher.find()) {
-            suppression = new Suppression(onCommentMatcher.group(0),
-                lineNo + 1, onCommentMatcher.start(), SuppressionType.ON, this);
-        }
         if (offCommentMatcher.find()) {
             suppression = new Suppression(offCommentMatcher.group(0),
                 lineNo + 1, offCommentMatcher.start(), SuppressionType.OFF, this);
         }
+        else {
+            final Matcher onCommentMatcher = onCommentFormat.matcher(line);
+            if (onCommentMatcher.find()) {
+                suppression = new Suppression(onCommentMatcher.group(0),
+                    lineNo + 1, onCommentMatcher.start(), SuppressionType.ON, this);
+            }
+        }
 
         return Optional.ofNullable(suppression);
     }
@@ -194,18 +242,46 @@ public class SuppressWithPlainTextCommentFilter extends AutomaticBean implements
      * Finds the nearest {@link Suppression} instance which can suppress
      * the given {@link AuditEvent}. The nearest suppression is the suppression which scope
      * is before the line and column of the event.
-     * @param suppressions {@link Suppression} instance.
+     * Suppressions after the line of the event are skipped by a binary search over
+     * the lines of the suppressions, then suppressions are examined backwards.
      * @param event {@link AuditEvent} instance.
      * @return {@link Suppression} instance.
      */
-    private static Suppression getNearestSuppression(List<Suppression> suppressions,
-                                                     AuditEvent event) {
-        return suppressions
-            .stream()
-            .filter(suppression -> suppression.isMatch(event))
-            .reduce((first, second) -> second)
-            .filter(suppression -> suppression.suppressionType != SuppressionType.ON)
-            .orElse(null);
+    private Suppression getNearestSuppression(AuditEvent event) {
+        final int line = event.getLine();
+        int low = 0;
+        int high = suppressionLines.length;
+        while (low < high) {
+            final int middle = low + high >>> 1;
+            if (suppressionLines[middle] <= line) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        Suppression result = null;
+        for (int index = low - 1; index >= 0; index--) {
+            final Suppression suppression = suppressions.get(index);
+            if (suppression.isMatch(event)) {
+                if (suppression.suppressionType != SuppressionType.ON) {
+                    result = suppression;
+                }
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the compiled regexp for an expanded format of a suppression.
+     * Suppressions with the same expanded format share the compiled regexp.
+     * @param format the expanded format.
+     * @return the compiled regexp.
+     * @throws PatternSyntaxException if the format is not a valid regexp.
+     */
+    private Pattern getSuppressionPattern(String format) {
+        return suppressionPatterns.computeIfAbsent(format, Pattern::compile);
     }
 
     /** Enum which represents the type of the suppression. */
@@ -256,33 +332,33 @@ public class SuppressWithPlainTextCommentFilter extends AutomaticBean implements
             this.suppressionType = suppressionType;
 
             //Expand regexp for check and message
-            //Does not intern Patterns with Utils.getPattern()
+            //Shares Patterns with the other suppressions of the filter
             String format = "";
             try {
                 if (this.suppressionType == SuppressionType.ON) {
                     format = CommonUtils.fillTemplateWithStringsByRegexp(
                             filter.checkFormat, text, filter.onCommentFormat);
-                    eventSourceRegexp = Pattern.compile(format);
+                    eventSourceRegexp = filter.getSuppressionPattern(format);
                     if (filter.messageFormat == null) {
                         eventMessageRegexp = null;
                     }
                     else {
                         format = CommonUtils.fillTemplateWithStringsByRegexp(
                                 filter.messageFormat, text, filter.onCommentFormat);
-                        eventMessageRegexp = Pattern.compile(format);
+                        eventMessageRegexp = filter.getSuppressionPattern(format);
                     }
                 }
                 else {
                     format = CommonUtils.fillTemplateWithStringsByRegexp(
                             filter.checkFormat, text, filter.offCommentFormat);
-                    eventSourceRegexp = Pattern.compile(format);
+                    eventSourceRegexp = filter.getSuppressionPattern(format);
                     if (filter.messageFormat == null) {
                         eventMessageRegexp = null;
                     }
                     else {
                         format = CommonUtils.fillTemplateWithStringsByRegexp(
                                 filter.messageFormat, text, filter.offCommentFormat);
-                        eventMessageRegexp = Pattern.compile(format);
+                        eventMessageRegexp = filter.getSuppressionPattern(format);
                     }
                 }
             }
@@ -0,0 +1,128 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.filters;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Set;
+
+import com.puppycrawl.tools.checkstyle.ViolationBaseline;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AutomaticBean;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.ExternalResourceHolder;
+import com.puppycrawl.tools.checkstyle.api.Filter;
+import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+import com.puppycrawl.tools.checkstyle.utils.FilterUtils;
+
+/**
+ * <p>
+ * This filter rejects AuditEvents of violations recorded in a baseline file, so
+ * only new violations are reported. Violations are matched by file, module id or
+ * check, message key and the content of the violating line, but not by line
+ * number, so they are still matched after the file was edited elsewhere.
+ * Every recorded occurrence matches one violation of a file, so a violation on
+ * one more copy of a known violating line is reported.
+ * </p>
+ * @author the original author or authors.
+ */
+public class SuppressionBaselineFilter extends AutomaticBean
+        implements Filter, ExternalResourceHolder {
+
+    /** Filename of baseline file. */
+    private String file;
+    /** Tells whether baseline file existence is optional. */
+    private boolean optional;
+    /** The base directory of the file names, set from the parent Checker. */
+    private String basedir;
+    /** The charset of the files, set from the parent Checker. */
+    private String charset;
+    /** Fingerprints of the known violations. */
+    private ViolationBaseline baseline = new ViolationBaseline();
+
+    /**
+     * Sets name of the baseline file.
+     * @param fileName name of the baseline file.
+     */
+    public void setFile(String fileName) {
+        file = fileName;
+    }
+
+    /**
+     * Sets whether baseline file existence is optional.
+     * @param optional tells if baseline file existence is optional.
+     */
+    public void setOptional(boolean optional) {
+        this.optional = optional;
+    }
+
+    /**
+     * Sets the base directory of the file names, the parent Checker provides it.
+     * @param basedir the base directory, {@code null} for the working directory.
+     */
+    public void setBasedir(String basedir) {
+        this.basedir = basedir;
+    }
+
+    /**
+     * Sets the charset of the files, the parent Checker provides it.
+     * @param charset the name of the charset.
+     */
+    public void setCharset(String charset) {
+        this.charset = charset;
+    }
+
+    @Override
+    public boolean accept(AuditEvent event) {
+        return baseline.size() == 0 || !baseline.match(event);
+    }
+
+    @Override
+    protected void finishLocalSetup() throws CheckstyleException {
+        baseline = new ViolationBaseline();
+        baseline.setBasedir(basedir);
+        if (charset != null) {
+            baseline.setCharset(charset);
+        }
+        if (file != null && (!optional || FilterUtils.isFileExists(file))) {
+            try (InputStream inputStream =
+                    CommonUtils.getUriByFilename(file).toURL().openStream()) {
+                baseline.load(inputStream);
+            }
+            catch (IOException ex) {
+                throw new CheckstyleException("Unable to load baseline file: " + file, ex);
+            }
+        }
+    }
+
+    @Override
+    public Set<String> getExternalResourceLocations() {
+        final Set<String> locations;
+        if (file == null) {
+            locations = Collections.emptySet();
+        }
+        else {
+            locations = Collections.singleton(file);
+        }
+        return locations;
+    }
+
+}
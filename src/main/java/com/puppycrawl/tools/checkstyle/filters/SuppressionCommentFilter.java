@@ -23,7 +23,9 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -82,9 +84,18 @@ public class SuppressionCommentFilter
     /** Control all checks. */
     private static final String DEFAULT_CHECK_FORMAT = ".*";
 
+    /** Number of bits the line is shifted by in a tag position. */
+    private static final int LINE_SHIFT = 32;
+
     /** Tagged comments. */
     private final List<Tag> tags = new ArrayList<>();
 
+    /** Positions of the tagged comments, in the order of {@link #tags}. */
+    private long[] tagPositions = new long[0];
+
+    /** Compiled regexps of the tags, by expanded format. */
+    private final Map<String, Pattern> tagPatterns = new HashMap<>();
+
     /** Whether to look in comments of the C type. */
     private boolean checkC = true;
 
@@ -208,24 +219,57 @@ public class SuppressionCommentFilter
     /**
      * Finds the nearest comment text tag that matches an audit event.
      * The nearest tag is before the line and column of the event.
+     * Tags after the event are skipped by a binary search over the positions
+     * of the tags, then tags are examined backwards from the event.
      * @param event the {@code TreeWalkerAuditEvent} to match.
      * @return The {@code Tag} nearest event.
      */
     private Tag findNearestMatch(TreeWalkerAuditEvent event) {
-        Tag result = null;
-        for (Tag tag : tags) {
-            if (tag.getLine() > event.getLine()
-                || tag.getLine() == event.getLine()
-                    && tag.getColumn() > event.getColumn()) {
-                break;
+        final long position = getPosition(event.getLine(), event.getColumn());
+        int low = 0;
+        int high = tagPositions.length;
+        while (low < high) {
+            final int middle = low + high >>> 1;
+            if (tagPositions[middle] <= position) {
+                low = middle + 1;
             }
+            else {
+                high = middle;
+            }
+        }
+        Tag result = null;
+        for (int index = low - 1; index >= 0; index--) {
+            final Tag tag = tags.get(index);
             if (tag.isMatch(event)) {
                 result = tag;
+                break;
             }
         }
         return result;
     }
 
+    /**
+     * Combines a line and a column into a position which orders like the
+     * positions of {@link Tag}.
+     * @param line the line number.
+     * @param column the column number.
+     * @return the position.
+     */
+    private static long getPosition(int line, int column) {
+        return (long) line << LINE_SHIFT | column;
+    }
+
+    /**
+     * Returns the compiled regexp for an expanded format of a tag.
+     * Tags with the same expanded format share the compiled regexp.
+     * @param format the expanded format.
+     * @return the compiled regexp.
+     * @throws PatternSyntaxException if the format is not a valid regexp.
+     */
+    private Pattern getTagPattern(String format) {
+        return tagPatterns.computeIfAbsent(format, Pattern::compile);
+    }
+
     /**
      * Collects all the suppression tags for all comments into a list and
      * sorts the list.
@@ -242,6 +286,11 @@ public class SuppressionCommentFilter
             cComments.forEach(this::tagSuppressions);
         }
         Collections.sort(tags);
+        tagPositions = new long[tags.size()];
+        for (int i = 0; i < tagPositions.length; i++) {
+            final Tag tag = tags.get(i);
+            tagPositions[i] = getPosition(tag.getLine(), tag.getColumn());
+        }
     }
 
     /**
@@ -335,33 +384,33 @@ public class SuppressionCommentFilter
             this.tagType = tagType;
 
             //Expand regexp for check and message
-            //Does not intern Patterns with Utils.getPattern()
+            //Shares Patterns with the other tags of the filter
             String format = "";
             try {
                 if (this.tagType == TagType.ON) {
                     format = CommonUtils.fillTemplateWithStringsByRegexp(
                             filter.checkFormat, text, filter.onCommentFormat);
-                    tagCheckRegexp = Pattern.compile(format);
+                    tagCheckRegexp = filter.getTagPattern(format);
                     if (filter.messageFormat == null) {
                         tagMessageRegexp = null;
                     }
                     else {
                         format = CommonUtils.fillTemplateWithStringsByRegexp(
                                 filter.messageFormat, text, filter.onCommentFormat);
-                        tagMessageRegexp = Pattern.compile(format);
+                        tagMessageRegexp = filter.getTagPattern(format);
                     }
                 }
                 else {
                     format = CommonUtils.fillTemplateWithStringsByRegexp(
                             filter.checkFormat, text, filter.offCommentFormat);
-                    tagCheckRegexp = Pattern.compile(format);
+                    tagCheckRegexp = filter.getTagPattern(format);
                     if (filter.messageFormat == null) {
                         tagMessageRegexp = null;
                     }
                     else {
                         format = CommonUtils.fillTemplateWithStringsByRegexp(
                                 filter.messageFormat, text, filter.offCommentFormat);
-                        tagMessageRegexp = Pattern.compile(format);
+                        tagMessageRegexp = filter.getTagPattern(format);
                     }
                 }
             }
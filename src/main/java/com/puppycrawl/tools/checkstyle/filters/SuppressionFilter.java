@@ -48,6 +48,8 @@ public class SuppressionFilter extends AutomaticBean implements Filter, External
     private boolean optional;
     /** Set of individual suppresses. */
     private FilterSet filters = new FilterSet();
+    /** Index of the individual suppresses used to process events. */
+    private Filter filtersIndex = new SuppressElementIndex(filters.getFilters());
 
     /**
      * Sets name of the suppression file.
@@ -67,7 +69,7 @@ public class SuppressionFilter extends AutomaticBean implements Filter, External
 
     @Override
     public boolean accept(AuditEvent event) {
-        return filters.accept(event);
+        return filtersIndex.accept(event);
     }
 
     @Override
@@ -101,6 +103,7 @@ public class SuppressionFilter extends AutomaticBean implements Filter, External
             else {
                 filters = SuppressionsLoader.loadSuppressions(file);
             }
+            filtersIndex = new SuppressElementIndex(filters.getFilters());
         }
     }
 
@@ -28,12 +28,16 @@ import com.puppycrawl.tools.checkstyle.TreeWalkerAuditEvent;
 import com.puppycrawl.tools.checkstyle.TreeWalkerFilter;
 import com.puppycrawl.tools.checkstyle.api.AutomaticBean;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.ExternalResourceHolder;
 import com.puppycrawl.tools.checkstyle.utils.FilterUtils;
+import com.puppycrawl.tools.checkstyle.xpath.RootNode;
 
 /**
  * This filter accepts TreeWalkerAuditEvents according to file, check and xpath query,
- * as specified in a suppression file.
+ * as specified in a suppression file. The xpath tree of a file is created once and
+ * shared by the queries of all suppressions, it is kept until events of another
+ * file arrive.
  *
  * @author Timur Tibeyev.
  * @noinspection NonFinalFieldReferenceInEquals, NonFinalFieldReferencedInHashCode
@@ -47,6 +51,8 @@ public class SuppressionXpathFilter extends AutomaticBean implements
     private boolean optional;
     /** Set of individual xpath suppresses. */
     private Set<TreeWalkerFilter> filters = new HashSet<>();
+    /** The xpath tree of the file of the last event, {@code null} before the first event. */
+    private RootNode rootNode;
 
     /**
      * Sets name of the suppression file.
@@ -83,9 +89,17 @@ public class SuppressionXpathFilter extends AutomaticBean implements
 
     @Override
     public boolean accept(TreeWalkerAuditEvent treeWalkerAuditEvent) {
+        final RootNode fileRootNode = getRootNode(treeWalkerAuditEvent.getRootAst());
         boolean result = true;
         for (TreeWalkerFilter filter : filters) {
-            if (!filter.accept(treeWalkerAuditEvent)) {
+            final boolean accepted;
+            if (filter instanceof XpathFilter) {
+                accepted = ((XpathFilter) filter).accept(treeWalkerAuditEvent, fileRootNode);
+            }
+            else {
+                accepted = filter.accept(treeWalkerAuditEvent);
+            }
+            if (!accepted) {
                 result = false;
                 break;
             }
@@ -93,6 +107,23 @@ public class SuppressionXpathFilter extends AutomaticBean implements
         return result;
     }
 
+    /**
+     * Returns the xpath tree of the AST, which is created when events of a new file
+     * arrive. The tree creates its nodes on demand, so it is cheap for files
+     * whose events need no query.
+     * @param rootAst the root of the AST of the event
+     * @return the xpath tree, or {@code null} if there is no AST
+     */
+    private RootNode getRootNode(DetailAST rootAst) {
+        if (rootAst == null) {
+            rootNode = null;
+        }
+        else if (rootNode == null || rootNode.getUnderlyingNode() != rootAst) {
+            rootNode = new RootNode(rootAst);
+        }
+        return rootNode;
+    }
+
     @Override
     public Set<String> getExternalResourceLocations() {
         return Collections.singleton(file);
@@ -19,8 +19,10 @@
 
 package com.puppycrawl.tools.checkstyle.filters;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -35,9 +37,12 @@ import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
+import com.google.common.io.ByteStreams;
+import com.puppycrawl.tools.checkstyle.ParsedResourceCache;
 import com.puppycrawl.tools.checkstyle.TreeWalkerFilter;
 import com.puppycrawl.tools.checkstyle.XmlLoader;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Filter;
 import com.puppycrawl.tools.checkstyle.api.FilterSet;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 
@@ -80,6 +85,8 @@ public final class SuppressionsLoader
             "com/puppycrawl/tools/checkstyle/suppressions_1_2_xpath_experimental.dtd";
     /** File search error message. **/
     private static final String UNABLE_TO_FIND_ERROR_MESSAGE = "Unable to find: ";
+    /** File read error message. **/
+    private static final String UNABLE_TO_READ_ERROR_MESSAGE = "Unable to read ";
     /** String literal for attribute name. **/
     private static final String ATTRIBUTE_NAME_FILES = "files";
     /** String literal for attribute name. **/
@@ -95,6 +102,10 @@ public final class SuppressionsLoader
     /** String literal for attribute name. **/
     private static final String ATTRIBUTE_NAME_COLUMNS = "columns";
 
+    /** Suppressions already loaded in this JVM, by uri and content. */
+    private static final ParsedResourceCache<SuppressionsLoader> CACHE =
+        new ParsedResourceCache<>();
+
     /**
      * The filter chain to return in getAFilterChain(),
      * configured during parsing.
@@ -199,50 +210,70 @@ public final class SuppressionsLoader
      */
     public static FilterSet loadSuppressions(String filename)
             throws CheckstyleException {
-        // figure out if this is a File or a URL
-        final URI uri = CommonUtils.getUriByFilename(filename);
-        final InputSource source = new InputSource(uri.toString());
-        return loadSuppressions(source, filename);
+        final FilterSet filterSet = new FilterSet();
+        for (Filter filter : getCachedSuppressionLoader(filename).filterChain.getFilters()) {
+            filterSet.addFilter(filter);
+        }
+        return filterSet;
     }
 
     /**
-     * Returns the suppression filters in a specified source.
-     * @param source the source for the suppressions.
-     * @param sourceName the name of the source.
-     * @return the filter chain of suppression elements in source.
+     * Returns the suppression {@code TreeWalker} filters in a specified file.
+     * @param filename name of the suppressions file.
+     * @return the set of xpath suppression elements specified in the file.
      * @throws CheckstyleException if an error occurs.
      */
-    private static FilterSet loadSuppressions(
-            InputSource source, String sourceName)
+    public static Set<TreeWalkerFilter> loadXpathSuppressions(String filename)
             throws CheckstyleException {
-        return getSuppressionLoader(source, sourceName).filterChain;
+        final Set<TreeWalkerFilter> filters = new HashSet<>();
+        for (TreeWalkerFilter filter : getCachedSuppressionLoader(filename).treeWalkerFilters) {
+            // xpath filters keep per file state, so they are not shared
+            filters.add(new XpathFilter((XpathFilter) filter));
+        }
+        return filters;
     }
 
     /**
-     * Returns the suppression {@code TreeWalker} filters in a specified file.
+     * Returns the suppression loader which parsed the specified file. The file is parsed
+     * only if it was not parsed before with the same content, the suppressions of the
+     * returned loader must not be modified.
      * @param filename name of the suppressions file.
-     * @return the set of xpath suppression elements specified in the file.
+     * @return the suppression loader
      * @throws CheckstyleException if an error occurs.
      */
-    public static Set<TreeWalkerFilter> loadXpathSuppressions(String filename)
+    private static SuppressionsLoader getCachedSuppressionLoader(String filename)
             throws CheckstyleException {
         // figure out if this is a File or a URL
         final URI uri = CommonUtils.getUriByFilename(filename);
-        final InputSource source = new InputSource(uri.toString());
-        return loadXpathSuppressions(source, filename);
+        final String location = uri.toString();
+        final byte[] content = readContent(uri, filename);
+        SuppressionsLoader suppressionsLoader = CACHE.get(location, content);
+        if (suppressionsLoader == null) {
+            final InputSource source = new InputSource(new ByteArrayInputStream(content));
+            source.setSystemId(location);
+            suppressionsLoader = getSuppressionLoader(source, filename);
+            CACHE.put(location, content, suppressionsLoader);
+        }
+        return suppressionsLoader;
     }
 
     /**
-     * Returns the suppression {@code TreeWalker} filters in a specified source.
-     * @param source the source for the suppressions.
+     * Reads the content of the suppressions file.
+     * @param uri the uri of the file.
      * @param sourceName the name of the source.
-     * @return the set of xpath suppression elements specified in source.
-     * @throws CheckstyleException if an error occurs.
+     * @return the content of the file.
+     * @throws CheckstyleException if the file can not be read.
      */
-    private static Set<TreeWalkerFilter> loadXpathSuppressions(
-            InputSource source, String sourceName)
-            throws CheckstyleException {
-        return getSuppressionLoader(source, sourceName).treeWalkerFilters;
+    private static byte[] readContent(URI uri, String sourceName) throws CheckstyleException {
+        try (InputStream inputStream = uri.toURL().openStream()) {
+            return ByteStreams.toByteArray(inputStream);
+        }
+        catch (final FileNotFoundException ex) {
+            throw new CheckstyleException(UNABLE_TO_FIND_ERROR_MESSAGE + sourceName, ex);
+        }
+        catch (final IOException ex) {
+            throw new CheckstyleException(UNABLE_TO_READ_ERROR_MESSAGE + sourceName, ex);
+        }
     }
 
     /**
@@ -269,7 +300,7 @@ public final class SuppressionsLoader
             throw new CheckstyleException(message, ex);
         }
         catch (final IOException ex) {
-            throw new CheckstyleException("Unable to read " + sourceName, ex);
+            throw new CheckstyleException(UNABLE_TO_READ_ERROR_MESSAGE + sourceName, ex);
         }
         catch (final NumberFormatException ex) {
             final String message = String.format(Locale.ROOT, "Number format exception %s - %s",
@@ -19,12 +19,17 @@
 
 package com.puppycrawl.tools.checkstyle.filters;
 
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import com.puppycrawl.tools.checkstyle.TreeWalkerAuditEvent;
 import com.puppycrawl.tools.checkstyle.TreeWalkerFilter;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 import com.puppycrawl.tools.checkstyle.xpath.AbstractNode;
 import com.puppycrawl.tools.checkstyle.xpath.RootNode;
@@ -37,6 +42,9 @@ import net.sf.saxon.trans.XPathException;
 /**
  * This filter processes {@link TreeWalkerAuditEvent}
  * objects based on the criteria of file, check, module id, xpathQuery.
+ * The xpath query is evaluated once per file, the positions of the matching
+ * nodes are kept until events of another file arrive. The filters of a
+ * {@link SuppressionXpathFilter} evaluate their queries on one xpath tree per file.
  *
  * @author Timur Tibeyev.
  */
@@ -69,6 +77,15 @@ public class XpathFilter implements TreeWalkerFilter {
     /** Xpath query. */
     private final String xpathQuery;
 
+    /**
+     * References the root of the AST the query was last evaluated on. Weak reference
+     * is used to allow garbage collection of the AST when the file is finished.
+     */
+    private WeakReference<DetailAST> rootAstReference = new WeakReference<>(null);
+
+    /** Positions of the nodes matching the query in the referenced AST. */
+    private Set<String> matchingPositions = Collections.emptySet();
+
     /**
      * Creates a {@code XpathElement} instance.
      * @param files regular expression for names of filtered files
@@ -116,11 +133,41 @@ public class XpathFilter implements TreeWalkerFilter {
         }
     }
 
+    /**
+     * Creates a {@code XpathElement} instance with the same criteria as another one.
+     * Compiled patterns and the xpath expression are shared, the results of
+     * evaluating the query are not.
+     * @param filter the filter to copy the criteria from
+     */
+    XpathFilter(XpathFilter filter) {
+        filePattern = filter.filePattern;
+        fileRegexp = filter.fileRegexp;
+        checkPattern = filter.checkPattern;
+        checkRegexp = filter.checkRegexp;
+        messagePattern = filter.messagePattern;
+        messageRegexp = filter.messageRegexp;
+        moduleId = filter.moduleId;
+        xpathQuery = filter.xpathQuery;
+        xpathExpression = filter.xpathExpression;
+    }
+
     @Override
     public boolean accept(TreeWalkerAuditEvent event) {
+        return accept(event, null);
+    }
+
+    /**
+     * Checks whether the event is accepted, evaluating the xpath query on the given
+     * xpath tree of the file if it was not evaluated on the AST of the event yet.
+     * @param event the event to filter
+     * @param rootNode the xpath tree of the AST of the event, or {@code null} to
+     *     create a tree for this filter only
+     * @return true if the event is accepted
+     */
+    boolean accept(TreeWalkerAuditEvent event, RootNode rootNode) {
         return !isFileNameAndModuleAndCheckNameMatching(event)
                 || !isMessageNameMatching(event)
-                || !isXpathQueryMatching(event);
+                || !isXpathQueryMatching(event, rootNode);
     }
 
     /**
@@ -148,42 +195,64 @@ public class XpathFilter implements TreeWalkerFilter {
     /**
      * Is matching by xpath query.
      * @param event event
+     * @param rootNode the xpath tree of the AST of the event, or {@code null} to create one
      * @return true is matching
      */
-    private boolean isXpathQueryMatching(TreeWalkerAuditEvent event) {
-        boolean isMatching;
+    private boolean isXpathQueryMatching(TreeWalkerAuditEvent event, RootNode rootNode) {
+        final boolean isMatching;
         if (xpathExpression == null) {
             isMatching = true;
         }
         else {
-            isMatching = false;
-            final List<Item> items = getItems(event);
-            for (Item item : items) {
-                final AbstractNode abstractNode = (AbstractNode) item;
-                isMatching = abstractNode.getTokenType() == event.getTokenType()
-                        && abstractNode.getLineNumber() == event.getLine()
-                        && abstractNode.getColumnNumber() == event.getColumnCharIndex();
-                if (isMatching) {
-                    break;
+            final DetailAST rootAst = event.getRootAst();
+            if (rootAst == null || rootAst != rootAstReference.get()) {
+                if (rootNode == null && rootAst != null) {
+                    matchingPositions = getMatchingPositions(new RootNode(rootAst));
                 }
+                else {
+                    matchingPositions = getMatchingPositions(rootNode);
+                }
+                rootAstReference = new WeakReference<>(rootAst);
             }
+            isMatching = matchingPositions.contains(getPosition(event.getTokenType(),
+                    event.getLine(), event.getColumnCharIndex()));
         }
         return isMatching;
     }
 
     /**
-     * Returns list of nodes matching xpath expression given event.
-     * @param event {@code TreeWalkerAuditEvent} object
-     * @return list of nodes matching xpath expression given event
+     * Evaluates the xpath expression on the xpath tree.
+     * @param rootNode the root of the xpath tree, {@code null} if there is no AST
+     * @return positions of the nodes matching xpath expression
      */
-    private List<Item> getItems(TreeWalkerAuditEvent event) {
-        final RootNode rootNode;
-        if (event.getRootAst() == null) {
-            rootNode = null;
-        }
-        else {
-            rootNode = new RootNode(event.getRootAst());
+    private Set<String> getMatchingPositions(RootNode rootNode) {
+        final List<Item> items = getItems(rootNode);
+        final Set<String> positions = new HashSet<>();
+        for (Item item : items) {
+            final AbstractNode abstractNode = (AbstractNode) item;
+            positions.add(getPosition(abstractNode.getTokenType(),
+                    abstractNode.getLineNumber(), abstractNode.getColumnNumber()));
         }
+        return positions;
+    }
+
+    /**
+     * Returns the key of a node position.
+     * @param tokenType the token type of the node
+     * @param line the line of the node
+     * @param column the column of the node
+     * @return the key of the node position
+     */
+    private static String getPosition(int tokenType, int line, int column) {
+        return tokenType + ":" + line + ':' + column;
+    }
+
+    /**
+     * Returns list of nodes matching xpath expression in the xpath tree.
+     * @param rootNode the root of the xpath tree, {@code null} if there is no AST
+     * @return list of nodes matching xpath expression in the xpath tree
+     */
+    private List<Item> getItems(RootNode rootNode) {
         final List<Item> items;
         try {
             final XPathDynamicContext xpathDynamicContext =
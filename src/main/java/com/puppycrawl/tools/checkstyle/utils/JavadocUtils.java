@@ -19,8 +19,6 @@
 
 package com.puppycrawl.tools.checkstyle.utils;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -59,10 +57,202 @@ public final class JavadocUtils {
 
     }
 
+    /**
+     * Maps from a token value to name. The table lists the fields of
+     * {@link JavadocTokenTypes} below the rule types, so the names are looked up by
+     * plain array indexing. The name of {@code EOF} is kept at index 0.
+     * The table is maintained by hand, {@code JavadocUtilsTest} verifies it against
+     * the fields by reflection.
+     */
+    private static final String[] TOKEN_VALUE_TO_NAME = {
+        "EOF",
+        "LEADING_ASTERISK",
+        "HTML_COMMENT_START",
+        "CDATA",
+        "WS",
+        "START",
+        "NEWLINE",
+        "AUTHOR_LITERAL",
+        "DEPRECATED_LITERAL",
+        "EXCEPTION_LITERAL",
+        "PARAM_LITERAL",
+        "RETURN_LITERAL",
+        "SEE_LITERAL",
+        "SERIAL_LITERAL",
+        "SERIAL_FIELD_LITERAL",
+        "SERIAL_DATA_LITERAL",
+        "SINCE_LITERAL",
+        "THROWS_LITERAL",
+        "VERSION_LITERAL",
+        "JAVADOC_INLINE_TAG_START",
+        "JAVADOC_INLINE_TAG_END",
+        "CUSTOM_NAME",
+        "LITERAL_INCLUDE",
+        "LITERAL_EXCLUDE",
+        "CHAR",
+        "PARAMETER_NAME",
+        null,
+        "STRING",
+        "PACKAGE_CLASS",
+        null,
+        "HASH",
+        null,
+        null,
+        "MEMBER",
+        "LEFT_BRACE",
+        "RIGHT_BRACE",
+        "ARGUMENT",
+        "COMMA",
+        null,
+        "FIELD_NAME",
+        null,
+        "FIELD_TYPE",
+        null,
+        "CLASS_NAME",
+        null,
+        "CODE_LITERAL",
+        "DOC_ROOT_LITERAL",
+        "INHERIT_DOC_LITERAL",
+        "LINK_LITERAL",
+        "LINKPLAIN_LITERAL",
+        "LITERAL_LITERAL",
+        "VALUE_LITERAL",
+        null,
+        null,
+        null,
+        "END",
+        "SLASH_END",
+        "SLASH",
+        "EQUALS",
+        "P_HTML_TAG_NAME",
+        "LI_HTML_TAG_NAME",
+        "TR_HTML_TAG_NAME",
+        "TD_HTML_TAG_NAME",
+        "TH_HTML_TAG_NAME",
+        "BODY_HTML_TAG_NAME",
+        "COLGROUP_HTML_TAG_NAME",
+        "DD_HTML_TAG_NAME",
+        "DT_HTML_TAG_NAME",
+        "HEAD_HTML_TAG_NAME",
+        "HTML_HTML_TAG_NAME",
+        "OPTION_HTML_TAG_NAME",
+        "TBODY_HTML_TAG_NAME",
+        "TFOOT_HTML_TAG_NAME",
+        "THEAD_HTML_TAG_NAME",
+        "AREA_HTML_TAG_NAME",
+        "BASE_HTML_TAG_NAME",
+        "BASEFONT_HTML_TAG_NAME",
+        "BR_HTML_TAG_NAME",
+        "COL_HTML_TAG_NAME",
+        "FRAME_HTML_TAG_NAME",
+        "HR_HTML_TAG_NAME",
+        "IMG_HTML_TAG_NAME",
+        "INPUT_HTML_TAG_NAME",
+        "ISINDEX_HTML_TAG_NAME",
+        "LINK_HTML_TAG_NAME",
+        "META_HTML_TAG_NAME",
+        "PARAM_HTML_TAG_NAME",
+        "EMBED_HTML_TAG_NAME",
+        "KEYGEN_HTML_TAG_NAME",
+        "ATTR_VALUE",
+        null,
+        "HTML_COMMENT_END",
+        "SOURCE_HTML_TAG_NAME",
+        "TRACK_HTML_TAG_NAME",
+        "WBR_HTML_TAG_NAME",
+        "HTML_TAG_NAME",
+    };
+
+    /**
+     * Maps from a rule type value, minus the value of {@link JavadocTokenTypes#JAVADOC},
+     * to name. The table lists the fields of {@link JavadocTokenTypes}, it is maintained
+     * by hand like {@link #TOKEN_VALUE_TO_NAME}.
+     */
+    private static final String[] RULE_VALUE_TO_NAME = {
+        "JAVADOC",
+        "HTML_ELEMENT",
+        "HTML_ELEMENT_START",
+        "HTML_ELEMENT_END",
+        "ATTRIBUTE",
+        "HTML_TAG",
+        "P_TAG_START",
+        "P_TAG_END",
+        "PARAGRAPH",
+        "LI_TAG_START",
+        "LI_TAG_END",
+        "LI",
+        "TR_TAG_START",
+        "TR_TAG_END",
+        "TR",
+        "TD_TAG_START",
+        "TD_TAG_END",
+        "TD",
+        "TH_TAG_START",
+        "TH_TAG_END",
+        "TH",
+        "BODY_TAG_START",
+        "BODY_TAG_END",
+        "BODY",
+        "COLGROUP_TAG_START",
+        "COLGROUP_TAG_END",
+        "COLGROUP",
+        "DD_TAG_START",
+        "DD_TAG_END",
+        "DD",
+        "DT_TAG_START",
+        "DT_TAG_END",
+        "DT",
+        "HEAD_TAG_START",
+        "HEAD_TAG_END",
+        "HEAD",
+        "HTML_TAG_START",
+        "HTML_TAG_END",
+        "HTML",
+        "OPTION_TAG_START",
+        "OPTION_TAG_END",
+        "OPTION",
+        "TBODY_TAG_START",
+        "TBODY_TAG_END",
+        "TBODY",
+        "TFOOT_TAG_START",
+        "TFOOT_TAG_END",
+        "TFOOT",
+        "THEAD_TAG_START",
+        "THEAD_TAG_END",
+        "THEAD",
+        "SINGLETON_ELEMENT",
+        "EMPTY_TAG",
+        "AREA_TAG",
+        "BASE_TAG",
+        "BASEFONT_TAG",
+        "BR_TAG",
+        "COL_TAG",
+        "FRAME_TAG",
+        "HR_TAG",
+        "IMG_TAG",
+        "INPUT_TAG",
+        "ISINDEX_TAG",
+        "LINK_TAG",
+        "META_TAG",
+        "PARAM_TAG",
+        null,
+        null,
+        "DESCRIPTION",
+        "REFERENCE",
+        "PARAMETERS",
+        "JAVADOC_TAG",
+        "JAVADOC_INLINE_TAG",
+        "HTML_COMMENT",
+        "TEXT",
+        "EMBED_TAG",
+        "KEYGEN_TAG",
+        "SOURCE_TAG",
+        "TRACK_TAG",
+        "WBR_TAG",
+    };
+
     /** Maps from a token name to value. */
     private static final ImmutableMap<String, Integer> TOKEN_NAME_TO_VALUE;
-    /** Maps from a token value to name. */
-    private static final String[] TOKEN_VALUE_TO_NAME;
 
     /** Exception message for unknown JavaDoc token id. */
     private static final String UNKNOWN_JAVADOC_TOKEN_ID_EXCEPTION_MESSAGE = "Unknown javadoc"
@@ -77,41 +267,24 @@ public final class JavadocUtils {
     /** Tab pattern. */
     private static final Pattern TAB = Pattern.compile("\t");
 
-    // Using reflection gets all token names and values from JavadocTokenTypes class
-    // and saves to TOKEN_NAME_TO_VALUE and TOKEN_VALUE_TO_NAME collections.
+    // Collects all token names and values from the tables
+    // and saves to TOKEN_NAME_TO_VALUE collection.
     static {
         final ImmutableMap.Builder<String, Integer> builder = ImmutableMap.builder();
-
-        final Field[] fields = JavadocTokenTypes.class.getDeclaredFields();
-
-        String[] tempTokenValueToName = CommonUtils.EMPTY_STRING_ARRAY;
-
-        for (final Field field : fields) {
-            // Only process public int fields.
-            if (!Modifier.isPublic(field.getModifiers())
-                    || field.getType() != Integer.TYPE) {
-                continue;
-            }
-
-            final String name = field.getName();
-
-            final int tokenValue = TokenUtils.getIntFromField(field, name);
-            builder.put(name, tokenValue);
-            if (tokenValue > tempTokenValueToName.length - 1) {
-                final String[] temp = new String[tokenValue + 1];
-                System.arraycopy(tempTokenValueToName, 0, temp, 0, tempTokenValueToName.length);
-                tempTokenValueToName = temp;
-            }
-            if (tokenValue == -1) {
-                tempTokenValueToName[0] = name;
+        builder.put(TOKEN_VALUE_TO_NAME[0], JavadocTokenTypes.EOF);
+        for (int tokenValue = 1; tokenValue < TOKEN_VALUE_TO_NAME.length; tokenValue++) {
+            final String name = TOKEN_VALUE_TO_NAME[tokenValue];
+            if (name != null) {
+                builder.put(name, tokenValue);
             }
-            else {
-                tempTokenValueToName[tokenValue] = name;
+        }
+        for (int ruleIndex = 0; ruleIndex < RULE_VALUE_TO_NAME.length; ruleIndex++) {
+            final String name = RULE_VALUE_TO_NAME[ruleIndex];
+            if (name != null) {
+                builder.put(name, JavadocTokenTypes.JAVADOC + ruleIndex);
             }
         }
-
         TOKEN_NAME_TO_VALUE = builder.build();
-        TOKEN_VALUE_TO_NAME = tempTokenValueToName;
     }
 
     /** Prevent instantiation. */
@@ -342,20 +515,31 @@ public final class JavadocUtils {
     public static String getTokenName(int id) {
         final String name;
         if (id == JavadocTokenTypes.EOF) {
-            name = "EOF";
+            name = TOKEN_VALUE_TO_NAME[0];
         }
-        else if (id > TOKEN_VALUE_TO_NAME.length - 1) {
-            throw new IllegalArgumentException(UNKNOWN_JAVADOC_TOKEN_ID_EXCEPTION_MESSAGE + id);
+        else if (id >= JavadocTokenTypes.JAVADOC) {
+            name = getName(RULE_VALUE_TO_NAME, id - JavadocTokenTypes.JAVADOC, id);
         }
         else {
-            name = TOKEN_VALUE_TO_NAME[id];
-            if (name == null) {
-                throw new IllegalArgumentException(UNKNOWN_JAVADOC_TOKEN_ID_EXCEPTION_MESSAGE + id);
-            }
+            name = getName(TOKEN_VALUE_TO_NAME, id, id);
         }
         return name;
     }
 
+    /**
+     * Returns the name at the given index of a table of names.
+     * @param names the table of names
+     * @param index the index of the name in the table
+     * @param id the ID of the token name to get
+     * @return a token name
+     */
+    private static String getName(String[] names, int index, int id) {
+        if (index < 0 || index >= names.length || names[index] == null) {
+            throw new IllegalArgumentException(UNKNOWN_JAVADOC_TOKEN_ID_EXCEPTION_MESSAGE + id);
+        }
+        return names[index];
+    }
+
     /**
      * Returns the ID of a token for a given name.
      * @param name
@@ -0,0 +1,154 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.utils;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+
+/**
+ * Utility methods for collections of {@link LocalizedMessage}.
+ *
+ * <p>Violations are collected in plain lists while a file is processed and are
+ * sorted only once, when they are handed over to the next level. Lists collected
+ * from several checks consist of already ordered runs, which the stable sort merges
+ * without re-sorting them. Duplicates are removed with the same semantics as a
+ * {@code TreeSet}: of messages that compare as equal the first one added is kept.
+ * </p>
+ *
+ * @author the original author or authors.
+ */
+public final class LocalizedMessageUtils {
+
+    /** Stop instances being created. **/
+    private LocalizedMessageUtils() {
+    }
+
+    /**
+     * Sorts the list in place and removes the messages that compare as equal
+     * to a preceding one.
+     * @param messages the list to sort.
+     * @return the same list, sorted and without duplicates.
+     */
+    public static List<LocalizedMessage> sortAndRemoveDuplicates(
+            List<LocalizedMessage> messages) {
+        final int size = messages.size();
+        if (size > 1) {
+            Collections.sort(messages);
+            int last = 0;
+            for (int i = 1; i < size; i++) {
+                final LocalizedMessage message = messages.get(i);
+                if (messages.get(last).compareTo(message) != 0) {
+                    last++;
+                    messages.set(last, message);
+                }
+            }
+            messages.subList(last + 1, size).clear();
+        }
+        return messages;
+    }
+
+    /**
+     * Creates a new sorted set of the messages. The messages are sorted once and the
+     * set is built from the sorted sequence without further comparisons.
+     * @param messages the messages in any order.
+     * @return a new mutable sorted set of the messages.
+     */
+    public static SortedSet<LocalizedMessage> toSortedSet(
+            Collection<LocalizedMessage> messages) {
+        final List<LocalizedMessage> sorted = sortAndRemoveDuplicates(new ArrayList<>(messages));
+        return new TreeSet<>(new SortedListView(sorted));
+    }
+
+    /**
+     * Minimal read-only sorted set view of an already sorted list without duplicates.
+     * {@code TreeSet} recognizes a sorted set source and builds its tree in linear time.
+     */
+    private static final class SortedListView extends AbstractSet<LocalizedMessage>
+            implements SortedSet<LocalizedMessage> {
+
+        /** The sorted list without duplicates. */
+        private final List<LocalizedMessage> sorted;
+
+        /**
+         * Creates a view of the list.
+         * @param sorted the sorted list without duplicates.
+         */
+        SortedListView(List<LocalizedMessage> sorted) {
+            this.sorted = Collections.unmodifiableList(sorted);
+        }
+
+        @Override
+        public Iterator<LocalizedMessage> iterator() {
+            return sorted.iterator();
+        }
+
+        @Override
+        public int size() {
+            return sorted.size();
+        }
+
+        /**
+         * Messages use natural ordering.
+         * @return {@code null}.
+         * @noinspection ReturnOfNull
+         */
+        @Override
+        public Comparator<? super LocalizedMessage> comparator() {
+            return null;
+        }
+
+        @Override
+        public SortedSet<LocalizedMessage> subSet(LocalizedMessage fromElement,
+                LocalizedMessage toElement) {
+            return new TreeSet<>(this).subSet(fromElement, toElement);
+        }
+
+        @Override
+        public SortedSet<LocalizedMessage> headSet(LocalizedMessage toElement) {
+            return new TreeSet<>(this).headSet(toElement);
+        }
+
+        @Override
+        public SortedSet<LocalizedMessage> tailSet(LocalizedMessage fromElement) {
+            return new TreeSet<>(this).tailSet(fromElement);
+        }
+
+        @Override
+        public LocalizedMessage first() {
+            return sorted.get(0);
+        }
+
+        @Override
+        public LocalizedMessage last() {
+            return sorted.get(sorted.size() - 1);
+        }
+
+    }
+
+}
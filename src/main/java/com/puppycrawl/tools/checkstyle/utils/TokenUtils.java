@@ -36,10 +36,202 @@ import com.puppycrawl.tools.checkstyle.api.TokenTypes;
  */
 public final class TokenUtils {
 
+    /**
+     * Maps from a token value to name. The table lists the fields of {@link TokenTypes},
+     * so the names are known without reflection and are looked up by plain array
+     * indexing. It is maintained by hand and has to be updated when the token values
+     * change, {@code TokenUtilsTest} verifies it against the fields of {@code TokenTypes}
+     * by reflection.
+     */
+    private static final String[] TOKEN_VALUE_TO_NAME = {
+        null,
+        "EOF",
+        null,
+        null,
+        null,
+        "MODIFIERS",
+        "OBJBLOCK",
+        "SLIST",
+        "CTOR_DEF",
+        "METHOD_DEF",
+        "VARIABLE_DEF",
+        "INSTANCE_INIT",
+        "STATIC_INIT",
+        "TYPE",
+        "CLASS_DEF",
+        "INTERFACE_DEF",
+        "PACKAGE_DEF",
+        "ARRAY_DECLARATOR",
+        "EXTENDS_CLAUSE",
+        "IMPLEMENTS_CLAUSE",
+        "PARAMETERS",
+        "PARAMETER_DEF",
+        "LABELED_STAT",
+        "TYPECAST",
+        "INDEX_OP",
+        "POST_INC",
+        "POST_DEC",
+        "METHOD_CALL",
+        "EXPR",
+        "ARRAY_INIT",
+        "IMPORT",
+        "UNARY_MINUS",
+        "UNARY_PLUS",
+        "CASE_GROUP",
+        "ELIST",
+        "FOR_INIT",
+        "FOR_CONDITION",
+        "FOR_ITERATOR",
+        "EMPTY_STAT",
+        "FINAL",
+        "ABSTRACT",
+        "STRICTFP",
+        "SUPER_CTOR_CALL",
+        "CTOR_CALL",
+        null,
+        "SEMI",
+        null,
+        null,
+        "RBRACK",
+        "LITERAL_VOID",
+        "LITERAL_BOOLEAN",
+        "LITERAL_BYTE",
+        "LITERAL_CHAR",
+        "LITERAL_SHORT",
+        "LITERAL_INT",
+        "LITERAL_FLOAT",
+        "LITERAL_LONG",
+        "LITERAL_DOUBLE",
+        "IDENT",
+        "DOT",
+        "STAR",
+        "LITERAL_PRIVATE",
+        "LITERAL_PUBLIC",
+        "LITERAL_PROTECTED",
+        "LITERAL_STATIC",
+        "LITERAL_TRANSIENT",
+        "LITERAL_NATIVE",
+        "LITERAL_SYNCHRONIZED",
+        "LITERAL_VOLATILE",
+        "LITERAL_CLASS",
+        null,
+        "LITERAL_INTERFACE",
+        "LCURLY",
+        "RCURLY",
+        "COMMA",
+        null,
+        "LPAREN",
+        "RPAREN",
+        "LITERAL_THIS",
+        "LITERAL_SUPER",
+        "ASSIGN",
+        "LITERAL_THROWS",
+        "COLON",
+        "LITERAL_IF",
+        "LITERAL_WHILE",
+        "LITERAL_DO",
+        "LITERAL_BREAK",
+        "LITERAL_CONTINUE",
+        "LITERAL_RETURN",
+        "LITERAL_SWITCH",
+        "LITERAL_THROW",
+        "LITERAL_FOR",
+        "LITERAL_ELSE",
+        "LITERAL_CASE",
+        "LITERAL_DEFAULT",
+        "LITERAL_TRY",
+        "LITERAL_CATCH",
+        "LITERAL_FINALLY",
+        "PLUS_ASSIGN",
+        "MINUS_ASSIGN",
+        "STAR_ASSIGN",
+        "DIV_ASSIGN",
+        "MOD_ASSIGN",
+        "SR_ASSIGN",
+        "BSR_ASSIGN",
+        "SL_ASSIGN",
+        "BAND_ASSIGN",
+        "BXOR_ASSIGN",
+        "BOR_ASSIGN",
+        "QUESTION",
+        "LOR",
+        "LAND",
+        "BOR",
+        "BXOR",
+        "BAND",
+        "NOT_EQUAL",
+        "EQUAL",
+        "LT",
+        "GT",
+        "LE",
+        "GE",
+        "LITERAL_INSTANCEOF",
+        "SL",
+        "SR",
+        "BSR",
+        "PLUS",
+        "MINUS",
+        "DIV",
+        "MOD",
+        "INC",
+        "DEC",
+        "BNOT",
+        "LNOT",
+        "LITERAL_TRUE",
+        "LITERAL_FALSE",
+        "LITERAL_NULL",
+        "LITERAL_NEW",
+        "NUM_INT",
+        "CHAR_LITERAL",
+        "STRING_LITERAL",
+        "NUM_FLOAT",
+        "NUM_LONG",
+        "NUM_DOUBLE",
+        null,
+        "SINGLE_LINE_COMMENT",
+        "BLOCK_COMMENT_BEGIN",
+        null,
+        null,
+        null,
+        null,
+        null,
+        "LITERAL_ASSERT",
+        "STATIC_IMPORT",
+        "ENUM",
+        "ENUM_DEF",
+        "ENUM_CONSTANT_DEF",
+        "FOR_EACH_CLAUSE",
+        "ANNOTATION_DEF",
+        "ANNOTATIONS",
+        "ANNOTATION",
+        "ANNOTATION_MEMBER_VALUE_PAIR",
+        "ANNOTATION_FIELD_DEF",
+        "ANNOTATION_ARRAY_INIT",
+        "TYPE_ARGUMENTS",
+        "TYPE_ARGUMENT",
+        "TYPE_PARAMETERS",
+        "TYPE_PARAMETER",
+        "WILDCARD_TYPE",
+        "TYPE_UPPER_BOUNDS",
+        "TYPE_LOWER_BOUNDS",
+        "AT",
+        "ELLIPSIS",
+        "GENERIC_START",
+        "GENERIC_END",
+        "TYPE_EXTENSION_AND",
+        "DO_WHILE",
+        "RESOURCE_SPECIFICATION",
+        "RESOURCES",
+        "RESOURCE",
+        "DOUBLE_COLON",
+        "METHOD_REF",
+        "LAMBDA",
+        "BLOCK_COMMENT_END",
+        "COMMENT_CONTENT",
+    };
+
     /** Maps from a token name to value. */
     private static final ImmutableMap<String, Integer> TOKEN_NAME_TO_VALUE;
-    /** Maps from a token value to name. */
-    private static final String[] TOKEN_VALUE_TO_NAME;
 
     /** Array of all token IDs. */
     private static final int[] TOKEN_IDS;
@@ -54,28 +246,14 @@ public final class TokenUtils {
     static {
         final ImmutableMap.Builder<String, Integer> builder =
                 ImmutableMap.builder();
-        final Field[] fields = TokenTypes.class.getDeclaredFields();
-        String[] tempTokenValueToName = CommonUtils.EMPTY_STRING_ARRAY;
-        for (final Field field : fields) {
-            // Only process the int declarations.
-            if (field.getType() != Integer.TYPE) {
-                continue;
-            }
-
-            final String name = field.getName();
-            final int tokenValue = getIntFromField(field, name);
-            builder.put(name, tokenValue);
-            if (tokenValue > tempTokenValueToName.length - 1) {
-                final String[] temp = new String[tokenValue + 1];
-                System.arraycopy(tempTokenValueToName, 0,
-                        temp, 0, tempTokenValueToName.length);
-                tempTokenValueToName = temp;
+        for (int tokenValue = 0; tokenValue < TOKEN_VALUE_TO_NAME.length; tokenValue++) {
+            final String name = TOKEN_VALUE_TO_NAME[tokenValue];
+            if (name != null) {
+                builder.put(name, tokenValue);
             }
-            tempTokenValueToName[tokenValue] = name;
         }
 
         TOKEN_NAME_TO_VALUE = builder.build();
-        TOKEN_VALUE_TO_NAME = tempTokenValueToName;
         TOKEN_IDS = TOKEN_NAME_TO_VALUE.values().stream().mapToInt(Integer::intValue).toArray();
     }
 
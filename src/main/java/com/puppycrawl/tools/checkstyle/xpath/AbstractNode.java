@@ -19,7 +19,6 @@
 
 package com.puppycrawl.tools.checkstyle.xpath;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -46,8 +45,8 @@ import net.sf.saxon.type.SchemaType;
  */
 public abstract class AbstractNode implements NodeInfo {
 
-    /** The children. */
-    private final List<AbstractNode> children = new ArrayList<>();
+    /** The children, {@code null} until they are first accessed. */
+    private List<AbstractNode> children;
 
     /**
      * Getter method for token type.
@@ -62,19 +61,23 @@ public abstract class AbstractNode implements NodeInfo {
     public abstract DetailAST getUnderlyingNode();
 
     /**
-     * Getter method for children.
+     * Getter method for children. Children are created on first access, so only
+     * the parts of the tree visited by a query are wrapped.
      * @return children list
      */
     protected List<AbstractNode> getChildren() {
-        return Collections.unmodifiableList(children);
+        if (children == null) {
+            children = Collections.unmodifiableList(createChildren());
+        }
+        return children;
     }
 
     /**
-     * Add new child node to children list.
-     * @param node child node
+     * Creates the children of the node. Called once, on first access of the children.
+     * @return children list
      */
-    protected void addChild(AbstractNode node) {
-        children.add(node);
+    protected List<AbstractNode> createChildren() {
+        return Collections.emptyList();
     }
 
     /**
@@ -111,7 +114,7 @@ public abstract class AbstractNode implements NodeInfo {
      */
     @Override
     public boolean hasChildNodes() {
-        return !children.isEmpty();
+        return !getChildren().isEmpty();
     }
 
     /**
@@ -19,6 +19,9 @@
 
 package com.puppycrawl.tools.checkstyle.xpath;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.utils.TokenUtils;
@@ -53,12 +56,15 @@ public class ElementNode extends AbstractNode {
     /** Represents text of the DetailAST. */
     private final String text;
 
-    /** The attributes. */
+    /** The attributes, {@code null} if there are none. */
     private AbstractNode[] attributes;
 
     /** Represents value of TokenTypes#IDENT. */
     private String ident;
 
+    /** Whether ident and attributes were looked up. */
+    private boolean identInitialized;
+
     /**
      * Creates a new {@code ElementNode} instance.
      *
@@ -70,24 +76,38 @@ public class ElementNode extends AbstractNode {
         this.parent = parent;
         this.root = root;
         this.detailAst = detailAst;
-        setIdent();
-        createChildren();
         text = TokenUtils.getTokenName(detailAst.getType());
     }
 
     /**
-     * Iterates children of the current node and
-     * recursively creates new Xpath-nodes.
+     * Iterates children of the current node and creates new Xpath-nodes.
+     * Their own children are created when they are first accessed.
+     * @return children list
      */
-    private void createChildren() {
+    @Override
+    protected List<AbstractNode> createChildren() {
+        final List<AbstractNode> children = new ArrayList<>();
         DetailAST currentChild = detailAst.getFirstChild();
         while (currentChild != null) {
             if (currentChild.getType() != TokenTypes.IDENT) {
-                final ElementNode child = new ElementNode(root, this, currentChild);
-                addChild(child);
+                children.add(new ElementNode(root, this, currentChild));
             }
             currentChild = currentChild.getNextSibling();
         }
+        return children;
+    }
+
+    /**
+     * Returns if current node has children, without creating them.
+     * @return if current node has children
+     */
+    @Override
+    public boolean hasChildNodes() {
+        DetailAST currentChild = detailAst.getFirstChild();
+        while (currentChild != null && currentChild.getType() == TokenTypes.IDENT) {
+            currentChild = currentChild.getNextSibling();
+        }
+        return currentChild != null;
     }
 
     /**
@@ -100,6 +120,7 @@ public class ElementNode extends AbstractNode {
     @Override
     public String getAttributeValue(String namespace, String localPart) {
         if (TEXT_ATTRIBUTE_NAME.equals(localPart)) {
+            setIdent();
             return ident;
         }
         else {
@@ -174,6 +195,7 @@ public class ElementNode extends AbstractNode {
                 result = new Navigator.AncestorEnumeration(this, true);
                 break;
             case AxisInfo.ATTRIBUTE:
+                setIdent();
                 if (attributes == null) {
                     result = EmptyIterator.OfNodes.THE_INSTANCE;
                 }
@@ -254,14 +276,17 @@ public class ElementNode extends AbstractNode {
     /**
      * Finds child element with {@link TokenTypes#IDENT}, extracts its value and stores it.
      * Value can be accessed using {@code @text} attribute. Now {@code @text} attribute is only
-     * supported attribute.
+     * supported attribute. The lookup is done once, on first access of the attributes.
      */
     private void setIdent() {
-        final DetailAST identAst = detailAst.findFirstToken(TokenTypes.IDENT);
-        if (identAst != null) {
-            ident = identAst.getText();
-            attributes = new AbstractNode[1];
-            attributes[0] = new AttributeNode(TEXT_ATTRIBUTE_NAME, ident);
+        if (!identInitialized) {
+            identInitialized = true;
+            final DetailAST identAst = detailAst.findFirstToken(TokenTypes.IDENT);
+            if (identAst != null) {
+                ident = identAst.getText();
+                attributes = new AbstractNode[1];
+                attributes[0] = new AttributeNode(TEXT_ATTRIBUTE_NAME, ident);
+            }
         }
     }
 
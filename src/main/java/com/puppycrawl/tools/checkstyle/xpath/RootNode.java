@@ -19,10 +19,19 @@
 
 package com.puppycrawl.tools.checkstyle.xpath;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import net.sf.saxon.om.AxisInfo;
 import net.sf.saxon.om.NodeInfo;
+import net.sf.saxon.pattern.NameTest;
+import net.sf.saxon.pattern.NodeTest;
 import net.sf.saxon.tree.iter.ArrayIterator;
 import net.sf.saxon.tree.iter.AxisIterator;
 import net.sf.saxon.tree.iter.EmptyIterator;
@@ -32,6 +41,10 @@ import net.sf.saxon.type.Type;
 
 /**
  * Represents root node of Xpath-tree.
+ * Descendant elements of the root selected by name, as in {@code //METHOD_DEF},
+ * are looked up in an index from element name to the elements in document order,
+ * built on first such query, so the other queries evaluated on the same tree,
+ * such as those of all xpath suppressions of a file, do not scan the whole tree.
  *
  * @author Timur Tibeyev
  */
@@ -43,6 +56,9 @@ public class RootNode extends AbstractNode {
     /** The ast node. */
     private final DetailAST detailAst;
 
+    /** Descendant elements by name in document order, {@code null} until first used. */
+    private Map<String, AbstractNode[]> elementsByName;
+
     /**
      * Creates a new {@code RootNode} instance.
      *
@@ -50,22 +66,30 @@ public class RootNode extends AbstractNode {
      */
     public RootNode(DetailAST detailAst) {
         this.detailAst = detailAst;
-        if (detailAst != null) {
-            createChildren();
-        }
     }
 
     /**
-     * Iterates siblings of the current node and
-     * recursively creates new Xpath-nodes.
+     * Iterates siblings of the current node and creates new Xpath-nodes.
+     * @return children list
      */
-    private void createChildren() {
+    @Override
+    protected List<AbstractNode> createChildren() {
+        final List<AbstractNode> children = new ArrayList<>();
         DetailAST currentChild = detailAst;
         while (currentChild != null) {
-            final ElementNode child = new ElementNode(this, this, currentChild);
-            addChild(child);
+            children.add(new ElementNode(this, this, currentChild));
             currentChild = currentChild.getNextSibling();
         }
+        return children;
+    }
+
+    /**
+     * Returns if current node has children, without creating them.
+     * @return if current node has children
+     */
+    @Override
+    public boolean hasChildNodes() {
+        return detailAst != null;
     }
 
     /**
@@ -129,6 +153,35 @@ public class RootNode extends AbstractNode {
         return ROOT_NAME;
     }
 
+    /**
+     * Determines axis iteration algorithm. Descendant elements with a given name
+     * are taken from the index.
+     * @param axisNumber element from {@code AxisInfo}
+     * @param nodeTest filter for iterator
+     * @return {@code AxisIterator} object
+     */
+    @Override
+    public AxisIterator iterateAxis(byte axisNumber, NodeTest nodeTest) {
+        final AxisIterator result;
+        if ((axisNumber == AxisInfo.DESCENDANT || axisNumber == AxisInfo.DESCENDANT_OR_SELF)
+                && nodeTest instanceof NameTest
+                && nodeTest.getPrimitiveType() == Type.ELEMENT
+                && ((NameTest) nodeTest).getNamespaceURI().isEmpty()) {
+            final AbstractNode[] elements =
+                    getElementsByName().get(((NameTest) nodeTest).getLocalPart());
+            if (elements == null) {
+                result = EmptyIterator.OfNodes.THE_INSTANCE;
+            }
+            else {
+                result = new ArrayIterator.OfNodes(elements);
+            }
+        }
+        else {
+            result = super.iterateAxis(axisNumber, nodeTest);
+        }
+        return result;
+    }
+
     /**
      * Determines axis iteration algorithm. Throws {@code UnsupportedOperationException} in case,
      * when there is no axis iterator for given axisNumber.
@@ -220,4 +273,40 @@ public class RootNode extends AbstractNode {
         return new UnsupportedOperationException("Operation is not supported");
     }
 
+    /**
+     * Returns descendant elements by name, visits the whole tree on first call.
+     * @return descendant elements by name in document order
+     */
+    private Map<String, AbstractNode[]> getElementsByName() {
+        if (elementsByName == null) {
+            final Map<String, List<AbstractNode>> elements = new HashMap<>();
+            final Deque<AbstractNode> stack = new ArrayDeque<>();
+            pushChildren(stack, this);
+            while (!stack.isEmpty()) {
+                final AbstractNode node = stack.pop();
+                elements.computeIfAbsent(node.getLocalPart(), key -> new ArrayList<>())
+                        .add(node);
+                pushChildren(stack, node);
+            }
+            elementsByName = new HashMap<>();
+            for (Map.Entry<String, List<AbstractNode>> entry : elements.entrySet()) {
+                final List<AbstractNode> nodes = entry.getValue();
+                elementsByName.put(entry.getKey(), nodes.toArray(new AbstractNode[nodes.size()]));
+            }
+        }
+        return elementsByName;
+    }
+
+    /**
+     * Pushes the children of the node to the stack, so the first child is on top.
+     * @param stack the stack
+     * @param node the node
+     */
+    private static void pushChildren(Deque<AbstractNode> stack, AbstractNode node) {
+        final List<AbstractNode> children = node.getChildren();
+        for (int i = children.size() - 1; i >= 0; i--) {
+            stack.push(children.get(i));
+        }
+    }
+
 }
@@ -20,7 +20,10 @@
 package com.puppycrawl.tools.checkstyle.xpath;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
@@ -68,6 +71,18 @@ import com.puppycrawl.tools.checkstyle.utils.TokenUtils;
  *     </li>
  * </ul>
  *
+ * <p>
+ *     To generate queries for many positions of the same file, for example for all violations
+ *     of the file, the generator is created without a position and queried by
+ *     {@link #generate(int, int)}. The AST is traversed only once then, to index its nodes
+ *     by their position.
+ * </p>
+ * <pre>
+ *     final XpathQueryGenerator generator = new XpathQueryGenerator(rootAst, fileText, 4);
+ *     generator.generate(3, 4);
+ *     generator.generate(4, 9);
+ * </pre>
+ *
  * @author Timur Tibeyev.
  */
 public class XpathQueryGenerator {
@@ -82,6 +97,8 @@ public class XpathQueryGenerator {
     private final FileText fileText;
     /** The distance between tab stop position. */
     private final int tabWidth;
+    /** Nodes by their position, built on the first query by position. */
+    private Map<Long, List<DetailAST>> nodesByPosition;
 
     /**
      * Creates a new {@code XpathQueryGenerator} instance.
@@ -101,18 +118,65 @@ public class XpathQueryGenerator {
         this.tabWidth = tabWidth;
     }
 
+    /**
+     * Creates a new {@code XpathQueryGenerator} instance, which generates queries
+     * for positions given by {@link #generate(int, int)}.
+     *
+     * @param rootAst root ast
+     * @param fileText the {@code FileText} object
+     * @param tabWidth distance between tab stop position
+     */
+    public XpathQueryGenerator(DetailAST rootAst, FileText fileText, int tabWidth) {
+        this(rootAst, 0, 0, fileText, tabWidth);
+    }
+
     /**
      * Returns list of xpath queries of nodes, matching line and column number.
      * This approach uses DetailAST traversal. DetailAST means detail abstract syntax tree.
      * @return list of xpath queries of nodes, matching line and column number
      */
     public List<String> generate() {
-        return getMatchingAstElements()
+        return generateXpathQueries(getMatchingAstElements());
+    }
+
+    /**
+     * Returns list of xpath queries of nodes, matching the given line and column number.
+     * The first call indexes all nodes of the AST by their position, so that queries
+     * for many positions of the same file traverse the AST only once.
+     * @param line line number of the element for which the query should be generated
+     * @param column column number of the element for which the query should be generated
+     * @return list of xpath queries of nodes, matching line and column number
+     */
+    public List<String> generate(int line, int column) {
+        if (nodesByPosition == null) {
+            nodesByPosition = indexNodesByPosition();
+        }
+        return generateXpathQueries(nodesByPosition.getOrDefault(
+                getPosition(line, column), Collections.emptyList()));
+    }
+
+    /**
+     * Returns xpath queries for the given ast elements.
+     * @param nodes {@code DetailAST} ast elements
+     * @return xpath queries for the given ast elements
+     */
+    private static List<String> generateXpathQueries(List<DetailAST> nodes) {
+        return nodes
             .stream()
             .map(XpathQueryGenerator::generateXpathQuery)
             .collect(Collectors.toList());
     }
 
+    /**
+     * Combines line and column number into one position.
+     * @param line line number
+     * @param column column number
+     * @return the position
+     */
+    private static long getPosition(int line, int column) {
+        return ((long) line << Integer.SIZE) + column;
+    }
+
     /**
      * Returns child {@code DetailAst} element of the given root,
      * which has child element with token type equals to {@link TokenTypes#IDENT}.
@@ -166,6 +230,33 @@ public class XpathQueryGenerator {
         return result;
     }
 
+    /**
+     * Indexes all nodes, except {@link TokenTypes#IDENT}, by their line and
+     * tab expanded column number in one traversal of the AST.
+     * @return nodes by their position, in order of the traversal
+     */
+    private Map<Long, List<DetailAST>> indexNodesByPosition() {
+        final Map<Long, List<DetailAST>> result = new HashMap<>();
+        DetailAST curNode = rootAst;
+        while (curNode != null) {
+            final int line = curNode.getLineNo();
+            if (curNode.getType() != TokenTypes.IDENT && line > 0 && line <= fileText.size()) {
+                final long position = getPosition(line, expandedTabColumn(curNode, line));
+                result.computeIfAbsent(position, key -> new ArrayList<>()).add(curNode);
+            }
+            DetailAST toVisit = curNode.getFirstChild();
+            while (curNode != null && toVisit == null) {
+                toVisit = curNode.getNextSibling();
+                if (toVisit == null) {
+                    curNode = curNode.getParent();
+                }
+            }
+
+            curNode = toVisit;
+        }
+        return result;
+    }
+
     /**
      * Returns relative xpath query for given ast element from root.
      * @param root {@code DetailAST} root element
@@ -227,10 +318,11 @@ public class XpathQueryGenerator {
     /**
      * Returns the column number with tabs expanded.
      * @param ast {@code DetailAST} root ast
+     * @param line line number of the ast
      * @return the column number with tabs expanded
      */
-    private int expandedTabColumn(DetailAST ast) {
-        return 1 + CommonUtils.lengthExpandedTabs(fileText.get(lineNumber - 1),
+    private int expandedTabColumn(DetailAST ast, int line) {
+        return 1 + CommonUtils.lengthExpandedTabs(fileText.get(line - 1),
                 ast.getColumnNo(), tabWidth);
     }
 
@@ -243,7 +335,7 @@ public class XpathQueryGenerator {
     private boolean isMatchingByLineAndColumnAndNotIdent(DetailAST ast) {
         return ast.getType() != TokenTypes.IDENT
                 && ast.getLineNo() == lineNumber
-                && expandedTabColumn(ast) == columnNumber;
+                && expandedTabColumn(ast, lineNumber) == columnNumber;
     }
 
     /**
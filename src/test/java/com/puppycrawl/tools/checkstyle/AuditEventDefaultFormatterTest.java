@@ -22,14 +22,11 @@ package com.puppycrawl.tools.checkstyle;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.when;
 
-import java.lang.reflect.Method;
-
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
-import org.powermock.reflect.Whitebox;
 
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
@@ -110,18 +107,52 @@ public class AuditEventDefaultFormatterTest {
     }
 
     @Test
-    public void testCalculateBufferLength() throws Exception {
-        final Method calculateBufferLengthMethod =
-                Whitebox.getMethod(AuditEventDefaultFormatter.class,
-                        "calculateBufferLength", AuditEvent.class, int.class);
-        final LocalizedMessage localizedMessage = new LocalizedMessage(1, 1,
-                "messages.properties", "key", null, SeverityLevel.ERROR, null,
-                getClass(), null);
-        final AuditEvent auditEvent = new AuditEvent(new Object(), "fileName", localizedMessage);
-        final int result = (int) calculateBufferLengthMethod.invoke(null,
-                auditEvent, SeverityLevel.ERROR.ordinal());
-
-        assertEquals("Buffer length is not expected", 54, result);
+    public void testFormatAllSeverityLevels() {
+        final AuditEventFormatter formatter = new AuditEventDefaultFormatter();
+        final String[] expectedPrefixes = {"[IGNORE]", "[INFO]", "[WARN]", "[ERROR]"};
+        for (SeverityLevel severityLevel : SeverityLevel.values()) {
+            final LocalizedMessage message = new LocalizedMessage(1, 0, null, null, null,
+                    severityLevel, null, TestModule.class, "Mocked message.");
+            final AuditEvent event = new AuditEvent("", "InputMockFile.java", message);
+
+            final String expected = expectedPrefixes[severityLevel.ordinal()]
+                    + " InputMockFile.java:1: Mocked message. "
+                    + "[AuditEventDefaultFormatterTest$TestModule]";
+
+            assertEquals("Invalid format", expected, formatter.format(event));
+        }
+    }
+
+    @Test
+    public void testFormatReusesBuffer() {
+        final AuditEventFormatter formatter = new AuditEventDefaultFormatter();
+        final LocalizedMessage longMessage = new LocalizedMessage(1, 1, null, null, null,
+                SeverityLevel.ERROR, null, TestModuleCheck.class,
+                new String(new char[10000]).replace('\0', 'x'));
+        final String longFormatted = formatter.format(
+                new AuditEvent("", "InputMockFile.java", longMessage));
+        final LocalizedMessage message = new LocalizedMessage(2, 3, null, null, null,
+                SeverityLevel.ERROR, null, TestModuleCheck.class, "Mocked message.");
+        final String formatted = formatter.format(
+                new AuditEvent("", "InputMockFile.java", message));
+
+        assertEquals("Invalid length", 10076, longFormatted.length());
+        assertEquals("Invalid format",
+                "[ERROR] InputMockFile.java:2:3: Mocked message. "
+                        + "[AuditEventDefaultFormatterTest$TestModule]", formatted);
+    }
+
+    @Test
+    public void testFormatToBuilder() {
+        final LocalizedMessage message = new LocalizedMessage(1, 1, null, null, null,
+                SeverityLevel.INFO, null, TestModuleCheck.class, "Mocked message.");
+        final AuditEvent event = new AuditEvent("", "InputMockFile.java", message);
+        final AuditEventDefaultFormatter formatter = new AuditEventDefaultFormatter();
+        final StringBuilder sb = new StringBuilder("prefix ");
+        formatter.format(event, sb);
+
+        assertEquals("Invalid format", "prefix [INFO] InputMockFile.java:1:1: Mocked message. "
+                + "[AuditEventDefaultFormatterTest$TestModule]", sb.toString());
     }
 
     private static class TestModuleCheck {
@@ -0,0 +1,120 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AutomaticBean;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+
+public class BaselineLoggerTest {
+
+    @Test
+    public void testRecordsViolations() throws IOException {
+        final TestOutputStream out = new TestOutputStream();
+        final BaselineLogger logger =
+                new BaselineLogger(out, AutomaticBean.OutputStreamOptions.CLOSE);
+        final AuditEvent error = createEvent(1, "error.key", SeverityLevel.ERROR);
+        final AuditEvent warning = createEvent(2, "warning.key", SeverityLevel.WARNING);
+        final AuditEvent ignored = createEvent(3, "ignored.key", SeverityLevel.IGNORE);
+        logger.auditStarted(null);
+        logger.fileStarted(error);
+        logger.addError(error);
+        logger.addError(warning);
+        logger.addError(ignored);
+        logger.addException(error, new IllegalStateException("Test"));
+        logger.fileFinished(error);
+        logger.auditFinished(null);
+
+        assertTrue("Stream should be closed", out.closed);
+        final ViolationBaseline baseline = new ViolationBaseline();
+        baseline.load(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals("Invalid number of fingerprints", 2, baseline.size());
+        assertTrue("Error should be recorded",
+                baseline.contains(baseline.getFingerprint(error)));
+        assertTrue("Warning should be recorded",
+                baseline.contains(baseline.getFingerprint(warning)));
+        assertFalse("Ignored violation should not be recorded",
+                baseline.contains(baseline.getFingerprint(ignored)));
+    }
+
+    @Test
+    public void testStreamNotClosed() {
+        final TestOutputStream out = new TestOutputStream();
+        final BaselineLogger logger =
+                new BaselineLogger(out, AutomaticBean.OutputStreamOptions.NONE);
+        logger.auditStarted(null);
+        logger.auditFinished(null);
+        assertFalse("Stream should not be closed", out.closed);
+        assertEquals("Empty baseline file expected", 12, out.size());
+    }
+
+    @Test
+    public void testWriteFailure() {
+        final TestOutputStream out = new TestOutputStream();
+        out.failing = true;
+        final BaselineLogger logger =
+                new BaselineLogger(out, AutomaticBean.OutputStreamOptions.NONE);
+        try {
+            logger.auditFinished(null);
+            fail("Exception is expected");
+        }
+        catch (IllegalStateException ex) {
+            assertEquals("Invalid exception message",
+                    "Unable to write baseline file", ex.getMessage());
+        }
+    }
+
+    private static AuditEvent createEvent(int line, String key, SeverityLevel severity) {
+        final LocalizedMessage message = new LocalizedMessage(line, 1, "messages", key, null,
+                severity, null, BaselineLoggerTest.class, null);
+        return new AuditEvent(BaselineLoggerTest.class, "Missing.java", message);
+    }
+
+    private static class TestOutputStream extends ByteArrayOutputStream {
+        private boolean closed;
+        private boolean failing;
+
+        @Override
+        public void flush() throws IOException {
+            if (failing) {
+                throw new IOException("Test");
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+}
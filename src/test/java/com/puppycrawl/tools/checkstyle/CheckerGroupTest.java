@@ -0,0 +1,232 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.checks.TodoCommentCheck;
+import com.puppycrawl.tools.checkstyle.checks.naming.MemberNameCheck;
+import com.puppycrawl.tools.checkstyle.checks.naming.ParameterNameCheck;
+import com.puppycrawl.tools.checkstyle.internal.utils.BriefUtLogger;
+
+public class CheckerGroupTest extends AbstractModuleTestSupport {
+
+    @Override
+    protected String getPackageLocation() {
+        return "com/puppycrawl/tools/checkstyle/checkergroup";
+    }
+
+    @Test
+    public void testSameViolationsAsSeparateAudits() throws Exception {
+        final List<File> files =
+                Collections.singletonList(new File(getPath("InputCheckerGroup.java")));
+        final Configuration firstConfig = createConfig(
+                createModuleConfig(TodoCommentCheck.class),
+                createModuleConfig(MemberNameCheck.class));
+        final Configuration secondConfig = createConfig(
+                createModuleConfig(ParameterNameCheck.class),
+                createModuleConfig(TodoCommentCheck.class));
+
+        final ByteArrayOutputStream firstExpected = new ByteArrayOutputStream();
+        createChecker(firstConfig, firstExpected).process(files);
+        final ByteArrayOutputStream secondExpected = new ByteArrayOutputStream();
+        createChecker(secondConfig, secondExpected).process(files);
+
+        final ByteArrayOutputStream firstActual = new ByteArrayOutputStream();
+        final ByteArrayOutputStream secondActual = new ByteArrayOutputStream();
+        final CheckerGroup group = new CheckerGroup(Arrays.asList(
+                createChecker(firstConfig, firstActual),
+                createChecker(secondConfig, secondActual)));
+        final int errorCount = group.process(files);
+
+        assertEquals("Invalid error count", 6, errorCount);
+        assertEquals("Invalid violations of first configuration",
+                toString(firstExpected), toString(firstActual));
+        assertEquals("Invalid violations of second configuration",
+                toString(secondExpected), toString(secondActual));
+        assertNotEquals("Configurations should report own violations",
+                toString(firstActual), toString(secondActual));
+    }
+
+    @Test
+    public void testFileIsParsedOnce() throws Exception {
+        final List<File> files =
+                Collections.singletonList(new File(getPath("InputCheckerGroup.java")));
+        final Configuration config = createConfig(
+                createModuleConfig(RootRecordingCheck.class),
+                createModuleConfig(CommentRootRecordingCheck.class));
+        final Checker firstChecker = createChecker(config, new ByteArrayOutputStream());
+        final Checker secondChecker = createChecker(config, new ByteArrayOutputStream());
+        assertNotSame("Checkers should own their caches",
+                firstChecker.getParsedFileCache(), secondChecker.getParsedFileCache());
+        final CheckerGroup group = new CheckerGroup(Arrays.asList(firstChecker, secondChecker));
+        assertSame("Group should share its cache with the checkers",
+                firstChecker.getParsedFileCache(), secondChecker.getParsedFileCache());
+
+        RootRecordingCheck.ROOTS.clear();
+        CommentRootRecordingCheck.ROOTS.clear();
+        group.process(files);
+
+        assertEquals("Invalid number of walks", 2, RootRecordingCheck.ROOTS.size());
+        assertSame("Tree should be shared",
+                RootRecordingCheck.ROOTS.get(0), RootRecordingCheck.ROOTS.get(1));
+        assertEquals("Invalid number of walks with comments",
+                2, CommentRootRecordingCheck.ROOTS.size());
+        assertSame("Tree with comments should be shared",
+                CommentRootRecordingCheck.ROOTS.get(0), CommentRootRecordingCheck.ROOTS.get(1));
+        assertNotSame("Tree with comments should be a copy",
+                RootRecordingCheck.ROOTS.get(0), CommentRootRecordingCheck.ROOTS.get(0));
+        assertNull("Tree without comments should not get comment nodes",
+                RootRecordingCheck.ROOTS.get(0).getPreviousSibling());
+        assertTrue("Parse should be released after the audit",
+                firstChecker.getParsedFileCache().isEmpty());
+    }
+
+    @Test
+    public void testViolationLimitOfOneChecker() throws Exception {
+        final File file = new File(getPath("InputCheckerGroup.java"));
+        final List<File> files = Arrays.asList(file, file);
+        final Configuration config = createConfig(createModuleConfig(MemberNameCheck.class));
+
+        final ByteArrayOutputStream limitedOutput = new ByteArrayOutputStream();
+        final Checker limitedChecker = createChecker(config, limitedOutput);
+        limitedChecker.setMaxErrors(0);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final CheckerGroup group = new CheckerGroup(Arrays.asList(
+                limitedChecker, createChecker(config, output)));
+        final int errorCount = group.process(files);
+
+        assertEquals("Invalid error count", 3, errorCount);
+        assertEquals("Limited checker should stop after the first file",
+                1, countViolations(limitedOutput));
+        assertEquals("Other checker should process all files", 2, countViolations(output));
+    }
+
+    private static Configuration createConfig(Configuration... checks) {
+        final DefaultConfiguration treeWalkerConfig = createModuleConfig(TreeWalker.class);
+        for (Configuration check : checks) {
+            treeWalkerConfig.addChild(check);
+        }
+        final DefaultConfiguration config = createRootConfig(treeWalkerConfig);
+        config.addAttribute("charset", StandardCharsets.UTF_8.name());
+        return config;
+    }
+
+    private static Checker createChecker(Configuration config, ByteArrayOutputStream output)
+            throws Exception {
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(config);
+        checker.addListener(new BriefUtLogger(output));
+        return checker;
+    }
+
+    private static String toString(ByteArrayOutputStream output) {
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static int countViolations(ByteArrayOutputStream output) {
+        final String text = toString(output);
+        return text.split("InputCheckerGroup.java:6:", -1).length - 1;
+    }
+
+    /**
+     * Records the trees it walks.
+     */
+    public static final class RootRecordingCheck extends AbstractCheck {
+
+        private static final List<DetailAST> ROOTS = new ArrayList<>();
+
+        @Override
+        public int[] getDefaultTokens() {
+            return getRequiredTokens();
+        }
+
+        @Override
+        public int[] getAcceptableTokens() {
+            return getRequiredTokens();
+        }
+
+        @Override
+        public int[] getRequiredTokens() {
+            return new int[] {TokenTypes.CLASS_DEF};
+        }
+
+        @Override
+        public void beginTree(DetailAST rootAST) {
+            ROOTS.add(rootAST);
+        }
+
+    }
+
+    /**
+     * Records the trees with comment nodes it walks.
+     */
+    public static final class CommentRootRecordingCheck extends AbstractCheck {
+
+        private static final List<DetailAST> ROOTS = new ArrayList<>();
+
+        @Override
+        public boolean isCommentNodesRequired() {
+            return true;
+        }
+
+        @Override
+        public int[] getDefaultTokens() {
+            return getRequiredTokens();
+        }
+
+        @Override
+        public int[] getAcceptableTokens() {
+            return getRequiredTokens();
+        }
+
+        @Override
+        public int[] getRequiredTokens() {
+            return new int[] {TokenTypes.SINGLE_LINE_COMMENT};
+        }
+
+        @Override
+        public void beginTree(DetailAST rootAST) {
+            ROOTS.add(rootAST);
+        }
+
+    }
+
+}
@@ -79,6 +79,7 @@ import com.puppycrawl.tools.checkstyle.api.Filter;
 import com.puppycrawl.tools.checkstyle.api.FilterSet;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
 import com.puppycrawl.tools.checkstyle.api.MessageDispatcher;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.checks.NewlineAtEndOfFileCheck;
 import com.puppycrawl.tools.checkstyle.checks.TranslationCheck;
@@ -547,7 +548,7 @@ public class CheckerTest extends AbstractModuleTestSupport {
         assertEquals("Cache has unexpected size",
                 expectedNumberOfObjectsInCache, cache.size());
 
-        final String expectedConfigHash = "B8535A811CA90BE8B7A14D40BCA62B4FC2447B46";
+        final String expectedConfigHash = "C438A063314FA3737B07566388758F54";
         assertEquals("Cache has unexpected hash",
                 expectedConfigHash, cache.getProperty(PropertyCacheFile.CONFIG_HASH_KEY));
 
@@ -759,7 +760,8 @@ public class CheckerTest extends AbstractModuleTestSupport {
         final Properties cacheAfterFirstRun = new Properties();
         cacheAfterFirstRun.load(Files.newBufferedReader(cacheFile.toPath()));
 
-        final int expectedNumberOfObjectsInCacheAfterFirstRun = 4;
+        // the local resource is recorded with its hash and its stamp
+        final int expectedNumberOfObjectsInCacheAfterFirstRun = 5;
         assertEquals("Number of items in cache differs from expected",
                 expectedNumberOfObjectsInCacheAfterFirstRun, cacheAfterFirstRun.size());
 
@@ -791,7 +793,7 @@ public class CheckerTest extends AbstractModuleTestSupport {
         );
         assertNotNull("Cache has null as a resource key",
                 cacheAfterFirstRun.getProperty(firstExternalResourceKey));
-        final int expectedNumberOfObjectsInCacheAfterSecondRun = 4;
+        final int expectedNumberOfObjectsInCacheAfterSecondRun = 5;
         assertEquals("Number of items in cache differs from expected",
                 expectedNumberOfObjectsInCacheAfterSecondRun, cacheAfterSecondRun.size());
         assertNull("Cache has not null as a resource key",
@@ -867,6 +869,80 @@ public class CheckerTest extends AbstractModuleTestSupport {
         verify(checkerConfig, filePath, expected);
     }
 
+    private static Checker createViolationChecker(SeverityLevel severity)
+            throws CheckstyleException {
+        final DefaultConfiguration violationCheck =
+                createModuleConfig(DummyFileSetViolationCheck.class);
+        violationCheck.addAttribute("severity", severity.getName());
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("myConfig");
+        checkerConfig.addChild(violationCheck);
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        return checker;
+    }
+
+    @Test
+    public void testMaxErrorsStopsAudit() throws Exception {
+        final DummyFileSet fileSet = new DummyFileSet();
+        final TruncationAuditListener listener = new TruncationAuditListener();
+        final Checker checker = createViolationChecker(SeverityLevel.ERROR);
+        checker.addFileSetCheck(fileSet);
+        checker.addListener(listener);
+        checker.setMaxErrors(1);
+
+        final List<File> files = Arrays.asList(temporaryFolder.newFile("a.java"),
+                temporaryFolder.newFile("b.java"), temporaryFolder.newFile("c.java"),
+                temporaryFolder.newFile("d.java"));
+        final int errors = checker.process(files);
+
+        assertEquals("Invalid number of errors", 2, errors);
+        assertEquals("Remaining files should not be processed",
+                Arrays.asList("beginProcessing", "processFiltered", "processFiltered", "destroy"),
+                fileSet.getMethodCalls());
+        assertNotNull("Audit truncated event was not fired", listener.getTruncatedEvent());
+        assertEquals("Invalid audit truncated message",
+                getCheckMessage(Checker.AUDIT_TRUNCATED_MSG, 2, 0, 2),
+                listener.getTruncatedEvent().getMessage());
+        assertNull("Audit truncated event should not have a file name",
+                listener.getTruncatedEvent().getFileName());
+        assertTrue("Audit should be finished", listener.isAuditFinished());
+    }
+
+    @Test
+    public void testMaxWarningsStopsAudit() throws Exception {
+        final TruncationAuditListener listener = new TruncationAuditListener();
+        final Checker checker = createViolationChecker(SeverityLevel.WARNING);
+        checker.addListener(listener);
+        checker.setMaxWarnings(0);
+
+        final int errors = checker.process(Arrays.asList(temporaryFolder.newFile("a.java"),
+                temporaryFolder.newFile("b.java")));
+
+        assertEquals("Invalid number of errors", 0, errors);
+        assertEquals("Invalid audit truncated message",
+                getCheckMessage(Checker.AUDIT_TRUNCATED_MSG, 0, 1, 1),
+                listener.getTruncatedEvent().getMessage());
+    }
+
+    @Test
+    public void testMaxErrorsNotExceeded() throws Exception {
+        final DummyFileSet fileSet = new DummyFileSet();
+        final TruncationAuditListener listener = new TruncationAuditListener();
+        final Checker checker = createViolationChecker(SeverityLevel.ERROR);
+        checker.addFileSetCheck(fileSet);
+        checker.addListener(listener);
+        checker.setMaxErrors(1);
+
+        final int errors = checker.process(Arrays.asList(temporaryFolder.newFile("a.java"),
+                temporaryFolder.newFile("b.java")));
+
+        assertEquals("Invalid number of errors", 2, errors);
+        assertNull("Audit truncated event should not be fired", listener.getTruncatedEvent());
+        assertTrue("Finish processing should be called",
+                fileSet.getMethodCalls().contains("finishProcessing"));
+    }
+
     @Test
     public void testCheckerProcessCallAllNeededMethodsOfFileSets() throws Exception {
         final DummyFileSet fileSet = new DummyFileSet();
@@ -976,7 +1052,7 @@ public class CheckerTest extends AbstractModuleTestSupport {
         assertEquals("Close count was not expected",
                 1, testErrorOutputStream.getCloseCount());
         assertEquals("Flush count was not expected",
-                1, testErrorOutputStream.getFlushCount());
+                2, testErrorOutputStream.getFlushCount());
     }
 
     // -@cs[CheckstyleTestMakeup] must use raw class to directly initialize DefaultLogger
@@ -1056,6 +1132,80 @@ public class CheckerTest extends AbstractModuleTestSupport {
         checker.destroy();
     }
 
+    @Test
+    public void testReportedFileTextIsUsedForFingerprints() throws Exception {
+        final File file = new File(temporaryFolder.getRoot(), "Input.java");
+        final String fileName = file.getPath();
+        final FileText text = new FileText(file, Collections.singletonList("int a = 42;"));
+        final ViolationBaseline baseline = new ViolationBaseline();
+        final List<Long> fingerprints = new ArrayList<>();
+        final Checker checker = new Checker();
+        checker.setCharset(StandardCharsets.UTF_8.name());
+        checker.addFilter(event -> fingerprints.add(baseline.getFingerprint(event)));
+        final LocalizedMessage message = new LocalizedMessage(1, 1, "messages",
+                "magic.number", null, SeverityLevel.ERROR, null, getClass(), null);
+        checker.fireErrors(fileName, new TreeSet<>(Collections.singleton(message)),
+                Collections.singletonMap(StandardCharsets.UTF_8.name(), text));
+        assertNull("Text should be released after reporting", checker.getReportedFileText());
+
+        Files.write(file.toPath(), "int a = 42;\n".getBytes(StandardCharsets.UTF_8));
+        assertEquals("Fingerprint should be computed from the text of the checker",
+                Collections.singletonList(new ViolationBaseline()
+                        .getFingerprint(new AuditEvent(this, fileName, message))),
+                fingerprints);
+    }
+
+    private static class TruncationAuditListener implements AuditListener {
+
+        private AuditEvent truncatedEvent;
+
+        private boolean auditFinished;
+
+        @Override
+        public void auditStarted(AuditEvent event) {
+            // not used
+        }
+
+        @Override
+        public void auditFinished(AuditEvent event) {
+            auditFinished = true;
+        }
+
+        @Override
+        public void fileStarted(AuditEvent event) {
+            // not used
+        }
+
+        @Override
+        public void fileFinished(AuditEvent event) {
+            // not used
+        }
+
+        @Override
+        public void addError(AuditEvent event) {
+            // not used
+        }
+
+        @Override
+        public void addException(AuditEvent event, Throwable throwable) {
+            // not used
+        }
+
+        @Override
+        public void auditTruncated(AuditEvent event) {
+            truncatedEvent = event;
+        }
+
+        public AuditEvent getTruncatedEvent() {
+            return truncatedEvent;
+        }
+
+        public boolean isAuditFinished() {
+            return auditFinished;
+        }
+
+    }
+
     private static class DummyFilter implements Filter {
 
         @Override
@@ -0,0 +1,202 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.puppycrawl.tools.checkstyle.ConfigurationLoader.IgnoredModulesOptions;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+public class ConfigurationSnapshotTest extends AbstractPathTestSupport {
+
+    private static final FileTime OLD_TIME = FileTime.fromMillis(0);
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Override
+    protected String getPackageLocation() {
+        return "com/puppycrawl/tools/checkstyle/configurationsnapshot";
+    }
+
+    @Test
+    public void testSnapshotIsWrittenAndRead() throws Exception {
+        final String config = getPath("InputConfigurationSnapshot.xml");
+        final File snapshot = new File(temporaryFolder.getRoot(), "dir/config.snapshot");
+        final Properties properties = createProperties("src");
+
+        final Configuration written = loadConfiguration(config, snapshot, properties);
+        assertTrue("Snapshot should be written", snapshot.isFile());
+        Files.setLastModifiedTime(snapshot.toPath(), OLD_TIME);
+
+        final Configuration read = loadConfiguration(config, snapshot, properties);
+        assertEquals("Snapshot should not be rewritten",
+                OLD_TIME, Files.getLastModifiedTime(snapshot.toPath()));
+        final Configuration expected = ConfigurationLoader.loadConfiguration(config,
+                new PropertiesExpander(properties), IgnoredModulesOptions.OMIT);
+        assertConfigurationEquals(expected, written);
+        assertConfigurationEquals(expected, read);
+        assertEquals("Invalid property", "src", read.getAttribute("basedir"));
+        assertEquals("Invalid default property", "UTF-8", read.getAttribute("charset"));
+    }
+
+    @Test
+    public void testChangedPropertyRefreshesSnapshot() throws Exception {
+        final String config = getPath("InputConfigurationSnapshot.xml");
+        final File snapshot = temporaryFolder.newFile();
+        loadConfiguration(config, snapshot, createProperties("src"));
+        Files.setLastModifiedTime(snapshot.toPath(), OLD_TIME);
+
+        final Configuration configuration =
+                loadConfiguration(config, snapshot, createProperties("test"));
+        assertEquals("Invalid property", "test", configuration.getAttribute("basedir"));
+        assertTrue("Snapshot should be rewritten",
+                Files.getLastModifiedTime(snapshot.toPath()).compareTo(OLD_TIME) > 0);
+
+        final Properties properties = createProperties("test");
+        properties.setProperty("checkstyle.charset", "ISO-8859-1");
+        assertEquals("Invalid property", "ISO-8859-1",
+                loadConfiguration(config, snapshot, properties).getAttribute("charset"));
+    }
+
+    @Test
+    public void testChangedConfigurationRefreshesSnapshot() throws Exception {
+        final File config = temporaryFolder.newFile("config.xml");
+        final String content = new String(Files.readAllBytes(
+                new File(getPath("InputConfigurationSnapshot.xml")).toPath()),
+                StandardCharsets.UTF_8);
+        Files.write(config.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        final File snapshot = temporaryFolder.newFile();
+        final Properties properties = createProperties("src");
+        loadConfiguration(config.getPath(), snapshot, properties);
+
+        Files.write(config.toPath(), content.replace("\"4\"", "\"8\"")
+                .getBytes(StandardCharsets.UTF_8));
+        final Configuration configuration =
+                loadConfiguration(config.getPath(), snapshot, properties);
+        assertEquals("Invalid changed attribute", "8",
+                configuration.getChildren()[0].getAttribute("tabWidth"));
+    }
+
+    @Test
+    public void testBrokenSnapshotIsReplaced() throws Exception {
+        final String config = getPath("InputConfigurationSnapshot.xml");
+        final File snapshot = temporaryFolder.newFile();
+        final Properties properties = createProperties("src");
+        Files.write(snapshot.toPath(), new byte[] {0x43, 0x53, 0x53, 0x48, 0, 0});
+
+        final Configuration configuration = loadConfiguration(config, snapshot, properties);
+        assertConfigurationEquals(ConfigurationLoader.loadConfiguration(config,
+                new PropertiesExpander(properties), IgnoredModulesOptions.OMIT), configuration);
+        assertTrue("Snapshot should be rewritten", snapshot.length() > 6);
+    }
+
+    @Test
+    public void testTruncatedOrGarbageSnapshotIsReplaced() throws Exception {
+        final String config = getPath("InputConfigurationSnapshot.xml");
+        final File snapshot = temporaryFolder.newFile();
+        final Properties properties = createProperties("src");
+        loadConfiguration(config, snapshot, properties);
+        final byte[] content = Files.readAllBytes(snapshot.toPath());
+        final Configuration expected = ConfigurationLoader.loadConfiguration(config,
+                new PropertiesExpander(properties), IgnoredModulesOptions.OMIT);
+
+        final byte[] truncated = Arrays.copyOf(content, content.length - 3);
+        final byte[] hugeLength = content.clone();
+        Arrays.fill(hugeLength, 4, 8, (byte) 0x7F);
+        final byte[] negativeLength = content.clone();
+        Arrays.fill(negativeLength, 4, 8, (byte) 0xF0);
+        for (byte[] broken : Arrays.asList(truncated, hugeLength, negativeLength)) {
+            Files.write(snapshot.toPath(), broken);
+            assertConfigurationEquals(expected,
+                    loadConfiguration(config, snapshot, properties));
+            assertArrayEquals("Snapshot should be rewritten",
+                    content, Files.readAllBytes(snapshot.toPath()));
+        }
+    }
+
+    @Test
+    public void testMissingConfiguration() {
+        final File snapshot = new File(temporaryFolder.getRoot(), "config.snapshot");
+        try {
+            loadConfiguration(new File(temporaryFolder.getRoot(), "missing.xml").toURI()
+                    .toString(), snapshot, createProperties("src"));
+            fail("Exception is expected");
+        }
+        catch (CheckstyleException ex) {
+            assertTrue("Invalid exception message: " + ex.getMessage(),
+                    ex.getMessage().startsWith("unable to read "));
+            assertTrue("Snapshot should not be written", !snapshot.exists());
+        }
+    }
+
+    private static Configuration loadConfiguration(String config, File snapshot,
+            Properties properties) throws CheckstyleException {
+        return ConfigurationSnapshot.loadConfiguration(config, snapshot.getPath(),
+                new PropertiesExpander(properties), IgnoredModulesOptions.OMIT,
+                ThreadModeSettings.SINGLE_THREAD_MODE_INSTANCE);
+    }
+
+    private static Properties createProperties(String basedir) {
+        final Properties properties = new Properties();
+        properties.setProperty("checkstyle.basedir", basedir);
+        return properties;
+    }
+
+    private static void assertConfigurationEquals(Configuration expected, Configuration actual)
+            throws CheckstyleException {
+        assertEquals("Invalid name", expected.getName(), actual.getName());
+        final String[] attributeNames = expected.getAttributeNames();
+        Arrays.sort(attributeNames);
+        final String[] actualAttributeNames = actual.getAttributeNames();
+        Arrays.sort(actualAttributeNames);
+        assertArrayEquals("Invalid attributes of " + expected.getName(),
+                attributeNames, actualAttributeNames);
+        for (String name : attributeNames) {
+            assertEquals("Invalid attribute " + name,
+                    expected.getAttribute(name), actual.getAttribute(name));
+        }
+        assertEquals("Invalid messages of " + expected.getName(),
+                expected.getMessages(), actual.getMessages());
+        final Configuration[] children = expected.getChildren();
+        final Configuration[] actualChildren = actual.getChildren();
+        assertEquals("Invalid children of " + expected.getName(),
+                children.length, actualChildren.length);
+        for (int i = 0; i < children.length; i++) {
+            assertConfigurationEquals(children[i], actualChildren[i]);
+        }
+    }
+
+}
@@ -19,8 +19,10 @@
 
 package com.puppycrawl.tools.checkstyle;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -29,6 +31,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 
 import org.junit.Test;
 
@@ -36,6 +39,7 @@ import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.AutomaticBean;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 
 public class DefaultLoggerTest {
@@ -117,6 +121,104 @@ public class DefaultLoggerTest {
                 infoStream.toString().contains("java.lang.IllegalStateException: upsss"));
     }
 
+    @Test
+    public void testBufferedOutputIsFlushedOnFileFinished() throws Exception {
+        final ByteArrayOutputStream infoStream = new ByteArrayOutputStream();
+        final ByteArrayOutputStream errorStream = new ByteArrayOutputStream();
+        final DefaultLogger dl = new DefaultLogger(infoStream,
+                AutomaticBean.OutputStreamOptions.CLOSE, errorStream,
+                AutomaticBean.OutputStreamOptions.CLOSE, new AuditEventDefaultFormatter(),
+                1024);
+        final LocalizedMessage message = new LocalizedMessage(1, 1, null, null, null,
+                SeverityLevel.ERROR, null, getClass(), "Mocked message.");
+        dl.fileStarted(new AuditEvent(this, "myfile"));
+        dl.addError(new AuditEvent(this, "myfile", message));
+
+        assertEquals("Output should be buffered until the file is finished",
+                0, errorStream.size());
+
+        dl.fileFinished(new AuditEvent(this, "myfile"));
+
+        assertEquals("Invalid output",
+                "[ERROR] myfile:1:1: Mocked message. [DefaultLoggerTest]"
+                        + System.lineSeparator(),
+                errorStream.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    public void testErrorsAreWrittenFromReusedBuffer() throws Exception {
+        final ByteArrayOutputStream infoStream = new ByteArrayOutputStream();
+        final ByteArrayOutputStream errorStream = new ByteArrayOutputStream();
+        final DefaultLogger dl = new DefaultLogger(infoStream,
+                AutomaticBean.OutputStreamOptions.CLOSE, errorStream,
+                AutomaticBean.OutputStreamOptions.CLOSE, new AuditEventDefaultFormatter());
+        final String longMessage = String.join("", Collections.nCopies(100, "Long message. "));
+        dl.addError(new AuditEvent(this, "myfile", new LocalizedMessage(1, 1, null, null,
+                null, SeverityLevel.ERROR, null, getClass(), longMessage)));
+        dl.addError(new AuditEvent(this, "myfile", new LocalizedMessage(2, 0, null, null,
+                null, SeverityLevel.WARNING, null, getClass(), "Short message.")));
+        dl.addError(new AuditEvent(this, "myfile", new LocalizedMessage(3, 0, null, null,
+                null, SeverityLevel.IGNORE, null, getClass(), "Ignored message.")));
+        dl.auditFinished(new AuditEvent(this));
+
+        assertEquals("Invalid output",
+                "[ERROR] myfile:1:1: " + longMessage + " [DefaultLoggerTest]"
+                        + System.lineSeparator()
+                        + "[WARN] myfile:2: Short message. [DefaultLoggerTest]"
+                        + System.lineSeparator(),
+                errorStream.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    public void testCustomFormatter() throws Exception {
+        final ByteArrayOutputStream infoStream = new ByteArrayOutputStream();
+        final ByteArrayOutputStream errorStream = new ByteArrayOutputStream();
+        final AuditEventFormatter formatter =
+            event -> event.getFileName() + ": " + event.getMessage();
+        final DefaultLogger dl = new DefaultLogger(infoStream,
+                AutomaticBean.OutputStreamOptions.CLOSE, errorStream,
+                AutomaticBean.OutputStreamOptions.CLOSE, formatter);
+        dl.addError(new AuditEvent(this, "myfile", new LocalizedMessage(1, 1, null, null,
+                null, SeverityLevel.ERROR, null, getClass(), "Custom message.")));
+        dl.auditFinished(new AuditEvent(this));
+
+        assertEquals("Invalid output", "myfile: Custom message." + System.lineSeparator(),
+                errorStream.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    public void testNegativeBufferSize() {
+        final OutputStream infoStream = new ByteArrayOutputStream();
+        try {
+            final DefaultLogger dl = new DefaultLogger(infoStream,
+                    AutomaticBean.OutputStreamOptions.NONE, infoStream,
+                    AutomaticBean.OutputStreamOptions.NONE, new AuditEventDefaultFormatter(),
+                    -1);
+            fail("IllegalArgumentException is expected, but got " + dl);
+        }
+        catch (IllegalArgumentException ex) {
+            assertEquals("Invalid exception message",
+                    "Buffer size can not be negative", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testAuditTruncated() throws Exception {
+        final ByteArrayOutputStream infoStream = new ByteArrayOutputStream();
+        final ByteArrayOutputStream errorStream = new ByteArrayOutputStream();
+        final DefaultLogger dl = new DefaultLogger(infoStream,
+                AutomaticBean.OutputStreamOptions.CLOSE, errorStream,
+                AutomaticBean.OutputStreamOptions.CLOSE);
+        final LocalizedMessage message = new LocalizedMessage(0,
+                Definitions.CHECKSTYLE_BUNDLE, Checker.AUDIT_TRUNCATED_MSG,
+                new String[] {"1", "2", "3"}, null, getClass(), null);
+        dl.auditTruncated(new AuditEvent(this, null, message));
+        dl.auditFinished(new AuditEvent(this));
+
+        assertEquals("Invalid output", message.getMessage() + System.lineSeparator(),
+                errorStream.toString(StandardCharsets.UTF_8.name()));
+    }
+
     @Test
     public void testFinishLocalSetup() throws CheckstyleException {
         final OutputStream infoStream = new ByteArrayOutputStream();
@@ -34,6 +34,7 @@ import static org.powermock.api.mockito.PowerMockito.verifyStatic;
 import static org.powermock.api.mockito.PowerMockito.when;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -78,19 +79,47 @@ public class MainTest {
     private static final String USAGE = String.format(Locale.ROOT,
           "usage: java com.puppycrawl.tools.checkstyle.Main [options] -c <config.xml>"
         + " file...%n"
-        + " -c <arg>                                Sets the check configuration file to use.%n"
+        + " -c <arg>                                Sets the check configuration file to use."
+        + " Repeat it to%n"
+        + "                                         audit several configurations in one pass%n"
         + " -C,--checker-threads-number <arg>       (experimental) The number of Checker threads "
         + "(must be%n"
         + "                                         greater than zero)%n"
+        + "    --config-snapshot <arg>              Loads the configuration from a precompiled"
+        + " snapshot file,%n"
+        + "                                         which is written whenever the configuration"
+        + " changed%n"
         + " -d,--debug                              Print all debug logging of CheckStyle utility%n"
         + " -e,--exclude <arg>                      Directory path to exclude from CheckStyle%n"
         + " -executeIgnoredModules                  Allows ignored modules to be run.%n"
         + " -f <arg>                                Sets the output format. (plain|xml). Defaults"
         + " to plain%n"
+        + "    --generate-baseline <arg>            Writes the fingerprints of all found violations"
+        + " to the%n"
+        + "                                         baseline file%n"
+        + "    --generate-xpath-suppressions        Writes a suppressions file with an xpath"
+        + " suppression for%n"
+        + "                                         each violation instead of reporting the"
+        + " violations%n"
         + " -j,--javadocTree                        Print Parse tree of the Javadoc comment%n"
         + " -J,--treeWithJavadoc                    Print full Abstract Syntax Tree of the file%n"
-        + " -o <arg>                                Sets the output file. Defaults to stdout%n"
+        + "    --max-errors <arg>                   Stops the audit as soon as more errors than"
+        + " specified were%n"
+        + "                                         found%n"
+        + "    --merge                              Merges the XML reports of shards, given"
+        + " instead of files,%n"
+        + "                                         into one report%n"
+        + " -o <arg>                                Sets the output file. Defaults to stdout."
+        + " The n-th output%n"
+        + "                                         file belongs to the n-th configuration%n"
         + " -p <arg>                                Loads the properties file%n"
+        + "    --shard <arg>                        Checks only the files of the shard"
+        + " <index>/<count>, all%n"
+        + "                                         files of a directory belong to the same"
+        + " shard%n"
+        + "    --shard-by-size                      Distributes directories to shards by the"
+        + " size of their%n"
+        + "                                         files%n"
         + " -t,--tree                               Print Abstract Syntax Tree(AST) of the file%n"
         + " -T,--treeWithComments                   Print Abstract Syntax Tree(AST) of the file"
         + " including%n"
@@ -945,6 +974,289 @@ public class MainTest {
         Main.main("-C", "invalid", "-c", "/google_checks.xml", getPath("InputMain.java"));
     }
 
+    @Test
+    public void testInvalidMaxErrors() throws Exception {
+        exit.expectSystemExitWithStatus(-1);
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals("Unexpected output log",
+                "Maximum number of errors must be a non-negative number"
+                + System.lineSeparator(), systemOut.getLog());
+            assertEquals("Unexpected system error log", "", systemErr.getLog());
+        });
+        Main.main("--max-errors", "-1", "-c", "/google_checks.xml", getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testMaxErrorsStopsAudit() throws Exception {
+        exit.expectSystemExitWithStatus(2);
+        exit.checkAssertionAfterwards(() -> {
+            final LocalizedMessage errorCounterTwoMessage = new LocalizedMessage(0,
+                    Definitions.CHECKSTYLE_BUNDLE, Main.ERROR_COUNTER,
+                    new String[] {String.valueOf(2)}, null, getClass(), null);
+            final LocalizedMessage auditTruncatedMessage = new LocalizedMessage(0,
+                    Definitions.CHECKSTYLE_BUNDLE, Checker.AUDIT_TRUNCATED_MSG,
+                    new String[] {"2", "0", "1"}, null, getClass(), null);
+            final String output = systemOut.getLog();
+            assertTrue("Audit truncated message is expected, but was " + output,
+                    output.contains(auditTruncatedMessage.getMessage() + EOL));
+            assertTrue("Error counter message is expected, but was " + output,
+                    output.endsWith(errorCounterTwoMessage.getMessage() + EOL));
+            assertFalse("Second file should not be checked, but was " + output,
+                    output.contains("InputMainComplexityOverflow"));
+            assertEquals("Unexpected system error log", "", systemErr.getLog());
+        });
+        Main.main("--max-errors", "1", "-c", getPath("InputMainConfig-classname2-error.xml"),
+                getPath("InputMain.java"), getPath("InputMainComplexityOverflow.java"));
+    }
+
+    @Test
+    public void testGenerateBaseline() throws Exception {
+        final File baselineFile = new File(temporaryFolder.getRoot(), "baseline.bin");
+        Main.main("-c", getPath("InputMainConfig-classname2.xml"),
+                "--generate-baseline", baselineFile.getPath(), getPath("InputMain.java"));
+
+        final ViolationBaseline baseline = new ViolationBaseline();
+        try (InputStream inputStream = new FileInputStream(baselineFile)) {
+            baseline.load(inputStream);
+        }
+        assertEquals("Both warnings should be recorded", 2, baseline.size());
+        assertEquals("Unexpected system error log", "", systemErr.getLog());
+    }
+
+    @Test
+    public void testGenerateXpathSuppressions() throws Exception {
+        exit.expectSystemExitWithStatus(2);
+        exit.checkAssertionAfterwards(() -> {
+            final LocalizedMessage errorCounterTwoMessage = new LocalizedMessage(0,
+                    Definitions.CHECKSTYLE_BUNDLE, Main.ERROR_COUNTER,
+                    new String[] {String.valueOf(2)}, null, getClass(), null);
+            final String filesPattern = "(^|[\\\\/])src[\\\\/]test[\\\\/]resources"
+                + "[\\\\/]com[\\\\/]puppycrawl[\\\\/]tools[\\\\/]checkstyle"
+                + "[\\\\/]main[\\\\/]InputMain\\.java$";
+            final String expected = "<?xml version=\"1.0\"?>" + EOL
+                + "<!DOCTYPE suppressions PUBLIC" + EOL
+                + "    \"-//Puppy Crawl//DTD Suppressions Xpath Experimental 1.2//EN\"" + EOL
+                + "    \"http://checkstyle.sourceforge.net/dtds/"
+                + "suppressions_1_2_xpath_experimental.dtd\">" + EOL
+                + "<suppressions>" + EOL
+                + "<suppress-xpath files=\"" + filesPattern + "\""
+                + " checks=\"LeftCurly\" query=\""
+                + "/CLASS_DEF[@text=&apos;InputMain&apos;]/OBJBLOCK"
+                + " | /CLASS_DEF[@text=&apos;InputMain&apos;]/OBJBLOCK/LCURLY\"/>" + EOL
+                + "<suppress-xpath files=\"" + filesPattern + "\""
+                + " checks=\"LeftCurly\" query=\""
+                + "/CLASS_DEF[@text=&apos;InputMainInner&apos;]/OBJBLOCK"
+                + " | /CLASS_DEF[@text=&apos;InputMainInner&apos;]/OBJBLOCK/LCURLY\"/>" + EOL
+                + "</suppressions>" + EOL
+                + errorCounterTwoMessage.getMessage() + EOL;
+            assertEquals("Unexpected output log", expected, systemOut.getLog());
+            assertEquals("Unexpected system error log", "", systemErr.getLog());
+        });
+        Main.main("-c", getPath("InputMainConfig-xpathSuppressions.xml"),
+                "--generate-xpath-suppressions", getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testConfigSnapshot() throws Exception {
+        final File snapshot = File.createTempFile("checkstyle", ".snapshot");
+        snapshot.deleteOnExit();
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals("Unexpected output log", auditStartMessage.getMessage() + EOL
+                    + auditFinishMessage.getMessage() + EOL,
+                    systemOut.getLog());
+            assertEquals("Unexpected system error log", "", systemErr.getLog());
+            assertTrue("Snapshot should be written", snapshot.length() > 0);
+        });
+        Main.main("-c", getPath("InputMainConfig-classname.xml"),
+                "--config-snapshot", snapshot.getPath(), getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testMultipleConfigurations() throws Exception {
+        final File first = new File(temporaryFolder.getRoot(), "first.xml");
+        final File second = new File(temporaryFolder.getRoot(), "second.xml");
+        Main.main("-c", getPath("InputMainConfig-classname2.xml"), "-f", "xml",
+                "-o", first.getPath(), "-c", getPath("InputMainConfig-classname.xml"),
+                "-o", second.getPath(), getPath("InputMain.java"));
+
+        final String firstReport = new String(Files.readAllBytes(first.toPath()),
+                StandardCharsets.UTF_8);
+        final String secondReport = new String(Files.readAllBytes(second.toPath()),
+                StandardCharsets.UTF_8);
+        assertTrue("First configuration should report its warnings",
+                firstReport.contains("TypeNameCheck"));
+        assertFalse("Second configuration should not report warnings of the first one",
+                secondReport.contains("TypeNameCheck"));
+        assertTrue("Second configuration should check the file",
+                secondReport.contains("<file name=\"" + getFilePath("InputMain.java") + "\">"));
+        assertEquals("Unexpected output log", "", systemOut.getLog());
+        assertEquals("Unexpected system error log", "", systemErr.getLog());
+    }
+
+    @Test
+    public void testMoreOutputsThanConfigurations() throws Exception {
+        exit.expectSystemExitWithStatus(-1);
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals("Unexpected output log",
+                "Option '-o' can be given at most once per configuration."
+                + System.lineSeparator(), systemOut.getLog());
+            assertEquals("Unexpected system error log", "", systemErr.getLog());
+        });
+        Main.main("-c", getPath("InputMainConfig-classname.xml"),
+                "-o", new File(temporaryFolder.getRoot(), "first.xml").getPath(),
+                "-o", new File(temporaryFolder.getRoot(), "second.xml").getPath(),
+                getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testGenerateBaselineWithMultipleConfigurations() throws Exception {
+        exit.expectSystemExitWithStatus(-1);
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals("Unexpected output log",
+                "Option '--generate-baseline' can only be used with one configuration."
+                + System.lineSeparator(), systemOut.getLog());
+            assertEquals("Unexpected system error log", "", systemErr.getLog());
+        });
+        Main.main("-c", getPath("InputMainConfig-classname.xml"),
+                "-o", new File(temporaryFolder.getRoot(), "first.xml").getPath(),
+                "-c", getPath("InputMainConfig-classname2.xml"),
+                "-o", new File(temporaryFolder.getRoot(), "second.xml").getPath(),
+                "--generate-baseline",
+                new File(temporaryFolder.getRoot(), "baseline.bin").getPath(),
+                getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testFewerOutputsThanConfigurations() throws Exception {
+        exit.expectSystemExitWithStatus(-1);
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals("Unexpected output log",
+                "Option '-o' must be given once per configuration"
+                + " when several configurations are used." + System.lineSeparator(),
+                systemOut.getLog());
+            assertEquals("Unexpected system error log", "", systemErr.getLog());
+        });
+        Main.main("-c", getPath("InputMainConfig-classname.xml"),
+                "-o", new File(temporaryFolder.getRoot(), "first.xml").getPath(),
+                "-c", getPath("InputMainConfig-classname2.xml"),
+                getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testInvalidShard() throws Exception {
+        exit.expectSystemExitWithStatus(-1);
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals("Unexpected output log",
+                "Shard index must be between 1 and 2, but was 3"
+                + System.lineSeparator(), systemOut.getLog());
+            assertEquals("Unexpected system error log", "", systemErr.getLog());
+        });
+        Main.main("--shard", "3/2", "-c", "/google_checks.xml", getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testShardBySizeWithoutShard() throws Exception {
+        exit.expectSystemExitWithStatus(-1);
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals("Unexpected output log",
+                "Option '--shard-by-size' requires option '--shard'."
+                + System.lineSeparator(), systemOut.getLog());
+            assertEquals("Unexpected system error log", "", systemErr.getLog());
+        });
+        Main.main("--shard-by-size", "-c", "/google_checks.xml", getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testShards() throws Exception {
+        final File first = new File(temporaryFolder.getRoot(), "first.xml");
+        final File second = new File(temporaryFolder.getRoot(), "second.xml");
+        final String config = getPath("InputMainConfig-classname.xml");
+        final String input = getPath("InputMain.java");
+        Main.main("--shard", "1/2", "-c", config, "-f", "xml", "-o", first.getPath(), input);
+        Main.main("--shard", "2/2", "-c", config, "-f", "xml", "-o", second.getPath(), input);
+
+        final String firstReport = new String(Files.readAllBytes(first.toPath()),
+                StandardCharsets.UTF_8);
+        final String secondReport = new String(Files.readAllBytes(second.toPath()),
+                StandardCharsets.UTF_8);
+        final String fileElement = "<file name=\"" + getFilePath("InputMain.java") + "\">";
+        assertTrue("File should be checked by exactly one shard",
+                firstReport.contains(fileElement) ^ secondReport.contains(fileElement));
+        assertEquals("Unexpected output log", "", systemOut.getLog());
+        assertEquals("Unexpected system error log", "", systemErr.getLog());
+    }
+
+    @Test
+    public void testShardBySize() throws Exception {
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals("Unexpected output log", auditStartMessage.getMessage() + EOL
+                    + auditFinishMessage.getMessage() + EOL,
+                    systemOut.getLog());
+            assertEquals("Unexpected system error log", "", systemErr.getLog());
+        });
+        Main.main("--shard", "1/1", "--shard-by-size", "-c",
+                getPath("InputMainConfig-classname.xml"), getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testMerge() throws Exception {
+        exit.expectSystemExitWithStatus(2);
+        exit.checkAssertionAfterwards(() -> {
+            final String output = systemOut.getLog();
+            assertEquals("Merged report should contain all files, but was " + output, 3,
+                    output.split("<file ").length - 1);
+            final LocalizedMessage errorCounterTwoMessage = new LocalizedMessage(0,
+                    Definitions.CHECKSTYLE_BUNDLE, Main.ERROR_COUNTER,
+                    new String[] {String.valueOf(2)}, null, getClass(), null);
+            assertTrue("Error counter message is expected, but was " + output,
+                    output.endsWith("</checkstyle>" + EOL
+                        + errorCounterTwoMessage.getMessage() + EOL));
+            assertEquals("Unexpected system error log", "", systemErr.getLog());
+        });
+        final String reports = "src/test/resources/com/puppycrawl/tools/checkstyle/"
+                + "xmlresultsmerger/";
+        Main.main("--merge", reports + "InputXMLResultsMergerShard1.xml",
+                reports + "InputXMLResultsMergerShard2.xml");
+    }
+
+    @Test
+    public void testMergeToFile() throws Exception {
+        final File merged = new File(temporaryFolder.getRoot(), "merged.xml");
+        Main.main("--merge", "-o", merged.getPath(),
+                "src/test/resources/com/puppycrawl/tools/checkstyle/xmllogger/"
+                + "ExpectedXMLLogger.xml");
+
+        final String mergedReport = new String(Files.readAllBytes(merged.toPath()),
+                StandardCharsets.UTF_8);
+        assertTrue("Merged report should contain the file, but was " + mergedReport,
+                mergedReport.contains("<file name=\"Test.java\">"));
+        assertEquals("Unexpected output log", "", systemOut.getLog());
+    }
+
+    @Test
+    public void testMergeWithConfig() throws Exception {
+        exit.expectSystemExitWithStatus(-1);
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals("Unexpected output log",
+                "Option '--merge' can only be used with option '-o'."
+                + System.lineSeparator(), systemOut.getLog());
+            assertEquals("Unexpected system error log", "", systemErr.getLog());
+        });
+        Main.main("--merge", "-c", "/google_checks.xml", getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testMergeToStandardOutput() throws Exception {
+        exit.checkAssertionAfterwards(() -> {
+            final String output = systemOut.getLog();
+            assertTrue("Merged report should be printed, but was " + output,
+                    output.endsWith("</checkstyle>" + EOL));
+            assertEquals("Unexpected system error log", "", systemErr.getLog());
+        });
+        Main.main("--merge", "src/test/resources/com/puppycrawl/tools/checkstyle/"
+                + "xmllogger/ExpectedXMLLogger.xml");
+    }
+
     @Test
     public void testInvalidTreeWalkerThreadsNumber() throws Exception {
         exit.expectSystemExitWithStatus(-1);
@@ -1001,24 +1313,34 @@ public class MainTest {
 
     @Test
     public void testTreeWalkerThreadsNumber() throws Exception {
-        TestRootModuleChecker.reset();
-
+        exit.expectSystemExitWithStatus(-1);
         exit.checkAssertionAfterwards(() -> {
-            assertEquals("Unexpected output log", "", systemOut.getLog());
+            assertEquals("Unexpected output log",
+                    "Multi thread mode for TreeWalker module is not implemented,"
+                    + " use option '-C' to check files on several threads."
+                    + System.lineSeparator(), systemOut.getLog());
             assertEquals("Unexpected system error log", "", systemErr.getLog());
-            assertTrue("Invalid checker state", TestRootModuleChecker.isProcessed());
-            final DefaultConfiguration config =
-                    (DefaultConfiguration) TestRootModuleChecker.getConfig();
-            final ThreadModeSettings multiThreadModeSettings = config.getThreadModeSettings();
-            assertEquals("Invalid checker thread number",
-                    1, multiThreadModeSettings.getCheckerThreadsNumber());
-            assertEquals("Invalid checker thread number",
-                    4, multiThreadModeSettings.getTreeWalkerThreadsNumber());
         });
         Main.main("-W", "4", "-c", getPath("InputMainConfig-custom-root-module.xml"),
             getPath("InputMain.java"));
     }
 
+    @Test
+    public void testCheckerThreadsNumberWithMultipleConfigurations() throws Exception {
+        exit.expectSystemExitWithStatus(-1);
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals("Unexpected output log",
+                    "Option '-C' with more than one thread cannot be used with"
+                    + " several configurations." + System.lineSeparator(), systemOut.getLog());
+            assertEquals("Unexpected system error log", "", systemErr.getLog());
+        });
+        Main.main("-C", "4", "-c", getPath("InputMainConfig-classname.xml"),
+                "-c", getPath("InputMainConfig-classname2.xml"),
+                "-o", new File(temporaryFolder.getRoot(), "first.txt").getPath(),
+                "-o", new File(temporaryFolder.getRoot(), "second.txt").getPath(),
+                getPath("InputMain.java"));
+    }
+
     @Test
     public void testModuleNameInSingleThreadMode() throws Exception {
         TestRootModuleChecker.reset();
@@ -1046,19 +1368,33 @@ public class MainTest {
     }
 
     @Test
-    public void testModuleNameInMultiThreadMode() throws Exception {
-        TestRootModuleChecker.reset();
-
-        try {
-            Main.main("-C", "4", "-W", "4", "-c", getPath("InputMainConfig-multi-thread-mode.xml"),
+    public void testExistingTargetFileWithErrorInMultiThreadMode() throws Exception {
+        exit.expectSystemExitWithStatus(2);
+        exit.checkAssertionAfterwards(() -> {
+            final LocalizedMessage errorCounterTwoMessage = new LocalizedMessage(0,
+                    Definitions.CHECKSTYLE_BUNDLE, Main.ERROR_COUNTER,
+                    new String[] {String.valueOf(2)}, null, getClass(), null);
+            final LocalizedMessage invalidPatternMessageMain = new LocalizedMessage(0,
+                    "com.puppycrawl.tools.checkstyle.checks.naming.messages",
+                    "name.invalidPattern", new String[] {"InputMain", "^[a-z0-9]*$"},
+                    null, getClass(), null);
+            final LocalizedMessage invalidPatternMessageMainInner = new LocalizedMessage(0,
+                    "com.puppycrawl.tools.checkstyle.checks.naming.messages",
+                    "name.invalidPattern", new String[] {"InputMainInner", "^[a-z0-9]*$"},
+                    null, getClass(), null);
+            final String expectedPath = getFilePath("InputMain.java");
+            assertEquals("Unexpected output log", auditStartMessage.getMessage() + EOL
+                    + "[ERROR] " + expectedPath + ":3:14: "
+                    + invalidPatternMessageMain.getMessage() + " [TypeName]" + EOL
+                    + "[ERROR] " + expectedPath + ":5:7: "
+                    + invalidPatternMessageMainInner.getMessage() + " [TypeName]" + EOL
+                    + auditFinishMessage.getMessage() + EOL
+                    + errorCounterTwoMessage.getMessage() + EOL, systemOut.getLog());
+            assertEquals("Unexpected system error log", "", systemErr.getLog());
+        });
+        Main.main("-C", "4", "-c",
+                getPath("InputMainConfig-classname2-error.xml"),
                 getPath("InputMain.java"));
-            fail("An exception is expected");
-        }
-        catch (IllegalArgumentException ex) {
-            assertEquals("Invalid error message",
-                    "Multi thread mode for Checker module is not implemented",
-                ex.getMessage());
-        }
     }
 
 }
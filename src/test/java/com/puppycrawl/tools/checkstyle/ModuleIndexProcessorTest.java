@@ -0,0 +1,130 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.tools.Diagnostic;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ModuleIndexProcessorTest extends AbstractPathTestSupport {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Override
+    protected String getPackageLocation() {
+        return "com/puppycrawl/tools/checkstyle/moduleindexprocessor";
+    }
+
+    private String getNonCompilablePath(String filename) {
+        return "src/test/resources-noncompilable/" + getPackageLocation() + "/" + filename;
+    }
+
+    @Test
+    public void testWritesModuleIndex() throws Exception {
+        final File outputDirectory = temporaryFolder.newFolder();
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager =
+                compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT,
+                    Collections.singletonList(outputDirectory));
+            final Iterable<? extends JavaFileObject> sources = fileManager.getJavaFileObjects(
+                    getNonCompilablePath("InputModuleIndexProcessorCheck.java"),
+                    getNonCompilablePath("InputModuleIndexProcessorAbstractCheck.java"),
+                    getNonCompilablePath("InputModuleIndexProcessorFilter.java"),
+                    getNonCompilablePath(
+                            "InputModuleIndexProcessorNoDefaultConstructorFilter.java"),
+                    getNonCompilablePath("InputModuleIndexProcessorNotModule.java"));
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    Arrays.asList("-proc:only", "-classpath",
+                            System.getProperty("java.class.path")),
+                    null, sources);
+            task.setProcessors(Collections.singletonList(new ModuleIndexProcessor()));
+            assertTrue("Compilation should succeed", task.call());
+        }
+
+        final List<String> index = Files.readAllLines(new File(outputDirectory,
+                PackageObjectFactory.MODULE_INDEX_RESOURCE).toPath(), StandardCharsets.UTF_8);
+        final String packageName = "com.puppycrawl.tools.checkstyle.moduleindexprocessor.";
+        assertEquals("Invalid module index", Arrays.asList(
+                packageName + "InputModuleIndexProcessorCheck",
+                packageName + "InputModuleIndexProcessorFilter"),
+                index);
+    }
+
+    @Test
+    public void testSupportedTypes() {
+        final ModuleIndexProcessor processor = new ModuleIndexProcessor();
+        assertEquals("All types should be processed",
+                Collections.singleton("*"), processor.getSupportedAnnotationTypes());
+        assertTrue("Latest source version should be supported",
+                processor.getSupportedSourceVersion().compareTo(
+                        SourceVersion.RELEASE_8) >= 0);
+    }
+
+    @Test
+    public void testWriteFailureIsReported() throws Exception {
+        final ProcessingEnvironment processingEnv = mock(ProcessingEnvironment.class);
+        final Filer filer = mock(Filer.class);
+        final Messager messager = mock(Messager.class);
+        when(processingEnv.getFiler()).thenReturn(filer);
+        when(processingEnv.getMessager()).thenReturn(messager);
+        when(filer.createResource(any(), any(), any())).thenThrow(new IOException("Test"));
+        final RoundEnvironment roundEnv = mock(RoundEnvironment.class);
+        when(roundEnv.processingOver()).thenReturn(true);
+        final ModuleIndexProcessor processor = new ModuleIndexProcessor();
+        processor.init(processingEnv);
+
+        assertFalse("Annotations should not be claimed",
+                processor.process(Collections.emptySet(), roundEnv));
+        verify(messager).printMessage(eq(Diagnostic.Kind.ERROR), anyString());
+    }
+
+}
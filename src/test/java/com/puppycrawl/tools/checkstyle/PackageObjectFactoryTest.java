@@ -22,6 +22,7 @@ package com.puppycrawl.tools.checkstyle;
 import static com.puppycrawl.tools.checkstyle.PackageObjectFactory.AMBIGUOUS_MODULE_NAME_EXCEPTION_MESSAGE;
 import static com.puppycrawl.tools.checkstyle.PackageObjectFactory.BASE_PACKAGE;
 import static com.puppycrawl.tools.checkstyle.PackageObjectFactory.CHECK_SUFFIX;
+import static com.puppycrawl.tools.checkstyle.PackageObjectFactory.MODULE_INDEX_RESOURCE;
 import static com.puppycrawl.tools.checkstyle.PackageObjectFactory.ModuleLoadOption.TRY_IN_ALL_REGISTERED_PACKAGES;
 import static com.puppycrawl.tools.checkstyle.PackageObjectFactory.NULL_LOADER_MESSAGE;
 import static com.puppycrawl.tools.checkstyle.PackageObjectFactory.NULL_PACKAGE_MESSAGE;
@@ -31,15 +32,21 @@ import static com.puppycrawl.tools.checkstyle.PackageObjectFactory.UNABLE_TO_INS
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -48,8 +55,16 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.FileText;
@@ -64,6 +79,9 @@ import com.puppycrawl.tools.checkstyle.internal.utils.CheckUtil;
  */
 public class PackageObjectFactoryTest {
 
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private final PackageObjectFactory factory = new PackageObjectFactory(
             BASE_PACKAGE, Thread.currentThread().getContextClassLoader());
 
@@ -307,13 +325,77 @@ public class PackageObjectFactoryTest {
     public void testGenerateThirdPartyNameToFullModuleNameWithException() throws Exception {
         final URLClassLoader classLoader = mock(URLClassLoader.class);
         when(classLoader.getURLs()).thenThrow(IOException.class);
-        final Method method = factory.getClass().getDeclaredMethod(
+        when(classLoader.getResources(MODULE_INDEX_RESOURCE))
+                .thenReturn(Collections.emptyEnumeration());
+        final PackageObjectFactory objectFactory = new PackageObjectFactory(
+                "com.puppycrawl.tools.checkstyle.notindexed", classLoader);
+        final Method method = objectFactory.getClass().getDeclaredMethod(
                 "generateThirdPartyNameToFullModuleName", ClassLoader.class);
         method.setAccessible(true);
-        final int size = ((Map<String, String>) method.invoke(factory, classLoader)).size();
+        final int size = ((Map<String, String>) method.invoke(objectFactory, classLoader)).size();
         assertEquals("Invalid map size", 0, size);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGenerateThirdPartyNameToFullModuleNameFromModuleIndex() throws Exception {
+        final String barPackage = BASE_PACKAGE + ".packageobjectfactory.bar";
+        final File index = temporaryFolder.newFile(MODULE_INDEX_RESOURCE);
+        Files.write(index.toPath(), Arrays.asList("# modules of the test", "",
+                barPackage + ".FooCheck", "com.example.OtherCheck", "DefaultPackageCheck"),
+                StandardCharsets.UTF_8);
+        final URLClassLoader classLoader = mock(URLClassLoader.class);
+        when(classLoader.getURLs()).thenThrow(IOException.class);
+        when(classLoader.getResources(MODULE_INDEX_RESOURCE)).thenReturn(
+                Collections.enumeration(Collections.singleton(index.toURI().toURL())));
+        final PackageObjectFactory objectFactory = new PackageObjectFactory(
+                new LinkedHashSet<>(Arrays.asList(barPackage, BASE_PACKAGE)), classLoader);
+        final Method method = objectFactory.getClass().getDeclaredMethod(
+                "generateThirdPartyNameToFullModuleName", ClassLoader.class);
+        method.setAccessible(true);
+        final Map<String, Set<String>> map =
+                (Map<String, Set<String>>) method.invoke(objectFactory, classLoader);
+
+        assertEquals("Only indexed modules of registered packages expected",
+                Collections.singletonMap("FooCheck", Collections.singleton(
+                        barPackage + ".FooCheck")), map);
+        verify(classLoader, never()).getURLs();
+    }
+
+    @Test
+    public void testCreateNotIndexedModuleInCorePackage() throws Exception {
+        final String corePackage = BASE_PACKAGE + ".checks";
+        final File sourceDirectory = temporaryFolder.newFolder();
+        final File source = new File(sourceDirectory, "CustomCoreCheck.java");
+        Files.write(source.toPath(), Arrays.asList("package " + corePackage + ";",
+                "public class CustomCoreCheck extends " + AbstractCheck.class.getName() + " {",
+                "    public int[] getDefaultTokens() { return new int[0]; }",
+                "    public int[] getAcceptableTokens() { return new int[0]; }",
+                "    public int[] getRequiredTokens() { return new int[0]; }",
+                "}"), StandardCharsets.UTF_8);
+        final File outputDirectory = temporaryFolder.newFolder();
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager =
+                compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT,
+                    Collections.singletonList(outputDirectory));
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    Arrays.asList("-proc:none", "-classpath",
+                            System.getProperty("java.class.path")),
+                    null, fileManager.getJavaFileObjects(source));
+            assertTrue("Compilation should succeed", task.call());
+        }
+
+        try (URLClassLoader classLoader = new URLClassLoader(
+                new URL[] {outputDirectory.toURI().toURL()}, getClass().getClassLoader())) {
+            final PackageObjectFactory objectFactory =
+                    new PackageObjectFactory(Collections.singleton(corePackage), classLoader);
+            final Object module = objectFactory.createModule("CustomCore");
+            assertEquals("Module of a core package, which is not indexed, should be found",
+                    corePackage + ".CustomCoreCheck", module.getClass().getName());
+        }
+    }
+
     @Test
     public void testJoinPackageNamesWithClassName() throws Exception {
         final Class<PackageObjectFactory> clazz = PackageObjectFactory.class;
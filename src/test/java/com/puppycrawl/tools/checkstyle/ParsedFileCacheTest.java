@@ -0,0 +1,136 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+
+public class ParsedFileCacheTest extends AbstractPathTestSupport {
+
+    @Override
+    protected String getPackageLocation() {
+        return "com/puppycrawl/tools/checkstyle/parsedfilecache";
+    }
+
+    @Test
+    public void testParseIsReplacedForOtherText() throws Exception {
+        final File file = new File(getPath("InputParsedFileCache.java"));
+        final FileText text = new FileText(file, StandardCharsets.UTF_8.name());
+        final ParsedFileCache cache = new ParsedFileCache();
+        cache.addReader(new Object());
+        cache.addReader(new Object());
+
+        final DetailAST ast = cache.getAst(text);
+        assertSame("Parse should be kept for the same text", ast, cache.getAst(text));
+        assertSame("Contents should be kept for the same text",
+                cache.getContents(text), cache.getContents(text));
+
+        final DetailAST astWithComments = cache.getAstWithComments(text);
+        assertEquals("Invalid first node of tree with comments",
+                TokenTypes.SINGLE_LINE_COMMENT, astWithComments.getType());
+        assertEquals("Invalid node after comment",
+                TokenTypes.PACKAGE_DEF, astWithComments.getNextSibling().getType());
+        assertNull("Tree without comments should not change", ast.getPreviousSibling());
+        assertSame("Tree with comments should be kept for the same text",
+                astWithComments, cache.getAstWithComments(text));
+
+        final FileText otherText = new FileText(text);
+        assertNotSame("Other text should be parsed again", ast, cache.getAst(otherText));
+    }
+
+    @Test
+    public void testTreeIsNotCopiedForSingleReader() throws Exception {
+        final File file = new File(getPath("InputParsedFileCache.java"));
+        final FileText text = new FileText(file, StandardCharsets.UTF_8.name());
+        final ParsedFileCache cache =
+                new ParsedFileCache(Collections.singleton(new Object()));
+
+        final DetailAST ast = cache.getAst(text);
+        final DetailAST astWithComments = cache.getAstWithComments(text);
+        assertEquals("Invalid first node of tree with comments",
+                TokenTypes.SINGLE_LINE_COMMENT, astWithComments.getType());
+        assertSame("Comments should be appended to the tree without comments",
+                astWithComments, ast.getPreviousSibling());
+        assertTrue("Modified parse should be released", cache.isEmpty());
+
+        final DetailAST parsedAgain = cache.getAst(text);
+        assertNotSame("Released text should be parsed again", ast, parsedAgain);
+        assertNull("Tree parsed again should have no comments",
+                parsedAgain.getPreviousSibling());
+    }
+
+    @Test
+    public void testReadersAreKeptPerCache() throws Exception {
+        final File file = new File(getPath("InputParsedFileCache.java"));
+        final FileText text = new FileText(file, StandardCharsets.UTF_8.name());
+        final ParsedFileCache sharedCache = new ParsedFileCache();
+        sharedCache.addReader(new Object());
+        sharedCache.addReader(new Object());
+        final ParsedFileCache cache = new ParsedFileCache();
+        cache.addReader(new Object());
+
+        final DetailAST ast = cache.getAst(text);
+        assertSame("Readers of other caches should not make a copy",
+                cache.getAstWithComments(text), ast.getPreviousSibling());
+        assertTrue("Modified parse should be released", cache.isEmpty());
+
+        final DetailAST sharedAst = sharedCache.getAst(text);
+        sharedCache.getAstWithComments(text);
+        assertNull("Tree should be copied for several readers", sharedAst.getPreviousSibling());
+    }
+
+    @Test
+    public void testParseExceptionIsRethrown() throws Exception {
+        final FileText text = new FileText(new File("input.java"),
+                Arrays.asList("package com.puppycrawl.tools.checkstyle;", "",
+                    "error public class InputParsedFileCacheIncorrect {}"));
+        final ParsedFileCache cache = new ParsedFileCache();
+        CheckstyleException exception = null;
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                cache.getAst(text);
+                fail("CheckstyleException is expected");
+            }
+            catch (CheckstyleException ex) {
+                if (exception != null) {
+                    assertSame("Parse should not be repeated", exception, ex);
+                }
+                exception = ex;
+            }
+        }
+    }
+
+}
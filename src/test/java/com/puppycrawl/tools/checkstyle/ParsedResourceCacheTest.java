@@ -0,0 +1,67 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class ParsedResourceCacheTest {
+
+    @Test
+    public void testSameContent() {
+        final ParsedResourceCache<Object> cache = new ParsedResourceCache<>();
+        final Object value = new Object();
+        cache.put("location", new byte[] {1, 2, 3}, value);
+
+        assertSame("Cached value expected", value, cache.get("location", new byte[] {1, 2, 3}));
+        assertNull("No value expected for other location",
+            cache.get("other", new byte[] {1, 2, 3}));
+    }
+
+    @Test
+    public void testChangedContent() {
+        final ParsedResourceCache<Object> cache = new ParsedResourceCache<>();
+        final Object value = new Object();
+        cache.put("location", new byte[] {1, 2, 3}, value);
+
+        assertNull("No value expected for other content",
+            cache.get("location", new byte[] {1, 2, 4}));
+        assertNull("No value expected for longer content",
+            cache.get("location", new byte[] {1, 2, 3, 4}));
+
+        final Object newValue = new Object();
+        cache.put("location", new byte[] {1, 2, 4}, newValue);
+        assertSame("New value expected", newValue, cache.get("location", new byte[] {1, 2, 4}));
+        assertNull("Previous value should be replaced",
+            cache.get("location", new byte[] {1, 2, 3}));
+    }
+
+    @Test
+    public void testClear() {
+        final ParsedResourceCache<Object> cache = new ParsedResourceCache<>();
+        cache.put("location", new byte[] {1}, new Object());
+        cache.clear();
+
+        assertNull("No value expected after clear", cache.get("location", new byte[] {1}));
+    }
+
+}
@@ -24,30 +24,27 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.times;
 import static org.powermock.api.mockito.PowerMockito.doNothing;
+import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.verifyStatic;
 import static org.powermock.api.mockito.PowerMockito.when;
 
 import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
-import java.io.Serializable;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Properties;
@@ -61,6 +58,7 @@ import org.mockito.Matchers;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import com.google.common.hash.Hashing;
 import com.google.common.io.BaseEncoding;
 import com.google.common.io.ByteStreams;
 import com.google.common.io.Closeables;
@@ -129,23 +127,47 @@ public class PropertyCacheFileTest extends AbstractPathTestSupport {
     }
 
     @Test
-    public void testCloseAndFlushOutputStreamAfterCreatingHashCode() throws IOException {
-        mockStatic(Closeables.class);
-        doNothing().when(Closeables.class);
-        Closeables.close(any(ObjectOutputStream.class), Matchers.eq(false));
-        mockStatic(Flushables.class);
-        doNothing().when(Flushables.class);
-        Flushables.flush(any(ObjectOutputStream.class), Matchers.eq(false));
+    public void testConfigHashDoesNotDependOnAttributeOrder() throws IOException {
+        final DefaultConfiguration config = new DefaultConfiguration("myName");
+        config.addAttribute("first", "1");
+        config.addAttribute("second", "2");
+        config.addMessage("firstKey", "first message");
+        config.addMessage("secondKey", "second message");
+        final DefaultConfiguration reorderedConfig = new DefaultConfiguration("myName");
+        reorderedConfig.addMessage("secondKey", "second message");
+        reorderedConfig.addMessage("firstKey", "first message");
+        reorderedConfig.addAttribute("second", "2");
+        reorderedConfig.addAttribute("first", "1");
 
-        final Configuration config = new DefaultConfiguration("myName");
-        final PropertyCacheFile cache = new PropertyCacheFile(config, "fileDoesNotExist.txt");
+        final PropertyCacheFile cache = new PropertyCacheFile(config,
+                temporaryFolder.newFile().getPath());
         cache.load();
+        final PropertyCacheFile reorderedCache = new PropertyCacheFile(reorderedConfig,
+                temporaryFolder.newFile().getPath());
+        reorderedCache.load();
 
-        verifyStatic(times(1));
+        assertEquals("Config hash should not depend on the order of attributes",
+                cache.get(PropertyCacheFile.CONFIG_HASH_KEY),
+                reorderedCache.get(PropertyCacheFile.CONFIG_HASH_KEY));
+    }
 
-        Closeables.close(any(ObjectOutputStream.class), Matchers.eq(false));
-        verifyStatic(times(1));
-        Flushables.flush(any(ObjectOutputStream.class), Matchers.eq(false));
+    @Test
+    public void testConfigHashDependsOnStructure() throws IOException {
+        final DefaultConfiguration config = new DefaultConfiguration("myName");
+        config.addAttribute("ab", "c");
+        final DefaultConfiguration shiftedConfig = new DefaultConfiguration("myName");
+        shiftedConfig.addAttribute("a", "bc");
+
+        final PropertyCacheFile cache = new PropertyCacheFile(config,
+                temporaryFolder.newFile().getPath());
+        cache.load();
+        final PropertyCacheFile shiftedCache = new PropertyCacheFile(shiftedConfig,
+                temporaryFolder.newFile().getPath());
+        shiftedCache.load();
+
+        assertNotEquals("Config hash should separate attribute names and values",
+                cache.get(PropertyCacheFile.CONFIG_HASH_KEY),
+                shiftedCache.get(PropertyCacheFile.CONFIG_HASH_KEY));
     }
 
     @Test
@@ -228,21 +250,90 @@ public class PropertyCacheFileTest extends AbstractPathTestSupport {
         resources.add(pathToResource);
         cache.putExternalResources(resources);
 
-        final MessageDigest digest = MessageDigest.getInstance("SHA-1");
         final URI uri = CommonUtils.getUriByFilename(pathToResource);
         final byte[] input =
                 ByteStreams.toByteArray(new BufferedInputStream(uri.toURL().openStream()));
-        final ByteArrayOutputStream out = new ByteArrayOutputStream();
-        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
-            oos.writeObject(input);
-        }
-        digest.update(out.toByteArray());
-        final String expected = BaseEncoding.base16().upperCase().encode(digest.digest());
+        final String expected = BaseEncoding.base16().upperCase()
+                .encode(Hashing.murmur3_128().hashBytes(input).asBytes());
 
         assertEquals("Hashes are not equal", expected,
                 cache.get("module-resource*?:" + pathToResource));
     }
 
+    @Test
+    public void testExternalResourceStampIsSavedInCache() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final PropertyCacheFile cache = new PropertyCacheFile(config,
+                temporaryFolder.newFile().getPath());
+        cache.load();
+
+        final String pathToResource = getPath("InputPropertyCacheFileExternal.properties");
+        cache.putExternalResources(Collections.singleton(pathToResource));
+
+        final File resource = new File(pathToResource);
+        assertEquals("Invalid resource stamp",
+                resource.length() + ":"
+                    + Files.getLastModifiedTime(resource.toPath()).toMillis(),
+                cache.get(PropertyCacheFile.EXTERNAL_RESOURCE_STAMP_KEY_PREFIX + pathToResource));
+    }
+
+    /**
+     * This SuppressWarning("unchecked") required to suppress
+     * "Unchecked generics array creation for varargs parameter" during mock.
+     * @throws IOException when smth wrong with file creation or cache.load
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUnchangedExternalResourceIsNotLoadedAgain() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final String filePath = temporaryFolder.newFile().getPath();
+        final Set<String> resources = Collections.singleton(
+                getPath("InputPropertyCacheFileExternal.properties"));
+        final PropertyCacheFile cache = new PropertyCacheFile(config, filePath);
+        cache.load();
+        cache.putExternalResources(resources);
+        cache.put("myFile", 1);
+        cache.persist();
+
+        mockStatic(ByteStreams.class);
+        when(ByteStreams.toByteArray(any(BufferedInputStream.class)))
+                .thenThrow(IOException.class);
+
+        final PropertyCacheFile cacheOfNextRun = new PropertyCacheFile(config, filePath);
+        cacheOfNextRun.load();
+        cacheOfNextRun.putExternalResources(resources);
+
+        assertTrue("Unchanged resource should not invalidate the cache",
+                cacheOfNextRun.isInCache("myFile", 1));
+    }
+
+    @Test
+    public void testModifiedExternalResourceIsLoadedAgain() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final String filePath = temporaryFolder.newFile().getPath();
+        final File resource = temporaryFolder.newFile("resource.properties");
+        Files.write(resource.toPath(), "key=value".getBytes(StandardCharsets.UTF_8));
+        final String resourceKey =
+                PropertyCacheFile.EXTERNAL_RESOURCE_KEY_PREFIX + resource.getPath();
+        final Set<String> resources = Collections.singleton(resource.getPath());
+        final PropertyCacheFile cache = new PropertyCacheFile(config, filePath);
+        cache.load();
+        cache.putExternalResources(resources);
+        cache.put("myFile", 1);
+        cache.persist();
+
+        Files.write(resource.toPath(), "key=other value".getBytes(StandardCharsets.UTF_8));
+
+        final PropertyCacheFile cacheOfNextRun = new PropertyCacheFile(config, filePath);
+        cacheOfNextRun.load();
+        cacheOfNextRun.putExternalResources(resources);
+
+        assertNotEquals("Resource hash should change", cache.get(resourceKey),
+                cacheOfNextRun.get(resourceKey));
+        assertFalse("Modified resource should invalidate the cache",
+                cacheOfNextRun.isInCache("myFile", 1));
+    }
+
     /**
      * This SuppressWarning("unchecked") required to suppress
      * "Unchecked generics array creation for varargs parameter" during mock.
@@ -328,31 +419,21 @@ public class PropertyCacheFileTest extends AbstractPathTestSupport {
     }
 
     @Test
-    @SuppressWarnings("unchecked")
-    public void testExceptionNoSuchAlgorithmException() throws Exception {
-        final Configuration config = new DefaultConfiguration("myName");
-        final String filePath = temporaryFolder.newFile().getPath();
-        final PropertyCacheFile cache = new PropertyCacheFile(config, filePath);
-        cache.put("myFile", 1);
-        mockStatic(MessageDigest.class);
-
-        when(MessageDigest.getInstance("SHA-1"))
-                .thenThrow(NoSuchAlgorithmException.class);
-
-        final Class<?>[] param = new Class<?>[1];
-        param[0] = Serializable.class;
-        final Method method =
-            PropertyCacheFile.class.getDeclaredMethod("getHashCodeBasedOnObjectContent", param);
-        method.setAccessible(true);
+    public void testExceptionOnReadingConfigAttribute() throws Exception {
+        final Configuration config = mock(Configuration.class);
+        when(config.getAttributeNames()).thenReturn(new String[] {"attr"});
+        final CheckstyleException cause = new CheckstyleException("unreadable");
+        when(config.getAttribute("attr")).thenThrow(cause);
+        final PropertyCacheFile cache = new PropertyCacheFile(config,
+                temporaryFolder.newFile().getPath());
         try {
-            method.invoke(cache, config);
-            fail("InvocationTargetException is expected");
+            cache.load();
+            fail("IllegalStateException is expected");
         }
-        catch (InvocationTargetException ex) {
-            assertTrue("Invalid exception cause",
-                    ex.getCause().getCause() instanceof NoSuchAlgorithmException);
+        catch (IllegalStateException ex) {
+            assertSame("Invalid exception cause", cause, ex.getCause());
             assertEquals("Invalid exception message",
-                    "Unable to calculate hashcode.", ex.getCause().getMessage());
+                    "Unable to calculate hashcode.", ex.getMessage());
         }
     }
 
@@ -470,7 +551,7 @@ public class PropertyCacheFileTest extends AbstractPathTestSupport {
         final PropertyCacheFile cache = new PropertyCacheFile(config, cacheFile.getPath());
         cache.load();
 
-        final String expectedInitialConfigHash = "91753B970AFDF9F5F3DFA0D258064841949D3C6B";
+        final String expectedInitialConfigHash = "512B1DED1807361A17AAC0163ACA3AF5";
         final String actualInitialConfigHash = cache.get(PropertyCacheFile.CONFIG_HASH_KEY);
         assertEquals("Invalid config hash", expectedInitialConfigHash, actualInitialConfigHash);
 
@@ -487,7 +568,7 @@ public class PropertyCacheFileTest extends AbstractPathTestSupport {
             new PropertyCacheFile(config, cacheFile.getPath());
         cacheAfterChangeInConfig.load();
 
-        final String expectedConfigHashAfterChange = "4CF5EC78955B81D76153ACC2CA6D60CB77FDCB2A";
+        final String expectedConfigHashAfterChange = "77DCC1E29E7C1A587084DF53E7E4805C";
         final String actualConfigHashAfterChange =
             cacheAfterChangeInConfig.get(PropertyCacheFile.CONFIG_HASH_KEY);
         assertEquals("Invalid config hash",
@@ -0,0 +1,189 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ShardTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File createFile(String directory, String name, int size) throws IOException {
+        final File dir = new File(temporaryFolder.getRoot(), directory);
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Unable to create " + dir);
+        }
+        final File file = new File(dir, name);
+        Files.write(file.toPath(), new byte[size]);
+        return file;
+    }
+
+    private List<File> createDirectories(int count) throws IOException {
+        final List<File> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            files.add(createFile("dir" + i, "First.java", i));
+            files.add(createFile("dir" + i + "/sub", "Second.java", i));
+            files.add(createFile("dir" + i, "Third.java", i));
+        }
+        return files;
+    }
+
+    @Test
+    public void testParse() {
+        final Shard shard = Shard.parse("2/4", false);
+        assertEquals("Invalid index", 2, shard.getIndex());
+        assertEquals("Invalid count", 4, shard.getCount());
+    }
+
+    @Test
+    public void testParseInvalidFormat() {
+        try {
+            Shard.parse("2-4", false);
+            fail("Exception is expected");
+        }
+        catch (IllegalArgumentException ex) {
+            assertEquals("Invalid exception message",
+                    "Invalid shard '2-4', expected format is <index>/<count>", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testInvalidIndex() {
+        for (String value : Arrays.asList("0/4", "5/4")) {
+            try {
+                Shard.parse(value, false);
+                fail("Exception is expected for " + value);
+            }
+            catch (IllegalArgumentException ex) {
+                assertTrue("Invalid exception message " + ex.getMessage(),
+                        ex.getMessage().startsWith("Shard index must be between 1 and 4"));
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidCount() {
+        try {
+            final Shard shard = new Shard(1, 0, false);
+            fail("Exception is expected, but got " + shard);
+        }
+        catch (IllegalArgumentException ex) {
+            assertEquals("Invalid exception message",
+                    "Number of shards must be greater than zero", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testSelectByHashPartitionsFiles() throws IOException {
+        verifyPartition(createDirectories(20), false);
+    }
+
+    @Test
+    public void testSelectBySizePartitionsFiles() throws IOException {
+        verifyPartition(createDirectories(20), true);
+    }
+
+    private void verifyPartition(List<File> files, boolean weightedBySize) {
+        final String baseDir = temporaryFolder.getRoot().getAbsolutePath();
+        final int count = 3;
+        final Set<File> allSelected = new HashSet<>();
+        int selectedCount = 0;
+        for (int index = 1; index <= count; index++) {
+            final List<File> selected = new Shard(index, count, weightedBySize)
+                    .select(files, baseDir);
+            assertFalse("Shard " + index + " should not be empty", selected.isEmpty());
+            final List<File> expectedOrder = new ArrayList<>(files);
+            expectedOrder.retainAll(selected);
+            assertEquals("Order of files should be kept", expectedOrder, selected);
+            for (File file : selected) {
+                final File sibling = new File(file.getParentFile(), "First.java");
+                if (sibling.exists()) {
+                    assertTrue("Files of a directory should be in the same shard",
+                            selected.contains(sibling));
+                }
+            }
+            allSelected.addAll(selected);
+            selectedCount += selected.size();
+        }
+        assertEquals("Every file should be in exactly one shard", files.size(), selectedCount);
+        assertEquals("Every file should be in a shard", new HashSet<>(files), allSelected);
+    }
+
+    @Test
+    public void testSelectByHashDoesNotDependOnOtherFiles() throws IOException {
+        final String baseDir = temporaryFolder.getRoot().getAbsolutePath();
+        final List<File> files = createDirectories(20);
+        final List<File> reversed = new ArrayList<>(files);
+        Collections.reverse(reversed);
+        final Shard shard = new Shard(2, 3, false);
+
+        final List<File> selected = shard.select(files, baseDir);
+        final List<File> selectedOfReversed = shard.select(reversed, baseDir);
+        assertEquals("Selection should not depend on order of files",
+                new HashSet<>(selected), new HashSet<>(selectedOfReversed));
+
+        final List<File> part = files.subList(0, 30);
+        final List<File> expected = new ArrayList<>(selected);
+        expected.retainAll(part);
+        assertEquals("Selection should not depend on other files",
+                expected, shard.select(part, baseDir));
+    }
+
+    @Test
+    public void testSelectBySizeBalancesShards() throws IOException {
+        final String baseDir = temporaryFolder.getRoot().getAbsolutePath();
+        final File big = createFile("big", "Big.java", 1000);
+        final File medium = createFile("medium", "Medium.java", 600);
+        final File small = createFile("small", "Small.java", 500);
+        final List<File> files = Arrays.asList(small, big, medium);
+
+        assertEquals("Invalid first shard", Collections.singletonList(big),
+                new Shard(1, 2, true).select(files, baseDir));
+        assertEquals("Invalid second shard", Arrays.asList(small, medium),
+                new Shard(2, 2, true).select(files, baseDir));
+    }
+
+    @Test
+    public void testSelectFileWithoutDirectory() {
+        final File root = File.listRoots()[0];
+        final List<File> files = Collections.singletonList(root);
+        assertEquals("File should be selected by the single shard",
+                files, new Shard(1, 1, false).select(files, root.getAbsolutePath()));
+    }
+
+}
@@ -22,7 +22,6 @@ package com.puppycrawl.tools.checkstyle;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
-import static org.junit.Assert.fail;
 
 import java.util.Set;
 
@@ -43,15 +42,8 @@ public class ThreadModeSettingsTest {
     public void testResolveCheckerInMultiThreadMode() {
         final ThreadModeSettings configuration = new ThreadModeSettings(2, 2);
 
-        try {
-            configuration.resolveName(ThreadModeSettings.CHECKER_MODULE_NAME);
-            fail("An exception is expected");
-        }
-        catch (IllegalArgumentException ex) {
-            assertEquals("Invalid exception message",
-                    "Multi thread mode for Checker module is not implemented",
-                    ex.getMessage());
-        }
+        assertEquals("Invalid name resolved", ThreadModeSettings.CHECKER_MODULE_NAME,
+                configuration.resolveName(ThreadModeSettings.CHECKER_MODULE_NAME));
     }
 
     @Test
@@ -66,15 +58,8 @@ public class ThreadModeSettingsTest {
     public void testResolveTreeWalker() {
         final ThreadModeSettings configuration = new ThreadModeSettings(2, 2);
 
-        try {
-            configuration.resolveName(ThreadModeSettings.TREE_WALKER_MODULE_NAME);
-            fail("Exception is expected");
-        }
-        catch (IllegalArgumentException ex) {
-            assertEquals("Invalid exception message",
-                    "Multi thread mode for TreeWalker module is not implemented",
-                    ex.getMessage());
-        }
+        assertEquals("Invalid name resolved", ThreadModeSettings.TREE_WALKER_MODULE_NAME,
+                configuration.resolveName(ThreadModeSettings.TREE_WALKER_MODULE_NAME));
     }
 
     @Test
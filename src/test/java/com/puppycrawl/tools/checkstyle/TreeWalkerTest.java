@@ -21,6 +21,8 @@ package com.puppycrawl.tools.checkstyle;
 
 import static com.puppycrawl.tools.checkstyle.checks.naming.AbstractNameCheck.MSG_INVALID_PATTERN;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -34,10 +36,17 @@ import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -49,6 +58,7 @@ import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
 import com.puppycrawl.tools.checkstyle.api.Context;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.checks.coding.HiddenFieldCheck;
@@ -521,6 +531,101 @@ public class TreeWalkerTest extends AbstractModuleTestSupport {
                                 "InputTreeWalkerSuppressionXpathFilter.xml"));
     }
 
+    @Test
+    public void testFilesPatternSelectsTreeWalker() throws Exception {
+        final DefaultConfiguration servicesConfig = createModuleConfig(TreeWalker.class);
+        servicesConfig.addAttribute("files", "^services/");
+        servicesConfig.addChild(createModuleConfig(ConstantNameCheck.class));
+        final DefaultConfiguration toolsConfig = createModuleConfig(TreeWalker.class);
+        toolsConfig.addAttribute("files", "^tools/");
+        toolsConfig.addChild(createModuleConfig(MemberNameCheck.class));
+        final DefaultConfiguration checkerConfig = createRootConfig(servicesConfig);
+        checkerConfig.addChild(toolsConfig);
+        checkerConfig.addAttribute("basedir", temporaryFolder.getRoot().getPath());
+
+        final File file = new File(temporaryFolder.newFolder("tools"), "Main.java");
+        final String content = "public class Main { public static final int k = 5 + 4; int M; }";
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+
+        final String[] expected = {
+            "1:60: " + getCheckMessage(MemberNameCheck.class,
+                    MSG_INVALID_PATTERN, "M", "^[a-z][a-zA-Z0-9]*$"),
+        };
+        verify(createChecker(checkerConfig), file.getPath(),
+                "tools" + File.separator + "Main.java", expected);
+    }
+
+    @Test
+    public void testParseIsSharedByTreeWalkers() throws Exception {
+        final DefaultConfiguration firstConfig = createModuleConfig(TreeWalker.class);
+        firstConfig.addChild(createModuleConfig(RootRecordingCheck.class));
+        final DefaultConfiguration secondConfig = createModuleConfig(TreeWalker.class);
+        secondConfig.addChild(createModuleConfig(RootRecordingCheck.class));
+        final DefaultConfiguration checkerConfig = createRootConfig(firstConfig);
+        checkerConfig.addChild(secondConfig);
+
+        final Checker checker = createChecker(checkerConfig);
+        RootRecordingCheck.ROOTS.clear();
+        verify(checker, getPath("InputTreeWalker.java"), CommonUtils.EMPTY_STRING_ARRAY);
+
+        assertEquals("Invalid number of walks", 2, RootRecordingCheck.ROOTS.size());
+        assertSame("Tree should be shared",
+                RootRecordingCheck.ROOTS.get(0), RootRecordingCheck.ROOTS.get(1));
+        assertTrue("Parse should be released after the audit",
+                checker.getParsedFileCache().isEmpty());
+    }
+
+    @Test
+    public void testChecksInMultiThreadMode() throws Exception {
+        final DefaultConfiguration firstConfig = createModuleConfig(TreeWalker.class);
+        firstConfig.addChild(createModuleConfig(StatelessRecordingCheck.class));
+        firstConfig.addChild(createModuleConfig(FileStatefulRecordingCheck.class));
+        final DefaultConfiguration secondConfig = createModuleConfig(TreeWalker.class);
+        secondConfig.addChild(createModuleConfig(GlobalStatefulRecordingCheck.class));
+        final DefaultConfiguration checkerConfig =
+                new DefaultConfiguration("root", new ThreadModeSettings(4, 1));
+        checkerConfig.addChild(firstConfig);
+        checkerConfig.addChild(secondConfig);
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+
+        AbstractRecordingCheck.THREADS.clear();
+        AbstractRecordingCheck.WALKS.set(0);
+        GlobalStatefulRecordingCheck.OVERLAPPED.set(false);
+        final int filesNumber = 32;
+        final List<File> files =
+                Collections.nCopies(filesNumber, new File(getPath("InputTreeWalker.java")));
+        checker.process(files);
+        checker.destroy();
+
+        final Map<AbstractCheck, Set<Thread>> statelessThreads =
+                getThreads(StatelessRecordingCheck.class);
+        assertEquals("Stateless check should be shared by all threads",
+                1, statelessThreads.size());
+        final Map<AbstractCheck, Set<Thread>> fileStatefulThreads =
+                getThreads(FileStatefulRecordingCheck.class);
+        for (Set<Thread> threads : fileStatefulThreads.values()) {
+            assertEquals("File stateful check should be used by one thread", 1, threads.size());
+        }
+        assertEquals("Every thread should have its own file stateful check",
+                statelessThreads.values().iterator().next().size(),
+                fileStatefulThreads.size());
+        assertEquals("Global stateful check should be shared by all threads",
+                1, getThreads(GlobalStatefulRecordingCheck.class).size());
+        assertFalse("Global stateful check should check one file at a time",
+                GlobalStatefulRecordingCheck.OVERLAPPED.get());
+        assertEquals("Invalid number of walks",
+                filesNumber * 3, AbstractRecordingCheck.WALKS.get());
+    }
+
+    private static Map<AbstractCheck, Set<Thread>> getThreads(
+            Class<? extends AbstractRecordingCheck> checkClass) {
+        return AbstractRecordingCheck.THREADS.entrySet().stream()
+                .filter(entry -> entry.getKey().getClass() == checkClass)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
     private static class BadJavaDocCheck extends AbstractCheck {
 
         @Override
@@ -540,6 +645,32 @@ public class TreeWalkerTest extends AbstractModuleTestSupport {
 
     }
 
+    private static class RootRecordingCheck extends AbstractCheck {
+
+        private static final List<DetailAST> ROOTS = new ArrayList<>();
+
+        @Override
+        public int[] getDefaultTokens() {
+            return getRequiredTokens();
+        }
+
+        @Override
+        public int[] getAcceptableTokens() {
+            return getRequiredTokens();
+        }
+
+        @Override
+        public int[] getRequiredTokens() {
+            return new int[] {TokenTypes.CLASS_DEF};
+        }
+
+        @Override
+        public void beginTree(DetailAST rootAST) {
+            ROOTS.add(rootAST);
+        }
+
+    }
+
     private static class VerifyInitCheck extends AbstractCheck {
 
         private static boolean initWasCalled;
@@ -653,4 +784,67 @@ public class TreeWalkerTest extends AbstractModuleTestSupport {
 
     }
 
+    private abstract static class AbstractRecordingCheck extends AbstractCheck {
+
+        private static final Map<AbstractCheck, Set<Thread>> THREADS =
+                new ConcurrentHashMap<>();
+
+        private static final AtomicInteger WALKS = new AtomicInteger();
+
+        @Override
+        public int[] getDefaultTokens() {
+            return getRequiredTokens();
+        }
+
+        @Override
+        public int[] getAcceptableTokens() {
+            return getRequiredTokens();
+        }
+
+        @Override
+        public int[] getRequiredTokens() {
+            return new int[] {TokenTypes.CLASS_DEF};
+        }
+
+        @Override
+        public void beginTree(DetailAST rootAST) {
+            THREADS.computeIfAbsent(this, check -> ConcurrentHashMap.newKeySet())
+                    .add(Thread.currentThread());
+            WALKS.incrementAndGet();
+        }
+
+    }
+
+    @StatelessCheck
+    private static class StatelessRecordingCheck extends AbstractRecordingCheck {
+        // only the instance is recorded
+    }
+
+    @FileStatefulCheck
+    private static class FileStatefulRecordingCheck extends AbstractRecordingCheck {
+        // only the instance is recorded
+    }
+
+    @GlobalStatefulCheck
+    private static class GlobalStatefulRecordingCheck extends AbstractRecordingCheck {
+
+        private static final AtomicBoolean OVERLAPPED = new AtomicBoolean();
+
+        private final AtomicInteger activeWalks = new AtomicInteger();
+
+        @Override
+        public void beginTree(DetailAST rootAST) {
+            super.beginTree(rootAST);
+            if (activeWalks.incrementAndGet() > 1) {
+                OVERLAPPED.set(true);
+            }
+        }
+
+        @Override
+        public void finishTree(DetailAST rootAST) {
+            activeWalks.decrementAndGet();
+        }
+
+    }
+
 }
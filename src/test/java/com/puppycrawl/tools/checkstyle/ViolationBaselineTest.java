@@ -0,0 +1,258 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+
+public class ViolationBaselineTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testAddAndContains() {
+        final ViolationBaseline baseline = new ViolationBaseline();
+        for (long fingerprint = 1; fingerprint <= 1000; fingerprint++) {
+            assertTrue("Fingerprint should be added", baseline.add(fingerprint * 31));
+        }
+        assertFalse("Fingerprint should not be added twice", baseline.add(31));
+        assertEquals("Invalid size", 1000, baseline.size());
+        for (long fingerprint = 1; fingerprint <= 1000; fingerprint++) {
+            assertTrue("Baseline should contain fingerprint", baseline.contains(fingerprint * 31));
+        }
+        assertFalse("Baseline should not contain fingerprint", baseline.contains(30));
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        final ViolationBaseline baseline = new ViolationBaseline();
+        baseline.add(Long.MIN_VALUE);
+        baseline.add(-1);
+        baseline.add(Long.MAX_VALUE);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        baseline.save(out);
+
+        final ViolationBaseline loaded = new ViolationBaseline();
+        loaded.load(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals("Invalid size", 3, loaded.size());
+        assertTrue("Loaded baseline should contain fingerprint", loaded.contains(Long.MIN_VALUE));
+        assertTrue("Loaded baseline should contain fingerprint", loaded.contains(-1));
+        assertTrue("Loaded baseline should contain fingerprint", loaded.contains(Long.MAX_VALUE));
+
+        final ByteArrayOutputStream again = new ByteArrayOutputStream();
+        loaded.save(again);
+        assertEquals("Saved baseline should not depend on the order of additions",
+                new String(out.toByteArray(), StandardCharsets.ISO_8859_1),
+                new String(again.toByteArray(), StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void testOccurrences() throws IOException {
+        final ViolationBaseline baseline = new ViolationBaseline();
+        assertTrue("Fingerprint should be added", baseline.add(7));
+        assertFalse("Fingerprint should be counted", baseline.add(7));
+        baseline.add(8);
+        assertEquals("Invalid size", 2, baseline.size());
+        assertEquals("Invalid occurrences", 2, baseline.getOccurrences(7));
+        assertEquals("Invalid occurrences", 1, baseline.getOccurrences(8));
+        assertEquals("Invalid occurrences", 0, baseline.getOccurrences(9));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        baseline.save(out);
+
+        final ViolationBaseline loaded = new ViolationBaseline();
+        loaded.load(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals("Loaded baseline should keep occurrences", 2, loaded.getOccurrences(7));
+        assertEquals("Loaded baseline should keep occurrences", 1, loaded.getOccurrences(8));
+    }
+
+    @Test
+    public void testMatchCountsOccurrencesPerFile() throws IOException {
+        final File file = temporaryFolder.newFile("Input.java");
+        Files.write(file.toPath(), "int a = 42;\nint a = 42;\nint a = 42;\n"
+                .getBytes(StandardCharsets.UTF_8));
+        final String fileName = file.getPath();
+        final ViolationBaseline baseline = new ViolationBaseline();
+        baseline.add(baseline.getFingerprint(createEvent(fileName, 1, "magic.number", null)));
+        baseline.add(baseline.getFingerprint(createEvent(fileName, 2, "magic.number", null)));
+
+        assertTrue("First occurrence should match",
+                baseline.match(createEvent(fileName, 1, "magic.number", null)));
+        assertTrue("Second occurrence should match",
+                baseline.match(createEvent(fileName, 2, "magic.number", null)));
+        assertFalse("Third occurrence should be new",
+                baseline.match(createEvent(fileName, 3, "magic.number", null)));
+        assertFalse("Unknown violation should be new",
+                baseline.match(createEvent(fileName, 1, "other.key", null)));
+
+        final String otherFileName = new File(temporaryFolder.getRoot(), "Other.java").getPath();
+        baseline.match(createEvent(otherFileName, 1, "magic.number", null));
+        assertTrue("Matches should be counted again for the next file",
+                baseline.match(createEvent(fileName, 1, "magic.number", null)));
+    }
+
+    @Test
+    public void testLoadInvalidOccurrences() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ViolationBaseline empty = new ViolationBaseline();
+        empty.save(out);
+        final byte[] header = out.toByteArray();
+        final ByteBuffer data = ByteBuffer.allocate(header.length + 12)
+                .put(header, 0, header.length - 4)
+                .putInt(1)
+                .putLong(1)
+                .putInt(0);
+        final ViolationBaseline baseline = new ViolationBaseline();
+        try {
+            baseline.load(new ByteArrayInputStream(data.array()));
+            fail("Exception is expected");
+        }
+        catch (IOException ex) {
+            assertEquals("Invalid exception message",
+                    "Invalid occurrences in baseline file", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testLoadInvalidFormat() {
+        final ViolationBaseline baseline = new ViolationBaseline();
+        try {
+            baseline.load(new ByteArrayInputStream(
+                    "<?xml version=\"1.0\"?>".getBytes(StandardCharsets.UTF_8)));
+            fail("Exception is expected");
+        }
+        catch (IOException ex) {
+            assertEquals("Invalid exception message",
+                    "Unsupported baseline file format", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testLoadInvalidFingerprint() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ViolationBaseline empty = new ViolationBaseline();
+        empty.save(out);
+        final byte[] header = out.toByteArray();
+        final ByteBuffer data = ByteBuffer.allocate(header.length + 8)
+                .put(header, 0, header.length - 4)
+                .putInt(1)
+                .putLong(0);
+        final ViolationBaseline baseline = new ViolationBaseline();
+        try {
+            baseline.load(new ByteArrayInputStream(data.array()));
+            fail("Exception is expected");
+        }
+        catch (IOException ex) {
+            assertEquals("Invalid exception message",
+                    "Invalid fingerprint in baseline file", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testFingerprintIgnoresLineNumberAndWhitespace() throws IOException {
+        final File file = temporaryFolder.newFile("Input.java");
+        final String fileName = file.getPath();
+        Files.write(file.toPath(), "class A {\n    int a = 42;\n}\n"
+                .getBytes(StandardCharsets.UTF_8));
+        final long fingerprint = getFingerprint(fileName, 2, "magic.number", null);
+        Files.write(file.toPath(), "\n\nclass A {\n\tint a=42 ;\n}\n"
+                .getBytes(StandardCharsets.UTF_8));
+        assertEquals("Fingerprints should not depend on line number and whitespace",
+                fingerprint, getFingerprint(fileName, 4, "magic.number", null));
+        assertNotEquals("Fingerprints should depend on the file name", fingerprint,
+                getFingerprint(fileName.replace("Input", "Other"), 2, "magic.number", null));
+    }
+
+    @Test
+    public void testFingerprintDependsOnLineContent() throws IOException {
+        final File file = temporaryFolder.newFile("Input.java");
+        Files.write(file.toPath(), "int a = 42;\nint b = 42;\n int a=42;\n"
+                .getBytes(StandardCharsets.UTF_8));
+        final String fileName = file.getPath();
+        assertNotEquals("Fingerprints should depend on line content",
+                getFingerprint(fileName, 1, "magic.number", null),
+                getFingerprint(fileName, 2, "magic.number", null));
+        assertEquals("Fingerprints should not depend on whitespace",
+                getFingerprint(fileName, 1, "magic.number", null),
+                getFingerprint(fileName, 3, "magic.number", null));
+    }
+
+    @Test
+    public void testFingerprintDependsOnKeyAndModule() throws IOException {
+        final File file = temporaryFolder.newFile("Input.java");
+        Files.write(file.toPath(), "int a = 42;\n".getBytes(StandardCharsets.UTF_8));
+        final String fileName = file.getPath();
+        final long fingerprint = getFingerprint(fileName, 1, "magic.number", null);
+        assertNotEquals("Fingerprints should depend on message key", fingerprint,
+                getFingerprint(fileName, 1, "other.key", null));
+        assertNotEquals("Fingerprints should depend on module id", fingerprint,
+                getFingerprint(fileName, 1, "magic.number", "moduleId"));
+    }
+
+    @Test
+    public void testFingerprintOfUnreadableFile() {
+        final String fileName = new File(temporaryFolder.getRoot(), "Missing.java").getPath();
+        final long fingerprint = getFingerprint(fileName, 1, "magic.number", null);
+        assertNotEquals("Fingerprint should never be zero", 0, fingerprint);
+        assertEquals("Fingerprint should not depend on line of unreadable file", fingerprint,
+                getFingerprint(fileName, 2, "magic.number", null));
+    }
+
+    @Test
+    public void testFingerprintOfLineOutsideFile() throws IOException {
+        final File file = temporaryFolder.newFile("Input.java");
+        Files.write(file.toPath(), "int a = 42;\n".getBytes(StandardCharsets.UTF_8));
+        final String fileName = file.getPath();
+        assertEquals("Fingerprints of lines outside the file should be equal",
+                getFingerprint(fileName, 0, "magic.number", null),
+                getFingerprint(fileName, 2, "magic.number", null));
+    }
+
+    private static long getFingerprint(String fileName, int line, String key, String moduleId) {
+        return new ViolationBaseline().getFingerprint(createEvent(fileName, line, key, moduleId));
+    }
+
+    private static AuditEvent createEvent(String fileName, int line, String key,
+            String moduleId) {
+        final LocalizedMessage message = new LocalizedMessage(line, 1, "messages", key, null,
+                SeverityLevel.ERROR, moduleId, ViolationBaselineTest.class, null);
+        return new AuditEvent(ViolationBaselineTest.class, fileName, message);
+    }
+
+}
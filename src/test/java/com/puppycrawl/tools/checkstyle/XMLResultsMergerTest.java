@@ -0,0 +1,121 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+
+import org.junit.Test;
+import org.xml.sax.SAXException;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+import com.puppycrawl.tools.checkstyle.internal.utils.CloseAndFlushTestByteArrayOutputStream;
+
+// -@cs[AbbreviationAsWordInName] Test should be named as its main class.
+public class XMLResultsMergerTest extends AbstractXmlTestSupport {
+
+    @Override
+    protected String getPackageLocation() {
+        return "com/puppycrawl/tools/checkstyle/xmlresultsmerger";
+    }
+
+    @Test
+    public void testMerge() throws Exception {
+        final XMLResultsMerger merger = new XMLResultsMerger();
+        merger.addReport(new File(getPath("InputXMLResultsMergerShard1.xml")));
+        merger.addReport(new File(getPath("InputXMLResultsMergerShard2.xml")));
+
+        assertEquals("Invalid number of errors", 2, merger.getCount(SeverityLevel.ERROR));
+        assertEquals("Invalid number of warnings", 1, merger.getCount(SeverityLevel.WARNING));
+        assertEquals("Invalid number of infos", 1, merger.getCount(SeverityLevel.INFO));
+        assertEquals("Invalid number of ignored", 0, merger.getCount(SeverityLevel.IGNORE));
+
+        final CloseAndFlushTestByteArrayOutputStream outStream =
+                new CloseAndFlushTestByteArrayOutputStream();
+        merger.write(outStream);
+
+        assertEquals("Stream should not be closed", 0, outStream.getCloseCount());
+        verifyXml(getPath("ExpectedXMLResultsMerger.xml"), outStream);
+    }
+
+    @Test
+    public void testMergeIsIndependentOfReportOrder() throws Exception {
+        final XMLResultsMerger merger = new XMLResultsMerger();
+        merger.addReport(new File(getPath("InputXMLResultsMergerShard2.xml")));
+        merger.addReport(new File(getPath("InputXMLResultsMergerShard1.xml")));
+
+        final CloseAndFlushTestByteArrayOutputStream outStream =
+                new CloseAndFlushTestByteArrayOutputStream();
+        merger.write(outStream);
+
+        verifyXml(getPath("ExpectedXMLResultsMerger.xml"), outStream);
+    }
+
+    @Test
+    public void testInvalidSeverity() throws Exception {
+        final File report = new File(getPath("InputXMLResultsMergerInvalidSeverity.xml"));
+        try {
+            new XMLResultsMerger().addReport(report);
+            fail("Exception is expected");
+        }
+        catch (CheckstyleException ex) {
+            assertEquals("Invalid exception message",
+                    "Unable to read report " + report.getPath(), ex.getMessage());
+            assertTrue("Invalid exception cause", ex.getCause() instanceof SAXException);
+            assertEquals("Invalid exception cause message",
+                    "Invalid severity level fatal", ex.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testReportWithExternalEntity() throws Exception {
+        final File report = new File(getPath("InputXMLResultsMergerExternalEntity.xml"));
+        final XMLResultsMerger merger = new XMLResultsMerger();
+        try {
+            merger.addReport(report);
+            fail("Exception is expected");
+        }
+        catch (CheckstyleException ex) {
+            assertEquals("Invalid exception message",
+                    "Unable to read report " + report.getPath(), ex.getMessage());
+            assertTrue("Document type should be rejected",
+                    ex.getCause().getMessage().contains("DOCTYPE"));
+        }
+        assertEquals("Entity should not be included", 0, merger.getCount(SeverityLevel.ERROR));
+    }
+
+    @Test
+    public void testMalformedReport() throws Exception {
+        final File report = new File(getPath("InputXMLResultsMergerMalformed.xml"));
+        try {
+            new XMLResultsMerger().addReport(report);
+            fail("Exception is expected");
+        }
+        catch (CheckstyleException ex) {
+            assertEquals("Invalid exception message",
+                    "Unable to read report " + report.getPath(), ex.getMessage());
+        }
+    }
+
+}
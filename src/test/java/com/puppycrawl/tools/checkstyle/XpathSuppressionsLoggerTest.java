@@ -0,0 +1,222 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.TreeSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AutomaticBean;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+import com.puppycrawl.tools.checkstyle.checks.blocks.LeftCurlyCheck;
+
+public class XpathSuppressionsLoggerTest extends AbstractPathTestSupport {
+
+    private static final String EOL = System.getProperty("line.separator");
+
+    private static final String HEADER = "<?xml version=\"1.0\"?>" + EOL
+            + "<!DOCTYPE suppressions PUBLIC" + EOL
+            + "    \"-//Puppy Crawl//DTD Suppressions Xpath Experimental 1.2//EN\"" + EOL
+            + "    \"http://checkstyle.sourceforge.net/dtds/"
+            + "suppressions_1_2_xpath_experimental.dtd\">" + EOL
+            + "<suppressions>" + EOL;
+
+    private static final String FOOTER = "</suppressions>" + EOL;
+
+    private static final String FILES_PATTERN = "(^|[\\\\/])src[\\\\/]test[\\\\/]resources"
+            + "[\\\\/]com[\\\\/]puppycrawl[\\\\/]tools[\\\\/]checkstyle"
+            + "[\\\\/]xpathsuppressionslogger[\\\\/]InputXpathSuppressionsLogger\\.java$";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Override
+    protected String getPackageLocation() {
+        return "com/puppycrawl/tools/checkstyle/xpathsuppressionslogger";
+    }
+
+    private static String getNonCompilablePath(String filename) {
+        return "src/test/resources-noncompilable/com/puppycrawl/tools/checkstyle/"
+                + "xpathsuppressionslogger/" + filename;
+    }
+
+    @Test
+    public void testWritesSuppressions() throws Exception {
+        final TestOutputStream out = new TestOutputStream();
+        final XpathSuppressionsLogger logger =
+                new XpathSuppressionsLogger(out, AutomaticBean.OutputStreamOptions.CLOSE);
+        logger.setCharset(StandardCharsets.UTF_8.name());
+        logger.finishLocalSetup();
+        final String fileName = getPath("InputXpathSuppressionsLogger.java");
+        final AuditEvent classEvent =
+                createEvent(fileName, 3, 42, SeverityLevel.ERROR, null);
+        logger.auditStarted(null);
+        logger.fileStarted(classEvent);
+        logger.addError(classEvent);
+        logger.addError(createEvent(fileName, 4, 1, SeverityLevel.WARNING, "fieldId"));
+        logger.addError(classEvent);
+        logger.addError(createEvent(fileName, 4, 1, SeverityLevel.IGNORE, null));
+        logger.addError(createEvent(fileName, 0, 0, SeverityLevel.ERROR, null));
+        logger.addError(createEvent(fileName, 4, 0, SeverityLevel.ERROR, null));
+        logger.addException(classEvent, new IllegalStateException("Test"));
+        logger.fileFinished(classEvent);
+        logger.auditFinished(null);
+
+        assertTrue("Stream should be closed", out.closed);
+        final String expected = HEADER
+            + "<suppress-xpath files=\"" + FILES_PATTERN + "\" checks=\"LeftCurly\""
+            + " query=\"/CLASS_DEF[@text=&apos;InputXpathSuppressionsLogger&apos;]/OBJBLOCK"
+            + " | /CLASS_DEF[@text=&apos;InputXpathSuppressionsLogger&apos;]/OBJBLOCK/LCURLY\"/>"
+            + EOL
+            + "<suppress-xpath files=\"" + FILES_PATTERN + "\" id=\"fieldId\""
+            + " query=\"/CLASS_DEF[@text=&apos;InputXpathSuppressionsLogger&apos;]"
+            + "/OBJBLOCK/VARIABLE_DEF[@text=&apos;field&apos;]"
+            + " | /CLASS_DEF[@text=&apos;InputXpathSuppressionsLogger&apos;]"
+            + "/OBJBLOCK/VARIABLE_DEF[@text=&apos;field&apos;]/MODIFIERS"
+            + " | /CLASS_DEF[@text=&apos;InputXpathSuppressionsLogger&apos;]"
+            + "/OBJBLOCK/VARIABLE_DEF[@text=&apos;field&apos;]/TYPE"
+            + " | /CLASS_DEF[@text=&apos;InputXpathSuppressionsLogger&apos;]"
+            + "/OBJBLOCK/VARIABLE_DEF[@text=&apos;field&apos;]/TYPE/LITERAL_INT\"/>" + EOL
+            + FOOTER;
+        assertEquals("Unexpected suppressions", expected,
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSkipsFilesWithoutAst() throws Exception {
+        final TestOutputStream out = new TestOutputStream();
+        final XpathSuppressionsLogger logger =
+                new XpathSuppressionsLogger(out, AutomaticBean.OutputStreamOptions.NONE);
+        logger.auditStarted(null);
+        for (String fileName : new String[] {
+            getNonCompilablePath("InputXpathSuppressionsLoggerUnparsable.java"),
+            getPath("InputXpathSuppressionsLoggerMissing.java"),
+            getPath("InputXpathSuppressionsLogger.properties"),
+        }) {
+            final AuditEvent event = createEvent(fileName, 3, 1, SeverityLevel.ERROR, null);
+            logger.fileStarted(event);
+            logger.addError(event);
+            logger.fileFinished(event);
+        }
+        logger.auditFinished(null);
+
+        assertFalse("Stream should not be closed", out.closed);
+        final String output = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue("Header expected", output.startsWith(HEADER));
+        assertTrue("Footer expected", output.endsWith(FOOTER));
+        assertFalse("No suppressions expected", output.contains("<suppress-xpath"));
+        assertTrue("Missing file should be named", output.contains("<!-- Violations of "
+                + getPath("InputXpathSuppressionsLoggerMissing.java")
+                + " can not be suppressed: "));
+        assertFalse("Other files should be skipped", output.contains(".properties"));
+    }
+
+    @Test
+    public void testWritesRelativePathPattern() throws Exception {
+        final TestOutputStream out = new TestOutputStream();
+        final XpathSuppressionsLogger logger =
+                new XpathSuppressionsLogger(out, AutomaticBean.OutputStreamOptions.CLOSE);
+        logger.setCharset(StandardCharsets.UTF_8.name());
+        logger.setBasedir(Paths.get(getPath("")).getParent().toString());
+        final AuditEvent event = createEvent("xpathsuppressionslogger"
+                + File.separator + "InputXpathSuppressionsLogger.java",
+                4, 1, SeverityLevel.ERROR, null);
+        logger.auditStarted(null);
+        logger.fileStarted(event);
+        logger.addError(event);
+        logger.fileFinished(event);
+        logger.auditFinished(null);
+
+        final String output = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue("Relative path pattern expected", output.contains("<suppress-xpath files=\""
+                + "(^|[\\\\/])xpathsuppressionslogger[\\\\/]"
+                + "InputXpathSuppressionsLogger\\.java$\""));
+    }
+
+    @Test
+    public void testUsesTextOfCheckerAndCharIndexes() throws Exception {
+        final TestOutputStream out = new TestOutputStream();
+        final XpathSuppressionsLogger logger =
+                new XpathSuppressionsLogger(out, AutomaticBean.OutputStreamOptions.CLOSE);
+        final File file = temporaryFolder.newFile("InputNotWritten.java");
+        final String fileName = file.getPath();
+        final FileText text = new FileText(file,
+                Arrays.asList("class InputNotWritten {", "\tint field;", "}"));
+        final Checker checker = new Checker();
+        checker.setCharset(StandardCharsets.UTF_8.name());
+        checker.addListener(logger);
+        final AuditEvent fileEvent = new AuditEvent(this, fileName);
+        logger.auditStarted(null);
+        logger.fileStarted(fileEvent);
+        checker.fireErrors(fileName, new TreeSet<>(Collections.singleton(
+                createMessage(2, 9, 1, SeverityLevel.ERROR, null))),
+                Collections.singletonMap(StandardCharsets.UTF_8.name(), text));
+        logger.fileFinished(fileEvent);
+        logger.auditFinished(null);
+
+        final String output = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue("Suppression from the text of the checker instead of the file expected",
+                output.contains(" checks=\"LeftCurly\""
+                    + " query=\"/CLASS_DEF[@text=&apos;InputNotWritten&apos;]"
+                    + "/OBJBLOCK/VARIABLE_DEF[@text=&apos;field&apos;] | "));
+        assertTrue("Absolute path pattern expected outside of the working directory",
+                output.contains(temporaryFolder.getRoot().getName() + "[\\\\/]"
+                + "InputNotWritten\\.java$\""));
+    }
+
+    private static AuditEvent createEvent(String fileName, int line, int columnCharIndex,
+            SeverityLevel severity, String moduleId) {
+        return new AuditEvent(XpathSuppressionsLoggerTest.class, fileName,
+                createMessage(line, columnCharIndex + 1, columnCharIndex, severity, moduleId));
+    }
+
+    private static LocalizedMessage createMessage(int line, int column, int columnCharIndex,
+            SeverityLevel severity, String moduleId) {
+        return new LocalizedMessage(line, column, columnCharIndex, 0, "messages", "key",
+                null, severity, moduleId, LeftCurlyCheck.class, null);
+    }
+
+    private static class TestOutputStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+}
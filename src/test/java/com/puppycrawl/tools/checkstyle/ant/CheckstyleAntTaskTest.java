@@ -21,6 +21,7 @@ package com.puppycrawl.tools.checkstyle.ant;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -60,6 +61,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 
 import com.google.common.io.Closeables;
 import com.puppycrawl.tools.checkstyle.AbstractPathTestSupport;
+import com.puppycrawl.tools.checkstyle.Checker;
 import com.puppycrawl.tools.checkstyle.DefaultLogger;
 import com.puppycrawl.tools.checkstyle.Definitions;
 import com.puppycrawl.tools.checkstyle.XMLLogger;
@@ -405,6 +407,87 @@ public class CheckstyleAntTaskTest extends AbstractPathTestSupport {
         assertEquals(errorMessage, auditFinishedMessage.getMessage(), output.get(4));
     }
 
+    @Test
+    public final void testFailFast() throws IOException {
+        final CheckstyleAntTask antTask = getCheckstyleAntTask();
+        antTask.setFile(new File(getPath(VIOLATED_INPUT)));
+        final FileSet examinationFileSet = new FileSet();
+        examinationFileSet.setFile(new File(getPath(FLAWLESS_INPUT)));
+        antTask.addFileset(examinationFileSet);
+        antTask.setFailOnViolation(false);
+        antTask.setMaxErrors(1);
+        antTask.setFailFast(true);
+
+        final CheckstyleAntTask.Formatter formatter = new CheckstyleAntTask.Formatter();
+        final File outputFile = new File("target/ant_task_fail_fast_output.txt");
+        formatter.setTofile(outputFile);
+        final CheckstyleAntTask.FormatterType formatterType = new CheckstyleAntTask.FormatterType();
+        formatterType.setValue("plain");
+        formatter.setType(formatterType);
+        formatter.createListener(null);
+
+        antTask.addFormatter(formatter);
+        antTask.execute();
+
+        final LocalizedMessage auditTruncatedMessage = new LocalizedMessage(0,
+                Definitions.CHECKSTYLE_BUNDLE, Checker.AUDIT_TRUNCATED_MSG,
+                new String[] {"2", "0", "1"}, null,
+                getClass(), null);
+
+        final List<String> output = FileUtils.readLines(outputFile, StandardCharsets.UTF_8);
+        assertTrue("Audit truncated message is expected, but was " + output,
+                output.contains(auditTruncatedMessage.getMessage()));
+        assertFalse("Skipped file should not be checked, but was " + output,
+                output.stream().anyMatch(line -> line.contains(FLAWLESS_INPUT)));
+    }
+
+    @Test
+    public final void testShard() throws IOException {
+        TestRootModuleChecker.reset();
+
+        final CheckstyleAntTask antTask = getCheckstyleAntTask(CUSTOM_ROOT_CONFIG_FILE);
+        antTask.setFile(new File(getPath(FLAWLESS_INPUT)));
+        antTask.setShard("1/1");
+        antTask.setShardBySize(true);
+        antTask.execute();
+
+        assertEquals("Invalid files to check",
+                Collections.singletonList(new File(getPath(FLAWLESS_INPUT))),
+                TestRootModuleChecker.getFilesToCheck());
+    }
+
+    @Test
+    public final void testShardsCheckEveryFileOnce() throws IOException {
+        final File input = new File(getPath(VIOLATED_INPUT));
+        final List<File> shardFiles = new ArrayList<>();
+        for (String shard : Arrays.asList("1/2", "2/2")) {
+            TestRootModuleChecker.reset();
+            final CheckstyleAntTask antTask = getCheckstyleAntTask(CUSTOM_ROOT_CONFIG_FILE);
+            antTask.setFile(input);
+            antTask.setShard(shard);
+            antTask.execute();
+            shardFiles.addAll(TestRootModuleChecker.getFilesToCheck());
+        }
+
+        assertEquals("File should be checked by exactly one shard",
+                Collections.singletonList(input), shardFiles);
+    }
+
+    @Test
+    public final void testInvalidShard() throws IOException {
+        final CheckstyleAntTask antTask = getCheckstyleAntTask(CUSTOM_ROOT_CONFIG_FILE);
+        antTask.setFile(new File(getPath(FLAWLESS_INPUT)));
+        antTask.setShard("3/2");
+        try {
+            antTask.execute();
+            fail("Exception is expected");
+        }
+        catch (BuildException ex) {
+            assertEquals("Error message is unexpected",
+                    "Shard index must be between 1 and 2, but was 3", ex.getMessage());
+        }
+    }
+
     @Test
     public final void testConfigurationByUrl() throws IOException {
         final CheckstyleAntTask antTask = new CheckstyleAntTask();
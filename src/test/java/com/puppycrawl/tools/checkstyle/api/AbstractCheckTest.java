@@ -27,6 +27,7 @@ import java.io.File;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Assert;
@@ -226,6 +227,23 @@ public class AbstractCheckTest extends AbstractPathTestSupport {
         Assert.assertEquals("Invalid message size", 0, check.getMessages().size());
     }
 
+    @Test
+    public void testLoggedMessagesKeepLogOrder() {
+        final AbstractCheck check = new DummyAbstractCheck();
+
+        check.log(2, "key", "args");
+        check.log(1, "key", "args");
+        check.log(2, "key", "args");
+        final List<LocalizedMessage> loggedMessages = check.getLoggedMessages();
+        Assert.assertEquals("Invalid logged message size", 3, loggedMessages.size());
+        Assert.assertEquals("Messages should be in log order",
+                2, loggedMessages.get(0).getLineNo());
+        Assert.assertEquals("Sorted messages should not have duplicates",
+                2, check.getMessages().size());
+        Assert.assertEquals("Messages should be sorted",
+                1, check.getMessages().first().getLineNo());
+    }
+
     private static final class DummyAbstractCheck extends AbstractCheck {
 
         private static final int[] DUMMY_ARRAY = {6};
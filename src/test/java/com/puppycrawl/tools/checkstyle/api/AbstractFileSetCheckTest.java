@@ -29,6 +29,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.SortedSet;
+import java.util.regex.Pattern;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -53,8 +54,8 @@ public class AbstractFileSetCheckTest {
         final Field field = AbstractFileSetCheck.class.getDeclaredField("MESSAGE_COLLECTOR");
         field.setAccessible(true);
         @SuppressWarnings("unchecked")
-        final SortedSet<LocalizedMessage> internalMessages =
-                ((ThreadLocal<SortedSet<LocalizedMessage>>) field.get(null)).get();
+        final List<LocalizedMessage> internalMessages =
+                ((ThreadLocal<List<LocalizedMessage>>) field.get(null)).get();
         assertTrue("Internal message should be empty, but was not", internalMessages.isEmpty());
 
         final File secondFile = new File("inputAbstractFileSetCheck.txt");
@@ -83,8 +84,8 @@ public class AbstractFileSetCheckTest {
         final Field field = AbstractFileSetCheck.class.getDeclaredField("MESSAGE_COLLECTOR");
         field.setAccessible(true);
         @SuppressWarnings("unchecked")
-        final SortedSet<LocalizedMessage> internalMessages =
-                ((ThreadLocal<SortedSet<LocalizedMessage>>) field.get(null)).get();
+        final List<LocalizedMessage> internalMessages =
+                ((ThreadLocal<List<LocalizedMessage>>) field.get(null)).get();
         assertEquals("Internal message should only have 1", 1, internalMessages.size());
 
         // again to prove only 1 violation exists
@@ -98,11 +99,30 @@ public class AbstractFileSetCheckTest {
         }
 
         @SuppressWarnings("unchecked")
-        final SortedSet<LocalizedMessage> internalMessages2 =
-            ((ThreadLocal<SortedSet<LocalizedMessage>>) field.get(null)).get();
+        final List<LocalizedMessage> internalMessages2 =
+            ((ThreadLocal<List<LocalizedMessage>>) field.get(null)).get();
         assertEquals("Internal message should only have 1 again", 1, internalMessages2.size());
     }
 
+    @Test
+    public void testFilesPatternIsMatchedRelativeToBasedir() throws Exception {
+        final DummyFileSetCheck check = new DummyFileSetCheck();
+        check.configure(new DefaultConfiguration("filesetcheck"));
+        check.setFiles(Pattern.compile("^services/"));
+        final File basedir = new File("base").getAbsoluteFile();
+        check.setBasedir(basedir.getPath());
+
+        final File servicesFile = new File(new File(basedir, "services"), "input.tmp");
+        final SortedSet<LocalizedMessage> servicesMessages =
+            check.process(servicesFile, new FileText(servicesFile, Collections.emptyList()));
+        assertEquals("File in scope should be checked", 1, servicesMessages.size());
+
+        final File toolsFile = new File(new File(basedir, "tools/services"), "input.tmp");
+        final SortedSet<LocalizedMessage> toolsMessages =
+            check.process(toolsFile, new FileText(toolsFile, Collections.emptyList()));
+        assertTrue("File out of scope should be skipped", toolsMessages.isEmpty());
+    }
+
     @Test
     public void testGetFileExtension() {
         final DummyFileSetCheck check = new DummyFileSetCheck();
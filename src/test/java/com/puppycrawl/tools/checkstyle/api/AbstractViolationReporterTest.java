@@ -23,9 +23,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.SortedSet;
 
 import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
 
 import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
@@ -122,6 +124,33 @@ public class AbstractViolationReporterTest {
         }
     }
 
+    @Test
+    public void testCustomMessageIsParsedOnce() throws Exception {
+        final DefaultConfiguration config = createModuleConfig(emptyCheck.getClass());
+        config.addMessage("msgKey", "This is a custom message with {0}.");
+        config.addMessage("invalidKey", "This is a custom message {0.");
+        emptyCheck.configure(config);
+
+        emptyCheck.log(0, "msgKey", "TestParam");
+        emptyCheck.log(1, "msgKey", "OtherParam");
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                emptyCheck.log(2, "invalidKey", "TestParam");
+                fail("exception expected");
+            }
+            catch (IllegalArgumentException ex) {
+                assertEquals("Error message is unexpected",
+                        "Unmatched braces in the pattern.", ex.getMessage());
+            }
+        }
+
+        assertEquals("Only the valid pattern should be remembered",
+                Collections.singleton("This is a custom message with {0}."),
+                Whitebox.getInternalState(emptyCheck, "validCustomMessages"));
+        assertEquals("Amount of messages differs from expected",
+                2, emptyCheck.getMessages().size());
+    }
+
     private static class EmptyCheck extends AbstractCheck {
 
         @Override
@@ -19,6 +19,7 @@
 
 package com.puppycrawl.tools.checkstyle.api;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -146,6 +147,61 @@ public class AutomaticBeanTest {
         }
     }
 
+    @Test
+    public void testConfigureConvertsProperties() throws CheckstyleException {
+        final ConfigurableBean bean = new ConfigurableBean();
+        final DefaultConfiguration conf = new DefaultConfiguration("beanConf");
+        conf.addAttribute("count", "7");
+        conf.addAttribute("names", " a*, _b ");
+        conf.addAttribute("severity", "warning");
+        bean.configure(conf);
+
+        final ConfigurableBean otherBean = new ConfigurableBean();
+        otherBean.configure(conf);
+
+        assertEquals("Invalid count", 7, otherBean.count);
+        assertArrayEquals("Invalid names", new String[] {"a*", "_b"}, otherBean.names);
+        assertEquals("Invalid severity", SeverityLevel.WARNING, otherBean.severity);
+    }
+
+    @Test
+    public void testContextualizeArgumentTypeMismatch() {
+        final ConfigurableBean bean = new ConfigurableBean();
+        final DefaultContext context = new DefaultContext();
+        context.add("parent", "not a configuration");
+        try {
+            bean.contextualize(context);
+            fail("Exception is expected");
+        }
+        catch (CheckstyleException ex) {
+            final String expected = "illegal value ";
+            assertTrue("Invalid exception cause, should be: IllegalArgumentException",
+                    ex.getCause() instanceof IllegalArgumentException);
+            assertTrue("Invalid exception message, should start with: " + expected,
+                    ex.getMessage().startsWith(expected));
+        }
+    }
+
+    @Test
+    public void testContextualizeSetterException() {
+        final ConfigurableBean bean = new ConfigurableBean();
+        final DefaultContext context = new DefaultContext();
+        context.add("count", -1);
+        try {
+            bean.contextualize(context);
+            fail("Exception is expected");
+        }
+        catch (CheckstyleException ex) {
+            final String expected = "Cannot set property ";
+            assertTrue("Invalid exception cause, should be: InvocationTargetException",
+                    ex.getCause() instanceof InvocationTargetException);
+            assertTrue("Invalid setter exception",
+                    ex.getCause().getCause() instanceof IllegalArgumentException);
+            assertTrue("Invalid exception message, should start with: " + expected,
+                    ex.getMessage().startsWith(expected));
+        }
+    }
+
     @Test
     public void testTestBean() {
         final TestBean testBean = new TestBean();
@@ -186,6 +242,40 @@ public class AutomaticBeanTest {
 
     }
 
+    public static final class ConfigurableBean extends AutomaticBean {
+
+        private int count;
+
+        private String[] names;
+
+        private SeverityLevel severity;
+
+        public void setCount(int count) {
+            if (count < 0) {
+                throw new IllegalArgumentException("negative count");
+            }
+            this.count = count;
+        }
+
+        public void setNames(String... names) {
+            this.names = names.clone();
+        }
+
+        public void setSeverity(SeverityLevel severity) {
+            this.severity = severity;
+        }
+
+        public void setParent(Configuration parent) {
+            // not used
+        }
+
+        @Override
+        protected void finishLocalSetup() throws CheckstyleException {
+            // No code by default
+        }
+
+    }
+
     private static class TestBean extends AutomaticBean {
 
         private String privateField;
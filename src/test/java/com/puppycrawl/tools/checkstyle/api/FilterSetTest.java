@@ -20,18 +20,28 @@
 package com.puppycrawl.tools.checkstyle.api;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
 
 import org.junit.Test;
 
 import com.puppycrawl.tools.checkstyle.filters.SeverityMatchFilter;
 import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
 
 public class FilterSetTest {
 
     @Test
     public void testEqualsAndHashCode() {
-        EqualsVerifier.forClass(FilterSet.class).usingGetClass().verify();
+        EqualsVerifier.forClass(FilterSet.class).usingGetClass()
+                .withIgnoredFields("statistics", "evaluationOrder", "eventCount",
+                        "orderOutdated", "timed")
+                .suppress(Warning.NONFINAL_FIELDS)
+                .verify();
     }
 
     @Test
@@ -60,4 +70,101 @@ public class FilterSetTest {
         assertEquals("Invalid filter set size", 0, filterSet.getFilters().size());
     }
 
+    @Test
+    public void testSelectiveFilterEvaluatedFirst() {
+        final FilterSet filterSet = new FilterSet();
+        final Filter acceptingFilter = event -> true;
+        final Filter rejectingFilter = event -> false;
+        filterSet.addFilter(acceptingFilter);
+        filterSet.addFilter(rejectingFilter);
+        final AuditEvent event = new AuditEvent(this);
+        for (int i = 0; i < 3 * FilterSet.REORDER_INTERVAL; i++) {
+            assertFalse("Event should be rejected", filterSet.accept(event));
+        }
+
+        final List<FilterStatistics> statistics = filterSet.getStatistics();
+        assertEquals("Invalid statistics size", 2, statistics.size());
+        final FilterStatistics rejectingStatistics = statistics.get(0);
+        assertSame("Rejecting filter should be evaluated first",
+                rejectingFilter, rejectingStatistics.getFilter());
+        assertEquals("Rejecting filter should evaluate every event",
+                3 * FilterSet.REORDER_INTERVAL, rejectingStatistics.getEvaluationCount());
+        assertEquals("Rejecting filter should reject every event",
+                rejectingStatistics.getEvaluationCount(), rejectingStatistics.getRejectionCount());
+        assertTrue("Time should be measured", rejectingStatistics.getTotalTime() > 0);
+        final FilterStatistics acceptingStatistics = statistics.get(1);
+        assertEquals("Accepting filter should not reject events",
+                0, acceptingStatistics.getRejectionCount());
+        assertTrue("Invalid statistics description",
+                acceptingStatistics.toString().endsWith("rejected 0, time "
+                        + acceptingStatistics.getTotalTime() + "ns"));
+    }
+
+    @Test
+    public void testSingleFilterIsNotTimed() {
+        final FilterSet filterSet = new FilterSet();
+        filterSet.addFilter(event -> false);
+        assertFalse("Event should be rejected", filterSet.accept(new AuditEvent(this)));
+
+        final FilterStatistics statistics = filterSet.getStatistics().get(0);
+        assertEquals("Single filter should not be counted", 0, statistics.getEvaluationCount());
+        assertEquals("Single filter should not be timed", 0, statistics.getTotalTime());
+    }
+
+    @Test
+    public void testFiltersOfSameClassAreNotTimed() {
+        final FilterSet filterSet = new FilterSet();
+        final Filter acceptingFilter = new ConstantFilter(true);
+        final Filter rejectingFilter = new ConstantFilter(false);
+        filterSet.addFilter(acceptingFilter);
+        filterSet.addFilter(rejectingFilter);
+        final AuditEvent event = new AuditEvent(this);
+        for (int i = 0; i < 3 * FilterSet.REORDER_INTERVAL; i++) {
+            assertFalse("Event should be rejected", filterSet.accept(event));
+        }
+
+        final List<FilterStatistics> statistics = filterSet.getStatistics();
+        final FilterStatistics rejectingStatistics = statistics.get(0);
+        assertSame("Rejecting filter should be evaluated first",
+                rejectingFilter, rejectingStatistics.getFilter());
+        assertTrue("Rejecting filter should be counted",
+                rejectingStatistics.getEvaluationCount() > 0);
+        assertEquals("Filters of the same class should not be timed",
+                0, rejectingStatistics.getTotalTime());
+        assertEquals("Filters of the same class should not be timed",
+                0, statistics.get(1).getTotalTime());
+    }
+
+    @Test
+    public void testRemoveFilterRemovesStatistics() {
+        final FilterSet filterSet = new FilterSet();
+        final Filter filter = new SeverityMatchFilter();
+        filterSet.addFilter(filter);
+        filterSet.addFilter(filter);
+        assertEquals("Invalid statistics size", 1, filterSet.getStatistics().size());
+        filterSet.removeFilter(filter);
+        filterSet.removeFilter(filter);
+        assertTrue("Statistics should be removed", filterSet.getStatistics().isEmpty());
+        assertTrue("Empty filter set should accept", filterSet.accept(new AuditEvent(this)));
+    }
+
+    /**
+     * Filter which accepts or rejects every event.
+     */
+    private static final class ConstantFilter implements Filter {
+
+        /** Whether events are accepted. */
+        private final boolean accepted;
+
+        ConstantFilter(boolean accepted) {
+            this.accepted = accepted;
+        }
+
+        @Override
+        public boolean accept(AuditEvent event) {
+            return accepted;
+        }
+
+    }
+
 }
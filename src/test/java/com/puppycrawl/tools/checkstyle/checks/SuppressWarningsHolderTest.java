@@ -31,6 +31,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Test;
@@ -163,6 +164,21 @@ public class SuppressWarningsHolderTest extends AbstractModuleTestSupport {
         assertTrue("Event is not suppressed", SuppressWarningsHolder.isSuppressed(event));
     }
 
+    @Test
+    public void testIsSuppressedByEnclosingEntry() throws Exception {
+        createHolder(createEntry("id", 10, 1, 100, 1), createEntry("other", 15, 1, 200, 1),
+            createEntry("id", 20, 1, 30, 1), createEntry("ID", 150, 1, 160, 1));
+
+        assertTrue("Event inside outer entry should be suppressed",
+            SuppressWarningsHolder.isSuppressed(createAuditEvent("id", 50, 1)));
+        assertFalse("Event between entries should not be suppressed",
+            SuppressWarningsHolder.isSuppressed(createAuditEvent("id", 120, 1)));
+        assertFalse("Event should not be suppressed by id of other case",
+            SuppressWarningsHolder.isSuppressed(createAuditEvent("id", 155, 1)));
+        assertFalse("Event before entries should not be suppressed",
+            SuppressWarningsHolder.isSuppressed(createAuditEvent("id", 5, 1)));
+    }
+
     @Test
     public void testIsSuppressedWithAllArgument() throws Exception {
         createHolder("all", 100, 100, 350, 350);
@@ -326,17 +342,12 @@ public class SuppressWarningsHolderTest extends AbstractModuleTestSupport {
     private static SuppressWarningsHolder createHolder(String checkName, int firstLine,
                                                        int firstColumn, int lastLine,
                                                        int lastColumn) throws Exception {
-        final Class<?> entry = Class
-                .forName("com.puppycrawl.tools.checkstyle.checks.SuppressWarningsHolder$Entry");
-        final Constructor<?> entryConstr = entry.getDeclaredConstructor(String.class, int.class,
-                int.class, int.class, int.class);
-        entryConstr.setAccessible(true);
-
-        final Object entryInstance = entryConstr.newInstance(checkName, firstLine,
-                firstColumn, lastLine, lastColumn);
+        return createHolder(createEntry(checkName, firstLine, firstColumn, lastLine, lastColumn));
+    }
 
-        final List<Object> entriesList = new ArrayList<>();
-        entriesList.add(entryInstance);
+    private static SuppressWarningsHolder createHolder(Object... entryInstances)
+            throws Exception {
+        final List<Object> entriesList = new ArrayList<>(Arrays.asList(entryInstances));
 
         final ThreadLocal<?> threadLocal = mock(ThreadLocal.class);
         PowerMockito.doReturn(entriesList).when(threadLocal, "get");
@@ -345,9 +356,21 @@ public class SuppressWarningsHolderTest extends AbstractModuleTestSupport {
         final Field entries = holder.getClass().getDeclaredField("ENTRIES");
         entries.setAccessible(true);
         entries.set(holder, threadLocal);
+        holder.finishTree(null);
         return holder;
     }
 
+    private static Object createEntry(String checkName, int firstLine, int firstColumn,
+                                      int lastLine, int lastColumn) throws Exception {
+        final Class<?> entry = Class
+                .forName("com.puppycrawl.tools.checkstyle.checks.SuppressWarningsHolder$Entry");
+        final Constructor<?> entryConstr = entry.getDeclaredConstructor(String.class, int.class,
+                int.class, int.class, int.class);
+        entryConstr.setAccessible(true);
+
+        return entryConstr.newInstance(checkName, firstLine, firstColumn, lastLine, lastColumn);
+    }
+
     private static AuditEvent createAuditEvent(String moduleId, int line, int column) {
         final Checker source = new Checker();
         final LocalizedMessage message = new LocalizedMessage(line, column, null, null, null,
@@ -21,6 +21,7 @@ package com.puppycrawl.tools.checkstyle.checks.imports;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -33,8 +34,14 @@ import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.BDDMockito;
 import org.mockito.Mockito;
@@ -44,7 +51,6 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
-import org.xml.sax.SAXParseException;
 import org.xml.sax.helpers.AttributesImpl;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
@@ -53,6 +59,9 @@ import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 @PrepareForTest({ImportControlLoader.class, URI.class})
 public class ImportControlLoaderTest {
 
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private static String getPath(String filename) {
         return "src/test/resources/com/puppycrawl/tools/"
                 + "checkstyle/checks/imports/importcontrolloader/" + filename;
@@ -66,6 +75,21 @@ public class ImportControlLoaderTest {
         assertNotNull("Import root should not be null", root);
     }
 
+    @Test
+    public void testLoadSameContentOnce() throws Exception {
+        final File file = temporaryFolder.newFile("import-control.xml");
+        Files.copy(new File(getPath("InputImportControlLoaderComplete.xml")).toPath(),
+            file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        final ImportControl first = ImportControlLoader.load(file.toURI());
+        final ImportControl second = ImportControlLoader.load(file.toURI());
+        assertSame("Import root should be reused for the same content", first, second);
+
+        Files.write(file.toPath(), "\n".getBytes(StandardCharsets.UTF_8),
+            StandardOpenOption.APPEND);
+        final ImportControl changed = ImportControlLoader.load(file.toURI());
+        assertNotSame("Import root should be loaded again for changed content", first, changed);
+    }
+
     @Test
     public void testWrongFormatUri() throws Exception {
         try {
@@ -177,7 +201,7 @@ public class ImportControlLoaderTest {
         }
         catch (CheckstyleException ex) {
             assertSame("Invalid exception class",
-                    SAXParseException.class, ex.getCause().getClass());
+                    IOException.class, ex.getCause().getClass());
         }
     }
 
@@ -25,6 +25,8 @@ import static com.puppycrawl.tools.checkstyle.checks.indentation.IndentationChec
 import static com.puppycrawl.tools.checkstyle.checks.indentation.IndentationCheck.MSG_ERROR_MULTI;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -42,6 +44,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.junit.Test;
+import org.powermock.reflect.Whitebox;
 
 import com.puppycrawl.tools.checkstyle.AbstractModuleTestSupport;
 import com.puppycrawl.tools.checkstyle.Checker;
@@ -193,6 +196,16 @@ public class IndentationCheckTest extends AbstractModuleTestSupport {
         assertArrayEquals("Default acceptable tokens are invalid", expected, acceptableTokens);
     }
 
+    @Test
+    public void testHandlerFactoryIsCreatedOnFirstUse() {
+        final IndentationCheck checkObj = new IndentationCheck();
+        assertNull("Handler factory should not be created by the constructor",
+            Whitebox.getInternalState(checkObj, "handlerFactory"));
+        final HandlerFactory handlerFactory = checkObj.getHandlerFactory();
+        assertSame("Handler factory should be reused", handlerFactory,
+            checkObj.getHandlerFactory());
+    }
+
     @Test
     public void testThrowsIndentProperty() {
         final IndentationCheck indentationCheck = new IndentationCheck();
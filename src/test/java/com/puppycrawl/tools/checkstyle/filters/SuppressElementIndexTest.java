@@ -0,0 +1,159 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.filters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.FilterSet;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+
+public class SuppressElementIndexTest {
+
+    @Test
+    public void testEmpty() {
+        final SuppressElementIndex index = new SuppressElementIndex(Collections.emptySet());
+        assertTrue("Event should be accepted",
+            index.accept(createEvent("Test.java", "id", 1, 1, SeverityLevel.ERROR)));
+    }
+
+    @Test
+    public void testNullFileNameAndMessage() {
+        final SuppressElementIndex index = new SuppressElementIndex(Collections.singleton(
+            new SuppressElement(null, "Index", null, null, null, null)));
+        assertTrue("Event without file should be accepted",
+            index.accept(createEvent(null, null, 1, 1, SeverityLevel.ERROR)));
+        assertTrue("Event without message should be accepted",
+            index.accept(new AuditEvent(this, "Test.java")));
+    }
+
+    @Test
+    public void testSameResultAsFilterSet() {
+        final FilterSet filterSet = new FilterSet();
+        filterSet.addFilter(new SuppressElement("First\\.java", null, null, "id", null, null));
+        filterSet.addFilter(new SuppressElement("Second", "IndexTest", null, null, "5", null));
+        filterSet.addFilter(new SuppressElement(null, "Other", null, null, null, null));
+        filterSet.addFilter(new SuppressElement(null, null, null, "other", null, "3"));
+        filterSet.addFilter(new SeverityMatchFilter());
+        final SuppressElementIndex index = new SuppressElementIndex(filterSet.getFilters());
+
+        for (String fileName : Arrays.asList("First.java", "Second.java", "First.java")) {
+            for (String moduleId : Arrays.asList(null, "id", "other")) {
+                for (SeverityLevel severity : SeverityLevel.values()) {
+                    verifySameResult(filterSet, index, fileName, moduleId, severity);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFileNameMatchesAreResetPerFile() {
+        final SuppressElementIndex index = new SuppressElementIndex(Collections.singleton(
+            new SuppressElement("First", null, null, null, null, null)));
+        assertFalse("Event should be suppressed",
+            index.accept(createEvent("First.java", null, 1, 1, SeverityLevel.ERROR)));
+        assertTrue("Event should be accepted",
+            index.accept(createEvent("Second.java", null, 1, 1, SeverityLevel.ERROR)));
+        assertFalse("Event should be suppressed",
+            index.accept(createEvent("First.java", null, 1, 1, SeverityLevel.ERROR)));
+    }
+
+    @Test
+    public void testLiteralSuffix() {
+        assertEquals("Invalid suffix", "Foo.java",
+            SuppressElementIndex.getLiteralSuffix("[\\\\/]Foo\\.java$"));
+        assertEquals("Invalid suffix", "Foo",
+            SuppressElementIndex.getLiteralSuffix("^Foo$"));
+        assertEquals("Invalid suffix", "c",
+            SuppressElementIndex.getLiteralSuffix("ab*c$"));
+        assertEquals("Suffix expected only before $", "",
+            SuppressElementIndex.getLiteralSuffix("Foo\\.java"));
+        assertEquals("Escaped $ should be literal", "",
+            SuppressElementIndex.getLiteralSuffix("Foo\\$"));
+        assertEquals("Quantified end should not be literal", "",
+            SuppressElementIndex.getLiteralSuffix("Foo\\.javax?$"));
+        assertEquals("Alternatives should not be supported", "",
+            SuppressElementIndex.getLiteralSuffix("Foo|Bar\\.java$"));
+        assertEquals("Flags should not be supported", "",
+            SuppressElementIndex.getLiteralSuffix("(?i)Foo\\.java$"));
+        assertEquals("Escape sequences should not be supported", "",
+            SuppressElementIndex.getLiteralSuffix("\\x41\\.java$"));
+    }
+
+    @Test
+    public void testLiteralPrefix() {
+        assertEquals("Invalid prefix", "src/main/",
+            SuppressElementIndex.getLiteralPrefix("^src\\/main/[^/]*\\.java"));
+        assertEquals("Invalid prefix", "generate",
+            SuppressElementIndex.getLiteralPrefix("^generated?"));
+        assertEquals("Prefix expected only after ^", "",
+            SuppressElementIndex.getLiteralPrefix("src/main"));
+        assertEquals("Quantified start should not be literal", "",
+            SuppressElementIndex.getLiteralPrefix("^s*rc"));
+        assertEquals("Alternatives should not be supported", "",
+            SuppressElementIndex.getLiteralPrefix("^src|test"));
+    }
+
+    @Test
+    public void testSameResultForLiteralBuckets() {
+        final FilterSet filterSet = new FilterSet();
+        filterSet.addFilter(new SuppressElement("[\\\\/]First\\.java$", null, null, null,
+            "1", null));
+        filterSet.addFilter(new SuppressElement("^src/", "IndexTest", null, null, "2", null));
+        filterSet.addFilter(new SuppressElement("^src/test/.*Second", null, null, "id", "3",
+            null));
+        filterSet.addFilter(new SuppressElement("d\\.java$", null, null, "other", "4", null));
+        filterSet.addFilter(new SuppressElement("Third|Fourth", null, null, null, "5", null));
+        final SuppressElementIndex index = new SuppressElementIndex(filterSet.getFilters());
+
+        for (String fileName : Arrays.asList("src/main/First.java", "First.java",
+                "src/test/Second.java", "NotFirst.java", "Third.java", "Fourth.javax", "src")) {
+            for (String moduleId : Arrays.asList(null, "id", "other")) {
+                verifySameResult(filterSet, index, fileName, moduleId, SeverityLevel.ERROR);
+            }
+        }
+    }
+
+    private void verifySameResult(FilterSet filterSet, SuppressElementIndex index,
+            String fileName, String moduleId, SeverityLevel severity) {
+        for (int position = 1; position < 7; position++) {
+            final AuditEvent event = createEvent(fileName, moduleId, position, position, severity);
+            assertEquals("Invalid result for " + fileName + ", " + moduleId + ", "
+                    + severity + ", " + position,
+                filterSet.accept(event), index.accept(event));
+        }
+    }
+
+    private AuditEvent createEvent(String fileName, String moduleId, int line, int column,
+            SeverityLevel severity) {
+        final LocalizedMessage message = new LocalizedMessage(line, column, "", "", null,
+            severity, moduleId, getClass(), null);
+        return new AuditEvent(this, fileName, message);
+    }
+
+}
@@ -416,6 +416,16 @@ public class SuppressWithNearbyCommentFilterTest
                     + "tagCheckRegexp=.*, tagMessageRegexp=null]", tag.toString());
     }
 
+    @Test
+    public void testTagsSharePatterns() {
+        final SuppressWithNearbyCommentFilter filter = new SuppressWithNearbyCommentFilter();
+        final SuppressWithNearbyCommentFilter.Tag first = new SuppressWithNearbyCommentFilter.Tag(
+                "text", 7, filter);
+        final SuppressWithNearbyCommentFilter.Tag second = new SuppressWithNearbyCommentFilter.Tag(
+                "text", 7, filter);
+        assertEquals("Tags with the same text should be equal", first, second);
+    }
+
     @Test
     public void testUsingTagMessageRegexp() throws Exception {
         final DefaultConfiguration filterConfig =
@@ -22,17 +22,23 @@ package com.puppycrawl.tools.checkstyle.filters;
 import static com.puppycrawl.tools.checkstyle.checks.whitespace.FileTabCharacterCheck.MSG_CONTAINS_TAB;
 import static com.puppycrawl.tools.checkstyle.checks.whitespace.FileTabCharacterCheck.MSG_FILE_CONTAINS_TAB;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.stream.Collectors;
 
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.puppycrawl.tools.checkstyle.AbstractModuleTestSupport;
 import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
@@ -51,6 +57,9 @@ public class SuppressWithPlainTextCommentFilterTest extends AbstractModuleTestSu
 
     private static final String MSG_REGEXP_EXCEEDED = "regexp.exceeded";
 
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Override
     protected String getPackageLocation() {
         return "com/puppycrawl/tools/checkstyle/filters/suppresswithplaintextcommentfilter";
@@ -467,6 +476,26 @@ public class SuppressWithPlainTextCommentFilterTest extends AbstractModuleTestSu
         assertTrue("filter should accept directory", filter.accept(event));
     }
 
+    @Test
+    public void testSuppressionsCollectedOncePerFile() throws IOException {
+        final SuppressWithPlainTextCommentFilter filter = new SuppressWithPlainTextCommentFilter();
+        final File file = temporaryFolder.newFile("file.java");
+        Files.write(file.toPath(), "// CHECKSTYLE:OFF\nint a1;\n".getBytes(StandardCharsets.UTF_8));
+        final AuditEvent event = new AuditEvent(this, file.getPath(), new LocalizedMessage(2, 1,
+                "bundle", "key", null, SeverityLevel.ERROR, null, getClass(), null));
+
+        assertFalse("filter should suppress event after off comment", filter.accept(event));
+        Files.write(file.toPath(), "// CHECKSTYLE:ON\nint a1;\n".getBytes(StandardCharsets.UTF_8));
+        assertFalse("filter should keep suppressions of the same file", filter.accept(event));
+
+        final AuditEvent directoryEvent = new AuditEvent(this, getPath(""),
+                new LocalizedMessage(1, 1, "bundle", "key", null, SeverityLevel.ERROR, null,
+                        getClass(), null));
+        assertTrue("filter should accept directory", filter.accept(directoryEvent));
+        assertTrue("filter should collect suppressions of the file again",
+                filter.accept(event));
+    }
+
     private void verifySuppressed(String fileNameWithExtension, String[] violationMessages,
                                   Configuration... childConfigs) throws Exception {
         final DefaultConfiguration checkerConfig = createRootConfig(null);
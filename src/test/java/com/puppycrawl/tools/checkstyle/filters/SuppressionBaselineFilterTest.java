@@ -0,0 +1,237 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.filters;
+
+import static com.puppycrawl.tools.checkstyle.checks.coding.MagicNumberCheck.MSG_KEY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.puppycrawl.tools.checkstyle.AbstractModuleTestSupport;
+import com.puppycrawl.tools.checkstyle.BaselineLogger;
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.TreeWalker;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AutomaticBean;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+import com.puppycrawl.tools.checkstyle.checks.coding.MagicNumberCheck;
+
+public class SuppressionBaselineFilterTest extends AbstractModuleTestSupport {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Override
+    protected String getPackageLocation() {
+        return "com/puppycrawl/tools/checkstyle/filters/suppressionbaselinefilter";
+    }
+
+    @Test
+    public void testOnlyNewViolationsReported() throws Exception {
+        final File input = temporaryFolder.newFile("Input.java");
+        final File baselineFile = temporaryFolder.newFile("baseline.bin");
+        Files.copy(Paths.get(getPath("InputSuppressionBaselineFilterOriginal.java")),
+                input.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        final Checker recordingChecker = new Checker();
+        recordingChecker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        recordingChecker.configure(createCheckerConfig());
+        recordingChecker.addListener(new BaselineLogger(new FileOutputStream(baselineFile),
+                AutomaticBean.OutputStreamOptions.CLOSE));
+        assertEquals("Invalid number of recorded violations", 2,
+                recordingChecker.process(Collections.singletonList(input)));
+        recordingChecker.destroy();
+
+        Files.copy(Paths.get(getPath("InputSuppressionBaselineFilterChanged.java")),
+                input.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        final DefaultConfiguration filterConfig =
+                createModuleConfig(SuppressionBaselineFilter.class);
+        filterConfig.addAttribute("file", baselineFile.getPath());
+        final DefaultConfiguration checkerConfig = createCheckerConfig();
+        checkerConfig.addChild(filterConfig);
+        final String[] expected = {
+            "10:25: " + getCheckMessage(MagicNumberCheck.class, MSG_KEY, "44"),
+        };
+        verify(checkerConfig, input.getPath(), expected);
+    }
+
+    @Test
+    public void testCopiedViolatingLineReported() throws Exception {
+        final File input = temporaryFolder.newFile("Input.java");
+        final File baselineFile = temporaryFolder.newFile("baseline.bin");
+        Files.copy(Paths.get(getPath("InputSuppressionBaselineFilterRepeatedOriginal.java")),
+                input.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        final Checker recordingChecker = new Checker();
+        recordingChecker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        recordingChecker.configure(createCheckerConfig());
+        recordingChecker.addListener(new BaselineLogger(new FileOutputStream(baselineFile),
+                AutomaticBean.OutputStreamOptions.CLOSE));
+        assertEquals("Invalid number of recorded violations", 1,
+                recordingChecker.process(Collections.singletonList(input)));
+        recordingChecker.destroy();
+
+        Files.copy(Paths.get(getPath("InputSuppressionBaselineFilterRepeatedChanged.java")),
+                input.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        final DefaultConfiguration filterConfig =
+                createModuleConfig(SuppressionBaselineFilter.class);
+        filterConfig.addAttribute("file", baselineFile.getPath());
+        final DefaultConfiguration checkerConfig = createCheckerConfig();
+        checkerConfig.addChild(filterConfig);
+        final Checker checker = createChecker(checkerConfig);
+        final String[] expected = {
+            "12:17: " + getCheckMessage(MagicNumberCheck.class, MSG_KEY, "42"),
+        };
+        verify(checker, input.getPath(), expected);
+        verify(checker, input.getPath(), expected);
+    }
+
+    @Test
+    public void testBaselineOfOtherCheckout() throws Exception {
+        final File firstCheckout = temporaryFolder.newFolder("first");
+        final File secondCheckout = temporaryFolder.newFolder("second");
+        final File baselineFile = temporaryFolder.newFile("baseline.bin");
+        final File firstInput = temporaryFolder.newFile("first/Input.java");
+        final File secondInput = temporaryFolder.newFile("second/Input.java");
+        Files.copy(Paths.get(getPath("InputSuppressionBaselineFilterOriginal.java")),
+                firstInput.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        Files.copy(Paths.get(getPath("InputSuppressionBaselineFilterChanged.java")),
+                secondInput.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        final DefaultConfiguration recordingConfig = createCheckerConfig();
+        recordingConfig.addAttribute("basedir", firstCheckout.getPath());
+        final Checker recordingChecker = new Checker();
+        recordingChecker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        recordingChecker.configure(recordingConfig);
+        final BaselineLogger logger = new BaselineLogger(new FileOutputStream(baselineFile),
+                AutomaticBean.OutputStreamOptions.CLOSE);
+        logger.setBasedir(firstCheckout.getPath());
+        logger.setCharset(StandardCharsets.UTF_8.name());
+        recordingChecker.addListener(logger);
+        assertEquals("Invalid number of recorded violations", 2,
+                recordingChecker.process(Collections.singletonList(firstInput)));
+        recordingChecker.destroy();
+
+        final DefaultConfiguration filterConfig =
+                createModuleConfig(SuppressionBaselineFilter.class);
+        filterConfig.addAttribute("file", baselineFile.getPath());
+        final DefaultConfiguration checkerConfig = createCheckerConfig();
+        checkerConfig.addAttribute("basedir", secondCheckout.getPath());
+        checkerConfig.addChild(filterConfig);
+        final String[] expected = {
+            "10:25: " + getCheckMessage(MagicNumberCheck.class, MSG_KEY, "44"),
+        };
+        verify(createChecker(checkerConfig), secondInput.getPath(), "Input.java", expected);
+    }
+
+    @Test
+    public void testAcceptWithoutFile() throws Exception {
+        final SuppressionBaselineFilter filter = createFilter(null, false);
+        assertTrue("Filter without baseline file should accept all events",
+                filter.accept(createEvent()));
+    }
+
+    @Test
+    public void testNonExistentFileWithTrueOptional() throws Exception {
+        final SuppressionBaselineFilter filter =
+                createFilter("non_existent_baseline_file.bin", true);
+        assertTrue("Filter with missing optional baseline file should accept all events",
+                filter.accept(createEvent()));
+    }
+
+    @Test
+    public void testNonExistentFileWithFalseOptional() {
+        final String fileName = "non_existent_baseline_file.bin";
+        try {
+            createFilter(fileName, false);
+            fail("Exception is expected");
+        }
+        catch (CheckstyleException ex) {
+            assertEquals("Invalid error message", "Unable to find: " + fileName,
+                    ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testInvalidFile() throws Exception {
+        final String fileName = getPath("InputSuppressionBaselineFilterOriginal.java");
+        try {
+            createFilter(fileName, true);
+            fail("Exception is expected");
+        }
+        catch (CheckstyleException ex) {
+            assertEquals("Invalid error message", "Unable to load baseline file: " + fileName,
+                    ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testGetExternalResourceLocations() throws Exception {
+        final String fileName = "baseline.bin";
+        final SuppressionBaselineFilter filter = createFilter(fileName, true);
+        assertEquals("Invalid external resource locations", Collections.singleton(fileName),
+                filter.getExternalResourceLocations());
+    }
+
+    @Test
+    public void testGetExternalResourceLocationsWithoutFile() throws Exception {
+        final SuppressionBaselineFilter filter = createFilter(null, false);
+        assertTrue("Filter without baseline file should have no external resources",
+                filter.getExternalResourceLocations().isEmpty());
+    }
+
+    private static DefaultConfiguration createCheckerConfig() {
+        final DefaultConfiguration treeWalkerConfig = createModuleConfig(TreeWalker.class);
+        treeWalkerConfig.addChild(createModuleConfig(MagicNumberCheck.class));
+        final DefaultConfiguration checkerConfig = createRootConfig(treeWalkerConfig);
+        checkerConfig.addAttribute("charset", StandardCharsets.UTF_8.name());
+        return checkerConfig;
+    }
+
+    private static SuppressionBaselineFilter createFilter(String fileName, boolean optional)
+            throws CheckstyleException {
+        final SuppressionBaselineFilter filter = new SuppressionBaselineFilter();
+        final DefaultConfiguration config = createModuleConfig(SuppressionBaselineFilter.class);
+        if (fileName != null) {
+            config.addAttribute("file", fileName);
+        }
+        config.addAttribute("optional", String.valueOf(optional));
+        filter.configure(config);
+        return filter;
+    }
+
+    private AuditEvent createEvent() {
+        return new AuditEvent(this, "Input.java", new LocalizedMessage(1, 1, "messages",
+                "key", null, SeverityLevel.ERROR, null, getClass(), null));
+    }
+
+}
@@ -314,6 +314,18 @@ public class SuppressionCommentFilterTest
                     + " tagCheckRegexp=.*, tagMessageRegexp=null]", tag.toString());
     }
 
+    @Test
+    public void testTagsSharePatterns() {
+        final SuppressionCommentFilter filter = new SuppressionCommentFilter();
+        final SuppressionCommentFilter.Tag first = new SuppressionCommentFilter.Tag(
+                0, 1, "text",
+                SuppressionCommentFilter.TagType.OFF, filter);
+        final SuppressionCommentFilter.Tag second = new SuppressionCommentFilter.Tag(
+                0, 1, "text",
+                SuppressionCommentFilter.TagType.OFF, filter);
+        assertEquals("Tags with the same text should be equal", first, second);
+    }
+
     @Test
     public void testInvalidCheckFormat() throws Exception {
         final DefaultConfiguration filterConfig =
@@ -57,7 +57,7 @@ public class SuppressionFilterTest extends AbstractModuleTestSupport {
         EqualsVerifier
                 .forClass(SuppressionFilter.class)
                 .usingGetClass()
-                .withIgnoredFields("file", "optional", "configuration")
+                .withIgnoredFields("file", "optional", "configuration", "filtersIndex")
                 .suppress(Warning.NONFINAL_FIELDS)
                 .verify();
     }
@@ -21,6 +21,8 @@ package com.puppycrawl.tools.checkstyle.filters;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -30,13 +32,16 @@ import java.util.Collections;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.mockito.internal.util.reflection.Whitebox;
 
 import com.puppycrawl.tools.checkstyle.AbstractModuleTestSupport;
 import com.puppycrawl.tools.checkstyle.JavaParser;
 import com.puppycrawl.tools.checkstyle.TreeWalkerAuditEvent;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.xpath.RootNode;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 
@@ -155,12 +160,41 @@ public class SuppressionXpathFilterTest extends AbstractModuleTestSupport {
                 filter.accept(ev));
     }
 
+    @Test
+    public void testXpathTreeSharedPerFile() throws Exception {
+        final SuppressionXpathFilter filter = createSuppressionXpathFilter(
+                getPath("InputSuppressionXpathFilterTwoQueries.xml"), false);
+        final File file = new File(getPath("InputSuppressionXpathFilter.java"));
+        final DetailAST rootAst = JavaParser.parseFile(file, JavaParser.Options.WITHOUT_COMMENTS);
+        final LocalizedMessage message = new LocalizedMessage(3, 0, TokenTypes.CLASS_DEF, "", "",
+                null, null, "777", getClass(), null);
+
+        assertFalse("TreeWalker audit event should be rejected", filter.accept(
+                new TreeWalkerAuditEvent(null, "file1.java", message, rootAst)));
+        final RootNode rootNode = (RootNode) Whitebox.getInternalState(filter, "rootNode");
+        assertSame("Xpath tree should be created for the AST",
+                rootAst, rootNode.getUnderlyingNode());
+        assertFalse("TreeWalker audit event should be rejected", filter.accept(
+                new TreeWalkerAuditEvent(null, "file1.java", message, rootAst)));
+        assertSame("Xpath tree should be shared by the events of a file",
+                rootNode, Whitebox.getInternalState(filter, "rootNode"));
+
+        final DetailAST otherRootAst =
+                JavaParser.parseFile(file, JavaParser.Options.WITHOUT_COMMENTS);
+        assertFalse("TreeWalker audit event should be rejected", filter.accept(
+                new TreeWalkerAuditEvent(null, "file1.java", message, otherRootAst)));
+        assertNotSame("Xpath tree should be created for another file",
+                rootNode, Whitebox.getInternalState(filter, "rootNode"));
+    }
+
     @Test
     public void testEqualsAndHashCode() {
         EqualsVerifier
                 .forClass(SuppressionXpathFilter.class)
                 .usingGetClass()
-                .withIgnoredFields("file", "optional", "configuration")
+                .withPrefabValues(RootNode.class, new RootNode(new DetailAST()),
+                        new RootNode(new DetailAST()))
+                .withIgnoredFields("file", "optional", "configuration", "rootNode")
                 .suppress(Warning.NONFINAL_FIELDS)
                 .verify();
     }
@@ -20,6 +20,7 @@
 package com.puppycrawl.tools.checkstyle.filters;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -28,6 +29,8 @@ import java.lang.reflect.Method;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.Rule;
@@ -42,6 +45,7 @@ import org.xml.sax.InputSource;
 import com.puppycrawl.tools.checkstyle.AbstractPathTestSupport;
 import com.puppycrawl.tools.checkstyle.TreeWalkerFilter;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Filter;
 import com.puppycrawl.tools.checkstyle.api.FilterSet;
 
 /**
@@ -236,7 +240,7 @@ public class SuppressionsLoaderTest extends AbstractPathTestSupport {
     public void testUnableToFindSuppressions() throws Exception {
         final Class<SuppressionsLoader> loaderClass = SuppressionsLoader.class;
         final Method loadSuppressions =
-            loaderClass.getDeclaredMethod("loadSuppressions", InputSource.class, String.class);
+            loaderClass.getDeclaredMethod("getSuppressionLoader", InputSource.class, String.class);
         loadSuppressions.setAccessible(true);
 
         final String sourceName = "InputSuppressionsLoaderNone.xml";
@@ -252,7 +256,7 @@ public class SuppressionsLoaderTest extends AbstractPathTestSupport {
     public void testUnableToReadSuppressions() throws Exception {
         final Class<SuppressionsLoader> loaderClass = SuppressionsLoader.class;
         final Method loadSuppressions =
-            loaderClass.getDeclaredMethod("loadSuppressions", InputSource.class, String.class);
+            loaderClass.getDeclaredMethod("getSuppressionLoader", InputSource.class, String.class);
         loadSuppressions.setAccessible(true);
 
         final InputSource inputSource = new InputSource();
@@ -373,4 +377,33 @@ public class SuppressionsLoaderTest extends AbstractPathTestSupport {
         assertEquals("Invalid number of filters", 1, filterSet.size());
     }
 
+    @Test
+    public void testLoadTwiceSharesSuppressElements() throws Exception {
+        final String fn = getPath("InputSuppressionsLoaderMultiple.xml");
+        final FilterSet first = SuppressionsLoader.loadSuppressions(fn);
+        final FilterSet second = SuppressionsLoader.loadSuppressions(fn);
+
+        assertNotSame("Filter sets should not be shared", first, second);
+        assertEquals("Filter sets should be equal", first, second);
+        final Map<Filter, Boolean> firstFilters = new IdentityHashMap<>();
+        first.getFilters().forEach(filter -> firstFilters.put(filter, Boolean.TRUE));
+        for (Filter filter : second.getFilters()) {
+            assertTrue("Suppress element should be shared " + filter,
+                firstFilters.containsKey(filter));
+        }
+    }
+
+    @Test
+    public void testLoadTwiceDoesNotShareXpathFilters() throws Exception {
+        final String fn = getPath("InputSuppressionsLoaderXpathCorrect.xml");
+        final Set<TreeWalkerFilter> first = SuppressionsLoader.loadXpathSuppressions(fn);
+        final Set<TreeWalkerFilter> second = SuppressionsLoader.loadXpathSuppressions(fn);
+
+        assertEquals("Xpath filters should be equal", first, second);
+        for (TreeWalkerFilter filter : second) {
+            assertTrue("Xpath filter should not be shared " + filter,
+                first.stream().noneMatch(firstFilter -> firstFilter == filter));
+        }
+    }
+
 }
@@ -20,25 +20,36 @@
 package com.puppycrawl.tools.checkstyle.filters;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.lang.ref.WeakReference;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
 
 import com.puppycrawl.tools.checkstyle.AbstractModuleTestSupport;
 import com.puppycrawl.tools.checkstyle.JavaParser;
 import com.puppycrawl.tools.checkstyle.TreeWalkerAuditEvent;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.FileContents;
 import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.xpath.RootNode;
 import net.sf.saxon.sxpath.XPathEvaluator;
 import net.sf.saxon.sxpath.XPathExpression;
 import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
 
 public class XpathFilterTest extends AbstractModuleTestSupport {
 
@@ -115,6 +126,56 @@ public class XpathFilterTest extends AbstractModuleTestSupport {
         assertFalse("Event should be rejected", filter.accept(eventThree));
     }
 
+    @Test
+    public void testQueryEvaluatedPerFile() throws Exception {
+        final String xpath = "//VARIABLE_DEF[@text='pi']";
+        final XpathFilter filter =
+                new XpathFilter("InputXpathFilterSuppressByXpath", "Test", null, null, xpath);
+        final DetailAST rootAst = JavaParser.parseFile(file, JavaParser.Options.WITHOUT_COMMENTS);
+        assertFalse("Event should be rejected",
+                filter.accept(getEvent(5, 8, TokenTypes.VARIABLE_DEF, rootAst)));
+        assertTrue("Event should be accepted",
+                filter.accept(getEvent(10, 4, TokenTypes.VARIABLE_DEF, rootAst)));
+
+        final List<String> shiftedLines = new ArrayList<>();
+        shiftedLines.add("");
+        Collections.addAll(shiftedLines, fileContents.getLines());
+        final DetailAST shiftedRootAst = JavaParser.parseFileText(
+                new FileText(file, shiftedLines), JavaParser.Options.WITHOUT_COMMENTS);
+        assertTrue("Event should be accepted",
+                filter.accept(getEvent(5, 8, TokenTypes.VARIABLE_DEF, shiftedRootAst)));
+        assertFalse("Event should be rejected",
+                filter.accept(getEvent(6, 8, TokenTypes.VARIABLE_DEF, shiftedRootAst)));
+    }
+
+    @Test
+    public void testDescendantQueriesShareIndexOfTree() throws Exception {
+        final DetailAST rootAst = JavaParser.parseFile(file, JavaParser.Options.WITHOUT_COMMENTS);
+        final RootNode rootNode = new RootNode(rootAst);
+        final XpathFilter pathFilter = new XpathFilter("InputXpathFilterSuppressByXpath",
+                "Test", null, null, "/CLASS_DEF//VARIABLE_DEF[@text='pi']");
+        assertFalse("Event should be rejected", pathFilter.accept(
+                getEvent(5, 8, TokenTypes.VARIABLE_DEF, rootAst), rootNode));
+        assertNull("Query from an element should not index the tree",
+                Whitebox.getInternalState(rootNode, "elementsByName"));
+
+        final XpathFilter descendantFilter = new XpathFilter("InputXpathFilterSuppressByXpath",
+                "Test", null, null, "//VARIABLE_DEF[@text='pi']");
+        assertFalse("Event should be rejected", descendantFilter.accept(
+                getEvent(5, 8, TokenTypes.VARIABLE_DEF, rootAst), rootNode));
+        final Object index = Whitebox.getInternalState(rootNode, "elementsByName");
+        assertNotNull("Descendant query should index the tree", index);
+
+        final XpathFilter otherFilter = new XpathFilter("InputXpathFilterSuppressByXpath",
+                "Test", null, null, "//METHOD_DEF[@text='sum']");
+        assertFalse("Event should be rejected", otherFilter.accept(
+                getEvent(14, 4, TokenTypes.METHOD_DEF, rootAst), rootNode));
+        assertTrue("Event should be accepted", otherFilter.accept(
+                getEvent(9, 4, TokenTypes.METHOD_DEF, rootAst), rootNode));
+        assertSame("Index should be shared by the queries on the tree",
+                index, Whitebox.getInternalState(rootNode, "elementsByName"));
+    }
+
     @Test
     public void testIncorrectQuery() {
         final String xpath = "1@#";
@@ -265,18 +326,27 @@ public class XpathFilterTest extends AbstractModuleTestSupport {
         EqualsVerifier.forClass(XpathFilter.class).withPrefabValues(XPathExpression.class,
                 xpathEvaluator.createExpression("//METHOD_DEF"),
                 xpathEvaluator.createExpression("//VARIABLE_DEF"))
+                .withPrefabValues(WeakReference.class, new WeakReference<>(new DetailAST()),
+                        new WeakReference<>(new DetailAST()))
                 .usingGetClass()
-                .withIgnoredFields("fileRegexp", "checkRegexp", "messageRegexp", "xpathExpression")
+                .withIgnoredFields("fileRegexp", "checkRegexp", "messageRegexp", "xpathExpression",
+                        "rootAstReference", "matchingPositions")
+                .suppress(Warning.NONFINAL_FIELDS)
                 .verify();
     }
 
     private TreeWalkerAuditEvent getEvent(int line, int column, int tokenType)
             throws Exception {
+        return getEvent(line, column, tokenType,
+                JavaParser.parseFile(file, JavaParser.Options.WITHOUT_COMMENTS));
+    }
+
+    private TreeWalkerAuditEvent getEvent(int line, int column, int tokenType,
+            DetailAST rootAst) {
         final LocalizedMessage message =
                 new LocalizedMessage(line, column, tokenType, "", "", null, null, null,
                         getClass(), null);
-        return new TreeWalkerAuditEvent(fileContents, file.getName(), message,
-                JavaParser.parseFile(file, JavaParser.Options.WITHOUT_COMMENTS));
+        return new TreeWalkerAuditEvent(fileContents, file.getName(), message, rootAst);
     }
 
 }
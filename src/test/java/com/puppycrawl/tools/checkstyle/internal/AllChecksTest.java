@@ -19,8 +19,14 @@
 
 package com.puppycrawl.tools.checkstyle.internal;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -32,6 +38,7 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -41,8 +48,15 @@ import org.junit.Test;
 import com.puppycrawl.tools.checkstyle.AbstractModuleTestSupport;
 import com.puppycrawl.tools.checkstyle.Checker;
 import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.DefaultLogger;
+import com.puppycrawl.tools.checkstyle.FileStatefulCheck;
+import com.puppycrawl.tools.checkstyle.GlobalStatefulCheck;
 import com.puppycrawl.tools.checkstyle.ModuleFactory;
+import com.puppycrawl.tools.checkstyle.StatelessCheck;
+import com.puppycrawl.tools.checkstyle.ThreadModeSettings;
+import com.puppycrawl.tools.checkstyle.TreeWalker;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.AutomaticBean;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
 import com.puppycrawl.tools.checkstyle.checks.imports.ImportControlCheck;
@@ -270,6 +284,93 @@ public class AllChecksTest extends AbstractModuleTestSupport {
         }
     }
 
+    @Test
+    public void testAllChecksHaveThreadMode() throws Exception {
+        final Set<String> checksWithoutThreadMode = new TreeSet<>();
+        for (Class<?> module : CheckUtil.getCheckstyleModules()) {
+            if (ModuleReflectionUtils.isCheckstyleTreeWalkerCheck(module)
+                    || ModuleReflectionUtils.isFileSetModule(module)
+                        && !module.equals(TreeWalker.class)
+                        && !ModuleReflectionUtils.isRootModule(module)) {
+                final long threadModes = Stream.of(StatelessCheck.class,
+                        FileStatefulCheck.class, GlobalStatefulCheck.class)
+                    .filter(module::isAnnotationPresent)
+                    .count();
+                if (threadModes != 1) {
+                    checksWithoutThreadMode.add(module.getSimpleName());
+                }
+            }
+        }
+        Assert.assertTrue("Checks should declare exactly one thread mode: "
+                + checksWithoutThreadMode, checksWithoutThreadMode.isEmpty());
+    }
+
+    @Test
+    public void testAllModulesInMultiThreadMode() throws Exception {
+        final List<File> files;
+        try (Stream<Path> paths = Files.walk(Paths.get(
+                "src/test/resources/com/puppycrawl/tools/checkstyle/checks"))) {
+            files = paths
+                .filter(path -> path.toString().endsWith(".java"))
+                .filter(path -> path.getParent().getFileName().toString().matches(
+                        "coding|javadoc|naming"))
+                .sorted()
+                .map(Path::toFile)
+                .collect(Collectors.toList());
+        }
+
+        final String singleThreadOutput =
+                audit(ThreadModeSettings.SINGLE_THREAD_MODE_INSTANCE, files);
+        final String multiThreadOutput = audit(new ThreadModeSettings(4, 1), files);
+
+        Assert.assertEquals("Multi thread mode should report the same violations",
+                singleThreadOutput, multiThreadOutput);
+    }
+
+    /**
+     * Runs all modules with default configuration on files.
+     * @param threadModeSettings the thread mode of the checker.
+     * @param files the files to check.
+     * @return the output of the audit.
+     * @throws Exception if an exception occurs during the audit.
+     */
+    private String audit(ThreadModeSettings threadModeSettings, List<File> files)
+            throws Exception {
+        final DefaultConfiguration checkerConfig =
+                new DefaultConfiguration("Checker", threadModeSettings);
+        checkerConfig.addAttribute("haltOnException", "false");
+        final DefaultConfiguration treeWalkerConfig = createModuleConfig(TreeWalker.class);
+        checkerConfig.addChild(treeWalkerConfig);
+        for (Class<?> module : CheckUtil.getCheckstyleModules()) {
+            if (ModuleReflectionUtils.isRootModule(module)
+                    || ModuleReflectionUtils.isAuditListener(module)
+                    || module.equals(TreeWalker.class)) {
+                continue;
+            }
+
+            final DefaultConfiguration moduleConfig = createModuleConfig(module);
+            if (module.equals(ImportControlCheck.class)) {
+                moduleConfig.addAttribute("file", getPath("InputAllChecksImportControl.xml"));
+            }
+            if (ModuleReflectionUtils.isCheckstyleTreeWalkerCheck(module)
+                    || ModuleReflectionUtils.isTreeWalkerFilterModule(module)) {
+                treeWalkerConfig.addChild(moduleConfig);
+            }
+            else {
+                checkerConfig.addChild(moduleConfig);
+            }
+        }
+
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        checker.addListener(new DefaultLogger(out, AutomaticBean.OutputStreamOptions.CLOSE));
+        checker.process(files);
+        checker.destroy();
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
     @Test
     public void testDefaultTokensAreSubsetOfAcceptableTokens() throws Exception {
         for (Class<?> check : CheckUtil.getCheckstyleChecks()) {
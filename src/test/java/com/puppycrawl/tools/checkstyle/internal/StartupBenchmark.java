@@ -0,0 +1,243 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.internal;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.ConfigurationLoader;
+import com.puppycrawl.tools.checkstyle.PropertiesExpander;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+/**
+ * Measures the cold start of Checkstyle, which dominates short runs like pre-commit hooks.
+ * Every sample is taken in a fresh JVM, which loads a configuration, configures a
+ * {@link Checker} and checks one file. Reported are the time from the JVM start until the
+ * first file was checked, the number of loaded classes and the used heap after the setup.
+ *
+ * <p>Run it after {@code mvn test-compile} from the project directory with the test class
+ * path, optionally followed by the number of samples, the file to check and the configurations
+ * to measure:</p>
+ * <pre>
+ * java -cp target/classes:target/test-classes:&lt;dependencies&gt;
+ *     com.puppycrawl.tools.checkstyle.internal.StartupBenchmark 10
+ *     src/main/java/com/puppycrawl/tools/checkstyle/Main.java /google_checks.xml
+ * </pre>
+ *
+ * @noinspection UseOfSystemOutOrSystemErr
+ */
+// -@cs[ClassDataAbstractionCoupling] A sample needs the whole setup and the process handling.
+public final class StartupBenchmark {
+
+    /** Argument which makes the process take one sample. */
+    private static final String SAMPLE_ARGUMENT = "--sample";
+
+    /** Default number of samples of every configuration. */
+    private static final int DEFAULT_SAMPLES = 5;
+
+    /** Default file to check. */
+    private static final String DEFAULT_FILE =
+            "src/main/java/com/puppycrawl/tools/checkstyle/Main.java";
+
+    /** Configurations measured by default. */
+    private static final List<String> DEFAULT_CONFIGURATIONS =
+            Arrays.asList("/google_checks.xml", "/sun_checks.xml");
+
+    /** Number of values of one sample. */
+    private static final int SAMPLE_VALUES = 3;
+
+    private StartupBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark, or takes one sample if the first argument is {@code --sample}.
+     * @param args number of samples, file to check and configurations to measure
+     * @throws Exception if a sample fails
+     */
+    // -@cs[UncommentedMain] The benchmark is run by hand from the command line.
+    public static void main(String... args) throws Exception {
+        if (args.length > 0 && SAMPLE_ARGUMENT.equals(args[0])) {
+            sample(args[1], args[2]);
+        }
+        else {
+            int samples = DEFAULT_SAMPLES;
+            if (args.length > 0) {
+                samples = Integer.parseInt(args[0]);
+            }
+            String file = DEFAULT_FILE;
+            if (args.length > 1) {
+                file = args[1];
+            }
+            List<String> configurations = DEFAULT_CONFIGURATIONS;
+            if (args.length > 2) {
+                configurations = Arrays.asList(args).subList(2, args.length);
+            }
+            System.out.println("configuration          first file ms   loaded classes"
+                    + "   heap after setup KiB");
+            for (String configuration : configurations) {
+                measure(configuration, file, samples);
+            }
+        }
+    }
+
+    /**
+     * Takes the samples of a configuration and prints their medians.
+     * @param configuration the configuration
+     * @param file the file to check
+     * @param samples the number of samples
+     * @throws IOException if a sample process fails
+     * @throws InterruptedException if interrupted while waiting for a sample
+     */
+    private static void measure(String configuration, String file, int samples)
+            throws IOException, InterruptedException {
+        final List<long[]> values = new ArrayList<>();
+        for (int i = 0; i < samples; i++) {
+            values.add(runSample(configuration, file));
+        }
+        final long[] medians = new long[SAMPLE_VALUES];
+        for (int index = 0; index < SAMPLE_VALUES; index++) {
+            final List<Long> column = new ArrayList<>();
+            for (long[] value : values) {
+                column.add(value[index]);
+            }
+            Collections.sort(column);
+            medians[index] = column.get(column.size() / 2);
+        }
+        System.out.println(String.format(Locale.ROOT, "%-22s %13d %16d %22d",
+                configuration, medians[0], medians[1], medians[2]));
+    }
+
+    /**
+     * Takes one sample in a fresh JVM.
+     * @param configuration the configuration
+     * @param file the file to check
+     * @return time to the first file in milliseconds, loaded classes and used heap in KiB
+     * @throws IOException if the sample process fails
+     * @throws InterruptedException if interrupted while waiting for the sample
+     */
+    private static long[] runSample(String configuration, String file)
+            throws IOException, InterruptedException {
+        final String java = System.getProperty("java.home") + File.separator + "bin"
+                + File.separator + "java";
+        final Process process = new ProcessBuilder(java, "-cp",
+                System.getProperty("java.class.path"), StartupBenchmark.class.getName(),
+                SAMPLE_ARGUMENT, configuration, file)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        final String line;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                process.getInputStream(), StandardCharsets.UTF_8))) {
+            line = reader.readLine();
+        }
+        if (process.waitFor() != 0 || line == null) {
+            throw new IllegalStateException("Sample of " + configuration + " failed");
+        }
+        final String[] parts = line.split(" ");
+        final long[] values = new long[SAMPLE_VALUES];
+        for (int index = 0; index < SAMPLE_VALUES; index++) {
+            values[index] = Long.parseLong(parts[index]);
+        }
+        return values;
+    }
+
+    /**
+     * Takes one sample in this JVM and prints its values.
+     * @param configuration the configuration
+     * @param file the file to check
+     * @throws CheckstyleException if the configuration fails
+     */
+    private static void sample(String configuration, String file) throws CheckstyleException {
+        final Properties properties = new Properties();
+        properties.setProperty("basedir", new File("").getAbsolutePath());
+        properties.putAll(System.getProperties());
+        final Configuration config = ConfigurationLoader.loadConfiguration(configuration,
+                new PropertiesExpander(properties));
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Checker.class.getClassLoader());
+        checker.configure(config);
+
+        System.gc();
+        final long loadedClasses =
+                ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+        final long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed()
+                / 1024;
+
+        final FirstFileListener listener = new FirstFileListener();
+        checker.addListener(listener);
+        checker.process(Collections.singletonList(new File(file)));
+        checker.destroy();
+        System.out.println(listener.firstFileTime + " " + loadedClasses + " " + heap);
+    }
+
+    /** Records the JVM uptime when the first file was checked. */
+    private static final class FirstFileListener implements AuditListener {
+
+        /** JVM uptime in milliseconds when the first file was checked. */
+        private long firstFileTime;
+
+        @Override
+        public void auditStarted(AuditEvent event) {
+            // not measured
+        }
+
+        @Override
+        public void auditFinished(AuditEvent event) {
+            // not measured
+        }
+
+        @Override
+        public void fileStarted(AuditEvent event) {
+            // not measured
+        }
+
+        @Override
+        public void fileFinished(AuditEvent event) {
+            if (firstFileTime == 0) {
+                firstFileTime = ManagementFactory.getRuntimeMXBean().getUptime();
+            }
+        }
+
+        @Override
+        public void addError(AuditEvent event) {
+            // not measured
+        }
+
+        @Override
+        public void addException(AuditEvent event, Throwable throwable) {
+            // not measured
+        }
+
+    }
+
+}
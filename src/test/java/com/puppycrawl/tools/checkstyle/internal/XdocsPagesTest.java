@@ -101,6 +101,7 @@ public class XdocsPagesTest {
             "name=\"Translation\"",
             "name=\"SeverityMatchFilter\"",
             "name=\"SuppressWithPlainTextCommentFilter\"",
+            "name=\"SuppressionBaselineFilter\"",
             "name=\"SuppressionFilter\"",
             "name=\"SuppressWarningsFilter\"",
             "name=\"BeforeExecutionExclusionFileFilter\"",
@@ -130,7 +131,9 @@ public class XdocsPagesTest {
             "TreeWalker.cacheFile",
             "TreeWalker.upChild",
             "SuppressWithNearbyCommentFilter.fileContents",
-            "SuppressionCommentFilter.fileContents"
+            "SuppressionCommentFilter.fileContents",
+            "SuppressionBaselineFilter.basedir",
+            "SuppressionBaselineFilter.charset"
     );
 
     private static final List<String> PROPERTIES_ALLOWED_GET_TYPES_FROM_METHOD = Arrays.asList(
@@ -489,6 +492,7 @@ public class XdocsPagesTest {
 
             // override
             properties.add("fileExtensions");
+            properties.add("files");
         }
 
         // remove undocumented properties
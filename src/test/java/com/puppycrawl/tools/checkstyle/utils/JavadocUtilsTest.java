@@ -25,6 +25,8 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.List;
 
 import org.junit.Test;
@@ -291,6 +293,43 @@ public class JavadocUtilsTest {
         }
     }
 
+    @Test
+    public void testGetTokenNameForNegativeId() {
+        try {
+            JavadocUtils.getTokenName(-2);
+            fail("exception expected");
+        }
+        catch (IllegalArgumentException ex) {
+            assertEquals("Invalid exception message",
+                    "Unknown javadoc token id. Given id: -2", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testGetTokenNameForMissingRuleId() {
+        try {
+            JavadocUtils.getTokenName(10066);
+            fail("exception expected");
+        }
+        catch (IllegalArgumentException ex) {
+            assertEquals("Invalid exception message",
+                    "Unknown javadoc token id. Given id: 10066", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testTokenNameTablesMatchJavadocTokenTypes() throws IllegalAccessException {
+        for (final Field field : JavadocTokenTypes.class.getDeclaredFields()) {
+            if (Modifier.isPublic(field.getModifiers()) && field.getType() == Integer.TYPE) {
+                final int id = field.getInt(null);
+                assertEquals("Invalid token name of id " + id,
+                        field.getName(), JavadocUtils.getTokenName(id));
+                assertEquals("Invalid token id of " + field.getName(),
+                        id, JavadocUtils.getTokenId(field.getName()));
+            }
+        }
+    }
+
     @Test
     public void testGetTokenIdThatIsUnknown() {
         try {
@@ -0,0 +1,128 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2018 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.utils;
+
+import static com.puppycrawl.tools.checkstyle.internal.utils.TestUtil.isUtilsClassHasPrivateConstructor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+
+public class LocalizedMessageUtilsTest {
+
+    @Test
+    public void testIsProperUtilsClass() throws ReflectiveOperationException {
+        assertTrue("Constructor is not private",
+                isUtilsClassHasPrivateConstructor(LocalizedMessageUtils.class, true));
+    }
+
+    @Test
+    public void testSortAndRemoveDuplicatesMergesRuns() {
+        final List<LocalizedMessage> messages = new ArrayList<>(Arrays.asList(
+                createMessage(1, "a", SeverityLevel.ERROR),
+                createMessage(5, "a", SeverityLevel.ERROR),
+                createMessage(9, "a", SeverityLevel.ERROR),
+                createMessage(2, "b", SeverityLevel.ERROR),
+                createMessage(5, "a", SeverityLevel.WARNING),
+                createMessage(7, "b", SeverityLevel.ERROR)));
+        final List<LocalizedMessage> result =
+                LocalizedMessageUtils.sortAndRemoveDuplicates(messages);
+
+        assertSame("List should be sorted in place", messages, result);
+        assertEquals("Invalid result", new ArrayList<>(new TreeSet<>(Arrays.asList(
+                createMessage(1, "a", SeverityLevel.ERROR),
+                createMessage(5, "a", SeverityLevel.ERROR),
+                createMessage(9, "a", SeverityLevel.ERROR),
+                createMessage(2, "b", SeverityLevel.ERROR),
+                createMessage(7, "b", SeverityLevel.ERROR)))), result);
+        assertEquals("First added duplicate should be kept",
+                SeverityLevel.ERROR, result.get(2).getSeverityLevel());
+    }
+
+    @Test
+    public void testSortAndRemoveDuplicatesSmallLists() {
+        final List<LocalizedMessage> empty = new ArrayList<>();
+        final List<LocalizedMessage> single = new ArrayList<>(
+                Collections.singletonList(createMessage(1, "a", SeverityLevel.ERROR)));
+
+        assertEquals("Invalid result", 0,
+                LocalizedMessageUtils.sortAndRemoveDuplicates(empty).size());
+        assertEquals("Invalid result", 1,
+                LocalizedMessageUtils.sortAndRemoveDuplicates(single).size());
+    }
+
+    @Test
+    public void testToSortedSetIsEqualToTreeSet() {
+        final List<LocalizedMessage> messages = Arrays.asList(
+                createMessage(3, "c", SeverityLevel.ERROR),
+                createMessage(1, "a", SeverityLevel.INFO),
+                createMessage(3, "c", SeverityLevel.WARNING),
+                createMessage(2, "b", SeverityLevel.ERROR));
+        final SortedSet<LocalizedMessage> result = LocalizedMessageUtils.toSortedSet(messages);
+        final SortedSet<LocalizedMessage> expected = new TreeSet<>(messages);
+
+        assertEquals("Invalid result", new ArrayList<>(expected), new ArrayList<>(result));
+        assertEquals("Invalid severity of duplicate", SeverityLevel.ERROR,
+                result.last().getSeverityLevel());
+        result.add(createMessage(0, "z", SeverityLevel.ERROR));
+        assertEquals("Result should be mutable", 4, result.size());
+    }
+
+    @Test
+    public void testSortedListView() throws Exception {
+        final Class<?> viewClass = Class.forName(
+                LocalizedMessageUtils.class.getName() + "$SortedListView");
+        final Constructor<?> constructor = viewClass.getDeclaredConstructor(List.class);
+        constructor.setAccessible(true);
+        final LocalizedMessage first = createMessage(1, "a", SeverityLevel.ERROR);
+        final LocalizedMessage second = createMessage(2, "b", SeverityLevel.ERROR);
+        final LocalizedMessage third = createMessage(3, "c", SeverityLevel.ERROR);
+        @SuppressWarnings("unchecked")
+        final SortedSet<LocalizedMessage> view = (SortedSet<LocalizedMessage>)
+                constructor.newInstance(Arrays.asList(first, second, third));
+
+        assertEquals("Invalid first", first, view.first());
+        assertEquals("Invalid last", third, view.last());
+        assertEquals("Invalid comparator", null, view.comparator());
+        assertEquals("Invalid sub set", Collections.singleton(second),
+                view.subSet(second, third));
+        assertEquals("Invalid head set", Collections.singleton(first), view.headSet(second));
+        assertEquals("Invalid tail set", Collections.singleton(third), view.tailSet(third));
+    }
+
+    private static LocalizedMessage createMessage(int line, String message,
+            SeverityLevel severityLevel) {
+        return new LocalizedMessage(line, 0, null, null, null, severityLevel, null,
+                LocalizedMessageUtilsTest.class, message);
+    }
+
+}
@@ -110,6 +110,20 @@ public class TokenUtilsTest {
         }
     }
 
+    @Test
+    public void testTokenNameTableMatchesTokenTypes() throws IllegalAccessException {
+        int count = 0;
+        for (final Field field : TokenTypes.class.getDeclaredFields()) {
+            if (field.getType() == Integer.TYPE) {
+                assertEquals("Invalid token id of " + field.getName(),
+                        field.getInt(null), TokenUtils.getTokenId(field.getName()));
+                count++;
+            }
+        }
+        assertEquals("Token name table should contain only the tokens of TokenTypes",
+                count, TokenUtils.getTokenTypesTotalNumber());
+    }
+
     @Test
     public void testTokenValueIncorrect2() throws Exception {
         final Integer id = 0;
@@ -21,6 +21,8 @@ package com.puppycrawl.tools.checkstyle.xpath;
 
 import static com.puppycrawl.tools.checkstyle.internal.utils.XpathUtil.getXpathItems;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -72,4 +74,29 @@ public class ElementNodeTest extends AbstractPathTestSupport {
                 root instanceof RootNode);
     }
 
+    @Test
+    public void testChildrenCreatedOnce() throws Exception {
+        final List<Item> nodes = getXpathItems("/CLASS_DEF", rootNode);
+        final ElementNode classDefNode = (ElementNode) nodes.get(0);
+        final List<AbstractNode> children = classDefNode.getChildren();
+        assertSame("Children should be created only once", children.get(0),
+                classDefNode.getChildren().get(0));
+        assertSame("Query should return the existing wrapper", children.get(0),
+                getXpathItems("/CLASS_DEF/MODIFIERS", rootNode).get(0));
+    }
+
+    @Test
+    public void testIdentIsNotChild() {
+        final DetailAST parentAst = new DetailAST();
+        parentAst.setType(TokenTypes.VARIABLE_DEF);
+        final DetailAST identAst = new DetailAST();
+        identAst.setType(TokenTypes.IDENT);
+        identAst.setText("variable");
+        parentAst.setFirstChild(identAst);
+        final ElementNode node = new ElementNode(rootNode, rootNode, parentAst);
+        assertFalse("Ident should not be a child node", node.hasChildNodes());
+        assertTrue("Ident should not be a child node", node.getChildren().isEmpty());
+        assertEquals("Invalid text attribute", "variable", node.getAttributeValue("", "text"));
+    }
+
 }
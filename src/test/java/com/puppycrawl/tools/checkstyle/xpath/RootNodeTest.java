@@ -26,6 +26,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.Before;
@@ -37,8 +38,14 @@ import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import net.sf.saxon.om.AxisInfo;
 import net.sf.saxon.om.Item;
+import net.sf.saxon.om.NamePool;
 import net.sf.saxon.om.NamespaceBinding;
+import net.sf.saxon.om.NodeInfo;
+import net.sf.saxon.pattern.NameTest;
+import net.sf.saxon.tree.iter.AxisIterator;
 import net.sf.saxon.tree.iter.EmptyIterator;
+import net.sf.saxon.tree.util.Navigator;
+import net.sf.saxon.type.Type;
 
 public class RootNodeTest extends AbstractPathTestSupport {
 
@@ -68,6 +75,26 @@ public class RootNodeTest extends AbstractPathTestSupport {
                 rootNode);
     }
 
+    @Test
+    public void testDescendantsByName() {
+        final NamePool namePool = new NamePool();
+        final NameTest methodDefTest = new NameTest(Type.ELEMENT, "", "METHOD_DEF", namePool);
+        final List<NodeInfo> expected = collect(new Navigator.AxisFilter(
+                rootNode.iterateAxis(AxisInfo.DESCENDANT), methodDefTest));
+        assertEquals("Invalid number of nodes", 2, expected.size());
+        assertEquals("Indexed descendants differ from scanned ones", expected,
+                collect(rootNode.iterateAxis(AxisInfo.DESCENDANT, methodDefTest)));
+        assertEquals("Indexed descendants differ from scanned ones", expected,
+                collect(rootNode.iterateAxis(AxisInfo.DESCENDANT_OR_SELF, methodDefTest)));
+        assertEquals("Invalid number of nodes", EmptyIterator.OfNodes.THE_INSTANCE,
+                rootNode.iterateAxis(AxisInfo.DESCENDANT,
+                        new NameTest(Type.ELEMENT, "", "NON_EXISTENT", namePool)));
+        assertTrue("Nodes in other namespace should not be found",
+                collect(rootNode.iterateAxis(AxisInfo.DESCENDANT,
+                        new NameTest(Type.ELEMENT, "urn:test", "METHOD_DEF", namePool)))
+                        .isEmpty());
+    }
+
     @Test
     public void testGetTokenType() {
         assertEquals("Invalid token type", TokenTypes.EOF, rootNode.getTokenType());
@@ -446,4 +473,14 @@ public class RootNodeTest extends AbstractPathTestSupport {
                 rootNode.isSameNodeInfo(null));
     }
 
+    private static List<NodeInfo> collect(AxisIterator iterator) {
+        final List<NodeInfo> nodes = new ArrayList<>();
+        NodeInfo node = iterator.next();
+        while (node != null) {
+            nodes.add(node);
+            node = iterator.next();
+        }
+        return nodes;
+    }
+
 }
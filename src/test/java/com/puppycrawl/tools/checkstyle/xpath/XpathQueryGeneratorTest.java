@@ -399,4 +399,36 @@ public class XpathQueryGeneratorTest extends AbstractPathTestSupport {
         assertEquals("Generated queries do not match expected ones", expected, actual);
     }
 
+    @Test
+    public void testGenerateByPosition() {
+        final XpathQueryGenerator queryGenerator =
+                new XpathQueryGenerator(rootAst, fileText, DEFAULT_TAB_WIDTH);
+        final int[][] positions = {{45, 5}, {12, 1}, {53, 13}, {37, 20}, {45, 5}};
+        for (int[] position : positions) {
+            final List<String> expected = new XpathQueryGenerator(rootAst, position[0],
+                    position[1], fileText, DEFAULT_TAB_WIDTH).generate();
+            assertEquals("Generated queries do not match queries of single position",
+                    expected, queryGenerator.generate(position[0], position[1]));
+        }
+        assertTrue("Queries are generated for position without nodes",
+                queryGenerator.generate(12, 2).isEmpty());
+    }
+
+    @Test
+    public void testGenerateByPositionTabWidth() throws Exception {
+        final File testFile = new File(getPath("InputXpathQueryGeneratorTabWidth.java"));
+        final FileText testFileText = new FileText(testFile,
+                StandardCharsets.UTF_8.name());
+        final DetailAST detailAst =
+                JavaParser.parseFile(testFile, JavaParser.Options.WITHOUT_COMMENTS);
+        final int tabWidth = 8;
+        final XpathQueryGenerator queryGenerator =
+                new XpathQueryGenerator(detailAst, testFileText, tabWidth);
+        final List<String> actual = queryGenerator.generate(16, 58);
+        final List<String> expected = Collections.singletonList(
+                "/CLASS_DEF[@text='InputXpathQueryGeneratorTabWidth']/OBJBLOCK"
+                        + "/VARIABLE_DEF[@text='endLineTab']/SEMI");
+        assertEquals("Generated queries do not match expected ones", expected, actual);
+    }
+
 }
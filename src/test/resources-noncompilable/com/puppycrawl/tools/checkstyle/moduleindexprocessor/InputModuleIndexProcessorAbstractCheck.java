@@ -0,0 +1,6 @@
+package com.puppycrawl.tools.checkstyle.moduleindexprocessor;
+
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+
+public abstract class InputModuleIndexProcessorAbstractCheck extends AbstractCheck {
+}
@@ -0,0 +1,20 @@
+package com.puppycrawl.tools.checkstyle.moduleindexprocessor;
+
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+
+public class InputModuleIndexProcessorCheck extends AbstractCheck {
+    @Override
+    public int[] getDefaultTokens() {
+        return new int[] {0};
+    }
+
+    @Override
+    public int[] getAcceptableTokens() {
+        return getDefaultTokens();
+    }
+
+    @Override
+    public int[] getRequiredTokens() {
+        return getDefaultTokens();
+    }
+}
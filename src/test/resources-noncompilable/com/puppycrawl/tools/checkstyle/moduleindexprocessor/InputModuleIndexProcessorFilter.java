@@ -0,0 +1,25 @@
+package com.puppycrawl.tools.checkstyle.moduleindexprocessor;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AutomaticBean;
+import com.puppycrawl.tools.checkstyle.api.Filter;
+
+public class InputModuleIndexProcessorFilter extends AutomaticBean implements Filter {
+    public InputModuleIndexProcessorFilter(String name) {
+        // second constructor
+    }
+
+    public InputModuleIndexProcessorFilter() {
+        this("default");
+    }
+
+    @Override
+    protected void finishLocalSetup() {
+        // no code
+    }
+
+    @Override
+    public boolean accept(AuditEvent event) {
+        return true;
+    }
+}
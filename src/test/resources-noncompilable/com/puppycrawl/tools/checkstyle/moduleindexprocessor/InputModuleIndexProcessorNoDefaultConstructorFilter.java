@@ -0,0 +1,21 @@
+package com.puppycrawl.tools.checkstyle.moduleindexprocessor;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AutomaticBean;
+import com.puppycrawl.tools.checkstyle.api.Filter;
+
+public class InputModuleIndexProcessorNoDefaultConstructorFilter extends AutomaticBean implements Filter {
+    public InputModuleIndexProcessorNoDefaultConstructorFilter(String name) {
+        // no default constructor, not a module
+    }
+
+    @Override
+    protected void finishLocalSetup() {
+        // no code
+    }
+
+    @Override
+    public boolean accept(AuditEvent event) {
+        return true;
+    }
+}
@@ -0,0 +1,7 @@
+package com.puppycrawl.tools.checkstyle.moduleindexprocessor;
+
+public class InputModuleIndexProcessorNotModule {
+}
+
+interface InputModuleIndexProcessorInterface {
+}
@@ -0,0 +1,3 @@
+package com.puppycrawl.tools.checkstyle.xpathsuppressionslogger;
+
+public class InputXpathSuppressionsLoggerUnparsable {
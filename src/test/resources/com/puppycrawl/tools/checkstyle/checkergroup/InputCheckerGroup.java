@@ -0,0 +1,13 @@
+package com.puppycrawl.tools.checkstyle.checkergroup;
+
+/** Javadoc of the class. */
+public class InputCheckerGroup {
+    // TODO: rename the field
+    private int Field;
+
+    /* block comment */
+    public void method(int Parameter) {
+        // TODO: check the parameter
+        Field = Parameter;
+    }
+}
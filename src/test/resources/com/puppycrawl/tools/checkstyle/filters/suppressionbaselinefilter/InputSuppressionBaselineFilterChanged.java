@@ -0,0 +1,11 @@
+package com.puppycrawl.tools.checkstyle.filters.suppressionbaselinefilter;
+
+import java.io.Serializable;
+
+/** Lines were added and the first field was reformatted. */
+public class InputSuppressionBaselineFilterChanged implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private int first =  42 ;
+    private int second = 43;
+    private int third = 44;
+}
@@ -0,0 +1,6 @@
+package com.puppycrawl.tools.checkstyle.filters.suppressionbaselinefilter;
+
+public class InputSuppressionBaselineFilterOriginal {
+    private int first = 42;
+    private int second = 43;
+}
@@ -0,0 +1,14 @@
+package com.puppycrawl.tools.checkstyle.filters.suppressionbaselinefilter;
+
+/** The violating line was copied. */
+public class InputSuppressionBaselineFilterRepeatedChanged {
+    private int value;
+
+    public void reset() {
+        value = 42;
+    }
+
+    public void restore() {
+        value = 42;
+    }
+}
@@ -0,0 +1,9 @@
+package com.puppycrawl.tools.checkstyle.filters.suppressionbaselinefilter;
+
+public class InputSuppressionBaselineFilterRepeatedOriginal {
+    private int value;
+
+    public void reset() {
+        value = 42;
+    }
+}
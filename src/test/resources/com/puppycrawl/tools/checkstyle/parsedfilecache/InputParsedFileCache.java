@@ -0,0 +1,5 @@
+// comment
+package com.puppycrawl.tools.checkstyle.parsedfilecache;
+
+public class InputParsedFileCache {
+}
@@ -0,0 +1,5 @@
+package com.puppycrawl.tools.checkstyle.xpathsuppressionslogger;
+
+public class InputXpathSuppressionsLogger {
+	int field;
+}